@@ -0,0 +1,54 @@
+package com.ferreusveritas.dynamictrees.api.worldgen;
+
+import com.ferreusveritas.dynamictrees.api.worldgen.BiomePropertySelectors.RandomSpeciesSelector;
+import com.ferreusveritas.dynamictrees.api.worldgen.BiomePropertySelectors.SpeciesSelection;
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Weighted species picks from biomes with 8, 64 and 256 species.  The larger two are past the 50 or so species of a
+ * biome in a big modpack.  With huge weights the selector can't build an alias table and falls back to walking the list
+ * the way every pick used to.
+ *
+ * @author ferreusveritas
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RandomSpeciesSelectorBenchmark {
+
+	@Param({"8", "64", "256"})
+	public int species;
+
+	@Param({"true", "false"})
+	public boolean aliasTable;
+
+	private RandomSpeciesSelector selector;
+	private final Random random = new Random(0);
+
+	@Setup
+	public void setup() {
+		TestWorld.bootstrap();
+		selector = new RandomSpeciesSelector();
+		Random weights = new Random(species);
+		for (int i = 0; i < species; i++) {
+			selector.add(aliasTable ? 1 + weights.nextInt(100) : Integer.MAX_VALUE / species - weights.nextInt(100));//Species times the total overflows an int
+		}
+	}
+
+	@Benchmark
+	public SpeciesSelection pick() {
+		return selector.getSpecies(null, null, random);
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.ferreusveritas.dynamictrees.blocks;
+
+import com.ferreusveritas.dynamictrees.ModBlocks;
+import com.ferreusveritas.dynamictrees.api.network.MapSignal;
+import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeExtState;
+import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeHarvest;
+import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeNetVolume;
+import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeSpecies;
+import com.ferreusveritas.dynamictrees.test.TestTrees;
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single {@link NodeHarvest} pass against the three passes it replaced for felling generated mega trees
+ * of 1,000, 10,000 and 50,000 branches at the base.  Both map out the extended states and the volume of everything
+ * above the root.  The branches are left standing so every run fells the same tree.
+ *
+ * @author ferreusveritas
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BranchHarvestBenchmark {
+
+	@Param({"1000", "10000", "50000"})
+	public int nodes;
+
+	private World world;
+	private BlockBranchBasic branch;
+	private IBlockState state;
+	private final BlockPos cutPos = new BlockPos(0, 64, 0);
+
+	@Setup
+	public void setup() {
+		TestTrees.getOak();
+		world = new TestWorld(0);
+		branch = new BlockBranchBasic("benchmarkbranch") {
+			@Override
+			protected int getMaxSignalDepth() {
+				return Integer.MAX_VALUE;//The networks here are trees with no loops so the walk always ends
+			}
+		};
+		branch.setFamily(TestTrees.getOak().getFamily());
+		state = branch.getStateForRadius(4);
+		world.setBlockState(cutPos.down(), ModBlocks.blockRootyDirt.getDefaultState(), 2);
+		BranchNetworks.grow(world, state, cutPos, nodes, new Random(nodes));
+	}
+
+	@Benchmark
+	public float singlePass() {
+		NodeHarvest harvest = new NodeHarvest(cutPos);
+		MapSignal signal = branch.analyse(state, world, cutPos, null, new MapSignal(harvest));
+		harvest.exclude(signal.localRootDir);
+		return harvest.getExtStateMap(world).size() + harvest.getVolume();
+	}
+
+	@Benchmark
+	public float separatePasses() {
+		MapSignal signal = branch.analyse(state, world, cutPos, null, new MapSignal(new NodeSpecies()));
+		NodeExtState extStateMapper = new NodeExtState(cutPos);
+		branch.analyse(state, world, cutPos, signal.localRootDir, new MapSignal(extStateMapper));
+		NodeNetVolume volumeSum = new NodeNetVolume();
+		branch.analyse(state, world, cutPos, signal.localRootDir, new MapSignal(volumeSum));
+		return extStateMapper.getExtStates().size() + volumeSum.getVolume();
+	}
+
+}
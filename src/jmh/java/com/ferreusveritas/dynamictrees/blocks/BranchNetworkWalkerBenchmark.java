@@ -0,0 +1,65 @@
+package com.ferreusveritas.dynamictrees.blocks;
+
+import com.ferreusveritas.dynamictrees.api.network.MapSignal;
+import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeNetVolume;
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link BranchNetworkWalker} against the recursive analysis it replaced on randomly grown branch networks
+ * of 100, 1,000 and 10,000 nodes.
+ *
+ * @author ferreusveritas
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BranchNetworkWalkerBenchmark {
+
+	@Param({"100", "1000", "10000"})
+	public int nodes;
+
+	private World world;
+	private BlockBranchBasic branch;
+	private final BlockPos origin = new BlockPos(0, 64, 0);
+
+	@Setup
+	public void setup() {
+		TestWorld.bootstrap();
+		world = new TestWorld(0);
+		branch = new BlockBranchBasic("benchmarkbranch") {
+			@Override
+			protected int getMaxSignalDepth() {
+				return Integer.MAX_VALUE;//The networks here are trees with no loops so the walk always ends
+			}
+		};
+		BranchNetworks.grow(world, branch.getDefaultState(), origin, nodes, new Random(nodes));
+	}
+
+	@Benchmark
+	public float walker() {
+		NodeNetVolume volume = new NodeNetVolume();
+		branch.analyse(branch.getDefaultState(), world, origin, null, new MapSignal(volume));
+		return volume.getVolume();
+	}
+
+	@Benchmark
+	public float recursive() {
+		NodeNetVolume volume = new NodeNetVolume();
+		BranchNetworks.analyseRecursive(branch, branch.getDefaultState(), world, origin, null, new MapSignal(volume));
+		return volume.getVolume();
+	}
+
+}
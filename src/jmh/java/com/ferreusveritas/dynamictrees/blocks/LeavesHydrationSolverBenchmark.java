@@ -0,0 +1,77 @@
+package com.ferreusveritas.dynamictrees.blocks;
+
+import com.ferreusveritas.dynamictrees.api.TreeHelper;
+import com.ferreusveritas.dynamictrees.test.TestTrees;
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import com.ferreusveritas.dynamictrees.trees.Species;
+import com.ferreusveritas.dynamictrees.util.SafeChunkBounds;
+import com.ferreusveritas.dynamictrees.util.SimpleVoxmap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to age the fresh leaves of a generated oak, spruce and dark oak through their world gen iterations with
+ * {@link TreeHelper#ageVolume} and with the aging in the world that it replaced.  The leaves are put back down from the
+ * leaf map before every run.
+ *
+ * @author ferreusveritas
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LeavesHydrationSolverBenchmark {
+
+	private static final BlockPos rootPos = new BlockPos(8, 63, 8);
+
+	@Param({"oak", "spruce", "darkoak"})
+	public String tree;
+
+	private World world;
+	private Species species;
+	private SimpleVoxmap leafMap;
+	private SimpleVoxmap leafMapCopy;
+	private SafeChunkBounds safeBounds;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		species = tree.equals("oak") ? TestTrees.getOak() : tree.equals("spruce") ? TestTrees.getSpruce() : TestTrees.getDarkOak();
+		world = new TestWorld(0);
+		TestTrees.groundAround(world, new ChunkPos(rootPos), 1);
+		TestTrees.generate(world, species, rootPos, 8, new Random(7));
+		leafMap = LeafMaps.map(world, species, rootPos.up(), 8);
+		safeBounds = new SafeChunkBounds(world, new ChunkPos(rootPos));
+	}
+
+	@Setup(Level.Invocation)
+	public void placeLeaves() {
+		LeafMaps.place(world, species, leafMap);
+		leafMapCopy = new SimpleVoxmap(leafMap);//Aging changes the map
+		world.rand.setSeed(0);
+	}
+
+	@Benchmark
+	public SimpleVoxmap solver() {
+		TreeHelper.ageVolume(world, leafMapCopy, species.getWorldGenAgeIterations(), safeBounds);
+		return leafMapCopy;
+	}
+
+	@Benchmark
+	public SimpleVoxmap inWorld() {
+		LeafMaps.ageVolumeInWorld(world, leafMapCopy, species.getWorldGenAgeIterations(), safeBounds);
+		return leafMapCopy;
+	}
+
+}
@@ -0,0 +1,93 @@
+package com.ferreusveritas.dynamictrees.models.bakedmodels;
+
+import com.ferreusveritas.dynamictrees.blocks.BlockBranch;
+import com.ferreusveritas.dynamictrees.test.TestTrees;
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to pull the quads of every branch in a chunk of generated oaks from a {@link BakedModelBlockBranchBasic} the
+ * way a chunk rebuild does.  A warm model has seen the shapes of the chunk before and answers from its
+ * {@link BakedQuadCache}.  A cold model is freshly baked for every rebuild so every shape is built the first time it
+ * comes up the way every shape was before the cache.
+ *
+ * @author ferreusveritas
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BranchQuadsBenchmark {
+
+	private static final EnumFacing[] SIDES = {null, EnumFacing.DOWN, EnumFacing.UP, EnumFacing.NORTH, EnumFacing.SOUTH, EnumFacing.WEST, EnumFacing.EAST};
+
+	@Param({"true", "false"})
+	public boolean warm;
+
+	private World world;
+	private final List<BlockPos> branches = new ArrayList<>();
+	private BakedModelBlockBranchBasic model;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		world = new TestWorld(0);
+		ChunkPos chunk = new ChunkPos(0, 0);
+		TestTrees.groundAround(world, chunk, 1);
+		Random random = new Random(5);
+		for (int i = 0; i < 4; i++) {
+			TestTrees.generateOak(world, new BlockPos(3 + (i & 1) * 10, 63, 3 + (i >> 1) * 10), 6, random);
+		}
+
+		for (BlockPos pos : BlockPos.getAllInBox(chunk.getXStart(), 64, chunk.getZStart(), chunk.getXEnd(), 127, chunk.getZEnd())) {
+			if (world.getBlockState(pos).getBlock() instanceof BlockBranch) {
+				branches.add(pos);
+			}
+		}
+
+		model = bake();
+	}
+
+	@Setup(Level.Invocation)
+	public void rebake() {
+		if (!warm) {
+			model = bake();
+		}
+	}
+
+	private static BakedModelBlockBranchBasic bake() {
+		return new BakedModelBlockBranchBasic(new ResourceLocation("dynamictrees", "blocks/oak_bark"), new ResourceLocation("dynamictrees", "blocks/oak_rings"), res -> new TextureAtlasSprite(res.toString()) {});
+	}
+
+	@Benchmark
+	public int rebuild() {
+		int quads = 0;
+		for (BlockPos pos : branches) {
+			IBlockState state = world.getBlockState(pos);
+			IBlockState extendedState = state.getBlock().getExtendedState(state, world, pos);
+			for (EnumFacing side : SIDES) {
+				quads += model.getQuads(extendedState, side, 0).size();
+			}
+		}
+		return quads;
+	}
+
+}
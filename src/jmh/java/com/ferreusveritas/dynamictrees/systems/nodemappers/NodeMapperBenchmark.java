@@ -0,0 +1,153 @@
+package com.ferreusveritas.dynamictrees.systems.nodemappers;
+
+import com.ferreusveritas.dynamictrees.api.TreeHelper;
+import com.ferreusveritas.dynamictrees.api.network.INodeInspector;
+import com.ferreusveritas.dynamictrees.api.network.MapSignal;
+import com.ferreusveritas.dynamictrees.blocks.BlockBranchBasic;
+import com.ferreusveritas.dynamictrees.blocks.BranchNetworks;
+import com.ferreusveritas.dynamictrees.test.TestTrees;
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.common.property.IExtendedBlockState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link NodeCollector} and {@link NodeExtState} that store packed positions in primitive collections
+ * against the {@link BlockPos} keyed collections they replaced on randomly grown branch networks of 1,000 and 10,000
+ * nodes.
+ * <p>
+ * The point of the packed positions is the garbage they don't make so run these with the GC profiler to get the
+ * allocation report along with the times:
+ * <pre>
+ * ./gradlew jmhJar
+ * java -jar build/libs/DynamicTrees-&lt;version&gt;-jmh.jar NodeMapperBenchmark -prof gc
+ * </pre>
+ * Compare the gc.alloc.rate.norm rows, the bytes allocated by a single run, of the packed and boxed benchmarks.  The
+ * boxed ones make an immutable position and a hash map entry for every node on top of everything the walk itself
+ * makes while the packed ones only grow their arrays.
+ *
+ * @author ferreusveritas
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NodeMapperBenchmark {
+
+	@Param({"1000", "10000"})
+	public int nodes;
+
+	private World world;
+	private BlockBranchBasic branch;
+	private final BlockPos origin = new BlockPos(0, 64, 0);
+
+	@Setup
+	public void setup() {
+		TestTrees.getOak();
+		world = new TestWorld(0);
+		branch = new BlockBranchBasic("benchmarkbranch") {
+			@Override
+			protected int getMaxSignalDepth() {
+				return Integer.MAX_VALUE;//The networks here are trees with no loops so the walk always ends
+			}
+		};
+		branch.setFamily(TestTrees.getOak().getFamily());//The extended states ask the family about connections
+		BranchNetworks.grow(world, branch.getDefaultState(), origin, nodes, new Random(nodes));
+	}
+
+	private void analyse(INodeInspector inspector) {
+		branch.analyse(world.getBlockState(origin), world, origin, null, new MapSignal(inspector));
+	}
+
+	@Benchmark
+	public int collectPacked() {
+		NodeCollector collector = new NodeCollector();
+		analyse(collector);
+		return collector.size();
+	}
+
+	@Benchmark
+	public int collectBoxed() {
+		BoxedCollector collector = new BoxedCollector();
+		analyse(collector);
+		return collector.nodeSet.size();
+	}
+
+	@Benchmark
+	public int extStatesPacked() {
+		NodeExtState extState = new NodeExtState(origin);
+		analyse(extState);
+		return extState.getExtStates().size();
+	}
+
+	@Benchmark
+	public int extStatesBoxed() {
+		BoxedExtState extState = new BoxedExtState(origin);
+		analyse(extState);
+		return extState.map.size();
+	}
+
+	/**
+	 * The {@link NodeCollector} before its positions were packed
+	 */
+	private static class BoxedCollector implements INodeInspector {
+
+		private final Set<BlockPos> nodeSet = new HashSet<>();
+
+		@Override
+		public boolean run(IBlockState blockState, World world, BlockPos pos, EnumFacing fromDir) {
+			nodeSet.add(pos.toImmutable());
+			return false;
+		}
+
+		@Override
+		public boolean returnRun(IBlockState blockState, World world, BlockPos pos, EnumFacing fromDir) {
+			return false;
+		}
+
+	}
+
+	/**
+	 * The {@link NodeExtState} before its positions were packed
+	 */
+	private static class BoxedExtState implements INodeInspector {
+
+		private final Map<BlockPos, IExtendedBlockState> map = new HashMap<>();
+		private final BlockPos origin;
+
+		private BoxedExtState(BlockPos origin) {
+			this.origin = origin;
+		}
+
+		@Override
+		public boolean run(IBlockState blockState, World world, BlockPos pos, EnumFacing fromDir) {
+			if (TreeHelper.getBranch(blockState) != null) {
+				map.put(pos.subtract(origin), (IExtendedBlockState) blockState.getBlock().getExtendedState(blockState, world, pos));
+			}
+			return true;
+		}
+
+		@Override
+		public boolean returnRun(IBlockState blockState, World world, BlockPos pos, EnumFacing fromDir) {
+			return false;
+		}
+
+	}
+
+}
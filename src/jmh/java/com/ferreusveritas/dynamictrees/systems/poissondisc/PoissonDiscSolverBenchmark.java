@@ -0,0 +1,46 @@
+package com.ferreusveritas.dynamictrees.systems.poissondisc;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time per chunk to lay out the discs of a square of chunks with the {@link PoissonDiscSolver} and with the brute
+ * force solver it replaced.  The radii vary from 2 to 8 every few blocks.
+ *
+ * @author ferreusveritas
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PoissonDiscSolverBenchmark {
+
+	private static final int CHUNKS = 8;//On a side
+
+	@Param({"true", "false"})
+	public boolean grid;
+
+	private PoissonDiscs.ChunkSolver solver;
+	private long seed;
+
+	@Setup
+	public void setup() {
+		PoissonDiscSolver gridSolver = new PoissonDiscSolver();
+		solver = grid ? (random, radii, chunkX, chunkZ, neighborhood) -> gridSolver.solve(random, radii, chunkX, chunkZ, neighborhood, null) : PoissonDiscs::solveBruteForce;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(CHUNKS * CHUNKS)
+	public byte[][] layOut() {
+		return PoissonDiscs.layOut(seed++, CHUNKS, solver);//A new layout each time so no two runs are alike
+	}
+
+}
@@ -0,0 +1,114 @@
+package com.ferreusveritas.dynamictrees.util;
+
+import com.ferreusveritas.dynamictrees.api.TreeHelper;
+import com.ferreusveritas.dynamictrees.entities.EntityFallingTree;
+import com.ferreusveritas.dynamictrees.entities.EntityFallingTree.DestroyType;
+import com.ferreusveritas.dynamictrees.test.TestTrees;
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import com.ferreusveritas.dynamictrees.trees.Species;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * Sizes and encoding times of the shapes of felled oaks, spruces and dark oaks in the NBT form that is saved and the
+ * spawn data form that is sent to clients.  The trees are generated from their JoCodes and cut at the base the way a
+ * player fells them.  The entity form is exactly what the falling tree sends with the current config.  The sizes of
+ * every form are printed once per trial.
+ *
+ * @author ferreusveritas
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BranchDestructionDataBenchmark {
+
+	@Param({"oak", "spruce", "darkoak"})
+	public String tree;
+
+	@Param({"4", "8"})
+	public int radius;
+
+	private BranchDestructionData data;
+	private EntityFallingTree entity;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		Species species = tree.equals("oak") ? TestTrees.getOak() : tree.equals("spruce") ? TestTrees.getSpruce() : TestTrees.getDarkOak();
+		World world = new TestWorld(0);
+		BlockPos rootPos = new BlockPos(8, 63, 8);
+		TestTrees.groundAround(world, new ChunkPos(rootPos), 1);
+		TestTrees.generate(world, species, rootPos, radius, new Random(radius));
+		BlockPos cutPos = rootPos.up();
+		data = TreeHelper.getBranch(world.getBlockState(cutPos)).destroyBranchFromNode(world, cutPos, EnumFacing.NORTH, false);
+		entity = new EntityFallingTree(world).setData(data, new ArrayList<>(0), DestroyType.HARVEST);
+	}
+
+	@TearDown(Level.Trial)
+	public void printSizes() {
+		byte[] raw = spawnData();
+		System.out.println();
+		System.out.println("Branches: " + data.getNumBranches() + ", leaves: " + data.getNumLeaves());
+		System.out.println("NBT bytes: " + nbt().writerIndex());
+		System.out.println("Spawn data bytes: " + raw.length);
+		System.out.println("Deflated spawn data bytes: " + deflate(raw));
+		System.out.println("Entity spawn data bytes: " + entitySpawnData().writerIndex());
+	}
+
+	@Benchmark
+	public PacketBuffer nbt() {
+		PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+		buffer.writeCompoundTag(data.writeToNBT(new NBTTagCompound()));//How the shape was sent before it was spawn data
+		return buffer;
+	}
+
+	@Benchmark
+	public byte[] spawnData() {
+		PacketBuffer buffer = data.writeToBuffer(new PacketBuffer(Unpooled.buffer()));
+		byte[] raw = new byte[buffer.readableBytes()];
+		buffer.readBytes(raw);
+		return raw;
+	}
+
+	@Benchmark
+	public ByteBuf entitySpawnData() {
+		ByteBuf buffer = Unpooled.buffer();
+		entity.writeSpawnData(buffer);
+		return buffer;
+	}
+
+	@Benchmark
+	public int deflatedSpawnData() {
+		return deflate(spawnData());
+	}
+
+	private static int deflate(byte[] raw) {
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		deflater.setInput(raw);
+		deflater.finish();
+		int length = deflater.deflate(new byte[raw.length + 64]);
+		deflater.end();
+		return length;
+	}
+
+}
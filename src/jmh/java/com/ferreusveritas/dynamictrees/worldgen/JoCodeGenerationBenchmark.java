@@ -0,0 +1,73 @@
+package com.ferreusveritas.dynamictrees.worldgen;
+
+import com.ferreusveritas.dynamictrees.test.TestTrees;
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import com.ferreusveritas.dynamictrees.trees.Species;
+import com.ferreusveritas.dynamictrees.util.SafeChunkBounds;
+import net.minecraft.init.Biomes;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trees per second generated from the oak JoCodes the way they are during population.  Each tree goes into a fresh
+ * world with nothing but the ground so every tree is placed in full.  The stack walker is the current way forks are
+ * drawn and the recursive walker is the way they were drawn before, which is still how codes that override
+ * {@link JoCode#generateFork} are drawn.
+ *
+ * @author ferreusveritas
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JoCodeGenerationBenchmark {
+
+	@Param({"4", "8"})
+	public int radius;
+
+	@Param({"stack", "recursive"})
+	public String walker;
+
+	private final BlockPos rootPos = new BlockPos(8, 63, 8);
+	private final Random random = new Random(0);
+	private Species species;
+	private World world;
+	private JoCode code;
+	private EnumFacing facing;
+
+	@Setup(Level.Trial)
+	public void setupTrees() {
+		species = TestTrees.getOak();
+	}
+
+	@Setup(Level.Invocation)
+	public void setupWorld() {
+		world = new TestWorld(0);
+		TestTrees.groundAround(world, new ChunkPos(rootPos), 1);
+		code = species.getJoCodeStore().getRandomCode(radius, random);
+		if (walker.equals("recursive")) {
+			code = new RecursiveJoCode(code.toString());
+		}
+		facing = EnumFacing.HORIZONTALS[random.nextInt(4)];
+	}
+
+	@Benchmark
+	public World generate() {
+		code.generate(world, species, rootPos, Biomes.PLAINS, facing, radius, new SafeChunkBounds(world, new ChunkPos(rootPos)));
+		return world;
+	}
+
+}
@@ -0,0 +1,76 @@
+package com.ferreusveritas.dynamictrees.worldgen;
+
+import com.ferreusveritas.dynamictrees.ModConfigs;
+import com.ferreusveritas.dynamictrees.test.TestTrees;
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chunks per second populated with oaks the way a map is pregenerated, with the leaves written through the world or
+ * straight into the chunk sections.  Every chunk of a square of fresh chunks gets {@link #TREES} trees.  Divide by
+ * {@link #TREES} for trees per second.
+ *
+ * @author ferreusveritas
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PregenerationBenchmark {
+
+	private static final int CHUNKS = 4;//On a side
+	private static final int TREES = 4;//Per chunk
+
+	@Param({"false", "true"})
+	public boolean directWrites;
+
+	private final Random random = new Random(0);
+	private World world;
+
+	@Setup(Level.Trial)
+	public void setupTrees() {
+		TestTrees.getOak();
+		ModConfigs.worldGenDirectWrites = directWrites;
+	}
+
+	@TearDown(Level.Trial)
+	public void restore() {
+		ModConfigs.worldGenDirectWrites = false;
+	}
+
+	@Setup(Level.Invocation)
+	public void setupWorld() {
+		world = new TestWorld(0);
+		TestTrees.groundAround(world, new ChunkPos(CHUNKS / 2, CHUNKS / 2), CHUNKS / 2 + 1);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(CHUNKS * CHUNKS)
+	public World pregenerate() {
+		for (int cx = 0; cx < CHUNKS; cx++) {
+			for (int cz = 0; cz < CHUNKS; cz++) {
+				for (int i = 0; i < TREES; i++) {//A tree in each quarter of the chunk like a dense forest
+					BlockPos rootPos = new BlockPos((cx << 4) + (i & 1) * 8 + random.nextInt(8), 63, (cz << 4) + (i >> 1) * 8 + random.nextInt(8));
+					TestTrees.generateOak(world, rootPos, 4 + random.nextInt(5), random);
+				}
+			}
+		}
+		return world;
+	}
+
+}
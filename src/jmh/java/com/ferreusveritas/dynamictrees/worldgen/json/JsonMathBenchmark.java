@@ -0,0 +1,57 @@
+package com.ferreusveritas.dynamictrees.worldgen.json;
+
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import com.google.gson.JsonElement;
+import net.minecraft.init.Biomes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates every math expression of the default world gen JSON once with constant folding and once with every
+ * operation interpreted as it's written.
+ *
+ * @author ferreusveritas
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonMathBenchmark {
+
+	@Param({"true", "false"})
+	public boolean folding;
+
+	private JsonMath[] maths;
+	private final Random random = new Random(0);
+	private float noise;
+
+	@Setup
+	public void setup() {
+		TestWorld.bootstrap();
+		List<JsonElement> expressions = DefaultWorldGenMath.load();
+		maths = new JsonMath[expressions.size()];
+		for (int i = 0; i < maths.length; i++) {
+			maths[i] = new JsonMath(expressions.get(i), Biomes.PLAINS, folding);
+		}
+	}
+
+	@Benchmark
+	public float evaluate() {
+		noise = noise > 1.0f ? -1.0f : noise + 0.01f;
+		float sum = 0;
+		for (JsonMath math : maths) {
+			sum += math.apply(random, noise);
+		}
+		return sum;
+	}
+
+}
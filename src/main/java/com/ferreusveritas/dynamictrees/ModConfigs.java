@@ -23,6 +23,8 @@ public class ModConfigs {
 	public static float treeHarvestMultiplier;
 	public static float maxTreeHardness;
 	public static int treeGrowthFolding;
+	public static float growthTickBudget;
+	public static int growthQueueLimit;
 	public static boolean dropSticks;
 	public static float scaleBiomeGrowthRate;
 	public static float diseaseChance;
@@ -37,6 +39,11 @@ public class ModConfigs {
 	public static boolean enableFallingTrees;
 	public static boolean enableFallingTreeDamage;
 	public static float fallingTreeDamageMultiplier;
+	public static int fallingTreeNeighborUpdates;
+	public static boolean compressFallingTreeData;
+	public static int harvestDropCellSize;
+	public static boolean harvestDropsToInventory;
+	public static boolean harvestDropsToPlayer;
 	public static boolean dirtBucketPlacesDirt;
 	public static boolean enableAltLeavesSnow;
 	public static int boneMealGrowthPulses;
@@ -48,6 +55,10 @@ public class ModConfigs {
 	public static boolean worldGen;
 	public static boolean vanillaCactusWorldGen;
 	public static HashSet<Integer> dimensionBlacklist = new HashSet<Integer>();
+	public static int poissonDiscMaxRegions;
+	public static int poissonDiscPrecomputeThreads;
+	public static boolean worldGenDirectWrites;
+	public static boolean worldGenSeededTrees;
 
 	public static boolean fancyThickRings;
 
@@ -77,6 +88,8 @@ public class ModConfigs {
 		treeHarvestMultiplier = config.getFloat("harvestMultiplier", "trees", 1f, 0f, 128f, "Factor that multiplies the wood returned from harvesting a tree.  You cheat.");
 		maxTreeHardness = config.getFloat("maxTreeHardness", "trees", 20f, 1f, 200f, "Maximum harvesting hardness that can be calculated. Regardless of tree thickness.");
 		treeGrowthFolding = config.getInt("growthFolding", "trees", 2, 1, 8, "Do X growth cycles at once while ignoring (X-1)/X attempts.  Higher numbers can improve client side performance but too high can make trees grow weird.");
+		growthTickBudget = config.getFloat("growthTickBudget", "trees", 0f, 0f, 50f, "Milliseconds per world tick that may be spent growing trees. Growth that doesn't fit is queued for the next tick. Set to 0 to grow trees immediately during the random tick");
+		growthQueueLimit = config.getInt("growthQueueLimit", "trees", 8192, 64, 1048576, "Most trees per dimension that may be waiting to grow when growthTickBudget is on. Trees beyond this grow immediately during the random tick");
 		dropSticks = config.getBoolean("dropSticks", "trees", true, "If enabled then sticks will be dropped for partial logs");
 		scaleBiomeGrowthRate = config.getFloat("scaleBiomeGrowthRate", "trees", 0.5f, 0.0f, 1.0f, "Scales the growth for the environment.  0.5f is nominal. 0.0 trees only grow in their native biome. 1.0 trees grow anywhere like they are in their native biome");
 		diseaseChance = config.getFloat("diseaseChance", "trees", 0.0f, 0.0f, 1.0f, "The chance of a tree on depleted soil to die. 1/256(~0.004) averages to about 1 death every 16 minecraft days");
@@ -92,6 +105,11 @@ public class ModConfigs {
 		enableFallingTrees = config.getBoolean("enableFallingTrees", "interaction", true, "If enabled then trees will fall over when harvested");
 		enableFallingTreeDamage = config.getBoolean("enableFallingTreeDamage", "interaction", true, "If enabled then trees will harm living entities when falling");
 		fallingTreeDamageMultiplier = config.getFloat("fallingTreeDamageMultiplier", "interaction", 1.0f, 0.0f, 100.0f, "Multiplier for damage incurred by a falling tree");
+		fallingTreeNeighborUpdates = config.getInt("fallingTreeNeighborUpdates", "interaction", 1024, 0, 65536, "Most blocks next to a felled tree that are told about it each tick. The rest are told over the following ticks. Set to 0 to tell them all at once");
+		compressFallingTreeData = config.getBoolean("compressFallingTreeData", "interaction", true, "If enabled the shape of a large falling tree is compressed before it is sent to players. Trades a little server time for smaller packets");
+		harvestDropCellSize = config.getInt("harvestDropCellSize", "interaction", 1, 0, 16, "Width in blocks of the cubes a felled tree's drops are gathered in. Identical drops in a cube are merged and come out of one spot. 1 merges only the drops of the same block so drops land where they always have. Larger cubes mean far fewer item entities for big trees. Set to 0 to drop every stack on its own");
+		harvestDropsToInventory = config.getBoolean("harvestDropsToInventory", "interaction", false, "If enabled the drops of a felled tree are put into any inventory next to where the tree was cut");
+		harvestDropsToPlayer = config.getBoolean("harvestDropsToPlayer", "interaction", false, "If enabled the drops of a felled tree are put into the inventory of the player that cut it");
 		dirtBucketPlacesDirt = config.getBoolean("dirtBucketPlacesDirt", "interaction", true, "If enabled the Dirt Bucket will place a dirt block on right-click");
 		enableAltLeavesSnow = config.getBoolean("enableAltLeavesSnow", "interaction", false, "If enabled then an alternate(non-vanilla) snow layer block will be used on top of leaves");
 		boneMealGrowthPulses = config.getInt("boneMealGrowthPulses", "interaction", 1, 1, 512, "The amount of growth pulses to send when bone meal is applied to a tree. Setting values higher than 64 is not recommended other than for testing purposes.");
@@ -104,6 +122,10 @@ public class ModConfigs {
 		roofedForestMushroomGen = config.getBoolean("roofedForestMushroomGen", "world", true, "Generate giant mushrooms in roofed forests.");
 		worldGen = config.getBoolean("worldGen", "world", true, "World Generation produces Dynamic Trees instead of Vanilla trees.");
 		vanillaCactusWorldGen = config.getBoolean("vanillaCactusWorldGen", "world", false, "World Generation produces Vanilla cactus as well as Dynamic cactus if world gen replacement is enabled.");
+		poissonDiscMaxRegions = config.getInt("poissonDiscMaxRegions", "world", 256, 16, 65536, "Maximum number of 32x32 chunk regions of tree placement data kept in memory per dimension. Data for unloaded chunks beyond this is released and read back from the chunk when it loads again");
+		poissonDiscPrecomputeThreads = config.getInt("poissonDiscPrecomputeThreads", "world", 0, 0, 16, "Number of background threads that work out tree placement for chunks next to freshly populated chunks before they are needed. Set to 0 to work out placement only when a chunk is populated");
+		worldGenDirectWrites = config.getBoolean("worldGenDirectWrites", "world", false, "If enabled the leaves of generated trees are written straight into the sections of chunks that haven't been populated yet and their light is checked once the whole tree is in. Faster when pregenerating a map");
+		worldGenSeededTrees = config.getBoolean("worldGenSeededTrees", "world", false, "If enabled every generated tree is rolled from the world seed and its own position so it comes out the same no matter what order chunks are populated in. Changes the trees of newly generated chunks in existing worlds so they no longer match the old ones along chunk borders");
 		String[] dims = config.getStringList("dimensionsBlacklist", "world", new String[]{"7"}, "Blacklist of dimension numbers for disabling Dynamic Tree worldgen");
 
 		for (String dim : dims) {
@@ -49,6 +49,10 @@ public class TreeHelper {
 	/**
 	 * Pulses an entire leafMap volume of blocks each with an age signal. Warning: CPU intensive and should be used
 	 * sparingly
+	 * <p>
+	 * The leaves are aged in bulk by a {@link LeavesHydrationSolver} which reads each block in the volume at most once
+	 * and writes the changed blocks back to the world after each pass.  Blocks that have to be aged in the world are
+	 * still aged in their turn.  The changes before them are written back first and the copy is read again after.
 	 *
 	 * @param world      The world
 	 * @param leafMap    The voxel map of hydrovalues to use as a iterator
@@ -59,42 +63,54 @@ public class TreeHelper {
 		//The iterMap is the voxmap we will use as a discardable.  The leafMap must survive for snow
 		SimpleVoxmap iterMap = leafMap != null ? new SimpleVoxmap(leafMap) : null;
 		Iterable<MutableBlockPos> iterable = iterMap.getAllNonZero();
+		LeavesHydrationSolver solver = new LeavesHydrationSolver(world, leafMap.getBounds(), safeBounds);
+		MutableBlockPos dPos = new MutableBlockPos();
 
 		for (int i = 0; i < iterations; i++) {
 			for (MutableBlockPos iPos : iterable) {
-				IBlockState blockState = world.getBlockState(iPos);
+				IBlockState blockState = solver.getBlockState(iPos);
 				Block block = blockState.getBlock();
 				if (block instanceof BlockDynamicLeaves) {//Special case for leaves
-					int prevHydro = leafMap.getVoxel(iPos);//The leafMap should contain accurate hydro data
-					int newHydro = ((IAgeable) block).age(world, iPos, blockState, world.rand, safeBounds);//Get new values from neighbors
-					if (newHydro == -1) {
-						//Leaf block died.  Take it out of the leafMap and iterMap
-						leafMap.setVoxel(iPos, (byte) 0);
-						iterMap.setVoxel(iPos, (byte) 0);
-					} else {
-						//Leaf did not die so the block is still leaves
-						if (prevHydro == newHydro) { //But it didn't change
-							iterMap.setVoxel(iPos, (byte) 0); //Stop iterating over it if it's not changing
-						} else {//Oh wait.. it did change
-							//Update both maps with this new hydro value
-							leafMap.setVoxel(iPos, (byte) newHydro);
-							iterMap.setVoxel(iPos, (byte) newHydro);
-							//Copy all the surrounding values from the leafMap to the iterMap since they now also have potential to change
-							for (EnumFacing dir : EnumFacing.values()) {
-								BlockPos dPos = iPos.offset(dir);
-								iterMap.setVoxel(dPos, leafMap.getVoxel(dPos));
-							}
-						}
-					}
+					int newHydro = solver.age(iPos, blockState, world.rand);//Get new values from neighbors
+					updateLeafMaps(leafMap, iterMap, iPos, newHydro, dPos);
 				} else if (block instanceof IAgeable) {//Treat as just a regular ageable block
+					solver.commit();
 					((IAgeable) block).age(world, iPos, blockState, world.rand, safeBounds);
+					solver.invalidate();//There's no telling what was changed
 				} else {//You're not supposed to be here
 					leafMap.setVoxel(iPos, (byte) 0);
 					iterMap.setVoxel(iPos, (byte) 0);
 				}
 			}
+
+			solver.commit();//Lets the world light catch up with the pass
 		}
+	}
 
+	/**
+	 * Keeps the leafMap up to date with the aged leaves and the iterMap down to the leaves that can still change
+	 */
+	private static void updateLeafMaps(SimpleVoxmap leafMap, SimpleVoxmap iterMap, BlockPos pos, int newHydro, MutableBlockPos dPos) {
+		int prevHydro = leafMap.getVoxel(pos);//The leafMap should contain accurate hydro data
+		if (newHydro == -1) {
+			//Leaf block died.  Take it out of the leafMap and iterMap
+			leafMap.setVoxel(pos, (byte) 0);
+			iterMap.setVoxel(pos, (byte) 0);
+		} else {
+			//Leaf did not die so the block is still leaves
+			if (prevHydro == newHydro) { //But it didn't change
+				iterMap.setVoxel(pos, (byte) 0); //Stop iterating over it if it's not changing
+			} else {//Oh wait.. it did change
+				//Update both maps with this new hydro value
+				leafMap.setVoxel(pos, (byte) newHydro);
+				iterMap.setVoxel(pos, (byte) newHydro);
+				//Copy all the surrounding values from the leafMap to the iterMap since they now also have potential to change
+				for (EnumFacing dir : EnumFacing.VALUES) {
+					dPos.setPos(pos.getX() + dir.getFrontOffsetX(), pos.getY() + dir.getFrontOffsetY(), pos.getZ() + dir.getFrontOffsetZ());
+					iterMap.setVoxel(dPos, leafMap.getVoxel(dPos));
+				}
+			}
+		}
 	}
 
 	/**
@@ -5,6 +5,11 @@ import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
+/**
+ * Inspects or operates on the nodes of a branch network during analysis.
+ * <p>
+ * The position passed to {@link #run} and {@link #returnRun} is the immutable position of the node and may be kept.
+ */
 public interface INodeInspector {
 
 	boolean run(IBlockState blockState, World world, BlockPos pos, EnumFacing fromDir);
@@ -87,6 +87,20 @@ public class BiomePropertySelectors {
 
 	}
 
+	/**
+	 * Picks a species at random by weight.  Picks are made from an alias table (Vose's method) so choosing from a long
+	 * list of species takes the same time as choosing from a short one.  The table is built on the first pick after
+	 * the list changes and is swapped in whole so a pick never sees a half built table.
+	 * <p>
+	 * A pick is still a single draw from the random but it is drawn from the number of species times the total weight
+	 * rather than from the total weight alone.  Each species keeps exactly the same chance but a given seed picks
+	 * different species than it did when the list was walked, so newly generated chunks won't match the species layout
+	 * of older versions.
+	 * <p>
+	 * Only the species pick is tabled.  The chance and density selectors of a biome stay the chains of selectors the
+	 * JSON appliers build since addons implement and wrap those same interfaces.  Repopulating the biome database
+	 * builds new selectors so their tables are rebuilt from scratch.
+	 */
 	public static class RandomSpeciesSelector implements ISpeciesSelector {
 
 		private class Entry {
@@ -101,8 +115,35 @@ public class BiomePropertySelectors {
 
 		}
 
+		private static class AliasTable {
+
+			private final SpeciesSelection[] decisions;
+			private final int[] prob;//Out of the total weight.  The chance of keeping the column rather than taking its alias
+			private final int[] alias;
+			private final int totalWeight;
+			private final int range;//Columns times the total weight
+
+			private AliasTable(SpeciesSelection[] decisions, int[] prob, int[] alias, int totalWeight) {
+				this.decisions = decisions;
+				this.prob = prob;
+				this.alias = alias;
+				this.totalWeight = totalWeight;
+				this.range = decisions.length * totalWeight;
+			}
+
+			private SpeciesSelection pick(Random random) {
+				int r = random.nextInt(range);//A single roll picks both the column and the coin toss
+				int column = r / totalWeight;
+				return r % totalWeight < prob[column] ? decisions[column] : decisions[alias[column]];
+			}
+
+		}
+
+		private static final AliasTable WALK = new AliasTable(new SpeciesSelection[0], new int[0], new int[0], 0);//Stands in for a table when the weights can't be put in one
+
 		ArrayList<Entry> decisionTable = new ArrayList<Entry>();
 		int totalWeight;
+		private volatile AliasTable aliasTable;
 
 		public int getSize() {
 			return decisionTable.size();
@@ -111,18 +152,30 @@ public class BiomePropertySelectors {
 		public RandomSpeciesSelector add(@Nonnull Species species, int weight) {
 			decisionTable.add(new Entry(new SpeciesSelection(species), weight));
 			totalWeight += weight;
+			aliasTable = null;
 			return this;
 		}
 
 		public RandomSpeciesSelector add(int weight) {
 			decisionTable.add(new Entry(new SpeciesSelection(), weight));
 			totalWeight += weight;
+			aliasTable = null;
 			return this;
 
 		}
 
 		@Override
 		public SpeciesSelection getSpecies(BlockPos pos, IBlockState dirt, Random random) {
+			AliasTable table = aliasTable;
+			if (table == null) {
+				table = buildAliasTable();
+				aliasTable = table = table != null ? table : WALK;//Remember that there's no table so it isn't built again on every pick
+			}
+
+			return table != WALK ? table.pick(random) : getSpeciesLinear(random);
+		}
+
+		private SpeciesSelection getSpeciesLinear(Random random) {
 			int chance = random.nextInt(totalWeight);
 
 			for (Entry entry : decisionTable) {
@@ -135,6 +188,65 @@ public class BiomePropertySelectors {
 			return decisionTable.get(decisionTable.size() - 1).decision;
 		}
 
+		/**
+		 * @return The alias table of the weights or null if the weights can't be put in one and have to be walked
+		 */
+		private AliasTable buildAliasTable() {
+			int n = decisionTable.size();
+			if (n == 0 || totalWeight <= 0 || (long) n * totalWeight > Integer.MAX_VALUE) {
+				return null;
+			}
+
+			SpeciesSelection[] decisions = new SpeciesSelection[n];
+			long[] scaled = new long[n];
+			for (int i = 0; i < n; i++) {
+				Entry entry = decisionTable.get(i);
+				if (entry.weight < 0) {
+					return null;
+				}
+				decisions[i] = entry.decision;
+				scaled[i] = (long) entry.weight * n;
+			}
+
+			int[] prob = new int[n];
+			int[] alias = new int[n];
+			int[] small = new int[n];
+			int[] large = new int[n];
+			int numSmall = 0;
+			int numLarge = 0;
+
+			for (int i = 0; i < n; i++) {
+				if (scaled[i] < totalWeight) {
+					small[numSmall++] = i;
+				} else {
+					large[numLarge++] = i;
+				}
+			}
+
+			while (numSmall > 0 && numLarge > 0) {
+				int s = small[--numSmall];
+				int l = large[--numLarge];
+				prob[s] = (int) scaled[s];
+				alias[s] = l;
+				scaled[l] -= totalWeight - scaled[s];//The large column gives up what the small one was short of
+				if (scaled[l] < totalWeight) {
+					small[numSmall++] = l;
+				} else {
+					large[numLarge++] = l;
+				}
+			}
+
+			//Whatever is left is exactly full
+			while (numLarge > 0) {
+				prob[large[--numLarge]] = totalWeight;
+			}
+			while (numSmall > 0) {
+				prob[small[--numSmall]] = totalWeight;
+			}
+
+			return new AliasTable(decisions, prob, alias, totalWeight);
+		}
+
 	}
 
 
@@ -6,4 +6,17 @@ public interface IRadiusCoordinator {
 
 	boolean runPass(int chunkX, int chunkZ, int pass);
 
+	/**
+	 * Creates a coordinator for the neighborhood of a chunk that can be used on a worker thread to solve the discs of
+	 * that chunk ahead of time.  It must not touch the world and must answer exactly as this coordinator would for every
+	 * coordinate the disc solver can ask about while solving the chunk.
+	 *
+	 * @param chunkX The chunk x coordinate
+	 * @param chunkZ The chunk z coordinate
+	 * @return The coordinator or null if the discs of the chunk can't be solved ahead of time
+	 */
+	default IRadiusCoordinator snapshot(int chunkX, int chunkZ) {
+		return null;
+	}
+
 }
@@ -9,16 +9,15 @@ import com.ferreusveritas.dynamictrees.api.treedata.ITreePart;
 import com.ferreusveritas.dynamictrees.entities.EntityFallingTree;
 import com.ferreusveritas.dynamictrees.entities.EntityFallingTree.DestroyType;
 import com.ferreusveritas.dynamictrees.event.FutureBreak;
-import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeDestroyer;
-import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeExtState;
-import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeNetVolume;
-import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeSpecies;
+import com.ferreusveritas.dynamictrees.systems.TreeTopologyCache;
+import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeHarvest;
 import com.ferreusveritas.dynamictrees.trees.Species;
 import com.ferreusveritas.dynamictrees.trees.TreeFamily;
 import com.ferreusveritas.dynamictrees.util.BlockBounds;
 import com.ferreusveritas.dynamictrees.util.BranchDestructionData;
 import com.ferreusveritas.dynamictrees.util.SimpleVoxmap;
 import com.ferreusveritas.dynamictrees.util.SimpleVoxmap.Cell;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.material.EnumPushReaction;
 import net.minecraft.block.material.Material;
@@ -45,6 +44,7 @@ import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.Explosion;
 import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
+import net.minecraftforge.common.property.IExtendedBlockState;
 import net.minecraftforge.common.property.IUnlistedProperty;
 import net.minecraftforge.common.property.Properties;
 
@@ -238,24 +238,38 @@ public abstract class BlockBranch extends Block implements ITreePart, IFutureBre
 	public BranchDestructionData destroyBranchFromNode(World world, BlockPos cutPos, EnumFacing toolDir, boolean wholeTree) {
 
 		IBlockState blockState = world.getBlockState(cutPos);
-		NodeSpecies nodeSpecies = new NodeSpecies();
-		MapSignal signal = analyse(blockState, world, cutPos, null, new MapSignal(nodeSpecies));// Analyze entire tree network to find root node and species
-		Species species = nodeSpecies.getSpecies();//Get the species from the root node
-
-		// Analyze only part of the tree beyond the break point and map out the extended block states
-		// We can't destroy the branches during this step since we need accurate extended block states that include connections
-		NodeExtState extStateMapper = new NodeExtState(cutPos);
-		analyse(blockState, world, cutPos, wholeTree ? null : signal.localRootDir, new MapSignal(extStateMapper));
-
-		// Analyze only part of the tree beyond the break point and calculate it's volume, then destroy the branches
-		NodeNetVolume volumeSum = new NodeNetVolume();
-		NodeDestroyer destroyer = new NodeDestroyer(species);
+		NodeHarvest harvest = new NodeHarvest(cutPos);
+		MapSignal signal = analyse(blockState, world, cutPos, null, new MapSignal(harvest));// Analyze entire tree network to find root node, species and the nodes to harvest in a single pass
+		Species species = harvest.getSpecies();//Get the species from the root node
+
+		// Leave out the part of the tree on the root side of the break point unless the whole tree is coming down
+		EnumFacing rootDir = wholeTree ? null : signal.localRootDir;
+		harvest.exclude(rootDir);
+		if (signal.overflow) {
+			// The walk gave up somewhere and that may have been on the root side before it got to the part being cut.
+			// Walk the sides of the break point that were never reached, each with a fresh signal, so they're still collected.
+			for (EnumFacing dir : EnumFacing.VALUES) {
+				if (dir != rootDir && !harvest.hasWalked(dir)) {
+					BlockPos sidePos = cutPos.offset(dir);
+					IBlockState sideState = world.getBlockState(sidePos);
+					ITreePart sidePart = TreeHelper.getTreePart(sideState);
+					if (sidePart.shouldAnalyse()) {
+						sidePart.analyse(sideState, world, sidePos, dir.getOpposite(), new MapSignal(harvest));
+					}
+				}
+			}
+		}
+
+		// Map out the extended block states and calculate the volume of the harvested part of the tree.
+		// We can't destroy the branches before this step since we need accurate extended block states that include connections
+		Long2ObjectOpenHashMap<IExtendedBlockState> extStateMap = harvest.getExtStateMap(world);
+		float volume = harvest.getVolume();
+
 		destroyMode = EnumDestroyMode.HARVEST;
-		analyse(blockState, world, cutPos, wholeTree ? null : signal.localRootDir, new MapSignal(volumeSum, destroyer));
+		List<BlockPos> endPoints = harvest.destroy(world, species);
 		destroyMode = EnumDestroyMode.SLOPPY;
 
 		//Destroy all the leaves on the branch, store them in a map and convert endpoint coordinates from absolute to relative
-		List<BlockPos> endPoints = destroyer.getEnds();
 		Map<BlockPos, IBlockState> destroyedLeaves = new HashMap<>();
 		List<BlockItemStack> leavesDropsList = new ArrayList<>();
 		destroyLeaves(world, cutPos, species, endPoints, destroyedLeaves, leavesDropsList);
@@ -263,7 +277,7 @@ public abstract class BlockBranch extends Block implements ITreePart, IFutureBre
 
 		//Calculate main trunk height
 		int trunkHeight = 1;
-		for (BlockPos iter = new BlockPos(0, 1, 0); extStateMapper.getExtStateMap().containsKey(iter); iter = iter.up()) {
+		for (MutableBlockPos iter = new MutableBlockPos(0, 1, 0); extStateMap.containsKey(iter.toLong()); iter.move(EnumFacing.UP)) {
 			trunkHeight++;
 		}
 
@@ -272,7 +286,7 @@ public abstract class BlockBranch extends Block implements ITreePart, IFutureBre
 			cutDir = EnumFacing.DOWN;
 		}
 
-		return new BranchDestructionData(species, extStateMapper.getExtStateMap(), destroyedLeaves, leavesDropsList, endPoints, volumeSum.getVolume(), cutPos, cutDir, toolDir, trunkHeight);
+		return new BranchDestructionData(species, extStateMap, destroyedLeaves, leavesDropsList, endPoints, volume, cutPos, cutDir, toolDir, trunkHeight);
 	}
 
 	/**
@@ -429,7 +443,7 @@ public abstract class BlockBranch extends Block implements ITreePart, IFutureBre
 		List<ItemStack> woodDropList = woodItems.stream().filter(i -> world.rand.nextFloat() <= finalChance).collect(Collectors.toList());
 
 		//This will drop the EntityFallingTree into the world
-		EntityFallingTree.dropTree(world, destroyData, woodDropList, DestroyType.HARVEST);
+		EntityFallingTree.dropTree(world, destroyData, woodDropList, DestroyType.HARVEST, entity instanceof EntityPlayer ? (EntityPlayer) entity : null);
 
 		//Damage the axe by a prescribed amount
 		damageAxe(entity, heldItem, getRadius(state), woodVolume);
@@ -526,8 +540,15 @@ public abstract class BlockBranch extends Block implements ITreePart, IFutureBre
 
 	public static EnumDestroyMode destroyMode = EnumDestroyMode.SLOPPY;
 
+	@Override
+	public void onBlockAdded(World world, BlockPos pos, IBlockState state) {
+		TreeTopologyCache.invalidate(world, pos);//A new branch may have joined a network
+	}
+
 	@Override
 	public void breakBlock(World world, BlockPos pos, IBlockState state) {
+		TreeTopologyCache.invalidate(world, pos);
+
 		if (!world.isRemote && destroyMode == EnumDestroyMode.SLOPPY) {
 			//System.out.println("Sloppy break detected at: " + pos);
 			IBlockState toBlockState = world.getBlockState(pos);
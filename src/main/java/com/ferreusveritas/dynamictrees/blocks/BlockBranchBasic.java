@@ -42,6 +42,8 @@ public class BlockBranchBasic extends BlockBranch {
 
 	protected IBlockState[] branchStates;
 
+	private final boolean networkWalkable = BranchNetworkWalker.hasStandardAnalysis(getClass());
+
 	// Trees are mostly made of wood
 	public BlockBranchBasic(String name) {
 		this(Material.WOOD, name);//Trees are made of wood. Brilliant.
@@ -426,6 +428,14 @@ public class BlockBranchBasic extends BlockBranch {
 		return this.getFamily().getMaxSignalDepth();
 	}
 
+	/**
+	 * @return true if this branch uses the standard analysis and may be traversed directly by the
+	 * {@link BranchNetworkWalker}
+	 */
+	public boolean isNetworkWalkable() {
+		return networkWalkable;
+	}
+
 	/**
 	 * This is a recursive algorithm used to explore the branch network.  It calls a run() function for the signal on
 	 * the way out and a returnRun() on the way back.
@@ -442,46 +452,16 @@ public class BlockBranchBasic extends BlockBranch {
 	 * The difference being that in an iterative design I would need to maintain a stack array holding all of the values
 	 * and push and pop them manually or use a stack index.  This is messy and not something I would want to maintain
 	 * for practically non-existent gains. Java does a pretty good job of managing the stack on its own.
+	 * <p>
+	 * Mega trees did end up going well past that depth of 32 and every step created a new BlockPos for each of its
+	 * neighbors.  So the walk between basic branches is now done by the {@link BranchNetworkWalker} which keeps that
+	 * stack array after all.  It still calls out to the analyse function of every other kind of tree part so the
+	 * object oriented part of the above holds.  The nodes are visited in the same order the recursion visited them.
 	 */
 	@Override
 	public MapSignal analyse(IBlockState blockState, World world, BlockPos pos, EnumFacing fromDir, MapSignal signal) {
 		// Note: fromDir will be null in the origin node
-
-		if (signal.overflow || (signal.trackVisited && signal.doTrackingVisited(pos))) {
-			return signal;
-		}
-
-		if (signal.depth++ < getMaxSignalDepth()) {// Prevents going too deep into large networks, or worse, being caught in a network loop
-			signal.run(blockState, world, pos, fromDir);// Run the inspectors of choice
-			for (EnumFacing dir : EnumFacing.VALUES) {// Spread signal in various directions
-				if (dir != fromDir) {// don't count where the signal originated from
-					BlockPos deltaPos = pos.offset(dir);
-
-					IBlockState deltaState = world.getBlockState(deltaPos);
-					ITreePart treePart = TreeHelper.getTreePart(deltaState);
-
-					if (treePart.shouldAnalyse()) {
-						signal = treePart.analyse(deltaState, world, deltaPos, dir.getOpposite(), signal);
-
-						// This should only be true for the originating block when the root node is found
-						if (signal.found && signal.localRootDir == null && fromDir == null) {
-							signal.localRootDir = dir;
-						}
-					}
-				}
-			}
-			signal.returnRun(blockState, world, pos, fromDir);
-		} else {
-			IBlockState state = world.getBlockState(pos);
-			if (signal.destroyLoopedNodes && state.getBlock() instanceof BlockBranch) {
-				BlockBranch branch = (BlockBranch) state.getBlock();
-				branch.breakDeliberate(world, pos, EnumDestroyMode.OVERFLOW);// Destroy one of the offending nodes
-			}
-			signal.overflow = true;
-		}
-		signal.depth--;
-
-		return signal;
+		return BranchNetworkWalker.get().walk(this, blockState, world, pos, fromDir, signal);
 	}
 
 }
@@ -13,6 +13,7 @@ import com.ferreusveritas.dynamictrees.api.treedata.ITreePart;
 import com.ferreusveritas.dynamictrees.entities.EntityFallingTree;
 import com.ferreusveritas.dynamictrees.items.Seed;
 import com.ferreusveritas.dynamictrees.systems.GrowSignal;
+import com.ferreusveritas.dynamictrees.systems.TreeTopologyCache;
 import com.ferreusveritas.dynamictrees.trees.Species;
 import com.ferreusveritas.dynamictrees.trees.TreeFamily;
 import com.ferreusveritas.dynamictrees.util.IRayTraceCollision;
@@ -64,6 +65,8 @@ public class BlockDynamicLeaves extends BlockLeaves implements ITreePart, IAgeab
 
 	public ILeavesProperties[] properties = new ILeavesProperties[]{LeavesProperties.NULLPROPERTIES, LeavesProperties.NULLPROPERTIES, LeavesProperties.NULLPROPERTIES, LeavesProperties.NULLPROPERTIES};
 
+	private final boolean standardAging = hasStandardAging(getClass());
+
 	public BlockDynamicLeaves() {
 		this.setDefaultState(this.blockState.getBaseState().withProperty(HYDRO, 4).withProperty(TREE, 0));
 	}
@@ -198,6 +201,41 @@ public class BlockDynamicLeaves extends BlockLeaves implements ITreePart, IAgeab
 		return newHydro;//Leaves were not destroyed
 	}
 
+	/**
+	 * @return true if this block ages, grows new leaves and checks its light by the rules of this class without any new
+	 * leaves properties handler and can therefore be aged in bulk by the {@link LeavesHydrationSolver}
+	 */
+	public boolean hasStandardAging() {
+		return standardAging;
+	}
+
+	private static boolean hasStandardAging(Class<? extends BlockDynamicLeaves> leavesClass) {
+		try {
+			return leavesClass.getMethod("age", World.class, BlockPos.class, IBlockState.class, Random.class, SafeChunkBounds.class).getDeclaringClass() == BlockDynamicLeaves.class &&
+				leavesClass.getMethod("getHydrationLevelFromNeighbors", IBlockAccess.class, BlockPos.class, ILeavesProperties.class).getDeclaringClass() == BlockDynamicLeaves.class &&
+				leavesClass.getMethod("isLocationSuitableForNewLeaves", World.class, ILeavesProperties.class, BlockPos.class).getDeclaringClass() == BlockDynamicLeaves.class &&
+				leavesClass.getMethod("hasAdequateLight", IBlockState.class, World.class, ILeavesProperties.class, BlockPos.class).getDeclaringClass() == BlockDynamicLeaves.class &&
+				!overridesNewLeavesPropertiesHandler(leavesClass);
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * The handler is protected so it can't be found with {@link Class#getMethod} like the others
+	 */
+	private static boolean overridesNewLeavesPropertiesHandler(Class<?> leavesClass) {
+		for (Class<?> c = leavesClass; c != BlockDynamicLeaves.class; c = c.getSuperclass()) {
+			try {
+				c.getDeclaredMethod("getNewLeavesPropertiesHandler", World.class, BlockPos.class, IBlockState.class, int.class, boolean.class);
+				return true;
+			} catch (NoSuchMethodException e) {
+				//Not declared here.  Try the superclass.
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Provides a method to add custom leaves properties besides the normal hydro.  Currently used by flowering oak in
 	 * the BoP add-on
@@ -223,6 +261,11 @@ public class BlockDynamicLeaves extends BlockLeaves implements ITreePart, IAgeab
 	public void breakBlock(World worldIn, BlockPos pos, IBlockState state) {
 	}
 
+	@Override
+	public void onBlockAdded(World worldIn, BlockPos pos, IBlockState state) {
+		TreeTopologyCache.invalidateNode(worldIn, pos);//Leaves aren't part of a network but they can take the place of a node
+	}
+
 	@Override
 	public boolean isPassable(IBlockAccess access, BlockPos pos) {
 		return passableLeavesModLoaded ? super.isPassable(access, pos) : ModConfigs.isLeavesPassable;
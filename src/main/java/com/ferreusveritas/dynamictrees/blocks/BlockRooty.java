@@ -12,6 +12,8 @@ import com.ferreusveritas.dynamictrees.blocks.MimicProperty.IMimic;
 import com.ferreusveritas.dynamictrees.entities.EntityFallingTree;
 import com.ferreusveritas.dynamictrees.entities.EntityFallingTree.DestroyType;
 import com.ferreusveritas.dynamictrees.systems.GrowSignal;
+import com.ferreusveritas.dynamictrees.systems.GrowthScheduler;
+import com.ferreusveritas.dynamictrees.systems.TreeTopologyCache;
 import com.ferreusveritas.dynamictrees.tileentity.TileEntitySpecies;
 import com.ferreusveritas.dynamictrees.trees.Species;
 import com.ferreusveritas.dynamictrees.trees.TreeFamily;
@@ -85,10 +87,17 @@ public class BlockRooty extends Block implements ITreePart, ITileEntityProvider,
 	// TILE ENTITY
 	///////////////////////////////////////////
 
+	@Override
+	public void onBlockAdded(World worldIn, BlockPos pos, IBlockState state) {
+		TreeTopologyCache.invalidate(worldIn, pos);//A branch network next to this may have just found its root
+		super.onBlockAdded(worldIn, pos, state);
+	}
+
 	/**
 	 * Called serverside after this block is replaced with another in Chunk, but before the Tile Entity is updated
 	 */
 	public void breakBlock(World worldIn, BlockPos pos, IBlockState state) {
+		TreeTopologyCache.invalidate(worldIn, pos);
 		super.breakBlock(worldIn, pos, state);
 		if (hasTileEntity(state)) {
 			worldIn.removeTileEntity(pos);
@@ -148,7 +157,10 @@ public class BlockRooty extends Block implements ITreePart, ITileEntityProvider,
 	@Override
 	public void randomTick(World world, BlockPos pos, IBlockState state, Random random) {
 		if (random.nextInt(ModConfigs.treeGrowthFolding) == 0) {
-			updateTree(state, world, pos, random, true);
+			//Grow during the world tick when there's time for it.  If the queue is full grow now
+			if (!GrowthScheduler.isEnabled(world) || !GrowthScheduler.get(world).request(world, pos)) {
+				updateTree(state, world, pos, random, true);
+			}
 		}
 	}
 
@@ -4,6 +4,7 @@ import com.ferreusveritas.dynamictrees.ModBlocks;
 import com.ferreusveritas.dynamictrees.ModTabs;
 import com.ferreusveritas.dynamictrees.api.TreeHelper;
 import com.ferreusveritas.dynamictrees.entities.EntityFallingTree;
+import com.ferreusveritas.dynamictrees.systems.TreeTopologyCache;
 import com.ferreusveritas.dynamictrees.util.CoordUtils.Surround;
 import net.minecraft.block.Block;
 import net.minecraft.block.SoundType;
@@ -307,8 +308,14 @@ public class BlockSurfaceRoot extends Block {
 		return null;
 	}
 
+	@Override
+	public void onBlockAdded(World worldIn, BlockPos pos, IBlockState state) {
+		TreeTopologyCache.invalidate(worldIn, pos);//Surface roots grow against the base of a trunk
+	}
+
 	@Override
 	public void breakBlock(World worldIn, BlockPos pos, IBlockState state) {
+		TreeTopologyCache.invalidate(worldIn, pos);
 		IBlockState upstate = worldIn.getBlockState(pos.up());
 
 		if (upstate.getBlock() == ModBlocks.blockTrunkShell) {
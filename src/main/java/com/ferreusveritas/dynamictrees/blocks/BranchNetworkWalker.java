@@ -0,0 +1,182 @@
+package com.ferreusveritas.dynamictrees.blocks;
+
+import com.ferreusveritas.dynamictrees.api.TreeHelper;
+import com.ferreusveritas.dynamictrees.api.network.MapSignal;
+import com.ferreusveritas.dynamictrees.api.treedata.ITreePart;
+import com.ferreusveritas.dynamictrees.blocks.BlockBranch.EnumDestroyMode;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.MutableBlockPos;
+import net.minecraft.world.World;
+
+import java.util.Arrays;
+
+/**
+ * An explicit stack replacement for the recursive branch network analysis of {@link BlockBranchBasic}.
+ * <p>
+ * Nodes are visited in exactly the same order as the recursive algorithm so {@link MapSignal#run} and
+ * {@link MapSignal#returnRun} fire in the same sequence as before.  Each walker owns a pool of frames that are reused
+ * from one analysis to the next and neighbors are probed with a single {@link MutableBlockPos} cursor so walking a
+ * network only creates one {@link BlockPos} per node visited instead of one for every neighbor looked at.  The node
+ * positions handed to the inspectors are immutable so inspectors are free to hold onto them.
+ * <p>
+ * Tree parts that provide their own analysis (rooty blocks, cactus branches, or add-on branches that override
+ * {@link BlockBranchBasic#analyse}) are handed off to their own analyse function.  The walker is re-entrant so if one
+ * of those calls back into a basic branch the new walk simply continues on top of the existing stack.
+ *
+ * @author ferreusveritas
+ */
+public class BranchNetworkWalker {
+
+	private static final ThreadLocal<BranchNetworkWalker> WALKERS = ThreadLocal.withInitial(BranchNetworkWalker::new);
+
+	private Frame[] frames = new Frame[0];
+	private int top = 0;//The number of frames currently in use
+	private final MutableBlockPos probe = new MutableBlockPos();
+
+	private static class Frame {
+		BlockPos pos;
+		IBlockState state;
+		EnumFacing fromDir;
+		int nextDir;//Index into EnumFacing.VALUES of the next direction to explore
+		EnumFacing childDir;//The direction of the child node currently being explored
+	}
+
+	private BranchNetworkWalker() {
+		grow(64);
+	}
+
+	/**
+	 * @return The walker for the current thread
+	 */
+	public static BranchNetworkWalker get() {
+		return WALKERS.get();
+	}
+
+	/**
+	 * Walks the branch network starting at the given branch node.
+	 *
+	 * @param branch     The branch block at the starting node
+	 * @param blockState The blockstate at the starting node
+	 * @param world      The world
+	 * @param pos        The position of the starting node
+	 * @param fromDir    The direction that should not be analyzed, {@code null} to analyse in all directions
+	 * @param signal     The map signal carrying the inspectors
+	 * @return The signal for chaining
+	 */
+	public MapSignal walk(BlockBranchBasic branch, IBlockState blockState, World world, BlockPos pos, EnumFacing fromDir, MapSignal signal) {
+		final int base = top;//Frames below the base belong to an enclosing walk
+
+		if (!enter(branch, blockState, world, pos.toImmutable(), fromDir, signal)) {
+			return signal;
+		}
+
+		while (top > base) {
+			Frame frame = frames[top - 1];
+
+			if (frame.nextDir < EnumFacing.VALUES.length) {
+				EnumFacing dir = EnumFacing.VALUES[frame.nextDir++];
+				if (dir == frame.fromDir) {// don't count where the signal originated from
+					continue;
+				}
+
+				probe.setPos(frame.pos.getX() + dir.getFrontOffsetX(), frame.pos.getY() + dir.getFrontOffsetY(), frame.pos.getZ() + dir.getFrontOffsetZ());
+				IBlockState deltaState = world.getBlockState(probe);
+				ITreePart treePart = TreeHelper.getTreePart(deltaState);
+
+				if (treePart.shouldAnalyse()) {
+					if (treePart instanceof BlockBranchBasic && ((BlockBranchBasic) treePart).isNetworkWalkable()) {
+						frame.childDir = dir;
+						if (enter((BlockBranchBasic) treePart, deltaState, world, probe.toImmutable(), dir.getOpposite(), signal)) {
+							continue;//The child is now on top of the stack.  It's resolved when it's popped.
+						}
+					} else {
+						signal = treePart.analyse(deltaState, world, probe.toImmutable(), dir.getOpposite(), signal);
+					}
+					resolveChild(frame, dir, signal);
+				}
+			} else {
+				signal.returnRun(frame.state, world, frame.pos, frame.fromDir);
+				signal.depth--;
+				frame.state = null;
+				frame.pos = null;
+				top--;
+
+				if (top > base) {
+					Frame parent = frames[top - 1];
+					resolveChild(parent, parent.childDir, signal);
+				}
+			}
+		}
+
+		return signal;
+	}
+
+	/**
+	 * Attempts to begin analysis of a node.  This is the equivalent of the head of the recursive function.
+	 *
+	 * @return true if a frame was pushed onto the stack for the node
+	 */
+	private boolean enter(BlockBranchBasic branch, IBlockState blockState, World world, BlockPos pos, EnumFacing fromDir, MapSignal signal) {
+		if (signal.overflow || (signal.trackVisited && signal.doTrackingVisited(pos))) {
+			return false;
+		}
+
+		if (signal.depth++ < branch.getMaxSignalDepth()) {// Prevents going too deep into large networks, or worse, being caught in a network loop
+			if (top == frames.length) {
+				grow(frames.length * 2);
+			}
+			Frame frame = frames[top];
+			frame.pos = pos;
+			frame.state = blockState;
+			frame.fromDir = fromDir;
+			frame.nextDir = 0;
+			frame.childDir = null;
+			top++;
+			signal.run(blockState, world, pos, fromDir);// Run the inspectors of choice
+			return true;
+		}
+
+		IBlockState state = world.getBlockState(pos);
+		if (signal.destroyLoopedNodes && state.getBlock() instanceof BlockBranch) {
+			BlockBranch loopBranch = (BlockBranch) state.getBlock();
+			loopBranch.breakDeliberate(world, pos, EnumDestroyMode.OVERFLOW);// Destroy one of the offending nodes
+		}
+		signal.overflow = true;
+		signal.depth--;
+
+		return false;
+	}
+
+	/**
+	 * Performed in a parent node after a child node has been completely analyzed.
+	 */
+	private void resolveChild(Frame frame, EnumFacing dir, MapSignal signal) {
+		// This should only be true for the originating block when the root node is found
+		if (signal.found && signal.localRootDir == null && frame.fromDir == null) {
+			signal.localRootDir = dir;
+		}
+	}
+
+	private void grow(int size) {
+		int oldSize = frames.length;
+		frames = Arrays.copyOf(frames, size);
+		for (int i = oldSize; i < size; i++) {
+			frames[i] = new Frame();
+		}
+	}
+
+	/**
+	 * Determines if a branch class uses the standard analysis and can therefore be traversed by the walker directly.
+	 * Classes that override {@link BlockBranchBasic#analyse} are called through their own analysis instead.
+	 */
+	static boolean hasStandardAnalysis(Class<? extends BlockBranchBasic> branchClass) {
+		try {
+			return branchClass.getMethod("analyse", IBlockState.class, World.class, BlockPos.class, EnumFacing.class, MapSignal.class).getDeclaringClass() == BlockBranchBasic.class;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,315 @@
+package com.ferreusveritas.dynamictrees.blocks;
+
+import com.ferreusveritas.dynamictrees.api.TreeHelper;
+import com.ferreusveritas.dynamictrees.api.cells.ICell;
+import com.ferreusveritas.dynamictrees.api.treedata.ILeavesProperties;
+import com.ferreusveritas.dynamictrees.api.treedata.ITreePart;
+import com.ferreusveritas.dynamictrees.util.BlockBounds;
+import com.ferreusveritas.dynamictrees.util.SafeChunkBounds;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockDoublePlant;
+import net.minecraft.block.BlockDoublePlant.EnumBlockHalf;
+import net.minecraft.block.BlockDoublePlant.EnumPlantType;
+import net.minecraft.block.BlockLeaves;
+import net.minecraft.block.BlockLiquid;
+import net.minecraft.block.BlockTallGrass;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.MutableBlockPos;
+import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.World;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Ages a whole volume of dynamic leaves against an in-memory copy of the blocks around a tree.
+ * <p>
+ * Every block in the region is read from the world at most once.  Hydration, new leaves placement and the smother and
+ * sky checks are solved from the copy and all of the leaves that were created, changed or destroyed are written back to
+ * the world in a single pass by {@link #commit()}.  The aging rules are exactly those of {@link BlockDynamicLeaves#age}.
+ * The sky light level itself can only come from the world so it's as of the last commit.  Leaves blocks that don't
+ * have {@link BlockDynamicLeaves#hasStandardAging() standard aging} are aged directly in the world instead.  Standard
+ * aging leaves have no new leaves properties handler so new leaves are made from the properties alone.
+ *
+ * @author ferreusveritas
+ */
+public class LeavesHydrationSolver {
+
+	private static final int MARGIN = 2;//New leaves can grow one block out and are solved from their neighbors one more block out
+
+	private final World world;
+	private final SafeChunkBounds safeBounds;
+	private final boolean worldGen;
+
+	private final int minX, minY, minZ;
+	private final int lenX, lenY, lenZ;
+	private final IBlockState[] states;//Current states. null means the block hasn't been read from the world yet
+	private final IBlockState[] original;//The world states of changed blocks
+	private final byte[] flags;//Block update flags of the last change to each block.  0 means unchanged
+	private final IntArrayList changed = new IntArrayList();//Indices of the changed blocks so a commit only visits those
+
+	private final ICell[] cells = new ICell[EnumFacing.VALUES.length];
+	private final MutableBlockPos probe = new MutableBlockPos();
+	private final MutableBlockPos offPos = new MutableBlockPos();
+
+	/**
+	 * @param world      The world
+	 * @param bounds     The bounds of the leaves that will be aged
+	 * @param safeBounds The safe bounds for worldgen or {@link SafeChunkBounds#ANY}
+	 */
+	public LeavesHydrationSolver(World world, BlockBounds bounds, SafeChunkBounds safeBounds) {
+		this.world = world;
+		this.safeBounds = safeBounds;
+		this.worldGen = safeBounds != SafeChunkBounds.ANY;
+
+		BlockPos min = bounds.getMin();
+		minX = min.getX() - MARGIN;
+		minY = min.getY() - MARGIN;
+		minZ = min.getZ() - MARGIN;
+		lenX = bounds.getXSize() + MARGIN * 2;
+		lenY = bounds.getYSize() + MARGIN * 2;
+		lenZ = bounds.getZSize() + MARGIN * 2;
+
+		int volume = lenX * lenY * lenZ;
+		states = new IBlockState[volume];
+		original = new IBlockState[volume];
+		flags = new byte[volume];
+	}
+
+	private int index(int x, int y, int z) {
+		x -= minX;
+		y -= minY;
+		z -= minZ;
+		if (x < 0 || x >= lenX || y < 0 || y >= lenY || z < 0 || z >= lenZ) {
+			return -1;
+		}
+		return (y * lenZ + z) * lenX + x;
+	}
+
+	public IBlockState getBlockState(BlockPos pos) {
+		return getBlockState(pos.getX(), pos.getY(), pos.getZ());
+	}
+
+	private IBlockState getBlockState(int x, int y, int z) {
+		int i = index(x, y, z);
+
+		if (i == -1) {
+			return world.getBlockState(probe.setPos(x, y, z));
+		}
+
+		IBlockState state = states[i];
+		if (state == null) {
+			state = states[i] = world.getBlockState(probe.setPos(x, y, z));
+		}
+		return state;
+	}
+
+	private void setBlockState(BlockPos pos, IBlockState state, int flag) {
+		int i = index(pos.getX(), pos.getY(), pos.getZ());
+
+		if (i == -1) {
+			world.setBlockState(pos, state, flag);//Outside the region.  Shouldn't happen but don't lose the change.
+			return;
+		}
+
+		if (flags[i] == 0) {
+			original[i] = getBlockState(pos);
+			changed.add(i);
+		}
+		states[i] = state;
+		flags[i] = (byte) flag;
+	}
+
+	/**
+	 * Ages a leaves block.  This mirrors {@link BlockDynamicLeaves#age} but reads and writes the in-memory copy.
+	 * Leaves without standard aging are aged in the world which costs a commit and an invalidation of the whole copy.
+	 *
+	 * @return The new hydration of the leaves or -1 if they were destroyed
+	 */
+	public int age(BlockPos pos, IBlockState state, Random rand) {
+		BlockDynamicLeaves leaves = (BlockDynamicLeaves) state.getBlock();
+
+		if (!leaves.hasStandardAging()) {
+			commit();
+			int hydro = leaves.age(world, pos, state, rand, safeBounds);
+			invalidate();//There's no telling what was changed
+			return hydro;
+		}
+
+		ILeavesProperties leavesProperties = leaves.getProperties(state);
+		int oldHydro = state.getValue(BlockDynamicLeaves.HYDRO);
+
+		//Check hydration level.  Dry leaves are dead leaves.
+		int newHydro = getHydrationLevelFromNeighbors(pos, leavesProperties);
+
+		if (newHydro == 0 || (!worldGen && !hasAdequateLight(state, leavesProperties, pos))) {
+			setBlockState(pos, Blocks.AIR.getDefaultState(), 3);//No water, no light .. no leaves
+			return -1;//Leaves were destroyed
+		} else if (oldHydro != newHydro) {//Only update if the hydro has changed
+			setBlockState(pos, leavesProperties.getDynamicLeavesState(newHydro), leavesProperties.appearanceChangesWithHydro() ? 2 : 4);
+		}
+
+		for (EnumFacing dir : EnumFacing.VALUES) {//Go on all 6 sides of this block
+			if (newHydro > 1 || rand.nextInt(4) == 0) {//we'll give it a 1 in 4 chance to grow leaves if hydro is low to help performance
+				offPos.setPos(pos.getX() + dir.getFrontOffsetX(), pos.getY() + dir.getFrontOffsetY(), pos.getZ() + dir.getFrontOffsetZ());
+				if (safeBounds.inBounds(offPos, true) && isLocationSuitableForNewLeaves(leavesProperties, offPos)) {//Attempt to grow new leaves
+					int hydro = getHydrationLevelFromNeighbors(offPos, leavesProperties);
+					if (hydro > 0) {
+						setBlockState(offPos, leavesProperties.getDynamicLeavesState(hydro), 2);
+					}
+				}
+			}
+		}
+
+		return newHydro;//Leaves were not destroyed
+	}
+
+	/**
+	 * Mirrors {@link BlockDynamicLeaves#isLocationSuitableForNewLeaves} against the copy
+	 */
+	private boolean isLocationSuitableForNewLeaves(ILeavesProperties leavesProperties, BlockPos pos) {
+		IBlockState blockState = getBlockState(pos);
+		Block block = blockState.getBlock();
+
+		if (block instanceof BlockDynamicLeaves) {
+			return false;
+		}
+
+		BlockPos downPos = pos.down();
+		IBlockState belowBlockState = getBlockState(downPos);
+
+		//Prevent leaves from growing on the ground or above liquids
+		if ((belowBlockState.isFullCube() && (!(belowBlockState.getBlock() instanceof BlockLeaves))) || belowBlockState.getBlock() instanceof BlockLiquid) {
+			return false;
+		}
+
+		//Help to grow into double tall grass and ferns in a more natural way
+		if (block == Blocks.DOUBLE_PLANT && blockState.getValue(BlockDoublePlant.HALF) == EnumBlockHalf.UPPER && belowBlockState.getBlock() == Blocks.DOUBLE_PLANT) {
+			EnumPlantType type = belowBlockState.getValue(BlockDoublePlant.VARIANT);
+			if (type == EnumPlantType.GRASS || type == EnumPlantType.FERN) {//tall grass or fern
+				setBlockState(pos, Blocks.AIR.getDefaultState(), 3);
+				setBlockState(downPos, Blocks.TALLGRASS.getDefaultState()
+					.withProperty(BlockTallGrass.TYPE, type == EnumPlantType.GRASS ? BlockTallGrass.EnumType.GRASS : BlockTallGrass.EnumType.FERN), 3);
+			}
+		}
+
+		boolean isReplaceable = blockState.getMaterial() == Material.AIR || block == Blocks.SNOW_LAYER;
+
+		return isReplaceable && hasAdequateLight(blockState, leavesProperties, pos);
+	}
+
+	/**
+	 * Mirrors {@link BlockDynamicLeaves#hasAdequateLight} against the copy.  Only the sky light level comes from the
+	 * world.
+	 */
+	private boolean hasAdequateLight(IBlockState blockState, ILeavesProperties leavesProperties, BlockPos pos) {
+
+		//If clear sky is above the block then we needn't go any further
+		if (canSeeSky(pos)) {
+			return true;
+		}
+
+		int smother = leavesProperties.getSmotherLeavesMax();
+
+		//Check to make sure there isn't too many leaves above this block.  Encourages forest canopy development.
+		if (smother != 0 && isBottom(pos)) {//Only act on the bottom block of the Growable stack
+			//Prevent leaves from growing where they would be "smothered" from too much above foliage
+			int smotherLeaves = 0;
+			for (int i = 0; i < smother; i++) {
+				smotherLeaves += TreeHelper.isTreePart(getBlockState(pos.getX(), pos.getY() + i + 1, pos.getZ())) ? 1 : 0;
+			}
+			if (smotherLeaves >= smother) {
+				return false;
+			}
+		}
+
+		return world.getLightFor(EnumSkyBlock.SKY, pos) >= (TreeHelper.isLeaves(blockState) ? leavesProperties.getLightRequirement() - 2 : leavesProperties.getLightRequirement());
+	}
+
+	/**
+	 * The height map test of {@link World#canBlockSeeSky} done against the copy.  Nothing in the column from this block
+	 * up may block light.
+	 */
+	private boolean canSeeSky(BlockPos pos) {
+		int x = pos.getX();
+		int z = pos.getZ();
+		int top = minY + lenY;
+
+		if (pos.getY() >= top) {
+			return world.canBlockSeeSky(pos);
+		}
+		if (!world.canBlockSeeSky(probe.setPos(x, top, z))) {
+			return false;
+		}
+		for (int y = pos.getY(); y < top; y++) {
+			if (getBlockState(x, y, z).getLightOpacity(world, probe.setPos(x, y, z)) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Mirrors {@link BlockDynamicLeaves#isBottom} against the copy
+	 */
+	private boolean isBottom(BlockPos pos) {
+		IBlockState belowBlockState = getBlockState(pos.getX(), pos.getY() - 1, pos.getZ());
+		ITreePart belowTreepart = TreeHelper.getTreePart(belowBlockState);
+		if (belowTreepart != TreeHelper.nullTreePart) {
+			return belowTreepart.getRadius(belowBlockState) > 1;//False for leaves, twigs, and dirt.  True for stocky branches
+		}
+		return true;//Non-Tree parts below indicate the bottom of stack
+	}
+
+	/**
+	 * Gathers hydration levels from the neighbors in the copy before pushing the values into the solver
+	 */
+	public int getHydrationLevelFromNeighbors(BlockPos pos, ILeavesProperties leavesProperties) {
+		for (EnumFacing dir : EnumFacing.VALUES) {
+			int x = pos.getX() + dir.getFrontOffsetX();
+			int y = pos.getY() + dir.getFrontOffsetY();
+			int z = pos.getZ() + dir.getFrontOffsetZ();
+			IBlockState state = getBlockState(x, y, z);
+			cells[dir.ordinal()] = TreeHelper.getTreePart(state).getHydrationCell(world, probe.setPos(x, y, z), state, dir, leavesProperties);
+		}
+
+		return leavesProperties.getCellKit().getCellSolver().solve(cells);//Find center cell's value from neighbors
+	}
+
+	/**
+	 * Writes all of the changed blocks to the world in one pass.
+	 */
+	public void commit() {
+		for (int n = 0; n < changed.size(); n++) {
+			int i = changed.getInt(n);
+			if (states[i] != original[i]) {
+				int x = i % lenX;
+				int z = (i / lenX) % lenZ;
+				int y = i / (lenX * lenZ);
+				world.setBlockState(probe.setPos(minX + x, minY + y, minZ + z), states[i], flags[i]);
+			}
+			original[i] = null;
+			flags[i] = 0;
+		}
+		changed.clear();
+	}
+
+	/**
+	 * Forgets every block in the copy so they will be read from the world again. Any uncommitted changes are lost.
+	 */
+	public void invalidate() {
+		Arrays.fill(states, null);
+		for (int n = 0; n < changed.size(); n++) {
+			int i = changed.getInt(n);
+			original[i] = null;
+			flags[i] = 0;
+		}
+		changed.clear();
+	}
+
+}
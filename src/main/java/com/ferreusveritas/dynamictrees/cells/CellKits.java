@@ -357,6 +357,23 @@ public class CellKits {
 		return 0;
 	}
 
+	/**
+	 * Same as {@link #solveCell(int[], short[])} but with the neighbor counts packed 4 bits per hydration value into a
+	 * long so no array is needed.
+	 *
+	 * @param nv       Packed counts of neighbor hydration values.  Hydration value H is in bits 4H to 4H+3
+	 * @param solution Array of solver elements to solve the cell automata
+	 * @return resulting hydration value of the center cell
+	 */
+	public static int solveCell(long nv, short[] solution) {
+		for (int d : solution) {
+			if (((nv >>> (((d >> 8) & 15) << 2)) & 15) >= ((d >> 4) & 15)) {
+				return d & 15;
+			}
+		}
+		return 0;
+	}
+
 	static public class BasicSolver implements ICellSolver {
 
 		private final short[] codes;
@@ -367,10 +384,10 @@ public class CellKits {
 
 		@Override
 		public int solve(ICell[] cells) {
-			int[] nv = new int[16];//neighbor hydration values
+			long nv = 0;//neighbor hydration value counts packed in 16 nybbles.  There's only 6 neighbors so a count can't overflow
 
 			for (EnumFacing dir : EnumFacing.VALUES) {
-				nv[cells[dir.ordinal()].getValueFromSide(dir.getOpposite())]++;
+				nv += 1L << ((cells[dir.ordinal()].getValueFromSide(dir.getOpposite()) & 15) << 2);
 			}
 
 			return solveCell(nv, codes);
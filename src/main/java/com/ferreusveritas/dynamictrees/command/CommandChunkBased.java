@@ -54,7 +54,7 @@ public abstract class CommandChunkBased extends SubCommand {
 		
 		int radius = args.length == 4 ? CommandBase.parseInt(args[3]) : 0;
 		
-		processChunk(world, cPos, radius);
+		processChunk(world, sender, cPos, radius);
 	}
 	
 	public static List<String> getTabCompletionCoordinate(String[] inputArgs, int index, @Nullable BlockPos pos) {
@@ -78,6 +78,6 @@ public abstract class CommandChunkBased extends SubCommand {
 	}
 	
 	
-	abstract void processChunk(World world, ChunkPos cPos, int radius);
+	abstract void processChunk(World world, ICommandSender sender, ChunkPos cPos, int radius);
 	
 }
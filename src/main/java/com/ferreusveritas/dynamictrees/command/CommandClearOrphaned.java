@@ -1,6 +1,8 @@
 package com.ferreusveritas.dynamictrees.command;
 
 import com.ferreusveritas.dynamictrees.util.ChunkTreeHelper;
+import com.ferreusveritas.dynamictrees.util.ChunkTreeScanner;
+import net.minecraft.command.ICommandSender;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 
@@ -19,8 +21,8 @@ public class CommandClearOrphaned extends CommandChunkBased {
 	}
 	
 	@Override
-	void processChunk(World world, ChunkPos cPos, int radius) {
-		ChunkTreeHelper.removeOrphanedBranchNodes(world, cPos, radius);
+	void processChunk(World world, ICommandSender sender, ChunkPos cPos, int radius) {
+		ChunkTreeScanner.start(world, new ChunkTreeScanner("commands.dynamictrees.clearorphaned.name", sender, cPos, radius, new ChunkTreeHelper.OrphanRemover()));
 	}
 	
 }
@@ -0,0 +1,212 @@
+package com.ferreusveritas.dynamictrees.command;
+
+import com.ferreusveritas.dynamictrees.event.FutureBreakQueue;
+import com.ferreusveritas.dynamictrees.systems.GrowthScheduler;
+import com.ferreusveritas.dynamictrees.systems.TreeTopologyCache;
+import com.ferreusveritas.dynamictrees.systems.poissondisc.PoissonDiscPrecompute;
+import com.ferreusveritas.dynamictrees.systems.poissondisc.PoissonDiscRegionStore;
+import com.ferreusveritas.dynamictrees.util.HarvestDropAggregator;
+import com.ferreusveritas.dynamictrees.worldgen.TreeGenerator;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentTranslation;
+import net.minecraft.world.World;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shows, resets or clears the statistics of the caches and queues of the current dimension.  With no system named the
+ * statistics of every system are shown.
+ *
+ * @author ferreusveritas
+ */
+public class CommandStats extends SubCommand {
+
+	public static final String STATS = "stats";
+	public static final String RESET = "reset";
+	public static final String CLEAR = "clear";
+
+	public static final String TOPOLOGYCACHE = "topologycache";
+	public static final String GROWTHQUEUE = "growthqueue";
+	public static final String POISSONSTORE = "poissonstore";
+	public static final String FUTUREBREAKS = "futurebreaks";
+	public static final String HARVESTDROPS = "harvestdrops";
+
+	/**
+	 * A system that keeps statistics
+	 */
+	private abstract static class Source {
+
+		abstract void report(World world, ICommandSender sender);
+
+		abstract void reset(World world);
+
+		/**
+		 * @return false if there's nothing to clear
+		 */
+		boolean clear(World world) {
+			return false;
+		}
+
+	}
+
+	private final Map<String, Source> sources = new LinkedHashMap<>();
+
+	public CommandStats() {
+		sources.put(TOPOLOGYCACHE, new Source() {
+			@Override
+			void report(World world, ICommandSender sender) {
+				TreeTopologyCache cache = TreeTopologyCache.get(world);
+				sender.sendMessage(new TextComponentTranslation("commands.dynamictrees.stats.topologycache", cache.getSize(), cache.getNumNodes(), cache.getHits(), cache.getMisses(), cache.getInvalidations(), cache.getRadiusUpdates()));
+			}
+
+			@Override
+			void reset(World world) {
+				TreeTopologyCache.get(world).resetStats();
+			}
+
+			@Override
+			boolean clear(World world) {
+				TreeTopologyCache.get(world).clear();
+				return true;
+			}
+		});
+
+		sources.put(GROWTHQUEUE, new Source() {
+			@Override
+			void report(World world, ICommandSender sender) {
+				GrowthScheduler scheduler = GrowthScheduler.get(world);
+				sender.sendMessage(new TextComponentTranslation("commands.dynamictrees.stats.growthqueue", scheduler.getQueueDepth(), scheduler.getRequests(), scheduler.getMerged(), scheduler.getProcessed(), scheduler.getOverflowed()));
+				sender.sendMessage(new TextComponentTranslation("commands.dynamictrees.stats.growthqueue.timing", String.format("%.1f", scheduler.getAverageLatencyTicks()), String.format("%.3f", scheduler.getAverageProcessingMillis()), scheduler.getLastTickProcessed(), String.format("%.2f", scheduler.getLastTickMillis())));
+			}
+
+			@Override
+			void reset(World world) {
+				GrowthScheduler.get(world).resetStats();
+			}
+
+			@Override
+			boolean clear(World world) {
+				GrowthScheduler.get(world).clear();
+				return true;
+			}
+		});
+
+		sources.put(POISSONSTORE, new Source() {
+			@Override
+			void report(World world, ICommandSender sender) {
+				for (Map.Entry<Integer, PoissonDiscRegionStore> entry : TreeGenerator.getTreeGenerator().getCircleProvider().getStores().entrySet()) {
+					PoissonDiscRegionStore store = entry.getValue();
+					sender.sendMessage(new TextComponentTranslation("commands.dynamictrees.stats.poissonstore", entry.getKey(), store.getNumRegions(), store.getMaxRegions(), store.getNumChunks(), store.getMemoryUsage() / 1024, store.getLookups(), store.getEvictedRegions(), store.getEvictedChunks()));
+				}
+
+				PoissonDiscPrecompute precompute = TreeGenerator.getTreeGenerator().getCircleProvider().getPrecompute();
+				if (precompute != null) {
+					sender.sendMessage(new TextComponentTranslation("commands.dynamictrees.stats.poissonstore.precompute", precompute.getThreads(), precompute.getQueueDepth(), precompute.getSubmitted(), precompute.getTaken(), precompute.getWaited(), precompute.getStale(), precompute.getFailed(), precompute.getRejected()));
+				}
+			}
+
+			@Override
+			void reset(World world) {
+				TreeGenerator.getTreeGenerator().getCircleProvider().getStores().values().forEach(PoissonDiscRegionStore::resetStats);
+				PoissonDiscPrecompute precompute = TreeGenerator.getTreeGenerator().getCircleProvider().getPrecompute();
+				if (precompute != null) {
+					precompute.resetStats();
+				}
+			}
+		});
+
+		sources.put(FUTUREBREAKS, new Source() {
+			@Override
+			void report(World world, ICommandSender sender) {
+				FutureBreakQueue queue = FutureBreakQueue.get(world);
+				sender.sendMessage(new TextComponentTranslation("commands.dynamictrees.stats.futurebreaks", queue.getQueueLength(), queue.getAdded(), queue.getProcessed()));
+				sender.sendMessage(new TextComponentTranslation("commands.dynamictrees.stats.futurebreaks.timing", String.format("%.1f", queue.getAverageLatencySteps()), String.format("%.3f", queue.getAverageProcessingMillis()), queue.getLastStepProcessed(), String.format("%.2f", queue.getLastStepMillis())));
+			}
+
+			@Override
+			void reset(World world) {
+				FutureBreakQueue.get(world).resetStats();
+			}
+
+			@Override
+			boolean clear(World world) {
+				FutureBreakQueue.get(world).clear();
+				return true;
+			}
+		});
+
+		sources.put(HARVESTDROPS, new Source() {
+			@Override
+			void report(World world, ICommandSender sender) {
+				HarvestDropAggregator.Stats stats = HarvestDropAggregator.get(world);
+				sender.sendMessage(new TextComponentTranslation("commands.dynamictrees.stats.harvestdrops", stats.getHarvests(), stats.getStacksAdded(), stats.getEntitiesSpawned(), stats.getStacksDelivered()));
+				sender.sendMessage(new TextComponentTranslation("commands.dynamictrees.stats.harvestdrops.average", String.format("%.1f", stats.getAverageEntitiesSpawned()), stats.getLastStacksAdded(), stats.getLastEntitiesSpawned()));
+			}
+
+			@Override
+			void reset(World world) {
+				HarvestDropAggregator.get(world).resetStats();
+			}
+		});
+	}
+
+	@Override
+	public String getName() {
+		return STATS;
+	}
+
+	@Override
+	public List<String> getTabCompletions(MinecraftServer server, ICommandSender sender, String[] args, BlockPos targetPos) {
+
+		switch (args.length) {
+			case 2:
+				return CommandBase.getListOfStringsMatchingLastWord(args, sources.keySet());
+			case 3:
+				return CommandBase.getListOfStringsMatchingLastWord(args, RESET, CLEAR);
+		}
+
+		return super.getTabCompletions(server, sender, args, targetPos);
+	}
+
+	@Override
+	public void execute(World world, ICommandSender sender, String[] args) throws CommandException {
+
+		if (args.length < 2) {
+			for (Source source : sources.values()) {
+				source.report(world, sender);
+			}
+			return;
+		}
+
+		Source source = sources.get(args[1]);
+		if (source == null) {
+			throw new WrongUsageException("commands.dynamictrees.stats.usage", String.join("|", sources.keySet()));
+		}
+
+		if (args.length >= 3) {
+			switch (args[2]) {
+				case RESET:
+					source.reset(world);
+					sender.sendMessage(new TextComponentTranslation("commands.dynamictrees.stats.reset", args[1]));
+					return;
+				case CLEAR:
+					if (source.clear(world)) {
+						sender.sendMessage(new TextComponentTranslation("commands.dynamictrees.stats.clear", args[1]));
+						return;
+					}//Nothing to clear so it's used wrong
+				default:
+					throw new WrongUsageException("commands.dynamictrees.stats.usage", String.join("|", sources.keySet()));
+			}
+		}
+
+		source.report(world, sender);
+	}
+
+}
@@ -37,6 +37,7 @@ public class DTCommand extends CommandBase {
 		addSubCommand(new CommandPurgeTrees());
 		addSubCommand(new CommandTransform());
 		addSubCommand(new CommandCreateTransformPotion());
+		addSubCommand(new CommandStats());
 	}
 
 	@Override
@@ -7,6 +7,7 @@ import com.ferreusveritas.dynamictrees.api.network.MapSignal;
 import com.ferreusveritas.dynamictrees.blocks.BlockBranch;
 import com.ferreusveritas.dynamictrees.blocks.BlockTrunkShell;
 import com.ferreusveritas.dynamictrees.blocks.BlockTrunkShell.ShellMuse;
+import com.ferreusveritas.dynamictrees.systems.TreeInfoService;
 import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeNetVolume;
 import com.ferreusveritas.dynamictrees.trees.Species;
 import com.ferreusveritas.dynamictrees.trees.Species.LogsAndSticks;
@@ -66,7 +67,9 @@ public class WailaBranchHandler implements IWailaDataProvider {
 			return tooltip;
 		}
 
-		if (!lastPos.equals(pos)) {
+		if (nbtData.hasKey("volume")) {
+			lastVolume = nbtData.getFloat("volume");//Worked out by the server
+		} else if (!lastPos.equals(pos)) {
 			lastVolume = getTreeVolume(accessor.getWorld(), pos);
 		}
 
@@ -141,14 +144,7 @@ public class WailaBranchHandler implements IWailaDataProvider {
 
 	@Override
 	public NBTTagCompound getNBTData(EntityPlayerMP player, TileEntity te, NBTTagCompound tag, World world, BlockPos pos) {
-
-		Species species = getWailaSpecies(world, pos);
-
-		if (species != Species.NULLSPECIES) {
-			tag.setString("species", species.getRegistryName().toString());
-		}
-
-		return tag;
+		return TreeInfoService.get(world).getInfo(player, world, pos).writeToNBT(tag);
 	}
 
 	private Species getWailaSpecies(World world, BlockPos pos) {
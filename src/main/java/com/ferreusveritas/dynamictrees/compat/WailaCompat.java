@@ -22,6 +22,7 @@ public class WailaCompat implements IWailaPlugin {
 		registrar.registerBodyProvider(branchHandler, BlockTrunkShell.class);
 		registrar.registerNBTProvider(branchHandler, BlockTrunkShell.class);
 		registrar.registerBodyProvider(rootyHandler, BlockRooty.class);
+		registrar.registerNBTProvider(rootyHandler, BlockRooty.class);
 		registrar.registerHeadProvider(rootyWaterHandler, BlockRootyWater.class);
 		registrar.registerTailProvider(rootyWaterHandler, BlockRootyWater.class);
 	}
@@ -1,12 +1,18 @@
 package com.ferreusveritas.dynamictrees.compat;
 
 import com.ferreusveritas.dynamictrees.blocks.BlockRooty;
+import com.ferreusveritas.dynamictrees.systems.TreeInfoService;
 import mcp.mobius.waila.api.IWailaConfigHandler;
 import mcp.mobius.waila.api.IWailaDataAccessor;
 import mcp.mobius.waila.api.IWailaDataProvider;
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
 
 import java.util.List;
 
@@ -14,6 +20,13 @@ public class WailaRootyHandler implements IWailaDataProvider {
 
 	@Override
 	public List<String> getWailaBody(ItemStack itemStack, List<String> tooltip, IWailaDataAccessor accessor, IWailaConfigHandler config) {
+		NBTTagCompound nbtData = accessor.getNBTData();
+
+		if (nbtData.hasKey("soillife")) {//Worked out by the server
+			tooltip.add("Soil Life: " + MathHelper.floor(nbtData.getInteger("soillife") * 100f / 15) + "%");
+			return tooltip;
+		}
+
 		IBlockState state = accessor.getWorld().getBlockState(accessor.getPosition());
 		if (state.getBlock() instanceof BlockRooty) {
 			BlockRooty rooty = (BlockRooty) state.getBlock();
@@ -24,4 +37,9 @@ public class WailaRootyHandler implements IWailaDataProvider {
 		return tooltip;
 	}
 
+	@Override
+	public NBTTagCompound getNBTData(EntityPlayerMP player, TileEntity te, NBTTagCompound tag, World world, BlockPos pos) {
+		return TreeInfoService.get(world).getInfo(player, world, pos).writeToNBT(tag);
+	}
+
 }
@@ -12,43 +12,55 @@ import com.ferreusveritas.dynamictrees.models.ModelTrackerCacheEntityFallingTree
 import com.ferreusveritas.dynamictrees.util.BlockBounds;
 import com.ferreusveritas.dynamictrees.util.BranchDestructionData;
 import com.ferreusveritas.dynamictrees.util.BranchDestructionData.PosType;
+import com.ferreusveritas.dynamictrees.util.CoordUtils;
 import com.ferreusveritas.dynamictrees.util.CoordUtils.Surround;
+import com.ferreusveritas.dynamictrees.util.HarvestDropAggregator;
 import com.google.common.collect.Iterables;
-import net.minecraft.block.Block;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.item.EntityItem;
+import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Blocks;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
-import net.minecraft.network.datasync.DataParameter;
-import net.minecraft.network.datasync.DataSerializers;
-import net.minecraft.network.datasync.EntityDataManager;
+import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
+import net.minecraftforge.fml.common.registry.IEntityAdditionalSpawnData;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
+import org.apache.logging.log4j.LogManager;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.BitSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 /**
  * @author ferreusveritas
  */
-public class EntityFallingTree extends Entity implements IModelTracker {
+public class EntityFallingTree extends Entity implements IModelTracker, IEntityAdditionalSpawnData {
 
-	public static final DataParameter<NBTTagCompound> voxelDataParameter = EntityDataManager.createKey(EntityFallingTree.class, DataSerializers.COMPOUND_TAG);
+	private static final int COMPRESSTHRESHOLD = 256;//Spawn data smaller than this in bytes is never worth compressing
+	private static final long[] EMPTYUPDATES = new long[0];
 
 	//Not needed in client
 	protected List<ItemStack> payload = new ArrayList<>(0);
+	protected EntityPlayer harvester;//The player that felled the tree if there was one
+	protected HarvestDropAggregator harvestDrops;
 
 	//Needed in client and server
 	protected BranchDestructionData destroyData = new BranchDestructionData();
@@ -57,7 +69,10 @@ public class EntityFallingTree extends Entity implements IModelTracker {
 	protected AxisAlignedBB normAABB = new AxisAlignedBB(BlockPos.ORIGIN);
 	protected AxisAlignedBB renderNormAABB = new AxisAlignedBB(BlockPos.ORIGIN);
 	protected boolean clientBuilt = false;
+	protected boolean spawnDataRead = false;
 	protected boolean firstUpdate = true;
+	protected long[] neighborUpdates = EMPTYUPDATES;//Packed positions of the neighbors of the destroyed blocks
+	protected int neighborUpdateIndex;
 	public boolean landed = false;
 	public DestroyType destroyType = DestroyType.HARVEST;
 	public boolean onFire = false;
@@ -132,7 +147,7 @@ public class EntityFallingTree extends Entity implements IModelTracker {
 		geomCenter = geomCenter.scale(1.0 / numBlocks);
 		massCenter = massCenter.scale(1.0 / totalMass);
 
-		setVoxelData(buildVoxelData(destroyData));
+		updateBoundingBoxes();
 
 		return this;
 	}
@@ -168,13 +183,10 @@ public class EntityFallingTree extends Entity implements IModelTracker {
 
 	public void buildClient() {
 
-		NBTTagCompound tag = getVoxelData();
-
-		if (tag.hasKey("species")) {
-			setupFromNBT(tag);
+		if (spawnDataRead) {
 			clientBuilt = true;
 		} else {
-			System.out.println("Error: No species tag has been set");
+			System.out.println("Error: No spawn data has been received");
 		}
 
 		BlockBounds renderBounds = new BlockBounds(destroyData.cutPos);
@@ -244,6 +256,26 @@ public class EntityFallingTree extends Entity implements IModelTracker {
 		return payload;
 	}
 
+	public EntityFallingTree setHarvester(@Nullable EntityPlayer harvester) {
+		this.harvester = harvester;
+		return this;
+	}
+
+	@Nullable
+	public EntityPlayer getHarvester() {
+		return harvester;
+	}
+
+	/**
+	 * @return The aggregator every drop of this tree should go through
+	 */
+	public HarvestDropAggregator getHarvestDrops() {
+		if (harvestDrops == null) {
+			harvestDrops = new HarvestDropAggregator(world, destroyData.cutPos, harvester);
+		}
+		return harvestDrops;
+	}
+
 	public Vec3d getGeomCenter() {
 		return geomCenter;
 	}
@@ -274,8 +306,11 @@ public class EntityFallingTree extends Entity implements IModelTracker {
 			}
 		}
 
-		if (!world.isRemote && firstUpdate) {
-			updateNeighbors();
+		if (!world.isRemote) {
+			if (firstUpdate) {
+				updateNeighbors();
+			}
+			processNeighborUpdates(ModConfigs.fallingTreeNeighborUpdates > 0 ? ModConfigs.fallingTreeNeighborUpdates : Integer.MAX_VALUE);
 		}
 
 		handleMotion();
@@ -293,27 +328,88 @@ public class EntityFallingTree extends Entity implements IModelTracker {
 	}
 
 	/**
-	 * This is run server side to update all of the neighbors
+	 * This is run server side to gather all of the neighbors that need to be updated.  The destroyed blocks are marked in
+	 * a bitset covering their bounds so the border around them comes out without duplicates and without boxing a
+	 * single position.  The updates themselves are handed out a few at a time by {@link #processNeighborUpdates(int)}.
 	 */
 	protected void updateNeighbors() {
-		HashSet<BlockPos> destroyed = new HashSet<>();
-		HashSet<BlockPos> toUpdate = new HashSet<>();
+		neighborUpdates = EMPTYUPDATES;
+		neighborUpdateIndex = 0;
+
+		Iterable<BlockPos> destroyedPositions = Iterables.concat(destroyData.getPositions(PosType.BRANCHES), destroyData.getPositions(PosType.LEAVES));
+
+		//Find the bounds of the destroyed blocks with a 1 block margin for the border
+		int minX = Integer.MAX_VALUE;
+		int minY = Integer.MAX_VALUE;
+		int minZ = Integer.MAX_VALUE;
+		int maxX = Integer.MIN_VALUE;
+		int maxY = Integer.MIN_VALUE;
+		int maxZ = Integer.MIN_VALUE;
+		for (BlockPos pos : destroyedPositions) {
+			minX = Math.min(minX, pos.getX());
+			minY = Math.min(minY, pos.getY());
+			minZ = Math.min(minZ, pos.getZ());
+			maxX = Math.max(maxX, pos.getX());
+			maxY = Math.max(maxY, pos.getY());
+			maxZ = Math.max(maxZ, pos.getZ());
+		}
+		if (minX > maxX) {
+			return;//Nothing was destroyed
+		}
+		minX--;
+		minY--;
+		minZ--;
+		final int lenX = maxX - minX + 2;
+		final int lenZ = maxZ - minZ + 2;
+		final int layer = lenX * lenZ;
+		final int lenY = maxY - minY + 2;
 
 		//Gather a set of all of the block positions that were recently destroyed
-		Iterables.concat(destroyData.getPositions(PosType.BRANCHES), destroyData.getPositions(PosType.LEAVES)).forEach(pos -> destroyed.add(pos));
+		BitSet destroyed = new BitSet(layer * lenY);
+		for (BlockPos pos : destroyedPositions) {
+			destroyed.set((pos.getY() - minY) * layer + (pos.getZ() - minZ) * lenX + (pos.getX() - minX));
+		}
 
 		//Gather a list of all of the non-destroyed blocks surrounding each destroyed block
-		for (BlockPos d : destroyed) {
-			for (EnumFacing dir : EnumFacing.values()) {
-				BlockPos dPos = d.offset(dir);
-				if (!destroyed.contains(dPos)) {
-					toUpdate.add(dPos);
+		final int[] offsets = { -layer, layer, -lenX, lenX, -1, 1 };//DUNSWE
+		BitSet bordered = new BitSet(layer * lenY);
+		LongArrayList toUpdate = new LongArrayList();
+		for (int i = destroyed.nextSetBit(0); i >= 0; i = destroyed.nextSetBit(i + 1)) {
+			for (int offset : offsets) {
+				int n = i + offset;//Always inside since the bounds have a margin
+				if (!destroyed.get(n) && !bordered.get(n)) {
+					bordered.set(n);
+					toUpdate.add(CoordUtils.pack(minX + n % lenX, minY + n / layer, minZ + (n % layer) / lenX));
 				}
 			}
 		}
 
-		//Update each of the blocks that need to be updated
-		toUpdate.forEach(pos -> world.neighborChanged(pos, Blocks.AIR, pos));
+		neighborUpdates = toUpdate.toLongArray();
+	}
+
+	/**
+	 * Updates the neighbors gathered by {@link #updateNeighbors()} that are still waiting.
+	 *
+	 * @param budget The most neighbors to update
+	 */
+	protected void processNeighborUpdates(int budget) {
+		int end = (int) Math.min((long) neighborUpdateIndex + budget, neighborUpdates.length);
+		while (neighborUpdateIndex < end) {
+			BlockPos pos = BlockPos.fromLong(neighborUpdates[neighborUpdateIndex++]);
+			world.neighborChanged(pos, Blocks.AIR, pos);
+		}
+	}
+
+	@Override
+	public void setDead() {
+		if (world != null && !world.isRemote) {
+			processNeighborUpdates(Integer.MAX_VALUE);//Don't leave any neighbors hanging
+			if (harvestDrops != null) {
+				harvestDrops.report();
+				harvestDrops = null;
+			}
+		}
+		super.setDead();
 	}
 
 	protected IAnimationHandler selectAnimationHandler() {
@@ -377,7 +473,8 @@ public class EntityFallingTree extends Entity implements IModelTracker {
 	/**
 	 * Same style payload droppers that have always existed in Dynamic Trees.
 	 * <p>
-	 * Drops wood materials at the cut position Leaves drops fall from their original location
+	 * Drops wood materials at the cut position Leaves drops fall from their original location.  Both go through the
+	 * {@link HarvestDropAggregator} of the entity.
 	 *
 	 * @param entity
 	 */
@@ -385,7 +482,9 @@ public class EntityFallingTree extends Entity implements IModelTracker {
 		World world = entity.world;
 		if (!world.isRemote) {
 			BlockPos cutPos = entity.getDestroyData().cutPos;
-			entity.getPayload().forEach(i -> spawnItemAsEntity(world, cutPos, i));
+			HarvestDropAggregator drops = entity.getHarvestDrops();
+			entity.getPayload().forEach(i -> drops.add(cutPos, i));
+			drops.deliver(true);
 		}
 	}
 
@@ -393,7 +492,9 @@ public class EntityFallingTree extends Entity implements IModelTracker {
 		World world = entity.world;
 		if (!world.isRemote) {
 			BlockPos cutPos = entity.getDestroyData().cutPos;
-			entity.getDestroyData().leavesDrops.forEach(bis -> Block.spawnAsEntity(world, cutPos.add(bis.pos), bis.stack));
+			HarvestDropAggregator drops = entity.getHarvestDrops();
+			entity.getDestroyData().leavesDrops.forEach(bis -> drops.add(cutPos.add(bis.pos), bis.stack));
+			drops.deliver(false);
 		}
 	}
 
@@ -414,7 +515,6 @@ public class EntityFallingTree extends Entity implements IModelTracker {
 
 	@Override
 	protected void entityInit() {
-		getDataManager().register(voxelDataParameter, new NBTTagCompound());
 	}
 
 	public void cleanupRootyDirt() {
@@ -430,22 +530,100 @@ public class EntityFallingTree extends Entity implements IModelTracker {
 		}
 	}
 
-	//This is shipped off to the clients
-	public void setVoxelData(NBTTagCompound tag) {
+	protected void updateBoundingBoxes() {
 		this.setEntityBoundingBox(this.buildAABBFromDestroyData(destroyData).offset(posX, posY, posZ));
 		this.renderBB = this.renderNormAABB.offset(posX, posY, posZ);
-		getDataManager().set(voxelDataParameter, tag);
 	}
 
+	/**
+	 * @return The voxel data in NBT form.  Only used for saving, clients are sent the spawn data instead
+	 */
 	public NBTTagCompound getVoxelData() {
-		return getDataManager().get(voxelDataParameter);
+		return buildVoxelData(destroyData);
+	}
+
+	//This is shipped off to the clients
+	@Override
+	public void writeSpawnData(ByteBuf buffer) {
+		PacketBuffer data = new PacketBuffer(Unpooled.buffer());
+		destroyData.writeToBuffer(data);
+		data.writeDouble(geomCenter.x);
+		data.writeDouble(geomCenter.y);
+		data.writeDouble(geomCenter.z);
+		data.writeDouble(massCenter.x);
+		data.writeDouble(massCenter.y);
+		data.writeDouble(massCenter.z);
+		data.writeByte(destroyType.ordinal());
+		data.writeBoolean(onFire);
+
+		byte[] raw = new byte[data.readableBytes()];
+		data.readBytes(raw);
+
+		PacketBuffer out = new PacketBuffer(buffer);
+		if (ModConfigs.compressFallingTreeData && raw.length >= COMPRESSTHRESHOLD) {
+			Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+			deflater.setInput(raw);
+			deflater.finish();
+			byte[] compressed = new byte[raw.length + 64];
+			int length = deflater.deflate(compressed);
+			boolean fits = deflater.finished() && length < raw.length;
+			deflater.end();
+
+			if (fits) {
+				out.writeVarInt(raw.length);
+				out.writeVarInt(length);
+				out.writeBytes(compressed, 0, length);
+				return;
+			}
+		}
+
+		out.writeVarInt(raw.length);
+		out.writeVarInt(0);//Not compressed
+		out.writeBytes(raw);
+	}
+
+	@Override
+	public void readSpawnData(ByteBuf buffer) {
+		PacketBuffer in = new PacketBuffer(buffer);
+		int rawLength = in.readVarInt();
+		int compressedLength = in.readVarInt();
+		byte[] raw = new byte[rawLength];
+
+		if (compressedLength > 0) {
+			byte[] compressed = new byte[compressedLength];
+			in.readBytes(compressed);
+			Inflater inflater = new Inflater();
+			inflater.setInput(compressed);
+			try {
+				inflater.inflate(raw);
+			} catch (DataFormatException e) {
+				LogManager.getLogger().error("Unable to decompress the spawn data of falling tree {}. It will be removed.", getEntityId(), e);
+				setDead();
+				return;
+			} finally {
+				inflater.end();
+			}
+		} else {
+			in.readBytes(raw);
+		}
+
+		PacketBuffer data = new PacketBuffer(Unpooled.wrappedBuffer(raw));
+		destroyData = new BranchDestructionData(data);
+		if (destroyData.getNumBranches() == 0) {
+			setDead();
+		}
+		geomCenter = new Vec3d(data.readDouble(), data.readDouble(), data.readDouble());
+		massCenter = new Vec3d(data.readDouble(), data.readDouble(), data.readDouble());
+		destroyType = DestroyType.values()[data.readByte()];
+		onFire = data.readBoolean();
+		updateBoundingBoxes();
+		spawnDataRead = true;
 	}
 
 	@Override
 	protected void readEntityFromNBT(NBTTagCompound compound) {
 		NBTTagCompound vox = (NBTTagCompound) compound.getTag("vox");
 		setupFromNBT(vox);
-		setVoxelData(vox);
 
 		if (compound.hasKey("payload")) {
 			NBTTagList list = (NBTTagList) compound.getTag("payload");
@@ -478,9 +656,16 @@ public class EntityFallingTree extends Entity implements IModelTracker {
 	}
 
 	public static EntityFallingTree dropTree(World world, BranchDestructionData destroyData, List<ItemStack> woodDropList, DestroyType destroyType) {
+		return dropTree(world, destroyData, woodDropList, destroyType, null);
+	}
+
+	/**
+	 * @param harvester The player that felled the tree.  Drops are given to them if that's turned on
+	 */
+	public static EntityFallingTree dropTree(World world, BranchDestructionData destroyData, List<ItemStack> woodDropList, DestroyType destroyType, @Nullable EntityPlayer harvester) {
 		//Spawn the appropriate item entities into the world
 		if (!world.isRemote) {// Only spawn entities server side
-			EntityFallingTree entity = new EntityFallingTree(world).setData(destroyData, woodDropList, destroyType);
+			EntityFallingTree entity = new EntityFallingTree(world).setData(destroyData, woodDropList, destroyType).setHarvester(harvester);
 			if (entity.isEntityAlive()) {
 				world.spawnEntity(entity);
 			}
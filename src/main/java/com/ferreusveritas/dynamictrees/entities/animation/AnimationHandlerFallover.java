@@ -4,9 +4,9 @@ import com.ferreusveritas.dynamictrees.ModConfigs;
 import com.ferreusveritas.dynamictrees.api.TreeHelper;
 import com.ferreusveritas.dynamictrees.blocks.BlockBranch;
 import com.ferreusveritas.dynamictrees.entities.EntityFallingTree;
+import com.ferreusveritas.dynamictrees.util.HarvestDropAggregator;
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
-import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.entity.Entity;
@@ -237,9 +237,10 @@ public class AnimationHandlerFallover implements IAnimationHandler {
 
 	@Override
 	public void dropPayload(EntityFallingTree entity) {
-		World world = entity.world;
 		BlockPos cutPos = entity.getDestroyData().cutPos;
-		entity.getPayload().forEach(i -> Block.spawnAsEntity(world, cutPos, i));
+		HarvestDropAggregator drops = entity.getHarvestDrops();
+		entity.getPayload().forEach(i -> drops.add(cutPos, i));
+		drops.deliver(false);
 	}
 
 	@Override
@@ -4,7 +4,7 @@ import com.ferreusveritas.dynamictrees.ModBlocks;
 import com.ferreusveritas.dynamictrees.api.TreeHelper;
 import com.ferreusveritas.dynamictrees.blocks.BlockBranch;
 import com.ferreusveritas.dynamictrees.entities.EntityFallingTree;
-import net.minecraft.block.Block;
+import com.ferreusveritas.dynamictrees.util.HarvestDropAggregator;
 import net.minecraft.block.BlockLiquid;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.renderer.GlStateManager;
@@ -136,9 +136,12 @@ public class AnimationHandlerPhysics implements IAnimationHandler {
 
 	@Override
 	public void dropPayload(EntityFallingTree entity) {
-		World world = entity.world;
-		entity.getPayload().forEach(i -> Block.spawnAsEntity(world, new BlockPos(entity.posX, entity.posY, entity.posZ), i));
-		entity.getDestroyData().leavesDrops.forEach(bis -> Block.spawnAsEntity(world, entity.getDestroyData().cutPos.add(bis.pos), bis.stack));
+		BlockPos pos = new BlockPos(entity.posX, entity.posY, entity.posZ);
+		BlockPos cutPos = entity.getDestroyData().cutPos;
+		HarvestDropAggregator drops = entity.getHarvestDrops();
+		entity.getPayload().forEach(i -> drops.add(pos, i));
+		entity.getDestroyData().leavesDrops.forEach(bis -> drops.add(cutPos.add(bis.pos), bis.stack));
+		drops.deliver(false);
 	}
 
 	public boolean shouldDie(EntityFallingTree entity) {
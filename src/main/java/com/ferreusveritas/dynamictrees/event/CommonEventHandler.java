@@ -3,7 +3,12 @@ package com.ferreusveritas.dynamictrees.event;
 import com.ferreusveritas.dynamictrees.api.WorldGenRegistry;
 import com.ferreusveritas.dynamictrees.client.TooltipHandler;
 import com.ferreusveritas.dynamictrees.seasons.SeasonHelper;
+import com.ferreusveritas.dynamictrees.systems.GrowthScheduler;
+import com.ferreusveritas.dynamictrees.util.ChunkTreeScanner;
+import com.ferreusveritas.dynamictrees.util.PerDimension;
 import net.minecraftforge.event.entity.player.ItemTooltipEvent;
+import net.minecraftforge.event.world.ChunkDataEvent;
+import net.minecraftforge.event.world.ChunkEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
@@ -19,6 +24,11 @@ public class CommonEventHandler {
 
 		if (event.side == Side.SERVER) {
 			FutureBreak.process(event.world);
+
+			if (event.phase == Phase.END) {
+				GrowthScheduler.get(event.world).process(event.world);
+				ChunkTreeScanner.process(event.world);
+			}
 		}
 
 		if (event.type == Type.WORLD && event.phase == Phase.START) {
@@ -37,6 +47,34 @@ public class CommonEventHandler {
 		event.getWorld().addEventListener(new WorldListener(event.getWorld(), event.getWorld().getMinecraftServer()));
 	}
 
+	@SubscribeEvent
+	public void onChunkUnload(ChunkEvent.Unload event) {
+		if (!event.getWorld().isRemote) {
+			GrowthScheduler.get(event.getWorld()).unloadChunk(event.getChunk());
+		}
+	}
+
+	@SubscribeEvent
+	public void onChunkDataSave(ChunkDataEvent.Save event) {
+		if (!event.getWorld().isRemote) {
+			GrowthScheduler.get(event.getWorld()).saveChunk(event.getChunk(), event.getData());
+		}
+	}
+
+	@SubscribeEvent
+	public void onChunkDataLoad(ChunkDataEvent.Load event) {
+		if (!event.getWorld().isRemote) {
+			GrowthScheduler.get(event.getWorld()).loadChunk(event.getWorld(), event.getData());
+		}
+	}
+
+	@SubscribeEvent
+	public void onWorldUnload(WorldEvent.Unload event) {
+		if (!event.getWorld().isRemote) {
+			PerDimension.unloadWorld(event.getWorld());
+		}
+	}
+
 	@SubscribeEvent
 	@SideOnly(Side.CLIENT)
 	public void onItemTooltipAdded(ItemTooltipEvent event) {
@@ -1,18 +1,38 @@
 package com.ferreusveritas.dynamictrees.event;
 
-import com.ferreusveritas.dynamictrees.api.IFutureBreakable;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.AbstractList;
 import java.util.List;
 
 public class FutureBreak {
 
-	public static List<FutureBreak> futureBreaks = new LinkedList<>();
+	/**
+	 * The breaks are now queued per dimension.  Adding to this list still schedules the break with {@link #add} but
+	 * the list itself is always empty.
+	 *
+	 * @deprecated Use {@link #add} to schedule a break
+	 */
+	@Deprecated
+	public static List<FutureBreak> futureBreaks = new AbstractList<FutureBreak>() {
+		@Override
+		public void add(int index, FutureBreak fb) {
+			FutureBreak.add(fb);
+		}
+
+		@Override
+		public FutureBreak get(int index) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: 0");
+		}
+
+		@Override
+		public int size() {
+			return 0;
+		}
+	};
 
 	public final IBlockState state;
 	public final World world;
@@ -20,6 +40,9 @@ public class FutureBreak {
 	public final EntityLivingBase entity;
 	public int ticks = 0;
 
+	long queuedStep;//The step of the dimension's queue when this was added
+	long dueStep;//The step of the dimension's queue this runs on
+
 	public FutureBreak(IBlockState state, World world, BlockPos pos, EntityLivingBase entity, int ticks) {
 		this.state = state;
 		this.world = world;
@@ -30,30 +53,12 @@ public class FutureBreak {
 
 	public static void add(FutureBreak fb) {
 		if (!fb.world.isRemote) {
-			futureBreaks.add(fb);
+			FutureBreakQueue.get(fb.world).add(fb);
 		}
 	}
 
 	public static void process(World world) {
-		if (!futureBreaks.isEmpty()) {
-			Iterator<FutureBreak> i = futureBreaks.iterator();
-
-			while (i.hasNext()) {
-				FutureBreak fb = i.next();
-				if (world == fb.world) { //Make sure we're working in the same world
-					if (fb.state.getBlock() instanceof IFutureBreakable) {
-						if (fb.ticks-- <= 0) {
-							IFutureBreakable branch = (IFutureBreakable) fb.state.getBlock();
-							branch.futureBreak(fb.state, world, fb.pos, fb.entity);
-							i.remove();
-						}
-					} else {
-						i.remove();
-					}
-				}
-			}
-		}
+		FutureBreakQueue.process(world);
 	}
 
 }
-
@@ -0,0 +1,169 @@
+package com.ferreusveritas.dynamictrees.event;
+
+import com.ferreusveritas.dynamictrees.api.IFutureBreakable;
+import com.ferreusveritas.dynamictrees.util.PerDimension;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A timing wheel of the {@link FutureBreak}s waiting in a single dimension.
+ * <p>
+ * The wheel advances one slot every time the dimension is processed and only the slot that comes due is looked at.  A
+ * break that is due more than a full turn of the wheel away shares a slot with nearer breaks and is skipped over until
+ * its turn comes up.  Breaks in a slot run in the order they were added so breaks at the same position happen in the
+ * same order they always have.
+ *
+ * @author ferreusveritas
+ */
+public class FutureBreakQueue {
+
+	private static final PerDimension<FutureBreakQueue> queues = new PerDimension<>(w -> new FutureBreakQueue());
+
+	private static final int WHEELSIZE = 64;//Must be a power of 2
+	private static final int WHEELMASK = WHEELSIZE - 1;
+
+	private final List<FutureBreak>[] wheel;
+	private List<FutureBreak> running = new ArrayList<>();//The slot being run is swapped with this so breaks can be added while it runs
+	private long step;//The number of times this dimension has been processed
+	private int size;
+
+	private long added;
+	private long processed;
+	private long latencySteps;//Sum of the steps each processed break spent waiting in the queue
+	private long processingNanos;
+	private int lastStepProcessed;
+	private long lastStepNanos;
+
+	@SuppressWarnings("unchecked")
+	private FutureBreakQueue() {
+		wheel = new List[WHEELSIZE];
+		for (int i = 0; i < WHEELSIZE; i++) {
+			wheel[i] = new ArrayList<>();
+		}
+	}
+
+	public static FutureBreakQueue get(World world) {
+		return queues.get(world);
+	}
+
+	/**
+	 * Runs the breaks that are due in the world.  Does nothing for a world that has never had a break.
+	 *
+	 * @param world The world
+	 */
+	public static void process(World world) {
+		FutureBreakQueue queue = queues.getIfPresent(world);
+		if (queue != null) {
+			queue.run(world);
+		}
+	}
+
+	/**
+	 * Schedules a break to run after the given number of process steps.  A break of 0 ticks runs on the next step.
+	 *
+	 * @param fb The future break
+	 */
+	public void add(FutureBreak fb) {
+		if (fb.state.getBlock() instanceof IFutureBreakable) {//Anything else would be thrown away without running
+			fb.queuedStep = step;
+			fb.dueStep = step + Math.max(fb.ticks, 0);
+			wheel[(int) (fb.dueStep & WHEELMASK)].add(fb);
+			size++;
+			added++;
+		}
+	}
+
+	private void run(World world) {
+		lastStepProcessed = 0;
+		lastStepNanos = 0;
+
+		final long now = step++;
+		final int slot = (int) (now & WHEELMASK);
+
+		List<FutureBreak> bucket = wheel[slot];
+		if (bucket.isEmpty()) {
+			return;
+		}
+
+		//Breaks that are due on a later turn of the wheel stay put ahead of anything added to the slot while this runs
+		List<FutureBreak> later = running;
+		later.clear();
+		wheel[slot] = later;
+		for (FutureBreak fb : bucket) {
+			if (fb.dueStep != now) {
+				later.add(fb);
+			} else {
+				size--;
+			}
+		}
+		running = bucket;
+
+		final long start = System.nanoTime();
+
+		try {
+			for (FutureBreak fb : bucket) {
+				if (fb.dueStep == now) {
+					processed++;
+					lastStepProcessed++;
+					latencySteps += now - fb.queuedStep;
+					((IFutureBreakable) fb.state.getBlock()).futureBreak(fb.state, world, fb.pos, fb.entity);
+				}
+			}
+		} finally {
+			bucket.clear();
+			lastStepNanos = System.nanoTime() - start;
+			processingNanos += lastStepNanos;
+		}
+	}
+
+	public void clear() {
+		for (List<FutureBreak> bucket : wheel) {
+			bucket.clear();
+		}
+		size = 0;
+	}
+
+	public int getQueueLength() {
+		return size;
+	}
+
+	public long getAdded() {
+		return added;
+	}
+
+	public long getProcessed() {
+		return processed;
+	}
+
+	/**
+	 * @return The average number of process steps a break waited before it ran.  There are two steps per tick
+	 */
+	public float getAverageLatencySteps() {
+		return processed > 0 ? latencySteps / (float) processed : 0;
+	}
+
+	/**
+	 * @return The average milliseconds spent running a break
+	 */
+	public float getAverageProcessingMillis() {
+		return processed > 0 ? processingNanos / (processed * 1000000f) : 0;
+	}
+
+	public int getLastStepProcessed() {
+		return lastStepProcessed;
+	}
+
+	public float getLastStepMillis() {
+		return lastStepNanos / 1000000f;
+	}
+
+	public void resetStats() {
+		added = 0;
+		processed = 0;
+		latencySteps = 0;
+		processingNanos = 0;
+	}
+
+}
@@ -3,6 +3,7 @@ package com.ferreusveritas.dynamictrees.event;
 import com.ferreusveritas.dynamictrees.ModBlocks;
 import com.ferreusveritas.dynamictrees.models.bakedmodels.BakedModelBlockBonsaiPot;
 import com.ferreusveritas.dynamictrees.models.bakedmodels.BakedModelBlockRooty;
+import com.ferreusveritas.dynamictrees.models.bakedmodels.BakedQuadCache;
 import net.minecraft.block.Block;
 import net.minecraft.client.renderer.block.model.IBakedModel;
 import net.minecraft.client.renderer.block.model.ModelResourceLocation;
@@ -17,6 +18,8 @@ public class ModelBakeEventListener {
 	@SubscribeEvent
 	public void onModelBakeEvent(ModelBakeEvent event) {
 
+		BakedQuadCache.resetStats();//The branch models and their caches have just been baked anew
+
 		Block[] rootyBlocks = new Block[]{ModBlocks.blockRootyDirt, ModBlocks.blockRootyDirtSpecies, ModBlocks.blockRootySand, ModBlocks.blockRootyDirtFake};
 
 		for (Block block : rootyBlocks) {
@@ -0,0 +1,26 @@
+package com.ferreusveritas.dynamictrees.event;
+
+import com.ferreusveritas.dynamictrees.models.bakedmodels.BakedQuadCache;
+import net.minecraft.client.Minecraft;
+import net.minecraftforge.client.event.RenderGameOverlayEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Shows how well the branch quad caches are doing on the debug screen.
+ *
+ * @author ferreusveritas
+ */
+@SideOnly(Side.CLIENT)
+public class QuadCacheDebugHandler {
+
+	@SubscribeEvent
+	public void onDebugText(RenderGameOverlayEvent.Text event) {
+		if (Minecraft.getMinecraft().gameSettings.showDebugInfo) {
+			event.getRight().add("");
+			event.getRight().add(String.format("DT branch quads: %d cached, %.1f%% hits", BakedQuadCache.getEntries(), BakedQuadCache.getHitRate() * 100));
+		}
+	}
+
+}
@@ -46,7 +46,8 @@ public class SpeciesPostGenerationEvent extends Event {
 	}
 
 	/**
-	 * An endpoint is a {@link BlockPos} of the end of each branch in a tree.
+	 * An endpoint is a {@link BlockPos} of the end of each branch in a tree.  The list is reused by the next tree that
+	 * is generated so copy it if it's needed after the event.
 	 *
 	 * @return Endpoint list
 	 */
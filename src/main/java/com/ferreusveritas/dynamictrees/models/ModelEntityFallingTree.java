@@ -3,6 +3,7 @@ package com.ferreusveritas.dynamictrees.models;
 import com.ferreusveritas.dynamictrees.blocks.BlockBranch;
 import com.ferreusveritas.dynamictrees.client.QuadManipulator;
 import com.ferreusveritas.dynamictrees.entities.EntityFallingTree;
+import com.ferreusveritas.dynamictrees.render.FallingTreeMesh;
 import com.ferreusveritas.dynamictrees.trees.Species;
 import com.ferreusveritas.dynamictrees.util.BranchDestructionData;
 import net.minecraft.block.Block;
@@ -30,6 +31,7 @@ public class ModelEntityFallingTree {
 
 	protected final List<TreeQuadData> quads;
 	protected final int entityId;
+	protected FallingTreeMesh mesh;
 
 	public ModelEntityFallingTree(EntityFallingTree entity) {
 		quads = generateTreeQuads(entity, entity.getEntityWorld());
@@ -44,6 +46,25 @@ public class ModelEntityFallingTree {
 		return entityId;
 	}
 
+	public FallingTreeMesh getMesh() {
+		return mesh;
+	}
+
+	/**
+	 * Replaces the mesh of the tree.  The old mesh is released.
+	 */
+	public void setMesh(FallingTreeMesh mesh) {
+		releaseMesh();
+		this.mesh = mesh;
+	}
+
+	public void releaseMesh() {
+		if (mesh != null) {
+			mesh.release();
+			mesh = null;
+		}
+	}
+
 	public static int getBrightness(EntityFallingTree entity) {
 		BranchDestructionData destructionData = entity.getDestroyData();
 		World world = entity.getEntityWorld();
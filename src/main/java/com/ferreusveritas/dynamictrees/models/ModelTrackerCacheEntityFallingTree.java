@@ -21,7 +21,7 @@ public class ModelTrackerCacheEntityFallingTree {
 	private static int cleanupCounter = 0;
 
 	public static void cleanupModels(World world, EntityFallingTree entity) {
-		modelMap.remove(entity.getEntityId());//Ideally each tree should remove itself and the list is kept tidy
+		release(modelMap.remove(entity.getEntityId()));//Ideally each tree should remove itself and the list is kept tidy
 
 		if (++cleanupCounter >= 10) {//Every 10 cleanups check the list to see if there's any stragglers
 			cleanupCounter = 0;
@@ -30,10 +30,16 @@ public class ModelTrackerCacheEntityFallingTree {
 			while (iter.hasNext()) {
 				int id = iter.next();
 				if (world.getEntityByID(id) == null) {
-					modelMap.remove(id);
+					release(modelMap.remove(id));
 				}
 			}
 		}
 	}
 
+	private static void release(ModelEntityFallingTree model) {
+		if (model != null) {
+			model.releaseMesh();//Free the mesh on the graphics card
+		}
+	}
+
 }
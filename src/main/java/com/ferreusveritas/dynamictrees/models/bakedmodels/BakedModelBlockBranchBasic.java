@@ -35,6 +35,8 @@ public class BakedModelBlockBranchBasic implements IBakedModel {
 	private final IBakedModel[][] cores = new IBakedModel[3][8]; // 8 Cores for 3 axis with the bark texture and all 6 sides rotated appropriately.
 	private final IBakedModel[] rings = new IBakedModel[8]; // 8 Cores with the ring textures on all 6 sides
 
+	protected final BakedQuadCache quadCache = new BakedQuadCache();
+
 	public BakedModelBlockBranchBasic(ResourceLocation barkRes, ResourceLocation ringsRes, Function<ResourceLocation, TextureAtlasSprite> bakedTextureGetter) {
 		this.modelBlock = new ModelBlock(null, null, null, false, false, ItemCameraTransforms.DEFAULT, null);
 
@@ -169,6 +171,12 @@ public class BakedModelBlockBranchBasic implements IBakedModel {
 		int coreRadius = getRadius(state);
 		int[] connections = pollConnections(coreRadius, extendedState);
 
+		long key = BakedQuadCache.key(coreRadius, connections, side, false);
+		List<BakedQuad> cached = quadCache.get(key);
+		if (cached != null) {
+			return cached;
+		}
+
 		// Count number of connections
 		int numConnections = 0;
 		for (int i : connections) {
@@ -205,7 +213,7 @@ public class BakedModelBlockBranchBasic implements IBakedModel {
 			}
 		}
 
-		return quadsList;
+		return quadCache.put(key, quadsList);
 	}
 
 	/**
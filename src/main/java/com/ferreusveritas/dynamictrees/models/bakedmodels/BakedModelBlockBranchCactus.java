@@ -37,6 +37,8 @@ public class BakedModelBlockBranchCactus implements IBakedModel {
 	private final IBakedModel[][] cores = new IBakedModel[3][2]; // 2 Cores for 3 axis with the bark texture all all 6 sides rotated appropriately.
 	private final IBakedModel[] rings = new IBakedModel[2]; // 2 Cores with the ring textures on all 6 sides
 	private final IBakedModel[] coreSpikes = new IBakedModel[2]; // 2 cores with only the spikey edges
+
+	protected final BakedQuadCache quadCache = new BakedQuadCache();
 	private IBakedModel sleeveTopSpikes;
 
 	public BakedModelBlockBranchCactus(ResourceLocation barkRes, ResourceLocation ringsRes, Function<ResourceLocation, TextureAtlasSprite> bakedTextureGetter) {
@@ -579,10 +581,16 @@ public class BakedModelBlockBranchCactus implements IBakedModel {
 				numConnections += (i != 0) ? 1 : 0;
 			}
 
-			boolean extraUpSleeve = false;
-			if (coreRadius == 4 && numConnections == 1 && blockState.getValue(BlockBranchCactus.ORIGIN).getAxis().isHorizontal()) {
+			boolean extraUpSleeve = coreRadius == 4 && numConnections == 1 && blockState.getValue(BlockBranchCactus.ORIGIN).getAxis().isHorizontal();
+
+			long key = BakedQuadCache.key(coreRadius, connections, side, extraUpSleeve);
+			List<BakedQuad> cached = quadCache.get(key);
+			if (cached != null) {
+				return cached;
+			}
+
+			if (extraUpSleeve) {
 				connections[1] = 4;
-				extraUpSleeve = true;
 			}
 
 			//The source direction is the biggest connection from one of the 6 directions
@@ -625,6 +633,8 @@ public class BakedModelBlockBranchCactus implements IBakedModel {
 			if (extraUpSleeve) {
 				quadsList.addAll(sleeveTopSpikes.getQuads(extendedBlockState, EnumFacing.UP, rand));
 			}
+
+			return quadCache.put(key, quadsList);
 		}
 
 		return quadsList;
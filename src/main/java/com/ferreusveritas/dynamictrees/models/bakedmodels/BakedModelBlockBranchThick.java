@@ -149,12 +149,19 @@ public class BakedModelBlockBranchThick extends BakedModelBlockBranchBasic imple
 		coreRadius = MathHelper.clamp(coreRadius, 9, 24);
 
 		List<BakedQuad> quadsList = new ArrayList<>(30);
-		quadsList.addAll(trunksBark[coreRadius - 9].getQuads(state, side, rand));
 
 		if (state instanceof IExtendedBlockState) {
 			IExtendedBlockState extendedBlockState = (IExtendedBlockState) state;
 			int[] connections = pollConnections(coreRadius, extendedBlockState);
 
+			long key = BakedQuadCache.key(coreRadius, connections, side, false);//Radii above 8 can't collide with the basic branch shapes
+			List<BakedQuad> cached = quadCache.get(key);
+			if (cached != null) {
+				return cached;
+			}
+
+			quadsList.addAll(trunksBark[coreRadius - 9].getQuads(state, side, rand));
+
 			if (connections[0] < 1) {
 				quadsList.addAll(trunksBotRings[coreRadius - 9].getQuads(state, side, rand));
 			}
@@ -164,8 +171,10 @@ public class BakedModelBlockBranchThick extends BakedModelBlockBranchBasic imple
 				quadsList.addAll(trunksTopBark[coreRadius - 9].getQuads(state, side, rand));
 			}
 
+			return quadCache.put(key, quadsList);
 		}
 
+		quadsList.addAll(trunksBark[coreRadius - 9].getQuads(state, side, rand));
 		return quadsList;
 	}
 
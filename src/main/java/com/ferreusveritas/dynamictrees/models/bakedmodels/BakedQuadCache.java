@@ -0,0 +1,154 @@
+package com.ferreusveritas.dynamictrees.models.bakedmodels;
+
+import com.google.common.collect.ImmutableList;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.util.EnumFacing;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of the quad lists of a branch model.  The quads of a branch only depend on its radius, the radius of
+ * its 6 connections and the side being pulled so those are packed into a single key.
+ * <p>
+ * Chunks are rebuilt on several threads at once so the cache is safe to use from any thread.  The keys are split
+ * between a few segments that are each locked on their own so the threads rarely wait on one another.  When a segment
+ * fills up the shape it saw least recently is evicted.
+ *
+ * @author ferreusveritas
+ */
+@SideOnly(Side.CLIENT)
+public class BakedQuadCache {
+
+	private static final int MAXENTRIES = 4096;
+	private static final int SEGMENTBITS = 4;
+	private static final int SEGMENTENTRIES = MAXENTRIES >> SEGMENTBITS;
+
+	//Statistics across every cache
+	private static final LongAdder hits = new LongAdder();
+	private static final LongAdder misses = new LongAdder();
+	private static final AtomicInteger entries = new AtomicInteger();
+
+	private final Long2ObjectLinkedOpenHashMap<List<BakedQuad>>[] segments;
+
+	@SuppressWarnings("unchecked")
+	public BakedQuadCache() {
+		segments = new Long2ObjectLinkedOpenHashMap[1 << SEGMENTBITS];
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = new Long2ObjectLinkedOpenHashMap<>(SEGMENTENTRIES);
+		}
+	}
+
+	private Long2ObjectLinkedOpenHashMap<List<BakedQuad>> getSegment(long key) {
+		//The top bits pick the segment since the maps themselves place keys by the bottom bits of the same mix
+		return segments[(int) (HashCommon.mix(key) >>> (64 - SEGMENTBITS))];
+	}
+
+	/**
+	 * Packs the shape of a branch into a key.
+	 *
+	 * @param radius      The core radius from 0 to 31
+	 * @param connections The 6 connection radii from 0 to 31. DUNSWE
+	 * @param side        The side being pulled or null for general quads
+	 * @param flag        Any extra bit the model needs to tell shapes apart
+	 * @return The key
+	 */
+	public static long key(int radius, int[] connections, EnumFacing side, boolean flag) {
+		long key = radius & 0x1F;
+		for (int i = 0; i < 6; i++) {
+			key |= (long) (connections[i] & 0x1F) << (5 + i * 5);
+		}
+		key |= (long) (side == null ? 6 : side.getIndex()) << 35;
+		return flag ? key | 1L << 38 : key;
+	}
+
+	/**
+	 * @param key The packed shape
+	 * @return The cached quads or null if the shape hasn't been seen
+	 */
+	public List<BakedQuad> get(long key) {
+		Long2ObjectLinkedOpenHashMap<List<BakedQuad>> segment = getSegment(key);
+		List<BakedQuad> quads;
+		synchronized (segment) {
+			quads = segment.getAndMoveToLast(key);
+		}
+		if (quads != null) {
+			hits.increment();
+		} else {
+			misses.increment();
+		}
+		return quads;
+	}
+
+	/**
+	 * @param key   The packed shape
+	 * @param quads The quads of the shape
+	 * @return An immutable copy of the quads that has been cached
+	 */
+	public List<BakedQuad> put(long key, List<BakedQuad> quads) {
+		List<BakedQuad> immutable = ImmutableList.copyOf(quads);
+		Long2ObjectLinkedOpenHashMap<List<BakedQuad>> segment = getSegment(key);
+
+		synchronized (segment) {
+			if (!segment.containsKey(key)) {
+				if (segment.size() >= SEGMENTENTRIES) {
+					segment.removeFirst();//Least recently used
+				} else {
+					entries.incrementAndGet();
+				}
+			}
+			segment.putAndMoveToLast(key, immutable);
+		}
+
+		return immutable;
+	}
+
+	/**
+	 * @return The number of quad lists held by this cache
+	 */
+	public int size() {
+		int size = 0;
+		for (Long2ObjectLinkedOpenHashMap<List<BakedQuad>> segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	public static long getHits() {
+		return hits.sum();
+	}
+
+	public static long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return The number of quad lists held by every cache.  Approximate while chunks are being rebuilt
+	 */
+	public static int getEntries() {
+		return entries.get();
+	}
+
+	public static float getHitRate() {
+		long h = getHits();
+		long total = h + getMisses();
+		return total > 0 ? h / (float) total : 0;
+	}
+
+	/**
+	 * Forgets the statistics.  Called when the models are baked again since the old caches are thrown away.
+	 */
+	public static void resetStats() {
+		hits.reset();
+		misses.reset();
+		entries.set(0);
+	}
+
+}
@@ -16,6 +16,7 @@ import com.ferreusveritas.dynamictrees.client.TextureUtils.PixelBuffer;
 import com.ferreusveritas.dynamictrees.entities.EntityFallingTree;
 import com.ferreusveritas.dynamictrees.event.BlockBreakAnimationClientHandler;
 import com.ferreusveritas.dynamictrees.event.ModelBakeEventListener;
+import com.ferreusveritas.dynamictrees.event.QuadCacheDebugHandler;
 import com.ferreusveritas.dynamictrees.event.TextureGenerationHandler;
 import com.ferreusveritas.dynamictrees.items.DendroPotion;
 import com.ferreusveritas.dynamictrees.models.loaders.*;
@@ -237,6 +238,7 @@ public class ClientProxy extends CommonProxy {
 	
 	public void registerClientEventHandlers() {
 		MinecraftForge.EVENT_BUS.register(new ModelBakeEventListener());
+		MinecraftForge.EVENT_BUS.register(new QuadCacheDebugHandler());
 		MinecraftForge.EVENT_BUS.register(TextureGenerationHandler.class);
 	}
 	
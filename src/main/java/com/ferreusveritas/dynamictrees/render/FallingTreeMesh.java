@@ -0,0 +1,125 @@
+package com.ferreusveritas.dynamictrees.render;
+
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.GLAllocation;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.OpenGlHelper;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.client.renderer.vertex.VertexBuffer;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+import org.lwjgl.opengl.GL11;
+
+import java.util.function.Consumer;
+
+/**
+ * The quads of a falling tree uploaded to the graphics card once so they can be drawn every frame with nothing but the
+ * animation transform.  Uses a vertex buffer object when they're enabled and a display list otherwise.
+ * <p>
+ * Must only be used on the render thread and must be released when the tree is done with it.
+ *
+ * @author ferreusveritas
+ */
+@SideOnly(Side.CLIENT)
+public class FallingTreeMesh {
+
+	private static final int STRIDE = 28;//DefaultVertexFormats.BLOCK: position, color, texture and lightmap
+
+	private static BufferBuilder uploadBuffer;//Shared by every vbo mesh since they're built one at a time
+
+	private final int brightness;
+	private final int colorKey;
+	private VertexBuffer vertexBuffer;
+	private int displayList = -1;
+
+	/**
+	 * @param brightness The packed lightmap coordinates that were baked into the mesh
+	 * @param colorKey   The {@link com.ferreusveritas.dynamictrees.trees.Species#getTreeQuadColorKey color key} of the
+	 *                   colors that were baked into the mesh
+	 * @param writer     Writes the quads of the tree into the buffer it is given.  The buffer has already begun drawing
+	 *                   {@link GL11#GL_QUADS} in the {@link DefaultVertexFormats#BLOCK} format
+	 */
+	public FallingTreeMesh(int brightness, int colorKey, Consumer<BufferBuilder> writer) {
+		this.brightness = brightness;
+		this.colorKey = colorKey;
+
+		if (OpenGlHelper.useVbo()) {
+			if (uploadBuffer == null) {
+				uploadBuffer = new BufferBuilder(0x40000);
+			}
+			uploadBuffer.begin(GL11.GL_QUADS, DefaultVertexFormats.BLOCK);
+			writer.accept(uploadBuffer);
+			uploadBuffer.finishDrawing();
+			vertexBuffer = new VertexBuffer(DefaultVertexFormats.BLOCK);
+			vertexBuffer.bufferData(uploadBuffer.getByteBuffer());
+			uploadBuffer.reset();
+		} else {
+			displayList = GLAllocation.generateDisplayLists(1);
+			Tessellator tessellator = Tessellator.getInstance();
+			GlStateManager.glNewList(displayList, GL11.GL_COMPILE);
+			tessellator.getBuffer().begin(GL11.GL_QUADS, DefaultVertexFormats.BLOCK);
+			writer.accept(tessellator.getBuffer());
+			tessellator.draw();
+			GlStateManager.glEndList();
+		}
+	}
+
+	public int getBrightness() {
+		return brightness;
+	}
+
+	public int getColorKey() {
+		return colorKey;
+	}
+
+	public void draw() {
+		if (vertexBuffer != null) {
+			vertexBuffer.bindBuffer();
+			setupArrayPointers();
+			vertexBuffer.drawArrays(GL11.GL_QUADS);
+			vertexBuffer.unbindBuffer();
+			cleanupArrayPointers();
+		} else if (displayList >= 0) {
+			GlStateManager.callList(displayList);
+		}
+		GlStateManager.resetColor();
+	}
+
+	private void setupArrayPointers() {
+		GlStateManager.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+		GlStateManager.glVertexPointer(3, GL11.GL_FLOAT, STRIDE, 0);
+		GlStateManager.glEnableClientState(GL11.GL_COLOR_ARRAY);
+		GlStateManager.glColorPointer(4, GL11.GL_UNSIGNED_BYTE, STRIDE, 12);
+		GlStateManager.glEnableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+		GlStateManager.glTexCoordPointer(2, GL11.GL_FLOAT, STRIDE, 16);
+		OpenGlHelper.setClientActiveTexture(OpenGlHelper.lightmapTexUnit);
+		GlStateManager.glEnableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+		GlStateManager.glTexCoordPointer(2, GL11.GL_SHORT, STRIDE, 24);
+		OpenGlHelper.setClientActiveTexture(OpenGlHelper.defaultTexUnit);
+	}
+
+	private void cleanupArrayPointers() {
+		GlStateManager.glDisableClientState(GL11.GL_VERTEX_ARRAY);
+		GlStateManager.glDisableClientState(GL11.GL_COLOR_ARRAY);
+		GlStateManager.glDisableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+		OpenGlHelper.setClientActiveTexture(OpenGlHelper.lightmapTexUnit);
+		GlStateManager.glDisableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+		OpenGlHelper.setClientActiveTexture(OpenGlHelper.defaultTexUnit);
+	}
+
+	/**
+	 * Frees the memory on the graphics card.  The mesh draws nothing afterwards.
+	 */
+	public void release() {
+		if (vertexBuffer != null) {
+			vertexBuffer.deleteGlBuffers();
+			vertexBuffer = null;
+		}
+		if (displayList >= 0) {
+			GLAllocation.deleteDisplayLists(displayList);
+			displayList = -1;
+		}
+	}
+
+}
@@ -61,7 +61,7 @@ public class RenderFallingTree extends Render<EntityFallingTree> {
 		}
 
 		entity.currentAnimationHandler.renderTransform(entity, entityYaw, partialTicks);
-		this.drawBakedQuads(treeModel.getQuadData(), brightnessIn, entity.getDestroyData().species, entity);
+		getMesh(treeModel, brightnessIn, entity).draw();
 
 		GlStateManager.popMatrix();
 		GlStateManager.enableLighting();
@@ -77,19 +77,38 @@ public class RenderFallingTree extends Render<EntityFallingTree> {
 		GlStateManager.popMatrix();
 	}
 
+	/**
+	 * Gets the mesh of the tree with the colors, diffuse lighting and brightness already applied.  The mesh is only
+	 * built again if the brightness at the cut or the color key of the species changes.
+	 */
+	private FallingTreeMesh getMesh(ModelEntityFallingTree treeModel, int brightness, EntityFallingTree entity) {
+		FallingTreeMesh mesh = treeModel.getMesh();
+		Species species = entity.getDestroyData().species;
+		int colorKey = species == null ? 0 : species.getTreeQuadColorKey(entity);
+
+		if (mesh == null || mesh.getBrightness() != brightness || mesh.getColorKey() != colorKey) {
+			mesh = new FallingTreeMesh(brightness, colorKey, buffer -> writeBakedQuads(buffer, treeModel.getQuadData(), brightness, species, entity));
+			treeModel.setMesh(mesh);
+		}
+
+		return mesh;
+	}
+
 	//TODO: Convert to IBakedModel and eliminate this mess
 	public void drawBakedQuads(List<ModelEntityFallingTree.TreeQuadData> inQuads, int brightness, Species species, EntityFallingTree entity) {
 		final Tessellator tessellator = Tessellator.getInstance();
 		final BufferBuilder buffer = tessellator.getBuffer();
 
 		buffer.begin(GL11.GL_QUADS, DefaultVertexFormats.BLOCK);
+		writeBakedQuads(buffer, inQuads, brightness, species, entity);
+		tessellator.draw();
+	}
 
+	public void writeBakedQuads(BufferBuilder buffer, List<ModelEntityFallingTree.TreeQuadData> inQuads, int brightness, Species species, EntityFallingTree entity) {
 		for (ModelEntityFallingTree.TreeQuadData treeQuad : inQuads) {
 			int color = species == null ? treeQuad.color : species.colorTreeQuads(treeQuad.color, treeQuad, entity);
 			this.drawBakedQuad(buffer, treeQuad.bakedQuad, brightness, color);
 		}
-
-		tessellator.draw();
 	}
 
 	public void drawBakedQuad(BufferBuilder buffer, BakedQuad bakedQuad, int brightness, int color) {
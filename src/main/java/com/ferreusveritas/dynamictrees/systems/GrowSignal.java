@@ -1,6 +1,7 @@
 package com.ferreusveritas.dynamictrees.systems;
 
 import com.ferreusveritas.dynamictrees.trees.Species;
+import com.ferreusveritas.dynamictrees.util.SplitRandom;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 
@@ -29,6 +30,14 @@ public class GrowSignal {
 	public Random rand;
 
 	public GrowSignal(Species species, BlockPos rootPos, float energy) {
+		this(species, rootPos, energy, new SplitRandom());
+	}
+
+	/**
+	 * @param rand The random stream the signal makes its choices with.  Signals that share a stream can be replayed
+	 *             exactly by seeding it the same way
+	 */
+	public GrowSignal(Species species, BlockPos rootPos, float energy, Random rand) {
 		this.species = species;
 		this.energy = energy;
 		dir = EnumFacing.UP;
@@ -36,7 +45,7 @@ public class GrowSignal {
 		numTurns = 0;
 		numSteps = 0;
 		tapering = 0.3f;
-		rand = new Random();
+		this.rand = rand;
 		success = true;
 		choked = false;
 
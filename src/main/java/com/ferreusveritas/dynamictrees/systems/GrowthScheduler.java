@@ -0,0 +1,309 @@
+package com.ferreusveritas.dynamictrees.systems;
+
+import com.ferreusveritas.dynamictrees.ModConfigs;
+import com.ferreusveritas.dynamictrees.blocks.BlockRooty;
+import com.ferreusveritas.dynamictrees.util.PerDimension;
+import it.unimi.dsi.fastutil.longs.Long2IntLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.common.util.Constants.NBT;
+
+
+/**
+ * Defers tree growth out of the random block tick and into the world tick where it can be spread out over time.
+ * <p>
+ * Rooty blocks that pass their growth folding roll enqueue a growth request instead of growing on the spot.  The queue
+ * is drained in first come first served order at the end of every world tick until the configured time budget is
+ * spent.  Requests for the same root that arrive before it is processed are merged into a single entry that remembers
+ * how many growth cycles it owes so no growth is lost and the overall growth rate is unchanged.
+ * <p>
+ * The queue holds at most {@link ModConfigs#growthQueueLimit} roots.  A root that doesn't fit grows on the spot like
+ * it would with the scheduler turned off.  The growth a chunk is owed is saved with the chunk and queued again when
+ * the chunk comes back so unloading a chunk or the world doesn't lose any.
+ *
+ * @author ferreusveritas
+ */
+public class GrowthScheduler {
+
+	private static final PerDimension<GrowthScheduler> schedulers = new PerDimension<>(w -> new GrowthScheduler());
+
+	public static final String NBTKEY = "DynamicTreesGrowth";
+
+	private final Long2IntLinkedOpenHashMap pending = new Long2IntLinkedOpenHashMap();//Root position -> Growth cycles owed
+	private final Long2LongOpenHashMap queuedTime = new Long2LongOpenHashMap();//Root position -> World time of the first request
+	private final Long2ObjectOpenHashMap<LongSet> chunkRoots = new Long2ObjectOpenHashMap<>();//Chunk position -> Queued roots in the chunk
+	private final Long2ObjectOpenHashMap<Long2IntMap> unloading = new Long2ObjectOpenHashMap<>();//Chunk position -> Growth taken out of the queue that hasn't been saved yet
+
+	private long requests;
+	private long merged;
+	private long overflowed;
+	private long processed;
+	private long latencyTicks;//Sum of the ticks each processed root spent waiting in the queue
+	private long processingNanos;
+	private int lastTickProcessed;
+	private long lastTickNanos;
+
+	public static GrowthScheduler get(World world) {
+		return schedulers.get(world);
+	}
+
+	/**
+	 * @return true if growth should be handed to the scheduler rather than run during the random tick
+	 */
+	public static boolean isEnabled(World world) {
+		return ModConfigs.growthTickBudget > 0 && !world.isRemote;
+	}
+
+	/**
+	 * Requests a growth cycle for the tree at the given root position.
+	 *
+	 * @param world   The world
+	 * @param rootPos The position of the rooty block
+	 * @return false if the queue is full and the tree should be grown right away
+	 */
+	public boolean request(World world, BlockPos rootPos) {
+		requests++;
+
+		if (!enqueue(world, rootPos.toLong(), 1, true)) {
+			overflowed++;
+			return false;
+		}
+
+		return true;
+	}
+
+	private boolean enqueue(World world, long key, int cycles, boolean limited) {
+		if (pending.containsKey(key)) {
+			pending.addTo(key, cycles);
+			merged++;//The root was already waiting
+			return true;
+		}
+
+		if (limited && pending.size() >= ModConfigs.growthQueueLimit) {
+			return false;
+		}
+
+		pending.put(key, cycles);
+		queuedTime.put(key, world.getTotalWorldTime());
+		chunkRoots.computeIfAbsent(getChunkKey(key), c -> new LongOpenHashSet()).add(key);
+		return true;
+	}
+
+	private void dequeue(long key) {
+		queuedTime.remove(key);
+		long chunkKey = getChunkKey(key);
+		LongSet roots = chunkRoots.get(chunkKey);
+		if (roots != null && roots.remove(key) && roots.isEmpty()) {
+			chunkRoots.remove(chunkKey);
+		}
+	}
+
+	private static long getChunkKey(long rootKey) {
+		BlockPos pos = BlockPos.fromLong(rootKey);
+		return ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+	}
+
+	/**
+	 * Takes the growth owed to the roots in a chunk that is unloading out of the queue.  It's held until the chunk is
+	 * saved.
+	 *
+	 * @param chunk The chunk that is unloading
+	 */
+	public void unloadChunk(Chunk chunk) {
+		LongSet roots = chunkRoots.remove(ChunkPos.asLong(chunk.x, chunk.z));
+		if (roots == null) {
+			return;
+		}
+
+		Long2IntMap owed = new Long2IntOpenHashMap(roots.size());
+		for (LongIterator iter = roots.iterator(); iter.hasNext(); ) {
+			long key = iter.nextLong();
+			owed.put(key, pending.remove(key));
+			queuedTime.remove(key);
+		}
+		unloading.put(ChunkPos.asLong(chunk.x, chunk.z), owed);
+	}
+
+	/**
+	 * Writes the growth owed to the roots in a chunk into the chunk's save data.
+	 *
+	 * @param chunk The chunk being saved
+	 * @param data  The root compound of the chunk's save data
+	 */
+	public void saveChunk(Chunk chunk, NBTTagCompound data) {
+		long chunkKey = ChunkPos.asLong(chunk.x, chunk.z);
+		Long2IntMap owed = unloading.remove(chunkKey);
+		LongSet roots = chunkRoots.get(chunkKey);
+
+		if (owed == null && roots == null) {
+			return;
+		}
+
+		NBTTagList list = new NBTTagList();
+		if (owed != null) {
+			for (Long2IntMap.Entry entry : owed.long2IntEntrySet()) {
+				list.appendTag(writeOwed(entry.getLongKey(), entry.getIntValue()));
+			}
+		}
+		if (roots != null) {
+			for (LongIterator iter = roots.iterator(); iter.hasNext(); ) {
+				long key = iter.nextLong();
+				list.appendTag(writeOwed(key, pending.get(key)));
+			}
+		}
+		data.setTag(NBTKEY, list);
+	}
+
+	private static NBTTagCompound writeOwed(long key, int cycles) {
+		NBTTagCompound tag = new NBTTagCompound();
+		tag.setLong("pos", key);
+		tag.setInteger("cycles", cycles);
+		return tag;
+	}
+
+	/**
+	 * Queues the growth that was owed to the roots of a chunk when it was saved.  This growth was already queued once so
+	 * it goes in even if the queue is full.
+	 *
+	 * @param world The world
+	 * @param data  The root compound of the chunk's save data
+	 */
+	public void loadChunk(World world, NBTTagCompound data) {
+		if (!data.hasKey(NBTKEY, NBT.TAG_LIST)) {
+			return;
+		}
+
+		NBTTagList list = data.getTagList(NBTKEY, NBT.TAG_COMPOUND);
+		for (int i = 0; i < list.tagCount(); i++) {
+			NBTTagCompound tag = list.getCompoundTagAt(i);
+			long key = tag.getLong("pos");
+			int cycles = tag.getInteger("cycles");
+			if (cycles > 0) {
+				enqueue(world, key, cycles, false);
+			}
+		}
+	}
+
+	/**
+	 * Runs queued growth until the time budget for this tick is spent.  At least one root is always processed so the
+	 * queue keeps moving even with a tiny budget.
+	 *
+	 * @param world The world
+	 */
+	public void process(World world) {
+		lastTickProcessed = 0;
+		lastTickNanos = 0;
+
+		if (pending.isEmpty()) {
+			return;
+		}
+
+		final long start = System.nanoTime();
+		final long budget = (long) (ModConfigs.growthTickBudget * 1000000);
+		final long now = world.getTotalWorldTime();
+
+		do {
+			long key = pending.firstLongKey();
+			int cycles = pending.removeFirstInt();
+			latencyTicks += now - queuedTime.get(key);
+			dequeue(key);
+			processed++;
+			lastTickProcessed++;
+
+			grow(world, key, cycles);
+		} while (!pending.isEmpty() && System.nanoTime() - start < budget);
+
+		lastTickNanos = System.nanoTime() - start;
+		processingNanos += lastTickNanos;
+	}
+
+	private void grow(World world, long key, int cycles) {
+		BlockPos rootPos = BlockPos.fromLong(key);
+		if (world.isBlockLoaded(rootPos)) {
+			world.getChunkFromBlockCoords(rootPos).markDirty();//So a save that still has this growth owed gets replaced
+		}
+
+		//Each cycle is exactly what the random tick would have done.  Stop as soon as the tree is gone.
+		for (int i = 0; i < cycles && world.isBlockLoaded(rootPos); i++) {
+			IBlockState rootyState = world.getBlockState(rootPos);
+			if (!(rootyState.getBlock() instanceof BlockRooty)) {
+				break;
+			}
+			((BlockRooty) rootyState.getBlock()).updateTree(rootyState, world, rootPos, world.rand, true);
+		}
+	}
+
+	public void clear() {
+		pending.clear();
+		queuedTime.clear();
+		chunkRoots.clear();
+		unloading.clear();
+	}
+
+	public int getQueueDepth() {
+		return pending.size();
+	}
+
+	public long getRequests() {
+		return requests;
+	}
+
+	public long getMerged() {
+		return merged;
+	}
+
+	/**
+	 * @return The number of requests that were grown on the spot because the queue was full
+	 */
+	public long getOverflowed() {
+		return overflowed;
+	}
+
+	public long getProcessed() {
+		return processed;
+	}
+
+	/**
+	 * @return The average number of ticks a root waited in the queue before it was grown
+	 */
+	public float getAverageLatencyTicks() {
+		return processed > 0 ? latencyTicks / (float) processed : 0;
+	}
+
+	/**
+	 * @return The average milliseconds per root spent growing trees
+	 */
+	public float getAverageProcessingMillis() {
+		return processed > 0 ? processingNanos / (processed * 1000000f) : 0;
+	}
+
+	public int getLastTickProcessed() {
+		return lastTickProcessed;
+	}
+
+	public float getLastTickMillis() {
+		return lastTickNanos / 1000000f;
+	}
+
+	public void resetStats() {
+		requests = 0;
+		merged = 0;
+		overflowed = 0;
+		processed = 0;
+		latencyTicks = 0;
+		processingNanos = 0;
+	}
+
+}
@@ -0,0 +1,168 @@
+package com.ferreusveritas.dynamictrees.systems;
+
+import com.ferreusveritas.dynamictrees.ModConfigs;
+import com.ferreusveritas.dynamictrees.api.TreeHelper;
+import com.ferreusveritas.dynamictrees.api.network.MapSignal;
+import com.ferreusveritas.dynamictrees.api.treedata.ITreePart;
+import com.ferreusveritas.dynamictrees.blocks.BlockRooty;
+import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeNetVolume;
+import com.ferreusveritas.dynamictrees.trees.Species;
+import com.ferreusveritas.dynamictrees.util.PerDimension;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Answers questions about trees for tooltip mods like Waila/HWYLA.
+ * <p>
+ * The volume of a tree comes out of the {@link TreeTopologyCache} so a tree is only analyzed again after its branches
+ * change and the root a branch belongs to is looked up from the same cache.  The species and soil life are read
+ * straight off the root block since that's cheap.  On top of that each player can only make the service look at the
+ * world once every {@link #REFRESHTICKS} ticks for the same block.  Probes in between get the last answer.
+ *
+ * @author ferreusveritas
+ */
+public class TreeInfoService {
+
+	public static final int REFRESHTICKS = 20;
+	private static final int MAXPLAYERS = 64;//Start clearing out players that have stopped probing beyond this many
+
+	private static final PerDimension<TreeInfoService> services = new PerDimension<>(w -> new TreeInfoService());
+
+	private final Map<UUID, Probe> probes = new HashMap<>();
+
+	public static class TreeInfo {
+
+		public static final TreeInfo NONE = new TreeInfo(BlockPos.ORIGIN, Species.NULLSPECIES, 0, -1);
+
+		public final BlockPos rootPos;//The position of the root block or BlockPos.ORIGIN if the tree has no root
+		public final Species species;
+		public final float volume;//The harvestable wood volume with the harvest multiplier applied
+		public final int soilLife;//0 - 15 or -1 if the tree has no root
+
+		public TreeInfo(BlockPos rootPos, Species species, float volume, int soilLife) {
+			this.rootPos = rootPos;
+			this.species = species;
+			this.volume = volume;
+			this.soilLife = soilLife;
+		}
+
+		public NBTTagCompound writeToNBT(NBTTagCompound tag) {
+			if (species != Species.NULLSPECIES) {
+				tag.setString("species", species.getRegistryName().toString());
+			}
+			if (volume > 0) {
+				tag.setFloat("volume", volume);
+			}
+			if (soilLife >= 0) {
+				tag.setInteger("soillife", soilLife);
+			}
+			return tag;
+		}
+
+	}
+
+	private static class Probe {
+
+		private final BlockPos pos;
+		private final long time;
+		private final TreeInfo info;
+
+		private Probe(BlockPos pos, long time, TreeInfo info) {
+			this.pos = pos;
+			this.time = time;
+			this.info = info;
+		}
+
+	}
+
+	public static TreeInfoService get(World world) {
+		return services.get(world);
+	}
+
+	/**
+	 * Gets the information about the tree a player is looking at.
+	 *
+	 * @param player The player doing the looking
+	 * @param world  The world
+	 * @param pos    The position of a branch, trunk shell or root block of the tree
+	 * @return The information about the tree
+	 */
+	public TreeInfo getInfo(EntityPlayer player, World world, BlockPos pos) {
+		long now = world.getTotalWorldTime();
+		Probe probe = probes.get(player.getUniqueID());
+		if (probe != null && probe.pos.equals(pos) && now - probe.time < REFRESHTICKS) {
+			return probe.info;
+		}
+
+		TreeInfo info = computeInfo(world, pos);
+
+		if (probes.size() >= MAXPLAYERS) {
+			forgetIdle(now);
+		}
+		probes.put(player.getUniqueID(), new Probe(pos.toImmutable(), now, info));
+
+		return info;
+	}
+
+	private TreeInfo computeInfo(World world, BlockPos pos) {
+		pos = TreeHelper.dereferenceTrunkShell(world, pos);
+		TreeTopologyCache topologyCache = TreeTopologyCache.get(world);
+
+		BlockPos rootPos = topologyCache.getCachedRoot(pos);
+		if (rootPos == null) {
+			rootPos = TreeHelper.findRootNode(world, pos);//The tree hasn't been cached yet.  Have to do this the hard way once
+		}
+
+		IBlockState rootyState = world.getBlockState(rootPos);
+		if (rootPos == BlockPos.ORIGIN || !(rootyState.getBlock() instanceof BlockRooty)) {
+			Species species = TreeHelper.getCommonSpecies(world, pos);
+			return species != Species.NULLSPECIES ? new TreeInfo(BlockPos.ORIGIN, species, getRootlessVolume(world, pos), -1) : TreeInfo.NONE;
+		}
+
+		BlockRooty rooty = (BlockRooty) rootyState.getBlock();
+		Species species = rooty.getSpecies(rootyState, world, rootPos);
+		int soilLife = rooty.getSoilLife(rootyState, world, rootPos);
+
+		float volume = 0;
+		BlockPos treePos = rootPos.up();
+		IBlockState treeState = world.getBlockState(treePos);
+		if (TreeHelper.isBranch(treeState)) {
+			ITreePart treeBase = TreeHelper.getTreePart(treeState);
+			volume = topologyCache.getSnapshot(world, rootPos, treePos, treeBase).getVolume() * ModConfigs.treeHarvestMultiplier;
+		}
+
+		return new TreeInfo(rootPos, species, volume, soilLife);
+	}
+
+	/**
+	 * A tree with no root can't be cached so the branches are analyzed from the block being looked at every time.
+	 */
+	private static float getRootlessVolume(World world, BlockPos pos) {
+		IBlockState state = world.getBlockState(pos);
+		if (!TreeHelper.isBranch(state)) {
+			return 0;
+		}
+
+		NodeNetVolume volumeSum = new NodeNetVolume();
+		TreeHelper.getTreePart(state).analyse(state, world, pos, null, new MapSignal(volumeSum));
+		return volumeSum.getVolume() * ModConfigs.treeHarvestMultiplier;
+	}
+
+	private void forgetIdle(long now) {
+		Iterator<Probe> iter = probes.values().iterator();
+		while (iter.hasNext()) {
+			if (now - iter.next().time >= REFRESHTICKS) {
+				iter.remove();
+			}
+		}
+	}
+
+}
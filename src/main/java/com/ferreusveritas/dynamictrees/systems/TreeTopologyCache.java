@@ -0,0 +1,302 @@
+package com.ferreusveritas.dynamictrees.systems;
+
+import com.ferreusveritas.dynamictrees.api.TreeHelper;
+import com.ferreusveritas.dynamictrees.api.network.MapSignal;
+import com.ferreusveritas.dynamictrees.api.treedata.ITreePart;
+import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeFindEnds;
+import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeNetVolume;
+import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeTopology;
+import com.ferreusveritas.dynamictrees.util.CoordUtils;
+import com.ferreusveritas.dynamictrees.util.PerDimension;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A server side cache of the branch network topology of each tree keyed by the position of its root block.
+ * <p>
+ * Building a snapshot costs one full analysis of the network.  After that the endpoints, volume and trunk height of
+ * the tree are available without analyzing it again until a branch or root in or next to the network is added or
+ * removed.  Every cached node is indexed back to the root that owns it so keeping up to date is a handful of map
+ * lookups no matter how many trees are cached.
+ * <p>
+ * Branches change radius with every growth pulse and not always through {@link ITreePart#setRadius}.  World gen,
+ * JoCodes and other mods may write the states straight into the world.  So before a snapshot is handed out the state of
+ * each of its nodes is compared with the world.  That is a single lookup per node where an analysis checks every side
+ * of every node.  A branch that only changed radius doesn't change the shape of the network so the volume of the
+ * snapshot is simply adjusted.  Anything else that took the place of a node drops the snapshot.
+ * <p>
+ * Leaves are never analyzed so they aren't part of a snapshot.  They only matter when one takes the place of a node.
+ *
+ * @author ferreusveritas
+ */
+public class TreeTopologyCache {
+
+	public static final int MAXSNAPSHOTS = 8192;//Per dimension
+
+	private static final PerDimension<TreeTopologyCache> caches = new PerDimension<>(w -> new TreeTopologyCache());
+
+	private final Long2ObjectOpenHashMap<Snapshot> snapshots = new Long2ObjectOpenHashMap<>();
+	private final Long2LongOpenHashMap owners = new Long2LongOpenHashMap();//Node position -> Root position
+	private final long[] residency = new long[MAXSNAPSHOTS];//Ring of root positions in the order they were cached
+	private int residencyHead = 0;
+	private final BlockPos.MutableBlockPos probe = new BlockPos.MutableBlockPos();
+
+	private long hits;
+	private long misses;
+	private long invalidations;
+	private long radiusUpdates;
+
+	public static class Snapshot {
+
+		public final long[] nodes;//Packed positions of the root and all of the branches
+		private final IBlockState[] states;//The state of each node as of the last time it was checked
+		public final long[] endPoints;//Packed positions of the branch endpoints
+		private int voxels;//Wood volume in voxels.  Kept up to date as branches change radius
+		public final int trunkHeight;
+
+		public Snapshot(long[] nodes, IBlockState[] states, long[] endPoints, int voxels, int trunkHeight) {
+			this.nodes = nodes;
+			this.states = states;
+			this.endPoints = endPoints;
+			this.voxels = voxels;
+			this.trunkHeight = trunkHeight;
+		}
+
+		public float getVolume() {
+			return voxels / (float) NodeNetVolume.VOXELSPERLOG;
+		}
+
+		/**
+		 * @return A new mutable list of the endpoints
+		 */
+		public List<BlockPos> getEnds() {
+			List<BlockPos> ends = new ArrayList<>(endPoints.length);
+			for (long end : endPoints) {
+				ends.add(BlockPos.fromLong(end));
+			}
+			return ends;
+		}
+
+		/**
+		 * Compares the state of every node with the world and adjusts the volume for branches that changed radius.
+		 *
+		 * @param pos A mutable position to check with
+		 * @return The number of branches that changed radius or -1 if a node is no longer the same block
+		 */
+		private int verify(World world, BlockPos.MutableBlockPos pos) {
+			int changed = 0;
+
+			for (int i = 0; i < nodes.length; i++) {
+				IBlockState state = world.getBlockState(CoordUtils.setPos(pos, nodes[i]));
+				if (state != states[i]) {
+					IBlockState cached = states[i];
+					if (state.getBlock() != cached.getBlock()) {
+						return -1;
+					}
+					if (TreeHelper.isBranch(state)) {
+						ITreePart branch = TreeHelper.getTreePart(state);
+						int oldRadius = branch.getRadius(cached);
+						int newRadius = branch.getRadius(state);
+						voxels += (newRadius * newRadius - oldRadius * oldRadius) * 64;
+						changed++;
+					}
+					states[i] = state;//The soil life of the root changes all the time but that doesn't matter here
+				}
+			}
+
+			return changed;
+		}
+
+	}
+
+	public static TreeTopologyCache get(World world) {
+		return caches.get(world);
+	}
+
+	/**
+	 * Notifies the cache of the world that the branch network has changed at a position.  Any tree that the position
+	 * is part of or adjacent to is dropped from the cache.
+	 */
+	public static void invalidate(World world, BlockPos pos) {
+		if (!world.isRemote) {
+			TreeTopologyCache cache = caches.getIfPresent(world);
+			if (cache != null) {
+				cache.invalidate(pos);
+			}
+		}
+	}
+
+	/**
+	 * Drops the tree a position is a node of from the cache of the world.  Unlike {@link #invalidate(World, BlockPos)}
+	 * the neighbors aren't checked.  For blocks that aren't part of a network but may have replaced a node.
+	 */
+	public static void invalidateNode(World world, BlockPos pos) {
+		if (!world.isRemote) {
+			TreeTopologyCache cache = caches.getIfPresent(world);
+			if (cache != null && !cache.owners.isEmpty()) {
+				cache.invalidateNode(pos.toLong());
+			}
+		}
+	}
+
+	/**
+	 * Gets the snapshot of a tree from the cache or builds it if it's missing.
+	 *
+	 * @param world    The world
+	 * @param rootPos  The position of the root block of the tree
+	 * @param treePos  The position of the base of the trunk
+	 * @param treeBase The tree part that is the base of the trunk
+	 * @return The snapshot of the tree
+	 */
+	public Snapshot getSnapshot(World world, BlockPos rootPos, BlockPos treePos, ITreePart treeBase) {
+		Snapshot snapshot = snapshots.get(rootPos.toLong());
+
+		if (snapshot != null) {
+			int changed = snapshot.verify(world, probe);
+			if (changed >= 0) {
+				hits++;
+				radiusUpdates += changed;
+				return snapshot;
+			}
+			remove(rootPos.toLong());//Something other than a radius change got past the block hooks
+		}
+
+		misses++;
+
+		NodeFindEnds endFinder = new NodeFindEnds();
+		NodeTopology topology = new NodeTopology();
+		MapSignal signal = treeBase.analyse(world.getBlockState(treePos), world, treePos, null, new MapSignal(endFinder, topology));
+
+		List<BlockPos> ends = endFinder.getEnds();
+		long[] endPoints = new long[ends.size()];
+		for (int i = 0; i < endPoints.length; i++) {
+			endPoints[i] = ends.get(i).toLong();
+		}
+
+		long[] nodes = topology.getNodes();
+		snapshot = new Snapshot(nodes, topology.getStates(), endPoints, topology.getVoxels(), getTrunkHeight(nodes, treePos));
+
+		//Don't hold onto networks that are broken or damaged
+		if (!signal.overflow && !signal.multiroot && signal.found && rootPos.equals(signal.root)) {
+			store(rootPos.toLong(), snapshot);
+		}
+
+		return snapshot;
+	}
+
+	/**
+	 * @param pos The position of a branch or root block
+	 * @return The position of the root of the cached tree the block belongs to or null if no cached tree has it
+	 */
+	public BlockPos getCachedRoot(BlockPos pos) {
+		long node = pos.toLong();
+		return owners.containsKey(node) ? BlockPos.fromLong(owners.get(node)) : null;
+	}
+
+	private static int getTrunkHeight(long[] nodes, BlockPos treePos) {
+		LongOpenHashSet nodeSet = new LongOpenHashSet(nodes);
+		BlockPos.MutableBlockPos iter = new BlockPos.MutableBlockPos(treePos);
+		int trunkHeight = 0;
+
+		while (nodeSet.contains(iter.toLong())) {
+			trunkHeight++;
+			iter.move(EnumFacing.UP);
+		}
+
+		return trunkHeight;
+	}
+
+	private void store(long rootKey, Snapshot snapshot) {
+		for (long node : snapshot.nodes) {
+			if (owners.containsKey(node) && owners.get(node) != rootKey) {
+				remove(owners.get(node));//Two trees can't share a node so the other one must be outdated
+			}
+			owners.put(node, rootKey);
+		}
+
+		//Make room by dropping the tree that has been cached the longest
+		long oldest = residency[residencyHead];
+		if (snapshots.size() >= MAXSNAPSHOTS && snapshots.containsKey(oldest)) {
+			remove(oldest);
+		}
+		residency[residencyHead] = rootKey;
+		residencyHead = (residencyHead + 1) % MAXSNAPSHOTS;
+
+		snapshots.put(rootKey, snapshot);
+	}
+
+	private void remove(long rootKey) {
+		Snapshot snapshot = snapshots.remove(rootKey);
+		if (snapshot != null) {
+			for (long node : snapshot.nodes) {
+				if (owners.get(node) == rootKey) {
+					owners.remove(node);
+				}
+			}
+			invalidations++;
+		}
+	}
+
+	public void invalidate(BlockPos pos) {
+		if (owners.isEmpty()) {
+			return;
+		}
+
+		invalidateNode(pos.toLong());
+		for (EnumFacing dir : EnumFacing.VALUES) {
+			probe.setPos(pos.getX() + dir.getFrontOffsetX(), pos.getY() + dir.getFrontOffsetY(), pos.getZ() + dir.getFrontOffsetZ());
+			invalidateNode(probe.toLong());
+		}
+	}
+
+	private void invalidateNode(long node) {
+		if (owners.containsKey(node)) {
+			remove(owners.get(node));
+		}
+	}
+
+	public void clear() {
+		snapshots.clear();
+		owners.clear();
+	}
+
+	public int getSize() {
+		return snapshots.size();
+	}
+
+	public int getNumNodes() {
+		return owners.size();
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+
+	public long getInvalidations() {
+		return invalidations;
+	}
+
+	public long getRadiusUpdates() {
+		return radiusUpdates;
+	}
+
+	public void resetStats() {
+		hits = 0;
+		misses = 0;
+		invalidations = 0;
+		radiusUpdates = 0;
+	}
+
+}
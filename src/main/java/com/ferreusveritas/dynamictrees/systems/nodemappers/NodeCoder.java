@@ -34,7 +34,7 @@ public class NodeCoder implements INodeInspector {
 	@Override
 	public boolean run(IBlockState blockState, World world, BlockPos pos, EnumFacing fromDir) {
 
-		Link link = new Link(pos);
+		Link link = new Link(pos.toImmutable());
 
 		//We've reached the end of a branch and we're starting again.
 		for (int i = links.size() - 1; i >= 0; i--) {//We start at the end because that's the most likely place we came from
@@ -1,6 +1,10 @@
 package com.ferreusveritas.dynamictrees.systems.nodemappers;
 
 import com.ferreusveritas.dynamictrees.api.network.INodeInspector;
+import com.ferreusveritas.dynamictrees.util.CoordUtils;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
@@ -8,17 +12,40 @@ import net.minecraft.world.World;
 
 import java.util.Set;
 
+/**
+ * Collects the positions of every node in the network.  The positions are stored packed({@link BlockPos#toLong()}) in
+ * a primitive set so large networks don't create an object for every node.
+ *
+ * @author ferreusveritas
+ */
 public class NodeCollector implements INodeInspector {
 
-	private final Set<BlockPos> nodeSet;
+	private final LongSet nodeSet;
+	private final Set<BlockPos> posSet;//Only used by the deprecated constructor
 
-	public NodeCollector(Set nodeSet) {
+	public NodeCollector() { //Set is provided for you
+		this(new LongOpenHashSet(64));
+	}
+
+	public NodeCollector(LongSet nodeSet) { //Or use your own
 		this.nodeSet = nodeSet;
+		this.posSet = null;
+	}
+
+	/**
+	 * @deprecated Use {@link #NodeCollector(LongSet)} to avoid creating a {@link BlockPos} for every node
+	 */
+	@Deprecated
+	public NodeCollector(Set nodeSet) {
+		this.nodeSet = new LongOpenHashSet(64);
+		this.posSet = nodeSet;
 	}
 
 	@Override
 	public boolean run(IBlockState blockState, World world, BlockPos pos, EnumFacing fromDir) {
-		nodeSet.add(pos);
+		if (nodeSet.add(pos.toLong()) && posSet != null) {
+			posSet.add(pos.toImmutable());
+		}
 		return false;
 	}
 
@@ -28,7 +55,27 @@ public class NodeCollector implements INodeInspector {
 	}
 
 	public boolean contains(BlockPos pos) {
-		return nodeSet.contains(pos);
+		return nodeSet.contains(pos.toLong());
+	}
+
+	public boolean contains(long packedPos) {
+		return nodeSet.contains(packedPos);
+	}
+
+	/**
+	 * @return The packed positions of the collected nodes.  Use {@link CoordUtils#setPos} to unpack them into a
+	 * mutable position without creating objects.
+	 */
+	public LongSet getNodes() {
+		return nodeSet;
+	}
+
+	public LongIterator iterator() {
+		return nodeSet.iterator();
+	}
+
+	public int size() {
+		return nodeSet.size();
 	}
 
 }
@@ -38,7 +38,7 @@ public class NodeDestroyer implements INodeInspector {
 
 		if (branch != null && species.getFamily() == branch.getFamily()) {
 			if (branch.getRadius(blockState) == species.getFamily().getPrimaryThickness()) {
-				endPoints.add(pos);
+				endPoints.add(pos.toImmutable());
 			}
 			world.setBlockState(pos, Blocks.AIR.getDefaultState(), 0);//Destroy the branch without notifying the client
 		}
@@ -3,6 +3,8 @@ package com.ferreusveritas.dynamictrees.systems.nodemappers;
 import com.ferreusveritas.dynamictrees.api.TreeHelper;
 import com.ferreusveritas.dynamictrees.api.network.INodeInspector;
 import com.ferreusveritas.dynamictrees.blocks.BlockBranch;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
@@ -13,29 +15,46 @@ import java.util.HashMap;
 import java.util.Map;
 
 /**
- * Makes a BlockPos -> IExtendedBlockState map for all of the branches
+ * Makes a BlockPos -> IExtendedBlockState map for all of the branches.  The positions are relative to the origin and
+ * are stored packed({@link BlockPos#toLong()}).
  *
  * @author ferreusveritas
  */
 public class NodeExtState implements INodeInspector {
 
-	private final Map<BlockPos, IExtendedBlockState> map = new HashMap<>();
+	private final Long2ObjectOpenHashMap<IExtendedBlockState> map = new Long2ObjectOpenHashMap<>();
 	private final BlockPos origin;
+	private final BlockPos.MutableBlockPos relPos = new BlockPos.MutableBlockPos();
 
 	public NodeExtState(BlockPos origin) {
 		this.origin = origin;
 	}
 
-	public Map<BlockPos, IExtendedBlockState> getExtStateMap() {
+	/**
+	 * @return The extended states keyed by their packed positions relative to the origin
+	 */
+	public Long2ObjectOpenHashMap<IExtendedBlockState> getExtStates() {
 		return map;
 	}
 
+	/**
+	 * @return A new map of the extended states keyed by their positions relative to the origin
+	 */
+	public Map<BlockPos, IExtendedBlockState> getExtStateMap() {
+		Map<BlockPos, IExtendedBlockState> posMap = new HashMap<>(map.size());
+		for (Long2ObjectMap.Entry<IExtendedBlockState> entry : map.long2ObjectEntrySet()) {
+			posMap.put(BlockPos.fromLong(entry.getLongKey()), entry.getValue());
+		}
+		return posMap;
+	}
+
 	@Override
 	public boolean run(IBlockState blockState, World world, BlockPos pos, EnumFacing fromDir) {
 		BlockBranch branch = TreeHelper.getBranch(blockState);
 
 		if (branch != null) {
-			map.put(pos.subtract(origin), (IExtendedBlockState) blockState.getBlock().getExtendedState(blockState, world, pos));
+			relPos.setPos(pos.getX() - origin.getX(), pos.getY() - origin.getY(), pos.getZ() - origin.getZ());
+			map.put(relPos.toLong(), (IExtendedBlockState) blockState.getBlock().getExtendedState(blockState, world, pos));
 		}
 
 		return true;
@@ -17,16 +17,14 @@ import java.util.List;
 public class NodeFindEnds implements INodeInspector {
 
 	private final List<BlockPos> endPoints;
-	private BlockPos last;
+	private int lastX, lastY, lastZ;//Kept unpacked so the return run doesn't have to create a new BlockPos for every node
 
 	public NodeFindEnds() { //Array is provided for you
 		this.endPoints = new ArrayList<BlockPos>(32);
-		last = BlockPos.ORIGIN;
 	}
 
 	public NodeFindEnds(List<BlockPos> ends) { //Or use your own
 		this.endPoints = ends;
-		last = BlockPos.ORIGIN;
 	}
 
 	@Override
@@ -38,19 +36,24 @@ public class NodeFindEnds implements INodeInspector {
 	public boolean returnRun(IBlockState blockState, World world, BlockPos pos, EnumFacing fromDir) {
 
 		//Okay.. so.. a little explanation. If we are only one block away from the last block we returned from then we can't be on an end
-		BlockPos dPos = pos.subtract(last);
-		if (dPos.getX() * dPos.getX() + dPos.getY() * dPos.getY() + dPos.getZ() * dPos.getZ() != 1) {//This is actually the equation for distance squared. 1 squared is 1. Yay math.
-			endPoints.add(pos);
+		int dx = pos.getX() - lastX;
+		int dy = pos.getY() - lastY;
+		int dz = pos.getZ() - lastZ;
+		if (dx * dx + dy * dy + dz * dz != 1) {//This is actually the equation for distance squared. 1 squared is 1. Yay math.
+			endPoints.add(pos.toImmutable());
 		}
 
-		last = pos;//We can only be in a branch on the return run 
+		//We can only be in a branch on the return run
+		lastX = pos.getX();
+		lastY = pos.getY();
+		lastZ = pos.getZ();
 
 		return false;
 	}
 
 	public List<BlockPos> getEnds() {
 		if (endPoints.isEmpty()) {//It's impossible for nothing to have been found.
-			endPoints.add(last);//So just add the last node that was found.
+			endPoints.add(new BlockPos(lastX, lastY, lastZ));//So just add the last node that was found.
 		}
 		return endPoints;
 	}
@@ -0,0 +1,203 @@
+package com.ferreusveritas.dynamictrees.systems.nodemappers;
+
+import com.ferreusveritas.dynamictrees.api.TreeHelper;
+import com.ferreusveritas.dynamictrees.api.network.INodeInspector;
+import com.ferreusveritas.dynamictrees.api.treedata.ITreePart;
+import com.ferreusveritas.dynamictrees.api.treedata.ITreePart.TreePartType;
+import com.ferreusveritas.dynamictrees.blocks.BlockBranch;
+import com.ferreusveritas.dynamictrees.trees.Species;
+import com.ferreusveritas.dynamictrees.util.CoordUtils;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.common.property.IExtendedBlockState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Gathers everything needed to harvest a tree in a single pass over the entire network starting at the cut position.
+ * <p>
+ * This does the work of {@link NodeSpecies}, {@link NodeExtState}, {@link NodeNetVolume} and {@link NodeDestroyer}
+ * combined.  Every node is tagged with the side of the cut block it was reached through so once the analysis has found
+ * the root direction the nodes on the root side can simply be left out.  The side is handed down from parent to child
+ * on a stack that follows the walk through {@link #run} and {@link #returnRun}.  Nothing is destroyed during the
+ * analysis so the extended states are captured with all of their connections intact.
+ *
+ * @author ferreusveritas
+ */
+public class NodeHarvest implements INodeInspector {
+
+	private static final byte ORIGIN = (byte) EnumFacing.VALUES.length;//Bucket for the cut block itself
+
+	private final BlockPos cutPos;
+	private Species determination = Species.NULLSPECIES;
+
+	private final LongSet visited = new LongOpenHashSet(64);//Looped networks will revisit nodes
+	private long[] nodes = new long[64];//Packed positions of the branch nodes
+	private final List<IBlockState> states = new ArrayList<>(64);
+	private byte[] buckets = new byte[64];//The side of the cut block each node was reached through
+	private int numNodes = 0;
+	private byte[] stack = new byte[32];//The buckets of the nodes on the path from the start of the walk
+	private int depth = 0;
+	private int started = 0;//Bit mask of the sides of the cut block that have been walked into
+	private final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+	private int excluded = -1;
+
+	public NodeHarvest(BlockPos cutPos) {
+		this.cutPos = cutPos;
+	}
+
+	@Override
+	public boolean run(IBlockState blockState, World world, BlockPos pos, EnumFacing fromDir) {
+
+		ITreePart treePart = TreeHelper.getTreePart(blockState);
+
+		switch (treePart.getTreePartType()) {
+			case BRANCH:
+				if (determination == Species.NULLSPECIES) {
+					determination = TreeHelper.getBranch(treePart).getFamily().getCommonSpecies();
+				}
+				break;
+			case ROOT:
+				determination = TreeHelper.getRooty(treePart).getSpecies(world.getBlockState(pos), world, pos);
+				return true;
+			default:
+				return true;
+		}
+
+		//A node takes the bucket of its parent unless the parent is the cut block.  A walk that doesn't start at the cut
+		//block starts right beside it.
+		byte bucket;
+		if (depth > 0 ? stack[depth - 1] == ORIGIN : !pos.equals(cutPos)) {
+			bucket = (byte) fromDir.getOpposite().getIndex();
+		} else {
+			bucket = depth > 0 ? stack[depth - 1] : ORIGIN;
+		}
+		if (depth == stack.length) {
+			stack = Arrays.copyOf(stack, depth * 2);
+		}
+		stack[depth++] = bucket;
+		if (bucket != ORIGIN) {
+			started |= 1 << bucket;
+		}
+
+		long packed = pos.toLong();
+		if (!visited.add(packed)) {
+			return true;
+		}
+
+		if (numNodes == nodes.length) {
+			nodes = Arrays.copyOf(nodes, numNodes * 2);
+			buckets = Arrays.copyOf(buckets, numNodes * 2);
+		}
+		buckets[numNodes] = bucket;
+		nodes[numNodes++] = packed;
+		states.add(blockState);
+
+		return true;
+	}
+
+	@Override
+	public boolean returnRun(IBlockState blockState, World world, BlockPos pos, EnumFacing fromDir) {
+		if (TreeHelper.getTreePart(blockState).getTreePartType() == TreePartType.BRANCH) {
+			depth--;
+		}
+		return false;
+	}
+
+	public Species getSpecies() {
+		return determination;
+	}
+
+	/**
+	 * Leaves out all of the nodes that were reached through the given side of the cut block.
+	 *
+	 * @param rootDir The side of the cut block that leads to the root or {@code null} to harvest the whole tree
+	 */
+	public void exclude(EnumFacing rootDir) {
+		excluded = rootDir != null ? rootDir.getIndex() : -1;
+	}
+
+	/**
+	 * @return true if any node was reached through the given side of the cut block
+	 */
+	public boolean hasWalked(EnumFacing side) {
+		return (started & 1 << side.getIndex()) != 0;
+	}
+
+	private boolean isHarvested(int index) {
+		return buckets[index] != excluded;
+	}
+
+	/**
+	 * Makes a map of the extended states of all of the harvested branches keyed by their packed positions relative to
+	 * the cut position. This must be called before {@link #destroy} since the extended states depend on the neighboring
+	 * branches.
+	 */
+	public Long2ObjectOpenHashMap<IExtendedBlockState> getExtStateMap(World world) {
+		Long2ObjectOpenHashMap<IExtendedBlockState> map = new Long2ObjectOpenHashMap<>(numNodes);
+		BlockPos.MutableBlockPos relPos = new BlockPos.MutableBlockPos();
+
+		for (int i = 0; i < numNodes; i++) {
+			if (isHarvested(i)) {
+				IBlockState blockState = states.get(i);
+				BlockPos pos = CoordUtils.setPos(cursor, nodes[i]);
+				relPos.setPos(pos.getX() - cutPos.getX(), pos.getY() - cutPos.getY(), pos.getZ() - cutPos.getZ());
+				map.put(relPos.toLong(), (IExtendedBlockState) blockState.getBlock().getExtendedState(blockState, world, pos));
+			}
+		}
+
+		return map;
+	}
+
+	/**
+	 * @return The volume of wood in the harvested branches
+	 */
+	public float getVolume() {
+		int volume = 0;
+
+		for (int i = 0; i < numNodes; i++) {
+			if (isHarvested(i)) {
+				IBlockState blockState = states.get(i);
+				int radius = TreeHelper.getTreePart(blockState).getRadius(blockState);
+				volume += radius * radius * 64;//Integrate volume of this tree part into the total volume calculation
+			}
+		}
+
+		return volume / (float) NodeNetVolume.VOXELSPERLOG;
+	}
+
+	/**
+	 * Destroys the harvested branches that are made of the same kind of wood as the species.
+	 *
+	 * @return The absolute positions of the endpoints of the destroyed branches
+	 */
+	public List<BlockPos> destroy(World world, Species species) {
+		List<BlockPos> endPoints = new ArrayList<>(32);//We always need to track endpoints during destruction
+
+		for (int i = 0; i < numNodes; i++) {
+			if (isHarvested(i)) {
+				IBlockState blockState = states.get(i);
+				BlockBranch branch = TreeHelper.getBranch(blockState);
+
+				if (branch != null && species.getFamily() == branch.getFamily()) {
+					BlockPos pos = CoordUtils.setPos(cursor, nodes[i]);
+					if (branch.getRadius(blockState) == species.getFamily().getPrimaryThickness()) {
+						endPoints.add(pos.toImmutable());
+					}
+					world.setBlockState(pos, Blocks.AIR.getDefaultState(), 0);//Destroy the branch without notifying the client
+				}
+			}
+		}
+
+		return endPoints;
+	}
+
+}
@@ -94,7 +94,7 @@ public class NodeInflator implements INodeInspector {
 				}
 			}
 
-			last = pos;
+			last = pos.toImmutable();
 
 		}
 
@@ -0,0 +1,71 @@
+package com.ferreusveritas.dynamictrees.systems.nodemappers;
+
+import com.ferreusveritas.dynamictrees.api.TreeHelper;
+import com.ferreusveritas.dynamictrees.api.network.INodeInspector;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.util.Arrays;
+
+/**
+ * Collects a compact list of every node in the network along with the total wood volume.
+ *
+ * @author ferreusveritas
+ */
+public class NodeTopology implements INodeInspector {
+
+	private long[] nodes = new long[64];//Packed positions of every branch and root node
+	private IBlockState[] states = new IBlockState[64];//The state of each node when it was visited
+	private int numNodes = 0;
+	private int volume;//number of voxels(1x1x1 pixels) of wood accumulated from network analysis
+
+	@Override
+	public boolean run(IBlockState blockState, World world, BlockPos pos, EnumFacing fromDir) {
+		if (numNodes == nodes.length) {
+			nodes = Arrays.copyOf(nodes, numNodes * 2);
+			states = Arrays.copyOf(states, numNodes * 2);
+		}
+		states[numNodes] = blockState;
+		nodes[numNodes++] = pos.toLong();
+
+		if (TreeHelper.isBranch(blockState)) {
+			int radius = TreeHelper.getTreePart(blockState).getRadius(blockState);
+			volume += radius * radius * 64;//Integrate volume of this tree part into the total volume calculation
+		}
+
+		return true;
+	}
+
+	@Override
+	public boolean returnRun(IBlockState blockState, World world, BlockPos pos, EnumFacing fromDir) {
+		return false;
+	}
+
+	/**
+	 * @return The packed positions({@link BlockPos#toLong()}) of all of the nodes that were visited
+	 */
+	public long[] getNodes() {
+		return Arrays.copyOf(nodes, numNodes);
+	}
+
+	/**
+	 * @return The block states of the nodes in the same order as {@link #getNodes()}
+	 */
+	public IBlockState[] getStates() {
+		return Arrays.copyOf(states, numNodes);
+	}
+
+	public float getVolume() {
+		return volume / (float) NodeNetVolume.VOXELSPERLOG;
+	}
+
+	/**
+	 * @return The volume of wood in voxels
+	 */
+	public int getVoxels() {
+		return volume;
+	}
+
+}
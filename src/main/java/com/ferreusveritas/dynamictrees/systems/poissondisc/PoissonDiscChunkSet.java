@@ -51,8 +51,15 @@ public class PoissonDiscChunkSet {
 	}
 
 	public List<PoissonDisc> getDiscs(List<PoissonDisc> discs, int chunkX, int chunkZ) {
+		return getDiscs(discData, 0, discs, chunkX, chunkZ);
+	}
+
+	/**
+	 * Unpacks the discs of a chunk from 16 bytes of disc data that start at an offset in a larger array.
+	 */
+	public static List<PoissonDisc> getDiscs(byte[] discData, int offset, List<PoissonDisc> discs, int chunkX, int chunkZ) {
 		for (int tile = 0; tile < 16; tile++) {
-			byte cd = discData[tile];
+			byte cd = discData[offset + tile];
 			if (cd != 0) {//No data in the tile
 				if ((cd & 0x80) != 0) {//Extended Bit
 					int flip = (cd | (cd << 1)) & 3;//0 or 3
@@ -0,0 +1,117 @@
+package com.ferreusveritas.dynamictrees.systems.poissondisc;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+
+import java.util.List;
+
+/**
+ * A uniform grid of buckets over the 3x3 chunk neighborhood of a disc generation pass.  Each bucket holds the indices
+ * of the discs in the disc list whose centers fall in it so the discs that could possibly touch a given disc are found
+ * without testing every disc in the list.
+ * <p>
+ * Query results are returned as list indices in ascending order.  Visiting them in that order is the same as walking
+ * the whole list and skipping the discs that are too far away to matter, so the results of the generator don't change.
+ * Discs outside of the grid are clamped into the border buckets.
+ *
+ * @author ferreusveritas
+ */
+public class PoissonDiscGrid {
+
+	private static final int CELLBITS = 3;//8 blocks per cell
+	private static final int CELLS = 8;//64 blocks.  The 48 blocks of the 3x3 chunks with 8 blocks of slop on each side
+	private static final int MARGIN = 24;//A chunk and a half to the corner of the grid from the corner of the center chunk
+	private static final int REACH = 8 + 4;//The largest radius plus enough to cover the padding and the rounding of disc masking
+
+	private final IntArrayList[] cells = new IntArrayList[CELLS * CELLS];
+	private List<PoissonDisc> discs;
+	private int originX;
+	private int originZ;
+
+	public PoissonDiscGrid() {
+		for (int i = 0; i < cells.length; i++) {
+			cells[i] = new IntArrayList(8);
+		}
+	}
+
+	/**
+	 * Indexes all of the discs in a list.  The list must only be changed through {@link #add} and {@link #fastRemove}
+	 * from here on.
+	 *
+	 * @param discs       The list of discs
+	 * @param chunkXStart The x coordinate of the first block of the center chunk
+	 * @param chunkZStart The z coordinate of the first block of the center chunk
+	 */
+	public void reset(List<PoissonDisc> discs, int chunkXStart, int chunkZStart) {
+		this.discs = discs;
+		this.originX = chunkXStart - MARGIN;
+		this.originZ = chunkZStart - MARGIN;
+
+		for (IntArrayList cell : cells) {
+			cell.clear();
+		}
+
+		for (int i = 0; i < discs.size(); i++) {
+			getCell(discs.get(i)).add(i);
+		}
+	}
+
+	/**
+	 * Adds a disc to the end of the list and indexes it.
+	 */
+	public void add(PoissonDisc disc) {
+		discs.add(disc);
+		getCell(disc).add(discs.size() - 1);
+	}
+
+	/**
+	 * Removes a disc from the list the same way as {@link PoissonDiscHelper#fastRemove} and keeps the index in step.
+	 */
+	public void fastRemove(int index) {
+		int last = discs.size() - 1;
+		IntArrayList cell = getCell(discs.get(index));
+		cell.rem(index);
+
+		if (index < last) {
+			IntArrayList lastCell = getCell(discs.get(last));
+			lastCell.set(lastCell.indexOf(last), index);//The last disc is about to take the place of the removed one
+		}
+
+		PoissonDiscHelper.fastRemove(discs, index);
+	}
+
+	/**
+	 * Gathers the indices of every disc that could mask or intersect with a disc.
+	 *
+	 * @param disc   The disc
+	 * @param result The list that receives the indices.  It's cleared first
+	 * @return result with the indices in ascending order
+	 */
+	public IntArrayList query(PoissonDisc disc, IntArrayList result) {
+		result.clear();
+
+		int reach = disc.radius + REACH;
+		int startX = cellCoord(disc.x - reach - originX);
+		int stopX = cellCoord(disc.x + reach - originX);
+		int startZ = cellCoord(disc.z - reach - originZ);
+		int stopZ = cellCoord(disc.z + reach - originZ);
+
+		for (int cz = startZ; cz <= stopZ; cz++) {
+			for (int cx = startX; cx <= stopX; cx++) {
+				result.addAll(cells[cz * CELLS + cx]);
+			}
+		}
+
+		IntArrays.quickSort(result.elements(), 0, result.size());
+		return result;
+	}
+
+	private IntArrayList getCell(PoissonDisc disc) {
+		return cells[cellCoord(disc.z - originZ) * CELLS + cellCoord(disc.x - originX)];
+	}
+
+	private static int cellCoord(int offset) {
+		return Math.max(0, Math.min(CELLS - 1, offset >> CELLBITS));
+	}
+
+}
@@ -1,5 +1,7 @@
 package com.ferreusveritas.dynamictrees.systems.poissondisc;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
 import java.util.List;
 
 public class PoissonDiscHelper {
@@ -212,6 +214,24 @@ public class PoissonDiscHelper {
 		}
 	}
 
+	/**
+	 * Same as {@link #solveDiscs(List, List)} but only masks against the discs of the grid that are close enough to
+	 * matter.  Masking only ever adds to the arcs so skipping the distant discs changes nothing.
+	 *
+	 * @param unsolved The unsolved discs
+	 * @param allDiscs The list of all discs indexed by the grid
+	 * @param grid     The grid of all discs
+	 * @param near     A scratch list for the grid queries
+	 */
+	public static void solveDiscs(List<PoissonDisc> unsolved, List<PoissonDisc> allDiscs, PoissonDiscGrid grid, IntArrayList near) {
+		for (PoissonDisc u : unsolved) {
+			grid.query(u, near);
+			for (int n = 0; n < near.size(); n++) {
+				PoissonDiscHelper.maskDiscs(u, allDiscs.get(near.getInt(n)));
+			}
+		}
+	}
+
 	/**
 	 * Gather the unsolved circles into a list.  Eliminate solved unreal circles.
 	 *
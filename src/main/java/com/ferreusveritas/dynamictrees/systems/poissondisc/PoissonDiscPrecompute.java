@@ -0,0 +1,189 @@
+package com.ferreusveritas.dynamictrees.systems.poissondisc;
+
+import com.ferreusveritas.dynamictrees.api.worldgen.IPoissonDebug;
+import com.ferreusveritas.dynamictrees.api.worldgen.IRadiusCoordinator;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of worker threads that solve the Poisson discs of chunks before they are populated.
+ * <p>
+ * A job is handed a copy of everything the solver reads: the disc data of the chunk and its 8 neighbors, a {@link
+ * IRadiusCoordinator#snapshot} and a random seeded by the chunk.  Workers never touch the world or the disc store.  The
+ * finished disc data is only taken on the main thread and only if the disc data of the neighborhood is still exactly
+ * what the job was given.  The solver is a pure function of those inputs so a result that is taken is exactly the
+ * result the main thread would have come up with and the order in which the workers run doesn't matter.
+ *
+ * @author ferreusveritas
+ */
+public class PoissonDiscPrecompute {
+
+	private static final AtomicInteger threadCount = new AtomicInteger();
+
+	private final ThreadPoolExecutor executor;
+	private final ThreadLocal<PoissonDiscSolver> solvers = ThreadLocal.withInitial(PoissonDiscSolver::new);
+
+	//Main thread statistics
+	private long submitted;
+	private long rejected;
+	private long taken;
+	private long waited;
+	private long stale;
+	private long failed;
+
+	public static class Job {
+
+		private final byte[][] neighborhood;
+		private final Future<byte[]> result;
+
+		private Job(byte[][] neighborhood, Future<byte[]> result) {
+			this.neighborhood = neighborhood;
+			this.result = result;
+		}
+
+		public void cancel() {
+			result.cancel(false);
+		}
+
+	}
+
+	/**
+	 * @param threads   The number of worker threads
+	 * @param queueSize The number of jobs that can wait for a worker.  Jobs beyond this are turned away
+	 */
+	public PoissonDiscPrecompute(int threads, int queueSize) {
+		executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize), r -> {
+			Thread thread = new Thread(r, "DynamicTrees Poisson Disc Worker " + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Queues a chunk to be solved.
+	 *
+	 * @param radiusCoordinator A snapshot of the radius coordinator for the chunk
+	 * @param random            The random the main thread would use for the chunk
+	 * @param chunkX            The chunk x coordinate
+	 * @param chunkZ            The chunk z coordinate
+	 * @param neighborhood      The disc data of the chunk and its neighbors.  It must not be changed after this call
+	 * @return The job or null if the queue is full
+	 */
+	public Job submit(IRadiusCoordinator radiusCoordinator, Random random, int chunkX, int chunkZ, byte[][] neighborhood) {
+		byte[][] copy = neighborhood.clone();//The worker replaces the center as it runs passes
+
+		Callable<byte[]> task = () -> solve(solvers.get(), radiusCoordinator, random, chunkX, chunkZ, copy, null);
+
+		for (int attempt = 0; attempt < 2; attempt++) {
+			try {
+				Future<byte[]> result = executor.submit(task);
+				submitted++;
+				return new Job(neighborhood, result);
+			} catch (RejectedExecutionException e) {
+				executor.purge();//Cancelled jobs hold onto their place in the queue until they are cleared out
+			}
+		}
+
+		rejected++;
+		return null;
+	}
+
+	/**
+	 * Takes the result of a job.  Blocks if a worker is in the middle of the job.  A job that hasn't started yet is
+	 * cancelled since it's no faster to wait for it than to solve the chunk right away.
+	 *
+	 * @param job          The job
+	 * @param neighborhood The current disc data of the chunk and its neighbors
+	 * @return The job's result or null if it's stale, failed or never ran.  A job that ran no passes also returns null
+	 */
+	public byte[] take(Job job, byte[][] neighborhood) {
+		if (!Arrays.deepEquals(job.neighborhood, neighborhood)) {
+			job.cancel();
+			stale++;
+			return null;
+		}
+
+		if (!job.result.isDone()) {
+			if (job.result.cancel(false)) {
+				return null;//Still waiting in the queue
+			}
+			waited++;
+		}
+
+		try {
+			byte[] discData = job.result.get();
+			taken++;
+			return discData;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException | CancellationException e) {
+			failed++;//Most likely the solver asked the snapshot about something it didn't copy
+		}
+
+		return null;
+	}
+
+	/**
+	 * Runs every pass of the radius coordinator over a chunk the same way {@link PoissonDiscProvider#getPoissonDiscs}
+	 * does.  Each pass builds on the center disc data of the last.
+	 *
+	 * @return The final disc data of the chunk or null if no passes were run
+	 */
+	public static byte[] solve(PoissonDiscSolver solver, IRadiusCoordinator radiusCoordinator, Random random, int chunkX, int chunkZ, byte[][] neighborhood, IPoissonDebug debug) {
+		int pass = 0;
+		byte[] discData = null;
+		while (radiusCoordinator.runPass(chunkX, chunkZ, pass++)) {
+			discData = neighborhood[0] = solver.solve(random, radiusCoordinator, chunkX, chunkZ, neighborhood, debug);
+		}
+		return discData;
+	}
+
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	public int getQueueDepth() {
+		return executor.getQueue().size();
+	}
+
+	public int getThreads() {
+		return executor.getCorePoolSize();
+	}
+
+	public long getSubmitted() {
+		return submitted;
+	}
+
+	public long getRejected() {
+		return rejected;
+	}
+
+	public long getTaken() {
+		return taken;
+	}
+
+	public long getWaited() {
+		return waited;
+	}
+
+	public long getStale() {
+		return stale;
+	}
+
+	public long getFailed() {
+		return failed;
+	}
+
+	public void resetStats() {
+		submitted = 0;
+		rejected = 0;
+		taken = 0;
+		waited = 0;
+		stale = 0;
+		failed = 0;
+	}
+
+}
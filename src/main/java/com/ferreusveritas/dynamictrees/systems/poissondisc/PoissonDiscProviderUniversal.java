@@ -1,5 +1,6 @@
 package com.ferreusveritas.dynamictrees.systems.poissondisc;
 
+import com.ferreusveritas.dynamictrees.ModConfigs;
 import com.ferreusveritas.dynamictrees.api.worldgen.IPoissonDiscProvider;
 import com.ferreusveritas.dynamictrees.event.PoissonDiscProviderCreateEvent;
 import com.ferreusveritas.dynamictrees.worldgen.BiomeRadiusCoordinator;
@@ -10,14 +11,22 @@ import net.minecraftforge.common.MinecraftForge;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 public class PoissonDiscProviderUniversal {
 
 	Map<Integer, IPoissonDiscProvider> providerMap = new HashMap<>();
+	private PoissonDiscPrecompute precompute;
 
 	protected IPoissonDiscProvider createCircleProvider(World world) {
 		BiomeRadiusCoordinator radiusCoordinator = new BiomeRadiusCoordinator(TreeGenerator.getTreeGenerator(), world);
-		IPoissonDiscProvider candidate = new PoissonDiscProvider(radiusCoordinator);
+		PoissonDiscRegionStore store = new PoissonDiscRegionStore(ModConfigs.poissonDiscMaxRegions, (x, z) -> world.getChunkProvider().getLoadedChunk(x, z) != null);
+		PoissonDiscProvider candidate = new PoissonDiscProvider(radiusCoordinator, store);
+		candidate.setSeed(world.getSeed());
+		if (precompute == null && ModConfigs.poissonDiscPrecomputeThreads > 0) {
+			precompute = new PoissonDiscPrecompute(ModConfigs.poissonDiscPrecomputeThreads, ModConfigs.poissonDiscPrecomputeThreads * 64);
+		}
+		candidate.setPrecompute(precompute);
 		PoissonDiscProviderCreateEvent poissonDiscProviderCreateEvent = new PoissonDiscProviderCreateEvent(world, candidate);
 		MinecraftForge.EVENT_BUS.post(poissonDiscProviderCreateEvent);
 		return poissonDiscProviderCreateEvent.getPoissonDiscProvider();
@@ -27,6 +36,26 @@ public class PoissonDiscProviderUniversal {
 		return providerMap.computeIfAbsent(world.provider.getDimension(), d -> createCircleProvider(world));
 	}
 
+	/**
+	 * @return The worker pool that solves discs ahead of time or null if it's disabled or no dimension is loaded
+	 */
+	public PoissonDiscPrecompute getPrecompute() {
+		return precompute;
+	}
+
+	/**
+	 * @return The dimension ids and region stores of all of the providers that use one
+	 */
+	public Map<Integer, PoissonDiscRegionStore> getStores() {
+		Map<Integer, PoissonDiscRegionStore> stores = new TreeMap<>();
+		for (Map.Entry<Integer, IPoissonDiscProvider> entry : providerMap.entrySet()) {
+			if (entry.getValue() instanceof PoissonDiscProvider) {
+				stores.put(entry.getKey(), ((PoissonDiscProvider) entry.getValue()).getStore());
+			}
+		}
+		return stores;
+	}
+
 	public List<PoissonDisc> getPoissonDiscs(World world, int chunkX, int chunkY, int chunkZ) {
 		IPoissonDiscProvider provider = getProvider(world);
 		return provider.getPoissonDiscs(chunkX, chunkY, chunkZ);
@@ -37,7 +66,14 @@ public class PoissonDiscProviderUniversal {
 	}
 
 	public void unloadWorld(World world) {
-		providerMap.remove(world.provider.getDimension());
+		IPoissonDiscProvider provider = providerMap.remove(world.provider.getDimension());
+		if (provider instanceof PoissonDiscProvider) {
+			((PoissonDiscProvider) provider).cancelPrecompute();
+		}
+		if (providerMap.isEmpty() && precompute != null) {//The workers are started again with the next dimension
+			precompute.shutdown();
+			precompute = null;
+		}
 	}
 
 	public void setChunkPoissonData(World world, int chunkX, int chunkY, int chunkZ, byte[] circleData) {
@@ -0,0 +1,255 @@
+package com.ferreusveritas.dynamictrees.systems.poissondisc;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+
+import java.util.List;
+
+/**
+ * <h1>Poisson Disc Region Store</h1>
+ * <p>
+ * Holds the packed disc data({@link PoissonDiscChunkSet}) of every chunk in a dimension.  Chunks are grouped into 32x32
+ * chunk regions and the 16 bytes of each chunk are packed into a single flat array per region so a lookup is just a
+ * primitive map probe and an array index.
+ * </p>
+ * <p>
+ * The number of regions kept in memory is bounded.  When the limit is exceeded the least recently used region gives up
+ * the data of all of its chunks that are no longer loaded in the world.  That data has already been written to the
+ * chunk NBT so it is restored when the chunk loads again.  A region that still has loaded chunks is moved to the back
+ * of the line and the next one is tried.
+ * </p>
+ *
+ * @author ferreusveritas
+ */
+public class PoissonDiscRegionStore {
+
+	public static final int REGIONBITS = 5;
+	public static final int REGIONSIZE = 1 << REGIONBITS;//32 chunks on a side
+	public static final int CHUNKSPERREGION = REGIONSIZE * REGIONSIZE;
+	public static final int BYTESPERCHUNK = 16;
+	public static final int BYTESPERREGION = CHUNKSPERREGION * BYTESPERCHUNK + CHUNKSPERREGION / 4;//Disc data and two bitsets
+
+	public interface IChunkLoadedTest {
+		boolean isChunkLoaded(int chunkX, int chunkZ);
+	}
+
+	private static class Region {
+		final byte[] data = new byte[CHUNKSPERREGION * BYTESPERCHUNK];
+		final long[] present = new long[CHUNKSPERREGION / 64];//Chunks that have data
+		final long[] generated = new long[CHUNKSPERREGION / 64];//Chunks whose discs have been generated
+		int numChunks;
+	}
+
+	private final Long2ObjectLinkedOpenHashMap<Region> regions = new Long2ObjectLinkedOpenHashMap<>();//In least to most recently used order
+	private final int maxRegions;
+	private final IChunkLoadedTest loadedTest;
+
+	private long lookups;
+	private long evictedRegions;
+	private long evictedChunks;
+
+	/**
+	 * @param maxRegions The number of regions that can be kept in memory
+	 * @param loadedTest Tests if a chunk is loaded in the world or null if it can't be known.  Without the test no data
+	 *                   is ever evicted and chunks must be unloaded explicitly.
+	 */
+	public PoissonDiscRegionStore(int maxRegions, IChunkLoadedTest loadedTest) {
+		this.maxRegions = maxRegions;
+		this.loadedTest = loadedTest;
+	}
+
+	private static long regionKey(int chunkX, int chunkZ) {
+		return ((long) (chunkX >> REGIONBITS) << 32) | ((chunkZ >> REGIONBITS) & 0xFFFFFFFFL);
+	}
+
+	private static int slot(int chunkX, int chunkZ) {
+		return ((chunkZ & (REGIONSIZE - 1)) << REGIONBITS) | (chunkX & (REGIONSIZE - 1));
+	}
+
+	private static boolean getBit(long[] bits, int slot) {
+		return (bits[slot >> 6] & (1L << slot)) != 0;
+	}
+
+	private static void setBit(long[] bits, int slot, boolean value) {
+		if (value) {
+			bits[slot >> 6] |= 1L << slot;
+		} else {
+			bits[slot >> 6] &= ~(1L << slot);
+		}
+	}
+
+	private Region getRegion(int chunkX, int chunkZ, boolean create) {
+		lookups++;
+		long key = regionKey(chunkX, chunkZ);
+		Region region = regions.getAndMoveToLast(key);
+
+		if (region == null && create) {
+			if (regions.size() >= maxRegions) {
+				evict(maxRegions - 1);//Make room before the new region arrives
+			}
+			region = new Region();
+			regions.putAndMoveToLast(key, region);
+		}
+
+		return region;
+	}
+
+	public boolean isGenerated(int chunkX, int chunkZ) {
+		Region region = getRegion(chunkX, chunkZ, false);
+		return region != null && getBit(region.generated, slot(chunkX, chunkZ));
+	}
+
+	/**
+	 * Adds the discs of a chunk to a list.  Chunks without data have no discs.
+	 */
+	public List<PoissonDisc> getDiscs(List<PoissonDisc> discs, int chunkX, int chunkZ) {
+		Region region = getRegion(chunkX, chunkZ, false);
+		int slot = slot(chunkX, chunkZ);
+
+		if (region != null && getBit(region.present, slot)) {
+			PoissonDiscChunkSet.getDiscs(region.data, slot * BYTESPERCHUNK, discs, chunkX, chunkZ);
+		}
+
+		return discs;
+	}
+
+	/**
+	 * @return A copy of the 16 bytes of disc data for a chunk.  All zeros if the chunk has no data.
+	 */
+	public byte[] getChunkData(int chunkX, int chunkZ) {
+		byte[] discData = new byte[BYTESPERCHUNK];
+		Region region = getRegion(chunkX, chunkZ, false);
+		int slot = slot(chunkX, chunkZ);
+
+		if (region != null && getBit(region.present, slot)) {
+			System.arraycopy(region.data, slot * BYTESPERCHUNK, discData, 0, BYTESPERCHUNK);
+		}
+
+		return discData;
+	}
+
+	/**
+	 * Stores the disc data for a chunk.
+	 *
+	 * @param discData  16 bytes of disc data.  Anything else is treated as all zeros
+	 * @param generated true if the discs of the chunk have been generated
+	 */
+	public void setChunkData(int chunkX, int chunkZ, byte[] discData, boolean generated) {
+		Region region = getRegion(chunkX, chunkZ, true);
+		int slot = slot(chunkX, chunkZ);
+		int offset = slot * BYTESPERCHUNK;
+
+		if (discData != null && discData.length == BYTESPERCHUNK) {
+			System.arraycopy(discData, 0, region.data, offset, BYTESPERCHUNK);
+		} else {
+			clearData(region, offset);
+		}
+
+		if (!getBit(region.present, slot)) {
+			setBit(region.present, slot, true);
+			region.numChunks++;
+		}
+		setBit(region.generated, slot, generated);
+	}
+
+	public void removeChunk(int chunkX, int chunkZ) {
+		long key = regionKey(chunkX, chunkZ);
+		Region region = regions.get(key);
+
+		if (region != null && removeChunk(region, slot(chunkX, chunkZ)) && region.numChunks == 0) {
+			regions.remove(key);
+		}
+	}
+
+	private boolean removeChunk(Region region, int slot) {
+		if (getBit(region.present, slot)) {
+			clearData(region, slot * BYTESPERCHUNK);
+			setBit(region.present, slot, false);
+			setBit(region.generated, slot, false);
+			region.numChunks--;
+			return true;
+		}
+		return false;
+	}
+
+	private static void clearData(Region region, int offset) {
+		for (int i = 0; i < BYTESPERCHUNK; i++) {
+			region.data[offset + i] = 0;
+		}
+	}
+
+	private void evict(int targetRegions) {
+		if (loadedTest == null) {
+			return;//There's no way to tell what's safe to let go of
+		}
+
+		int attempts = regions.size();//Each region is visited at most once
+
+		while (regions.size() > targetRegions && attempts-- > 0) {
+			long key = regions.firstLongKey();
+			Region region = regions.get(key);
+
+			int regionX = (int) (key >> 32) << REGIONBITS;
+			int regionZ = (int) key << REGIONBITS;
+
+			for (int slot = 0; slot < CHUNKSPERREGION; slot++) {
+				if (getBit(region.present, slot) && !loadedTest.isChunkLoaded(regionX | (slot & (REGIONSIZE - 1)), regionZ | (slot >> REGIONBITS))) {
+					removeChunk(region, slot);
+					evictedChunks++;
+				}
+			}
+
+			if (region.numChunks == 0) {
+				regions.removeFirst();
+				evictedRegions++;
+			} else {
+				regions.getAndMoveToLast(key);//Still in use by loaded chunks
+			}
+		}
+	}
+
+	public void clear() {
+		regions.clear();
+	}
+
+	public int getNumRegions() {
+		return regions.size();
+	}
+
+	public int getMaxRegions() {
+		return maxRegions;
+	}
+
+	public int getNumChunks() {
+		int numChunks = 0;
+		for (Region region : regions.values()) {
+			numChunks += region.numChunks;
+		}
+		return numChunks;
+	}
+
+	/**
+	 * @return The approximate number of bytes of disc data held in memory
+	 */
+	public long getMemoryUsage() {
+		return (long) regions.size() * BYTESPERREGION;
+	}
+
+	public long getLookups() {
+		return lookups;
+	}
+
+	public long getEvictedRegions() {
+		return evictedRegions;
+	}
+
+	public long getEvictedChunks() {
+		return evictedChunks;
+	}
+
+	public void resetStats() {
+		lookups = 0;
+		evictedRegions = 0;
+		evictedChunks = 0;
+	}
+
+}
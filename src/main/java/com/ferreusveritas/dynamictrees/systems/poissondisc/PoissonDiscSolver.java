@@ -0,0 +1,313 @@
+package com.ferreusveritas.dynamictrees.systems.poissondisc;
+
+import com.ferreusveritas.dynamictrees.api.worldgen.IPoissonDebug;
+import com.ferreusveritas.dynamictrees.api.worldgen.IRadiusCoordinator;
+import com.ferreusveritas.dynamictrees.util.CoordUtils;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3i;
+
+import java.util.*;
+
+/**
+ * Solves the Poisson discs of a single chunk from the disc data of the chunk and its surrounding chunks.
+ * <p>
+ * A solver only works on the data it's handed and holds nothing but scratch space between calls so the result depends
+ * on nothing but its inputs.  A solver is not thread safe.  Every thread that solves discs needs its own.
+ *
+ * @author ferreusveritas
+ */
+public class PoissonDiscSolver {
+
+	//A set of caches so we needn't create the lists from scratch for every chunk
+	private final List<PoissonDisc> discCache1 = new ArrayList<PoissonDisc>(64);//64 is above the typical range to expect for 9 chunks
+	private final List<PoissonDisc> discCache2 = new ArrayList<PoissonDisc>(64);
+	private final PoissonDiscGrid grid = new PoissonDiscGrid();//Keeps intersection tests local to the neighborhood of a disc
+	private final IntArrayList near = new IntArrayList(64);//Grid query results
+	private int[] intersectingKeys = new int[16];
+	private PoissonDisc[] intersectingDiscs = new PoissonDisc[16];
+
+	/**
+	 * Solves the discs of a chunk.
+	 *
+	 * @param random            The random used to place the first disc when there are none around to build off of
+	 * @param radiusCoordinator The radius coordinator
+	 * @param chunkX            The chunk x coordinate
+	 * @param chunkZ            The chunk z coordinate
+	 * @param neighborhood      The disc data of the chunk followed by the disc data of its surrounding chunks in {@link
+	 *                          CoordUtils.Surround} order
+	 * @param debug             The debug hooks or null
+	 * @return The new disc data of the chunk
+	 */
+	public byte[] solve(Random random, IRadiusCoordinator radiusCoordinator, int chunkX, int chunkZ, byte[][] neighborhood, IPoissonDebug debug) {
+
+		// Step 0.) Clear the temporary caches
+		List<PoissonDisc> allDiscs = discCache1;
+		List<PoissonDisc> unsolvedDiscs = discCache2;
+		allDiscs.clear();
+		unsolvedDiscs.clear();
+		if (debug != null) {
+			debug.begin(chunkX, chunkZ);
+		}
+
+
+		// Step 1.) Collect already solved discs from surrounding chunks
+		PoissonDiscChunkSet.getDiscs(neighborhood[0], 0, allDiscs, chunkX, chunkZ);
+		for (CoordUtils.Surround surr : CoordUtils.Surround.values()) {
+			Vec3i dir = surr.getOffset();
+			PoissonDiscChunkSet.getDiscs(neighborhood[surr.ordinal() + 1], 0, allDiscs, chunkX + dir.getX(), chunkZ + dir.getZ());
+		}
+		if (debug != null) {
+			debug.collectSolved(allDiscs);
+		}
+
+
+		// Step 2.) Do edge masking
+		int chunkXStart = chunkX << 4;
+		int chunkZStart = chunkZ << 4;
+
+		for (PoissonDisc c : allDiscs) {
+			c.edgeMask(chunkXStart, chunkZStart);
+		}
+		if (debug != null) {
+			debug.doEdgeMasking(allDiscs);
+		}
+
+
+		// Step 3.) Mask out circles against one another
+		grid.reset(allDiscs, chunkXStart, chunkZStart);
+		for (int i = 0; i < allDiscs.size() - 1; i++) {
+			grid.query(allDiscs.get(i), near);
+			for (int n = 0; n < near.size(); n++) {
+				int j = near.getInt(n);
+				if (j > i) {
+					PoissonDiscHelper.maskDiscs(allDiscs.get(i), allDiscs.get(j));
+				}
+			}
+		}
+		if (debug != null) {
+			debug.maskSolvedDiscs(allDiscs);
+		}
+
+
+		// Step 4.) Handle no existing circles by creating a single circle to build off of
+		if (allDiscs.size() == 0) {
+			int x = chunkXStart + random.nextInt(16);
+			int z = chunkZStart + random.nextInt(16);
+			int radius = radiusCoordinator.getRadiusAtCoords(x, z);
+			PoissonDisc rootDisc = new PoissonDisc(x, z, radius);
+			rootDisc.real = true;
+			grid.add(rootDisc);
+			if (debug != null) {
+				debug.createRootDisc(allDiscs, rootDisc);
+			}
+		}
+
+
+		// Step 5.) Gather the unsolved circles into a list
+		PoissonDiscHelper.gatherUnsolved(unsolvedDiscs, allDiscs);
+		if (debug != null) {
+			debug.gatherUnsolved(unsolvedDiscs, allDiscs);
+		}
+
+
+		int count = 0;//This counter is used to make sure we don't endlessly generate for an unsolvable set
+
+		//Keep solving all unsolved disc until there aren't any more to solve.
+		while (!unsolvedDiscs.isEmpty()) {
+
+			if (debug != null) {
+				debug.updateCount(count, unsolvedDiscs, allDiscs);
+			}
+
+			// Step 6.) Pick a random disc from the pool of unsolved discs this will be the master disc
+			PoissonDisc master = unsolvedDiscs.get(0);//Any circle will do.  May as well be the first.
+			if (debug != null) {
+				debug.pickMasterDisc(master, unsolvedDiscs, allDiscs);
+			}
+
+			//The goal here is to try both directions and prefer the direction that creates an intersection with an existing disc
+			PoissonDisc slave = null;
+			int slaveX = 0;
+			int slaveZ = 0;
+			int radius = 0;
+			for (int dir = 0; dir <= 1; dir++) {
+				boolean CCW = dir == 0;
+
+				// Step 7.) Use the master disc and it's free arc angle to find the radius of the new tangential disc
+				float angle = CCW ? (float) master.getFreeAngleCCW() : (float) master.getFreeAngleCW();
+				//System.out.println("dir: " + (CCW ? "CCW" : "CW") + ", angle: " + (angle * 180 / Math.PI));
+				double dx = master.x + (MathHelper.sin(angle) * master.radius * 1.5);
+				double dz = master.z + (MathHelper.cos(angle) * master.radius * 1.5);
+				radius = radiusCoordinator.getRadiusAtCoords((int) dx, (int) dz);
+				if (debug != null) {
+					debug.getRadius(master, radius, unsolvedDiscs, allDiscs);
+				}
+
+				// Step 8.) Create a second disc tangential to the master disc.
+				slave = PoissonDiscHelper.findSecondDisc(master, radius, true, CCW);
+				slaveX = slave.x;//Cache slave position
+				slaveZ = slave.z;
+				if (debug != null) {
+					debug.findSecondDisc(master, slave, unsolvedDiscs, allDiscs);
+				}
+
+				if (doesDiscIntersectWith(slave, allDiscs)) {
+					break;
+				}
+			}
+
+			// Step 9.) Mask off the master so it won't happen again.
+			master.arc |= 1 << master.getFreeBitCW();//Clear specific arc bit for good measure
+			PoissonDiscHelper.maskDiscs(master, slave, true);
+			if (debug != null) {
+				debug.maskMasterSlave(master, slave, unsolvedDiscs, allDiscs);
+			}
+
+			// Step 10.) Create a list of existing circles that are intersecting with this circle.  List is ordered by penetration depth.
+			int numIntersecting = gatherIntersecting(slave, allDiscs);
+			if (debug != null) {
+				Map<Integer, PoissonDisc> intersecting = new TreeMap<Integer, PoissonDisc>();
+				for (int n = 0; n < numIntersecting; n++) {
+					intersecting.put(intersectingKeys[n], intersectingDiscs[n]);
+				}
+				debug.intersectingList(slave, intersecting, allDiscs);
+			}
+
+
+			//Run through all of the circles that were intersecting
+			for (int e = 0; e < numIntersecting; e++) {
+				PoissonDisc master1 = master;//Cache master value because we do swapping later
+				PoissonDisc master2 = intersectingDiscs[e];
+
+				//Determine handedness of 3rd circle interaction
+				int cross = (slaveX - master1.x) * (master2.z - master1.z) - (slaveZ - master1.z) * (master2.x - master1.x);
+				if (cross < 0) {//Swap circles if the cross product is negative
+					PoissonDisc temp = master2;
+					master2 = master1;
+					master1 = temp;
+				}
+
+				slave = PoissonDiscHelper.findThirdDisc(master1, master2, radius);//Attempt to triangulate a circle position that is touching tangentially to both master circles
+				if (debug != null) {
+					debug.findThirdDiscCandidate(master1, master2, slave, unsolvedDiscs, allDiscs);
+				}
+				if (slave != null) {//Found a 3rd circle candidate
+					//System.out.println("slave is not null");
+					grid.query(slave, near);
+					candidates:
+					for (int n = 0; n < near.size(); n++) {
+						//A removal moves the last circle into the removed circle's place so that place is checked again.
+						//Indices left behind by those moves are past the end of the list and drop out here.
+						for (int ci = near.getInt(n); ci < allDiscs.size(); ) {
+							PoissonDisc c = allDiscs.get(ci);
+							if (!slave.doCirclesIntersectPadding(c)) {//See if this new circle intersects with any of the existing circles. If it does then..
+								break;
+							}
+							if (debug != null) {
+								debug.thirdCircleCandidateIntersects(master1, master2, slave, c, unsolvedDiscs, allDiscs);
+							}
+							if (c.real || (!c.real && !slave.isInCenterChunk(chunkXStart, chunkZStart))) {
+								//System.out.println("Discard the slave because it's intersecting with an existing real circle");
+								slave = null;//Discard the circle because it's intersecting with an existing real circle
+								break candidates;//We needn't continue since we've proven that the circle intersects with any circle
+							}
+							//The overlapping circle is not real.. but the slave circle is.
+							//System.out.println("Delete the offending non-real circle.");
+							grid.fastRemove(ci);//Delete the offending non-real circle. The order of the circles is unimportant
+						}
+					}
+				}
+
+				if (slave != null) {
+					if (debug != null) {
+						debug.findThirdDiscSolved(slave, unsolvedDiscs, allDiscs);
+					}
+					break;//We found a viable circle.. time to move on
+				}
+			}
+
+			if (slave != null) {//The circle has passed all of the non-intersection tests.  Let's add it to the list of circles
+				slave.edgeMask(chunkXStart, chunkZStart);//Set the proper mask for whatever chunk this circle resides.
+				slave.real = slave.isInCenterChunk(chunkXStart, chunkZStart);//Only circles created in the center chunk are real
+				unsolvedDiscs.add(slave);//The new circle is necessarily unsolved and we need it in this list for the next step.
+				PoissonDiscHelper.solveDiscs(unsolvedDiscs, allDiscs, grid, near);//run all of the unsolved circles again
+				grid.add(slave);//add the new circle to the full list
+				if (debug != null) {
+					debug.solveDiscs(unsolvedDiscs, allDiscs);
+				}
+			}
+
+			PoissonDiscHelper.gatherUnsolved(unsolvedDiscs, allDiscs);//List up the remaining unsolved circles and try again
+			if (debug != null) {
+				debug.gatherUnsolved2(unsolvedDiscs, allDiscs);
+			}
+
+			//For debug purposes
+			if (++count > 64 && !unsolvedDiscs.isEmpty()) {//It shouldn't over take 64 iterations to solve all of the circles
+				if (debug != null) {
+					debug.unsolvable(chunkX, chunkZ, count, unsolvedDiscs, allDiscs);
+				}
+				break;//Something went terribly wrong and we shouldn't hang the system for it.
+			}
+
+		}
+
+		//Add circles to circle set
+		PoissonDiscChunkSet cSet = new PoissonDiscChunkSet(neighborhood[0]);
+
+		for (PoissonDisc c : allDiscs) {
+			if (c.isInCenterChunk(chunkXStart, chunkZStart)) {
+				cSet.addDisc(c);
+			}
+		}
+
+		return cSet.getDiscData();
+	}
+
+	private boolean doesDiscIntersectWith(PoissonDisc disc, List<PoissonDisc> others) {
+		grid.query(disc, near);
+		for (int n = 0; n < near.size(); n++) {
+			if (disc.doCirclesIntersectPadding(others.get(near.getInt(n)))) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Gathers the discs that intersect with a disc ordered by penetration depth and then by their order in the list.
+	 *
+	 * @return The number of intersecting discs in {@link #intersectingDiscs}
+	 */
+	private int gatherIntersecting(PoissonDisc slave, List<PoissonDisc> allDiscs) {
+		int count = 0;
+		grid.query(slave, near);
+
+		for (int n = 0; n < near.size(); n++) {
+			PoissonDisc c = allDiscs.get(near.getInt(n));
+			if (slave.doCirclesIntersectPadding(c)) {
+				int depth = 16 + (int) c.discPenetration(slave);
+				int key = depth << 8 | count;
+
+				if (count == intersectingKeys.length) {
+					intersectingKeys = Arrays.copyOf(intersectingKeys, count * 2);
+					intersectingDiscs = Arrays.copyOf(intersectingDiscs, count * 2);
+				}
+
+				//Insertion sort.  The lists are tiny
+				int k = count++;
+				for (; k > 0 && intersectingKeys[k - 1] > key; k--) {
+					intersectingKeys[k] = intersectingKeys[k - 1];
+					intersectingDiscs[k] = intersectingDiscs[k - 1];
+				}
+				intersectingKeys[k] = key;
+				intersectingDiscs[k] = c;
+			}
+		}
+
+		return count;
+	}
+
+}
@@ -52,6 +52,7 @@ import com.ferreusveritas.dynamictrees.models.ModelEntityFallingTree;
 import com.ferreusveritas.dynamictrees.seasons.SeasonHelper;
 import com.ferreusveritas.dynamictrees.systems.DirtHelper;
 import com.ferreusveritas.dynamictrees.systems.GrowSignal;
+import com.ferreusveritas.dynamictrees.systems.TreeTopologyCache;
 import com.ferreusveritas.dynamictrees.systems.dropcreators.DropCreatorLogs;
 import com.ferreusveritas.dynamictrees.systems.dropcreators.DropCreatorSeed;
 import com.ferreusveritas.dynamictrees.systems.dropcreators.DropCreatorStorage;
@@ -65,6 +66,7 @@ import com.ferreusveritas.dynamictrees.util.CoordUtils;
 import com.ferreusveritas.dynamictrees.util.Deprecatron;
 import com.ferreusveritas.dynamictrees.util.SafeChunkBounds;
 import com.ferreusveritas.dynamictrees.util.SimpleVoxmap;
+import com.ferreusveritas.dynamictrees.util.SplitRandom;
 import com.ferreusveritas.dynamictrees.util.Styles;
 import com.ferreusveritas.dynamictrees.worldgen.JoCode;
 import com.ferreusveritas.dynamictrees.worldgen.JoCodeStore;
@@ -494,11 +496,24 @@ public class Species extends net.minecraftforge.registries.IForgeRegistryEntry.I
 		return this.getValidLeavesProperties(index).getDynamicLeavesState();
 	}
 
+	/**
+	 * Colors the quads of a falling tree.  The colors are baked into the tree's mesh so this is only called when the
+	 * mesh is built and not every frame.  See {@link #getTreeQuadColorKey} for colors that change during the fall.
+	 */
 	public int colorTreeQuads(int defaultColor, ModelEntityFallingTree.TreeQuadData treeQuad,
 							  @Nullable EntityFallingTree entity) {
 		return defaultColor;
 	}
 
+	/**
+	 * Checked every frame while a tree falls.  The mesh of the tree is colored again by {@link #colorTreeQuads}
+	 * whenever this changes so a species whose colors change during the fall should return something that changes
+	 * with them, such as the color itself.
+	 */
+	public int getTreeQuadColorKey(EntityFallingTree entity) {
+		return 0;
+	}
+
 	///////////////////////////////////////////
 	//SEEDS
 	///////////////////////////////////////////
@@ -678,12 +693,13 @@ public class Species extends net.minecraftforge.registries.IForgeRegistryEntry.I
 				List<ItemStack> drops = getVoluntaryDrops(world, rootPos, treePos, soilLife);
 
 				if (!drops.isEmpty() && !endPoints.isEmpty()) {
+					Random random = SplitRandom.forTree(world, rootPos, SplitRandom.DROPS);
 					for (ItemStack drop : drops) {
-						BlockPos branchPos = endPoints.get(world.rand.nextInt(endPoints.size()));
+						BlockPos branchPos = endPoints.get(random.nextInt(endPoints.size()));
 						branchPos =
 							branchPos.up();//We'll aim at the block above the end branch. Helps with Acacia leaf block formations
 						BlockPos itemPos =
-							CoordUtils.getRayTraceFruitPos(world, this, treePos, branchPos, SafeChunkBounds.ANY);
+							CoordUtils.getRayTraceFruitPos(world, this, treePos, branchPos, SafeChunkBounds.ANY, random);
 
 						if (itemPos != BlockPos.ORIGIN) {
 							EntityItem itemEntity =
@@ -693,7 +709,7 @@ public class Species extends net.minecraftforge.registries.IForgeRegistryEntry.I
 							float distAngle = 15;//The spread angle(center to edge)
 							float launchSpeed = 4;//Blocks(meters) per second
 							motion = new Vec3d(motion.x, 0, motion.y).normalize()
-								.rotateYaw((world.rand.nextFloat() * distAngle * 2) - distAngle)
+								.rotateYaw((random.nextFloat() * distAngle * 2) - distAngle)
 								.scale(launchSpeed / 20f);
 							itemEntity.motionX = motion.x;
 							itemEntity.motionY = motion.y;
@@ -911,7 +927,7 @@ public class Species extends net.minecraftforge.registries.IForgeRegistryEntry.I
 						  BlockPos treePos, Random random, boolean natural) {
 
 		//Analyze structure to gather all of the endpoints.  They will be useful for this entire update
-		List<BlockPos> ends = getEnds(world, treePos, treeBase);
+		List<BlockPos> ends = getEnds(world, rootPos, treePos, treeBase);
 
 		//This will prune rotted positions from the world and the end point list
 		if (handleRot(world, ends, rootPos, treePos, soilLife, SafeChunkBounds.ANY)) {
@@ -945,6 +961,22 @@ public class Species extends net.minecraftforge.registries.IForgeRegistryEntry.I
 		return endFinder.getEnds();
 	}
 
+	/**
+	 * Gets the branch endpoints from the {@link TreeTopologyCache} so unchanged trees don't need to be analyzed.
+	 *
+	 * @param world    The world
+	 * @param rootPos  The {@link BlockPos} of the {@link BlockRooty} for this {@link TreeFamily}
+	 * @param treePos  The {@link BlockPos} of the base of the {@link TreeFamily} trunk
+	 * @param treeBase The tree part that is the base of the {@link TreeFamily} trunk.  Provided for easy analysis.
+	 * @return A list of all branch endpoints for the {@link TreeFamily}
+	 */
+	final protected List<BlockPos> getEnds(World world, BlockPos rootPos, BlockPos treePos, ITreePart treeBase) {
+		if (world.isRemote) {
+			return getEnds(world, treePos, treeBase);
+		}
+		return TreeTopologyCache.get(world).getSnapshot(world, rootPos, treePos, treeBase).getEnds();
+	}
+
 	/**
 	 * A rot handler.
 	 *
@@ -961,6 +993,7 @@ public class Species extends net.minecraftforge.registries.IForgeRegistryEntry.I
 
 		Iterator<BlockPos> iter = ends.iterator();//We need an iterator since we may be removing elements.
 		SimpleVoxmap leafMap = getLeavesProperties().getCellKit().getLeafCluster();
+		Random random = SplitRandom.forTree(world, rootPos, SplitRandom.ROT);
 
 		while (iter.hasNext()) {
 			BlockPos endPos = iter.next();
@@ -968,8 +1001,8 @@ public class Species extends net.minecraftforge.registries.IForgeRegistryEntry.I
 			BlockBranch branch = TreeHelper.getBranch(branchState);
 			if (branch != null) {
 				int radius = branch.getRadius(branchState);
-				float rotChance = rotChance(world, endPos, world.rand, radius);
-				if (branch.checkForRot(world, endPos, this, radius, world.rand, rotChance,
+				float rotChance = rotChance(world, endPos, random, radius);
+				if (branch.checkForRot(world, endPos, this, radius, random, rotChance,
 					safeBounds != SafeChunkBounds.ANY) || radius != 1) {
 					if (safeBounds != SafeChunkBounds.ANY) { //worldgen
 						TreeHelper.ageVolume(world, endPos.down((leafMap.getLenZ() - 1) / 2),
@@ -1054,10 +1087,11 @@ public class Species extends net.minecraftforge.registries.IForgeRegistryEntry.I
 
 		float growthRate =
 			getGrowthRate(world, rootPos) * ModConfigs.treeGrowthMultiplier * ModConfigs.treeGrowthFolding;
+		Random signalRandom = SplitRandom.forTree(world, rootPos, SplitRandom.GROWTH);//Every pulse of this tick draws from one stream
 		do {
 			if (soilLife > 0) {
 				if (growthRate > random.nextFloat()) {
-					GrowSignal signal = new GrowSignal(this, rootPos, getEnergy(world, rootPos));
+					GrowSignal signal = new GrowSignal(this, rootPos, getEnergy(world, rootPos), signalRandom);
 					boolean success = treeBase.growSignal(world, treePos, signal).success;
 
 					int soilLongevity = getSoilLongevity(world, rootPos) *
@@ -14,6 +14,11 @@ public class BlockBounds {
 		public boolean inBounds(BlockPos pos) {
 			return false;
 		}
+		
+		@Override
+		public boolean inBounds(int x, int y, int z) {
+			return false;
+		}
 	};
 	
 	private int minX, minY, minZ;
@@ -110,12 +115,16 @@ public class BlockBounds {
 	}
 	
 	public boolean inBounds(BlockPos pos) {
-		return !(pos.getX() < minX ||
-				pos.getX() > maxX ||
-				pos.getY() < minY ||
-				pos.getY() > maxY ||
-				pos.getZ() < minZ ||
-				pos.getZ() > maxZ);
+		return inBounds(pos.getX(), pos.getY(), pos.getZ());
+	}
+	
+	public boolean inBounds(int x, int y, int z) {
+		return !(x < minX ||
+				x > maxX ||
+				y < minY ||
+				y > maxY ||
+				z < minZ ||
+				z > maxZ);
 	}
 	
 	public BlockPos getMin() {
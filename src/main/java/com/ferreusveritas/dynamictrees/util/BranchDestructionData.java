@@ -7,9 +7,14 @@ import com.ferreusveritas.dynamictrees.blocks.BlockBranch.BlockItemStack;
 import com.ferreusveritas.dynamictrees.blocks.BlockDynamicLeaves;
 import com.ferreusveritas.dynamictrees.trees.Species;
 import com.google.common.collect.AbstractIterator;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrays;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
@@ -55,6 +60,14 @@ public class BranchDestructionData {
 	}
 
 	public BranchDestructionData(Species species, Map<BlockPos, IExtendedBlockState> branches, Map<BlockPos, IBlockState> leaves, List<BlockItemStack> leavesDrops, List<BlockPos> ends, float volume, BlockPos cutPos, EnumFacing cutDir, EnumFacing toolDir, int trunkHeight) {
+		this(species, packBranches(branches), leaves, leavesDrops, ends, volume, cutPos, cutDir, toolDir, trunkHeight);
+	}
+
+	/**
+	 * @param branches The extended states of the branches keyed by their packed({@link BlockPos#toLong()}) positions
+	 *                 relative to the cut position
+	 */
+	public BranchDestructionData(Species species, Long2ObjectMap<IExtendedBlockState> branches, Map<BlockPos, IBlockState> leaves, List<BlockItemStack> leavesDrops, List<BlockPos> ends, float volume, BlockPos cutPos, EnumFacing cutDir, EnumFacing toolDir, int trunkHeight) {
 		this.species = species;
 		int[][] encodedBranchData = convertBranchesToIntArrays(branches);
 		this.destroyedBranchesRadiusPosition = encodedBranchData[0];
@@ -106,33 +119,145 @@ public class BranchDestructionData {
 		return tag;
 	}
 
+	/**
+	 * Reads the data written by {@link #writeToBuffer}.  The leaves drops are not sent so the list is empty.
+	 *
+	 * @param buffer The buffer to read from
+	 */
+	public BranchDestructionData(PacketBuffer buffer) {
+		this.species = TreeRegistry.findSpecies(new ResourceLocation(buffer.readString(256)));
+		int[][] branchData = readPositions(buffer, 3);
+		this.destroyedBranchesRadiusPosition = branchData[0];
+		this.destroyedBranchesConnections = branchData[1];
+		this.destroyedBranchesBlockIndex = branchData[2];
+		int[][] leavesData = readPositions(buffer, 2);
+		this.destroyedLeaves = leavesData[0];
+		this.destroyedLeavesBlockIndex = leavesData[1];
+		this.leavesDrops = new ArrayList<>();
+		this.endPoints = readPositions(buffer, 1)[0];
+		this.woodVolume = buffer.readFloat();
+		this.cutPos = BlockPos.fromLong(buffer.readLong());
+		this.cutDir = EnumFacing.values()[MathHelper.clamp(buffer.readByte(), 0, EnumFacing.values().length - 1)];
+		this.toolDir = EnumFacing.values()[MathHelper.clamp(buffer.readByte(), 0, EnumFacing.values().length - 1)];
+		this.trunkHeight = buffer.readVarInt();
+	}
+
+	/**
+	 * Writes a compact form of the data for sending to clients.  Positions are sorted and delta encoded as variable
+	 * length integers so a large tree takes a fraction of the space of the NBT form.  The first branch stays first since
+	 * it's the cut block.  The leaves drops are not written.
+	 *
+	 * @param buffer The buffer to write to
+	 * @return The buffer
+	 */
+	public PacketBuffer writeToBuffer(PacketBuffer buffer) {
+		buffer.writeString(species.toString());
+		writePositions(buffer, 1, destroyedBranchesRadiusPosition, destroyedBranchesConnections, destroyedBranchesBlockIndex);
+		writePositions(buffer, 0, destroyedLeaves, destroyedLeavesBlockIndex);
+		writePositions(buffer, 0, endPoints);
+		buffer.writeFloat(woodVolume);
+		buffer.writeLong(cutPos.toLong());
+		buffer.writeByte(cutDir.getIndex());
+		buffer.writeByte(toolDir.getIndex());
+		buffer.writeVarInt(trunkHeight);
+		return buffer;
+	}
+
+	/**
+	 * Writes parallel arrays whose first array holds an encoded relative position in the low 24 bits.  Entries are
+	 * written in position order with each position as the difference from the last.  The top 8 bits of the first array
+	 * and the values of the other arrays follow each position as variable length integers.
+	 *
+	 * @param fixed  The number of entries at the start that keep their place
+	 * @param arrays The parallel arrays
+	 */
+	private static void writePositions(PacketBuffer buffer, int fixed, int[]... arrays) {
+		int[] encoded = arrays[0];
+		int count = encoded.length;
+		fixed = Math.min(fixed, count);
+		buffer.writeVarInt(count);
+
+		//Sort the entries by position while remembering where they came from
+		long[] order = new long[count];
+		for (int i = 0; i < count; i++) {
+			order[i] = (long) (encoded[i] & 0xFFFFFF) << 32 | i;
+		}
+		LongArrays.quickSort(order, fixed, count);
+
+		int last = 0;
+		for (long entry : order) {
+			int i = (int) entry;
+			int pos = encoded[i] & 0xFFFFFF;
+			int delta = pos - last;
+			buffer.writeVarInt((delta << 1) ^ (delta >> 31));//Zig zag so the fixed entries can step backwards
+			buffer.writeVarInt(encoded[i] >>> 24);
+			for (int a = 1; a < arrays.length; a++) {
+				buffer.writeVarInt(arrays[a][i]);
+			}
+			last = pos;
+		}
+	}
+
+	private static int[][] readPositions(PacketBuffer buffer, int numArrays) {
+		int count = buffer.readVarInt();
+		int[][] arrays = new int[numArrays][count];
+
+		int last = 0;
+		for (int i = 0; i < count; i++) {
+			int delta = buffer.readVarInt();
+			int pos = last + ((delta >>> 1) ^ -(delta & 1));
+			arrays[0][i] = buffer.readVarInt() << 24 | pos;
+			for (int a = 1; a < numArrays; a++) {
+				arrays[a][i] = buffer.readVarInt();
+			}
+			last = pos;
+		}
+
+		return arrays;
+	}
+
 	///////////////////////////////////////////////////////////
 	// Branches
 	///////////////////////////////////////////////////////////
 
-	private int[][] convertBranchesToIntArrays(Map<BlockPos, IExtendedBlockState> branchList) {
+	private static Long2ObjectMap<IExtendedBlockState> packBranches(Map<BlockPos, IExtendedBlockState> branchList) {
+		Long2ObjectMap<IExtendedBlockState> packed = new Long2ObjectOpenHashMap<>(branchList.size());
+		for (Entry<BlockPos, IExtendedBlockState> set : branchList.entrySet()) {
+			packed.put(set.getKey().toLong(), set.getValue());
+		}
+		return packed;
+	}
+
+	private int[][] convertBranchesToIntArrays(Long2ObjectMap<IExtendedBlockState> branchList) {
 		int[] relPosData = new int[branchList.size()];
 		int[] connectionData = new int[branchList.size()];
 		int[] blockIndexData = new int[branchList.size()];
 		int index = 0;
 
 		//Ensure the origin block is at the first index
-		IExtendedBlockState origExState = branchList.get(BlockPos.ORIGIN);
+		final long origin = BlockPos.ORIGIN.toLong();
+		IExtendedBlockState origExState = branchList.get(origin);
 		if (origExState != null) {
-			relPosData[index] = encodeBranchesRadiusPos(BlockPos.ORIGIN, (BlockBranch) origExState.getBlock(), origExState);
+			relPosData[index] = encodeBranchesRadiusPos(0, 0, 0, (BlockBranch) origExState.getBlock(), origExState);
 			connectionData[index] = encodeBranchesConnections(origExState);
 			blockIndexData[index++] = encodeBranchBlocks((BlockBranch) origExState.getBlock());
-			branchList.remove(BlockPos.ORIGIN);
 		}
 
 		//Encode the remaining blocks
-		for (Entry<BlockPos, IExtendedBlockState> set : branchList.entrySet()) {
-			BlockPos relPos = set.getKey();
+		for (Long2ObjectMap.Entry<IExtendedBlockState> set : Long2ObjectMaps.fastIterable(branchList)) {
+			long relPos = set.getLongKey();
+			if (relPos == origin) {
+				continue;//Already encoded
+			}
+
+			int x = CoordUtils.unpackX(relPos);
+			int y = CoordUtils.unpackY(relPos);
+			int z = CoordUtils.unpackZ(relPos);
 			IExtendedBlockState exState = set.getValue();
 			Block block = exState.getBlock();
 
-			if (block instanceof BlockBranch && bounds.inBounds(relPos)) { //Place comfortable limits on the system
-				relPosData[index] = encodeBranchesRadiusPos(relPos, (BlockBranch) block, exState);
+			if (block instanceof BlockBranch && bounds.inBounds(x, y, z)) { //Place comfortable limits on the system
+				relPosData[index] = encodeBranchesRadiusPos(x, y, z, (BlockBranch) block, exState);
 				connectionData[index] = encodeBranchesConnections(exState);
 				blockIndexData[index++] = encodeBranchBlocks((BlockBranch) block);
 			}
@@ -146,9 +271,9 @@ public class BranchDestructionData {
 		return new int[][]{relPosData, connectionData, blockIndexData};
 	}
 
-	private int encodeBranchesRadiusPos(BlockPos relPos, BlockBranch branchBlock, IBlockState state) {
+	private int encodeBranchesRadiusPos(int x, int y, int z, BlockBranch branchBlock, IBlockState state) {
 		return ((branchBlock.getRadius(state) & 0x1F) << 24) | //Radius 0 - 31
-			encodeRelBlockPos(relPos);
+			encodeRelBlockPos(x, y, z);
 	}
 
 	private int encodeBranchesConnections(IExtendedBlockState exState) {
@@ -360,9 +485,13 @@ public class BranchDestructionData {
 	///////////////////////////////////////////////////////////	
 
 	private int encodeRelBlockPos(BlockPos relPos) {
-		return (((relPos.getX() + 64) & 0xFF) << 16) |
-			(((relPos.getY() + 64) & 0xFF) << 8) |
-			(((relPos.getZ() + 64) & 0xFF) << 0);
+		return encodeRelBlockPos(relPos.getX(), relPos.getY(), relPos.getZ());
+	}
+
+	private int encodeRelBlockPos(int x, int y, int z) {
+		return (((x + 64) & 0xFF) << 16) |
+			(((y + 64) & 0xFF) << 8) |
+			(((z + 64) & 0xFF) << 0);
 	}
 
 	private BlockPos decodeRelPos(int encoded) {
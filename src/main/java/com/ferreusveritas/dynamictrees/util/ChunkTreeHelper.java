@@ -1,9 +1,12 @@
 package com.ferreusveritas.dynamictrees.util;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
+
+import javax.annotation.Nullable;
 
 import com.ferreusveritas.dynamictrees.ModBlocks;
 import com.ferreusveritas.dynamictrees.api.TreeHelper;
@@ -18,6 +21,8 @@ import com.ferreusveritas.dynamictrees.entities.EntityFallingTree.DestroyType;
 import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeCollector;
 import com.ferreusveritas.dynamictrees.util.BranchDestructionData.PosType;
 
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockSnow;
 import net.minecraft.block.BlockVine;
@@ -28,7 +33,11 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.BlockPos.MutableBlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.BlockStateContainer;
+import net.minecraft.world.chunk.BlockStatePaletteRegistry;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IBlockStatePalette;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 
 public class ChunkTreeHelper {
 	
@@ -48,57 +57,82 @@ public class ChunkTreeHelper {
 			throw new NullPointerException("Null Chunk Position");
 		}
 		
-		Set<BlockPos> found = new HashSet<>();//This is used to track branches that are already proven
+		scanChunks(world, cPos, radius, new OrphanRemover());
+	}
+	
+	/**
+	 * Removes orphaned trees while remembering the branches of healthy trees so a tree is only proven once.  What was
+	 * proven is forgotten at the start of every tick since the world may have changed in between.
+	 */
+	public static class OrphanRemover implements IBranchVisitor {
 		
-		BlockBounds bounds = getEffectiveBlockBounds(world, cPos, radius);
+		private final LongSet found = new LongOpenHashSet();//This is used to track branches that are already proven
 		
-		for (MutableBlockPos pos : bounds.iterate()) {
-			if (found.contains(pos)) {
-				continue;//Block was already proven to be part of a valid tree structure
-			}
-			
-			// Test if there's a branch block at this position
-			IBlockState state = world.getBlockState(pos);
-			Optional<BlockBranch> branchBlock = TreeHelper.getBranchOpt(state);
-			if (!branchBlock.isPresent()) {
-				continue;// No branch block found at this position.  Move on
-			}
-			
-			// Test if the branch has a root node attached to it
-			BlockPos rootPos = TreeHelper.findRootNode(world, pos);
-			if (rootPos == BlockPos.ORIGIN) {// If the root position is the ORIGIN object it means that no root block was found
-				// If the root node isn't found then all nodes are orphan.  Destroy the entire network.
-				doTreeDestroy(world, branchBlock, rootPos);
-				continue;
-			}
-			
-			// There is at least one root block in the network
-			IBlockState rootyState = world.getBlockState(rootPos);
-			Optional<BlockRooty> rootyBlock = TreeHelper.getRootyOpt(rootyState);
-			if (!rootyBlock.isPresent()) {
-				continue;//This theoretically shouldn't ever happen
-			}
-			
-			// Rooty block confirmed, build details about the trunk coming out of it
-			EnumFacing trunkDir = rootyBlock.get().getTrunkDirection(world, rootPos);
-			BlockPos trunkPos = rootPos.offset(trunkDir);
-			IBlockState trunkState = world.getBlockState(trunkPos);
-			Optional<BlockBranch> trunk = TreeHelper.getBranchOpt(trunkState);
-			
-			if (!trunk.isPresent()) {
-				continue;//This theoretically shouldn't ever happen
-			}
-			
-			// There's a trunk coming out of the rooty block, that's kinda expected.  But is it the only rooty block in the network?
-			MapSignal signal = new MapSignal();
-			signal.destroyLoopedNodes = false;
-			trunk.get().analyse(trunkState, world, trunkPos, null, signal);
-			if (signal.multiroot || signal.overflow) { // We found multiple root nodes.  This can't be resolved. Destroy the entire network
-				doTreeDestroy(world, branchBlock, pos);
-				continue;
-			} else { //Tree appears healthy with only a single attached root block
-				trunk.get().analyse(trunkState, world, trunkPos, null, new MapSignal(new NodeCollector(found)));
-			}
+		@Override
+		public boolean visit(World world, BlockPos pos, IBlockState state, BlockBranch branch) {
+			return removeIfOrphaned(world, pos, branch, found);
+		}
+		
+		@Override
+		public void beginTick() {
+			found.clear();
+		}
+		
+	}
+	
+	/**
+	 * Destroys the tree a branch belongs to if it has no root or more than one.
+	 * 
+	 * @param world The world
+	 * @param pos The position of the branch
+	 * @param branch The branch block at the position
+	 * @param found The positions of branches already proven to be part of a healthy tree.  Filled as trees are proven
+	 * @return true if a tree was destroyed
+	 */
+	public static boolean removeIfOrphaned(World world, BlockPos pos, BlockBranch branch, LongSet found) {
+		if (found.contains(pos.toLong())) {
+			return false;//Block was already proven to be part of a valid tree structure
+		}
+		
+		pos = pos.toImmutable();//The scans hand over a mutable position
+		
+		Optional<BlockBranch> branchBlock = Optional.of(branch);
+		
+		// Test if the branch has a root node attached to it
+		BlockPos rootPos = TreeHelper.findRootNode(world, pos);
+		if (rootPos == BlockPos.ORIGIN) {// If the root position is the ORIGIN object it means that no root block was found
+			// If the root node isn't found then all nodes are orphan.  Destroy the entire network.
+			doTreeDestroy(world, branchBlock, pos);
+			return true;
+		}
+		
+		// There is at least one root block in the network
+		IBlockState rootyState = world.getBlockState(rootPos);
+		Optional<BlockRooty> rootyBlock = TreeHelper.getRootyOpt(rootyState);
+		if (!rootyBlock.isPresent()) {
+			return false;//This theoretically shouldn't ever happen
+		}
+		
+		// Rooty block confirmed, build details about the trunk coming out of it
+		EnumFacing trunkDir = rootyBlock.get().getTrunkDirection(world, rootPos);
+		BlockPos trunkPos = rootPos.offset(trunkDir);
+		IBlockState trunkState = world.getBlockState(trunkPos);
+		Optional<BlockBranch> trunk = TreeHelper.getBranchOpt(trunkState);
+		
+		if (!trunk.isPresent()) {
+			return false;//This theoretically shouldn't ever happen
+		}
+		
+		// There's a trunk coming out of the rooty block, that's kinda expected.  But is it the only rooty block in the network?
+		MapSignal signal = new MapSignal();
+		signal.destroyLoopedNodes = false;
+		trunk.get().analyse(trunkState, world, trunkPos, null, signal);
+		if (signal.multiroot || signal.overflow) { // We found multiple root nodes.  This can't be resolved. Destroy the entire network
+			doTreeDestroy(world, branchBlock, pos);
+			return true;
+		} else { //Tree appears healthy with only a single attached root block
+			trunk.get().analyse(trunkState, world, trunkPos, null, new MapSignal(new NodeCollector(found)));
+			return false;
 		}
 	}
 
@@ -117,15 +151,147 @@ public class ChunkTreeHelper {
 			throw new NullPointerException("Null Chunk Position");
 		}
 		
-		BlockBounds bounds = getEffectiveBlockBounds(world, cPos, radius);
+		scanChunks(world, cPos, radius, ChunkTreeHelper::removeTree);
+	}
+	
+	/**
+	 * Destroys the whole tree a branch belongs to.
+	 * 
+	 * @return always true
+	 */
+	public static boolean removeTree(World world, BlockPos pos, IBlockState state, BlockBranch branch) {
+		doTreeDestroy(world, Optional.of(branch), pos.toImmutable());
+		return true;
+	}
+	
+	public interface IBranchVisitor {
+		/**
+		 * @param world The world
+		 * @param pos The position of the branch.  Mutable and only good for the duration of the call
+		 * @param state The state of the branch
+		 * @param branch The branch block
+		 * @return true if a tree was removed
+		 */
+		boolean visit(World world, BlockPos pos, IBlockState state, BlockBranch branch);
 		
-		for (MutableBlockPos pos : bounds.iterate()) {
-			IBlockState state = world.getBlockState(pos);
-			Optional<BlockBranch> branchBlock = TreeHelper.getBranchOpt(state);
-			if (branchBlock.isPresent()) {
-				doTreeDestroy(world, branchBlock, pos);
+		/**
+		 * Called before a {@link ChunkTreeScanner} continues in a new tick.  Anything learned about the world in an
+		 * earlier tick should be forgotten here.
+		 */
+		default void beginTick() {}
+	}
+	
+	/**
+	 * @return The positions of every chunk within a radius of a chunk.  Row by row starting from the north west corner
+	 */
+	public static List<ChunkPos> getChunksInRadius(ChunkPos cPos, int radius) {
+		radius = Math.max(radius, 0);
+		List<ChunkPos> chunks = new ArrayList<>((radius * 2 + 1) * (radius * 2 + 1));
+		for (int z = -radius; z <= radius; z++) {
+			for (int x = -radius; x <= radius; x++) {
+				chunks.add(new ChunkPos(cPos.x + x, cPos.z + z));
+			}
+		}
+		return chunks;
+	}
+	
+	private static void scanChunks(World world, ChunkPos cPos, int radius, IBranchVisitor visitor) {
+		for (ChunkPos pos : getChunksInRadius(cPos, radius)) {
+			Chunk chunk = world.getChunkFromChunkCoords(pos.x, pos.z);
+			for (int sectionY = 0; sectionY < chunk.getBlockStorageArray().length; sectionY++) {
+				scanSection(world, chunk, sectionY, visitor);
+			}
+		}
+	}
+	
+	/**
+	 * Hands every branch in a 16x16x16 section of a chunk to a visitor.  The section's palette is looked at first
+	 * and a section that has never held a branch state is skipped without reading a single block.
+	 * 
+	 * @param world The world
+	 * @param chunk The chunk
+	 * @param sectionY The index of the section from the bottom of the chunk
+	 * @param visitor Called for every branch.  May change the world
+	 * @return The number of trees removed or -1 if the section was skipped
+	 */
+	public static int scanSection(World world, Chunk chunk, int sectionY, IBranchVisitor visitor) {
+		ExtendedBlockStorage section = chunk.getBlockStorageArray()[sectionY];
+		if (section == Chunk.NULL_BLOCK_STORAGE || section.isEmpty() || !mayContainBranches(section)) {
+			return -1;
+		}
+		
+		int removed = 0;
+		int baseX = chunk.x << 4;
+		int baseY = section.getYLocation();
+		int baseZ = chunk.z << 4;
+		MutableBlockPos pos = new MutableBlockPos();
+		
+		for (int y = 0; y < 16; y++) {
+			for (int z = 0; z < 16; z++) {
+				for (int x = 0; x < 16; x++) {
+					IBlockState state = section.get(x, y, z);//Read live since the visitor may have removed a tree running through here
+					BlockBranch branch = TreeHelper.getBranch(state);
+					if (branch != null && visitor.visit(world, pos.setPos(baseX + x, baseY + y, baseZ + z), state, branch)) {
+						removed++;
+					}
+				}
 			}
 		}
+		
+		return removed;
+	}
+	
+	private static Field paletteField;
+	private static boolean paletteFieldSearched;
+	
+	/**
+	 * Checks the palette of a section for branch states.  The palette of a section only ever grows while it's
+	 * loaded so a true result may be stale but a false result can be trusted.
+	 * 
+	 * @param section The section of a chunk
+	 * @return false if the section certainly has no branches
+	 */
+	public static boolean mayContainBranches(ExtendedBlockStorage section) {
+		IBlockStatePalette palette = getPalette(section.getData());
+		if (palette == null || palette instanceof BlockStatePaletteRegistry) {
+			return true;//The section is too varied to have its own palette.  Have to look at the blocks
+		}
+		
+		for (int i = 0; i < 4096; i++) {
+			IBlockState state = palette.getBlockState(i);
+			if (state == null) {
+				return false;//Palette ids are handed out in order so the first gap is the end
+			}
+			if (TreeHelper.isBranch(state)) {
+				return true;
+			}
+		}
+		
+		return true;
+	}
+	
+	@Nullable
+	private static IBlockStatePalette getPalette(BlockStateContainer container) {
+		if (!paletteFieldSearched) {
+			paletteFieldSearched = true;
+			for (Field field : BlockStateContainer.class.getDeclaredFields()) {//Found by type so it works with obfuscated names
+				if (field.getType() == IBlockStatePalette.class && !Modifier.isStatic(field.getModifiers())) {
+					field.setAccessible(true);
+					paletteField = field;
+					break;
+				}
+			}
+		}
+		
+		if (paletteField != null) {
+			try {
+				return (IBlockStatePalette) paletteField.get(container);
+			} catch (IllegalAccessException e) {
+				paletteField = null;
+			}
+		}
+		
+		return null;
 	}
 	
 	public static BlockBounds getEffectiveBlockBounds(World world, ChunkPos cPos, int radius) {
@@ -0,0 +1,148 @@
+package com.ferreusveritas.dynamictrees.util;
+
+import com.ferreusveritas.dynamictrees.util.ChunkTreeHelper.IBranchVisitor;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.text.TextComponentTranslation;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+import javax.annotation.Nullable;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Runs the chunk scans of {@link ChunkTreeHelper} a few sections at a time over as many world ticks as it takes so a
+ * large radius doesn't freeze the server.  The player that started a scan is told how far along it is every
+ * {@link #REPORTTICKS} ticks and again when it's done.  The scan carries on without reports if they leave.
+ *
+ * @author ferreusveritas
+ */
+public class ChunkTreeScanner {
+
+	private static final PerDimension<List<ChunkTreeScanner>> scans = new PerDimension<>(w -> new ArrayList<>());
+
+	private static final long TICKBUDGETNANOS = 10000000L;//Time every scan in a dimension may share per tick
+	public static final int REPORTTICKS = 40;
+
+	private final String name;//Lang key of the name of the scan
+	private final WeakReference<ICommandSender> sender;//Not kept around for the scan if it's gone
+	private final IBranchVisitor visitor;
+	private final List<ChunkPos> chunks;
+
+	private int chunkIndex;
+	private int sectionY;
+	private int ticks;
+	private int sectionsScanned;
+	private int sectionsSkipped;
+	private int removed;
+
+	/**
+	 * @param name    The lang key of the name of the scan for the progress messages
+	 * @param sender  Who to report progress to
+	 * @param cPos    The chunk at the center of the scan
+	 * @param radius  Radius of the scan in chunk width units
+	 * @param visitor Called for every branch found
+	 */
+	public ChunkTreeScanner(String name, ICommandSender sender, ChunkPos cPos, int radius, IBranchVisitor visitor) {
+		this.name = name;
+		this.sender = new WeakReference<>(sender);
+		this.visitor = visitor;
+		this.chunks = ChunkTreeHelper.getChunksInRadius(cPos, radius);
+	}
+
+	/**
+	 * Queues a scan to run at the end of the coming world ticks of a dimension.
+	 *
+	 * @param world The world
+	 * @param scan  The scan
+	 */
+	public static void start(World world, ChunkTreeScanner scan) {
+		scans.get(world).add(scan);
+		ICommandSender sender = scan.getSender();
+		if (sender != null) {
+			sender.sendMessage(new TextComponentTranslation("commands.dynamictrees.chunkscan.start", new TextComponentTranslation(scan.name), scan.chunks.size()));
+		}
+	}
+
+	/**
+	 * Works on the scans of a dimension in the order they were started until the time budget for this tick is spent.
+	 *
+	 * @param world The world
+	 */
+	public static void process(World world) {
+		List<ChunkTreeScanner> dimScans = scans.getIfPresent(world);
+		if (dimScans == null || dimScans.isEmpty()) {
+			return;
+		}
+
+		final long deadline = System.nanoTime() + TICKBUDGETNANOS;
+		boolean progressed = false;
+
+		Iterator<ChunkTreeScanner> iter = dimScans.iterator();
+		while (iter.hasNext()) {
+			ChunkTreeScanner scan = iter.next();
+			scan.ticks++;
+			scan.visitor.beginTick();
+
+			//At least one section is always scanned so a scan keeps moving even on a slow server
+			while (!scan.isDone() && (!progressed || System.nanoTime() < deadline)) {
+				scan.step(world);
+				progressed = true;
+			}
+
+			if (scan.isDone()) {
+				scan.report("commands.dynamictrees.chunkscan.done");
+				iter.remove();
+			} else if (scan.ticks % REPORTTICKS == 0) {
+				scan.report("commands.dynamictrees.chunkscan.progress");
+			}
+		}
+	}
+
+	private void step(World world) {
+		ChunkPos cPos = chunks.get(chunkIndex);
+		Chunk chunk = world.getChunkFromChunkCoords(cPos.x, cPos.z);
+
+		int result = ChunkTreeHelper.scanSection(world, chunk, sectionY, visitor);
+		if (result < 0) {
+			sectionsSkipped++;
+		} else {
+			sectionsScanned++;
+			removed += result;
+		}
+
+		if (++sectionY >= chunk.getBlockStorageArray().length) {
+			sectionY = 0;
+			chunkIndex++;
+		}
+	}
+
+	public boolean isDone() {
+		return chunkIndex >= chunks.size();
+	}
+
+	/**
+	 * @return The sender that started the scan or null if it has been unloaded or the player has logged out
+	 */
+	@Nullable
+	public ICommandSender getSender() {
+		ICommandSender sender = this.sender.get();
+		if (sender instanceof Entity && ((Entity) sender).isDead) {
+			return null;
+		}
+		return sender;
+	}
+
+	private void report(String key) {
+		ICommandSender sender = getSender();
+		if (sender == null) {
+			return;
+		}
+		sender.sendMessage(new TextComponentTranslation(key, new TextComponentTranslation(name), chunkIndex, chunks.size(), sectionsSkipped, sectionsSkipped + sectionsScanned, removed, ticks));
+	}
+
+}
@@ -87,8 +87,16 @@ public class CoordUtils {
 	 * {@link BlockPos.ORIGIN}
 	 */
 	public static BlockPos getRayTraceFruitPos(World world, Species species, BlockPos treePos, BlockPos branchPos, SafeChunkBounds safeBounds) {
+		return getRayTraceFruitPos(world, species, treePos, branchPos, safeBounds, world.rand);
+	}
+
+	/**
+	 * Same as {@link #getRayTraceFruitPos(World, Species, BlockPos, BlockPos, SafeChunkBounds)} but aims with the
+	 * given random stream instead of the world's.
+	 */
+	public static BlockPos getRayTraceFruitPos(World world, Species species, BlockPos treePos, BlockPos branchPos, SafeChunkBounds safeBounds, Random random) {
 
-		RayTraceResult result = branchRayTrace(world, species, treePos, branchPos, 45, 60, 4 + world.rand.nextInt(3), safeBounds);
+		RayTraceResult result = branchRayTrace(world, species, treePos, branchPos, 45, 60, 4 + random.nextInt(3), safeBounds, random);
 
 		if (result != null) {
 			BlockPos hitPos = result.getBlockPos();
@@ -107,6 +115,10 @@ public class CoordUtils {
 
 
 	public static RayTraceResult branchRayTrace(World world, Species species, BlockPos treePos, BlockPos branchPos, float spreadHor, float spreadVer, float distance, SafeChunkBounds safeBounds) {
+		return branchRayTrace(world, species, treePos, branchPos, spreadHor, spreadVer, distance, safeBounds, world.rand);
+	}
+
+	public static RayTraceResult branchRayTrace(World world, Species species, BlockPos treePos, BlockPos branchPos, float spreadHor, float spreadVer, float distance, SafeChunkBounds safeBounds, Random random) {
 		treePos = new BlockPos(treePos.getX(), branchPos.getY(), treePos.getZ());//Make the tree pos level with the branch pos
 
 		Vec3d vOut = new Vec3d(branchPos.getX() - treePos.getX(), 0, branchPos.getZ() - treePos.getZ());
@@ -116,8 +128,8 @@ public class CoordUtils {
 			spreadHor = 180;
 		}
 
-		float deltaYaw = (world.rand.nextFloat() * spreadHor * 2) - spreadHor;
-		float deltaPitch = (world.rand.nextFloat() * -spreadVer);// must be greater than -90 degrees(and less than 90) for the tangent function.
+		float deltaYaw = (random.nextFloat() * spreadHor * 2) - spreadHor;
+		float deltaPitch = (random.nextFloat() * -spreadVer);// must be greater than -90 degrees(and less than 90) for the tangent function.
 		vOut = vOut.normalize(). //Normalize to unit vector
 			addVector(0, Math.tan(Math.toRadians(deltaPitch)), 0). //Pitch the angle downward by 0 to spreadVer degrees
 			normalize(). //Re-normalize to unit vector
@@ -339,6 +351,39 @@ public class CoordUtils {
 		return coordHashCode(pos, factors[0], factors[1], factors[2]);
 	}
 
+	/**
+	 * Unpacks a position packed with {@link BlockPos#toLong()} into a mutable position.  This is the same as
+	 * {@link BlockPos#fromLong(long)} without creating a new object.
+	 *
+	 * @param pos    The mutable position to set
+	 * @param packed The packed position
+	 * @return The mutable position for chaining
+	 */
+	public static MutableBlockPos setPos(MutableBlockPos pos, long packed) {
+		return pos.setPos(unpackX(packed), unpackY(packed), unpackZ(packed));
+	}
+
+	/**
+	 * Packs a position the same way as {@link BlockPos#toLong()} without creating a position first.
+	 *
+	 * @return The packed position
+	 */
+	public static long pack(int x, int y, int z) {
+		return ((long) x & 0x3FFFFFFL) << 38 | ((long) y & 0xFFFL) << 26 | ((long) z & 0x3FFFFFFL);
+	}
+
+	public static int unpackX(long packed) {
+		return (int) (packed >> 38);//26 bits of X at the top
+	}
+
+	public static int unpackY(long packed) {
+		return (int) (packed << 26 >> 52);//12 bits of Y in the middle
+	}
+
+	public static int unpackZ(long packed) {
+		return (int) (packed << 38 >> 38);//26 bits of Z at the bottom
+	}
+
 	public static Iterable<BlockPos> goHorSides(BlockPos pos) {
 		return goHorSides(pos, null);
 	}
@@ -0,0 +1,282 @@
+package com.ferreusveritas.dynamictrees.util;
+
+import com.ferreusveritas.dynamictrees.ModConfigs;
+import com.ferreusveritas.dynamictrees.entities.EntityFallingTree;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.ItemStack;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.MutableBlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.items.CapabilityItemHandler;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.ItemHandlerHelper;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gathers up the drops of a felled tree before they go into the world.  Identical stacks are merged up to their max
+ * stack size and the drops of every {@link ModConfigs#harvestDropCellSize} sized cube of the tree come out of one spot
+ * so a big tree spawns a handful of item entities instead of hundreds.  A cell size of 0 or less turns aggregation off
+ * and every stack is dropped on its own where it came from.
+ * <p>
+ * The drops can also be put straight into an inventory next to the cut or into the inventory of the player that felled
+ * the tree.  Whatever doesn't fit is dropped in the world.  The item entities spawned for each harvest are tallied per
+ * dimension for the stats command.
+ *
+ * @author ferreusveritas
+ */
+public class HarvestDropAggregator {
+
+	private static final PerDimension<Stats> stats = new PerDimension<>(w -> new Stats());
+
+	private final World world;
+	private final BlockPos cutPos;
+	private final EntityPlayer harvester;
+	private final int cellSize;//0 or less turns aggregation off
+	private final Long2ObjectLinkedOpenHashMap<Cell> cells = new Long2ObjectLinkedOpenHashMap<>();
+	private final MutableBlockPos cellPos = new MutableBlockPos();
+
+	private int stacksAdded;
+	private int entitiesSpawned;
+	private int stacksDelivered;
+
+	private static class Cell {
+
+		private final BlockPos pos;//Where the drops of the cell come out.  The first position a drop came from
+		private final List<ItemStack> stacks = new ArrayList<>(4);
+
+		private Cell(BlockPos pos) {
+			this.pos = pos;
+		}
+
+	}
+
+	/**
+	 * @param world     The world
+	 * @param cutPos    The position the tree was cut at
+	 * @param harvester The player that felled the tree or null if it wasn't a player
+	 */
+	public HarvestDropAggregator(World world, BlockPos cutPos, @Nullable EntityPlayer harvester) {
+		this.world = world;
+		this.cutPos = cutPos;
+		this.harvester = harvester;
+		this.cellSize = ModConfigs.harvestDropCellSize;
+	}
+
+	/**
+	 * Adds a drop to the cell of the position it came from.  The stack isn't changed.
+	 *
+	 * @param pos   Where the drop came from
+	 * @param stack The drop
+	 */
+	public void add(BlockPos pos, ItemStack stack) {
+		if (stack.isEmpty()) {
+			return;
+		}
+
+		if (cellSize <= 0) {//Aggregation turned off.  Every stack goes in a cell of its own keyed by the order it came in
+			Cell cell = new Cell(pos.toImmutable());
+			cell.stacks.add(stack.copy());
+			cells.put(stacksAdded++, cell);
+			return;
+		}
+
+		stacksAdded++;
+
+		long key = cellPos.setPos(Math.floorDiv(pos.getX(), cellSize), Math.floorDiv(pos.getY(), cellSize), Math.floorDiv(pos.getZ(), cellSize)).toLong();
+		Cell cell = cells.get(key);
+		if (cell == null) {
+			cells.put(key, cell = new Cell(pos.toImmutable()));
+		}
+
+		int remaining = stack.getCount();
+
+		//Top up the partial stacks of the cell that this drop can stack with
+		for (ItemStack existing : cell.stacks) {
+			int room = existing.getMaxStackSize() - existing.getCount();
+			if (room > 0 && ItemHandlerHelper.canItemStacksStack(existing, stack)) {
+				int moved = Math.min(room, remaining);
+				existing.grow(moved);
+				if ((remaining -= moved) <= 0) {
+					return;
+				}
+			}
+		}
+
+		//Whatever is left starts new stacks
+		int max = Math.max(stack.getMaxStackSize(), 1);
+		while (remaining > 0) {
+			int count = Math.min(remaining, max);
+			cell.stacks.add(ItemHandlerHelper.copyStackWithSize(stack, count));
+			remaining -= count;
+		}
+	}
+
+	/**
+	 * Delivers every drop added since the last delivery.  Drops go to the adjacent inventories and the harvester if
+	 * those are turned on and anything left is spawned at its cell.
+	 *
+	 * @param arrestMotion true to spawn the item entities without any motion as {@link
+	 *                     EntityFallingTree#spawnItemAsEntity(World, BlockPos, ItemStack)} does
+	 */
+	public void deliver(boolean arrestMotion) {
+		if (cells.isEmpty()) {
+			return;
+		}
+
+		//Same rules as Block.spawnAsEntity.  Nothing may come out of a tree when block drops are off
+		if (world.isRemote || !world.getGameRules().getBoolean("doTileDrops") || world.restoringBlockSnapshots) {
+			cells.clear();
+			return;
+		}
+
+		List<IItemHandler> inventories = ModConfigs.harvestDropsToInventory ? getAdjacentInventories() : null;
+		boolean toHarvester = ModConfigs.harvestDropsToPlayer && harvester != null && harvester.isEntityAlive() && harvester.world == world;
+
+		for (Cell cell : cells.values()) {
+			for (ItemStack stack : cell.stacks) {
+				if (inventories != null) {
+					for (IItemHandler inventory : inventories) {
+						stack = ItemHandlerHelper.insertItemStacked(inventory, stack, false);
+						if (stack.isEmpty()) {
+							break;
+						}
+					}
+				}
+
+				if (toHarvester && !stack.isEmpty()) {
+					harvester.inventory.addItemStackToInventory(stack);//Shrinks the stack by what fit
+				}
+
+				if (stack.isEmpty()) {
+					stacksDelivered++;
+					continue;
+				}
+
+				if (arrestMotion) {
+					EntityFallingTree.spawnItemAsEntity(world, cell.pos, stack);
+				} else {
+					Block.spawnAsEntity(world, cell.pos, stack);
+				}
+				entitiesSpawned++;
+			}
+		}
+
+		cells.clear();
+	}
+
+	private List<IItemHandler> getAdjacentInventories() {
+		List<IItemHandler> inventories = new ArrayList<>(1);
+
+		for (EnumFacing dir : EnumFacing.VALUES) {
+			BlockPos pos = cutPos.offset(dir);
+			if (!world.isBlockLoaded(pos)) {
+				continue;
+			}
+			TileEntity tileEntity = world.getTileEntity(pos);
+			if (tileEntity != null && tileEntity.hasCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, dir.getOpposite())) {
+				IItemHandler inventory = tileEntity.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, dir.getOpposite());
+				if (inventory != null) {
+					inventories.add(inventory);
+				}
+			}
+		}
+
+		return inventories;
+	}
+
+	/**
+	 * Tallies what this harvest dropped in the statistics of the dimension.  Call once when the harvest is done.
+	 */
+	public void report() {
+		if (stacksAdded > 0) {
+			get(world).record(stacksAdded, entitiesSpawned, stacksDelivered);
+		}
+	}
+
+	public int getStacksAdded() {
+		return stacksAdded;
+	}
+
+	public int getEntitiesSpawned() {
+		return entitiesSpawned;
+	}
+
+	public int getStacksDelivered() {
+		return stacksDelivered;
+	}
+
+	public static Stats get(World world) {
+		return stats.get(world);
+	}
+
+	/**
+	 * What the harvests of a dimension have dropped.
+	 */
+	public static class Stats {
+
+		private long harvests;
+		private long stacksAdded;
+		private long entitiesSpawned;
+		private long stacksDelivered;
+		private int lastStacksAdded;
+		private int lastEntitiesSpawned;
+
+		private void record(int stacksAdded, int entitiesSpawned, int stacksDelivered) {
+			harvests++;
+			this.stacksAdded += stacksAdded;
+			this.entitiesSpawned += entitiesSpawned;
+			this.stacksDelivered += stacksDelivered;
+			lastStacksAdded = stacksAdded;
+			lastEntitiesSpawned = entitiesSpawned;
+		}
+
+		public long getHarvests() {
+			return harvests;
+		}
+
+		public long getStacksAdded() {
+			return stacksAdded;
+		}
+
+		public long getEntitiesSpawned() {
+			return entitiesSpawned;
+		}
+
+		public long getStacksDelivered() {
+			return stacksDelivered;
+		}
+
+		/**
+		 * @return The average number of item entities spawned by a harvest
+		 */
+		public float getAverageEntitiesSpawned() {
+			return harvests > 0 ? entitiesSpawned / (float) harvests : 0;
+		}
+
+		public int getLastStacksAdded() {
+			return lastStacksAdded;
+		}
+
+		public int getLastEntitiesSpawned() {
+			return lastEntitiesSpawned;
+		}
+
+		public void resetStats() {
+			harvests = 0;
+			stacksAdded = 0;
+			entitiesSpawned = 0;
+			stacksDelivered = 0;
+			lastStacksAdded = 0;
+			lastEntitiesSpawned = 0;
+		}
+
+	}
+
+}
@@ -0,0 +1,67 @@
+package com.ferreusveritas.dynamictrees.util;
+
+import net.minecraft.world.World;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Keeps one of something for each dimension of the server.  Each one is made the first time its dimension asks for it
+ * and is dropped when the world of the dimension unloads.  Every instance of this class is unloaded together through
+ * {@link #unloadWorld(World)} so a new per dimension system doesn't need its own hook in the unload event.  Server
+ * thread only.
+ *
+ * @param <T> What is kept for each dimension
+ * @author ferreusveritas
+ */
+public class PerDimension<T> {
+
+	private static final List<PerDimension<?>> all = new CopyOnWriteArrayList<>();//Added to while classes load which may not be on the server thread
+
+	private final Map<Integer, T> instances = new HashMap<>();
+	private final Function<World, T> factory;
+
+	/**
+	 * @param factory Makes the instance for a world the first time it's asked for
+	 */
+	public PerDimension(Function<World, T> factory) {
+		this.factory = factory;
+		all.add(this);
+	}
+
+	/**
+	 * @return The instance for the dimension of the world.  Made if there isn't one yet
+	 */
+	public T get(World world) {
+		return instances.computeIfAbsent(world.provider.getDimension(), d -> factory.apply(world));
+	}
+
+	/**
+	 * @return The instance for the dimension of the world or null if there isn't one yet
+	 */
+	@Nullable
+	public T getIfPresent(World world) {
+		return instances.get(world.provider.getDimension());
+	}
+
+	/**
+	 * Drops the instance for the dimension of the world.  The next {@link #get(World)} makes a new one.
+	 */
+	public void remove(World world) {
+		instances.remove(world.provider.getDimension());
+	}
+
+	/**
+	 * Drops the instances of every {@link PerDimension} for the dimension of a world that is unloading.
+	 */
+	public static void unloadWorld(World world) {
+		for (PerDimension<?> perDimension : all) {
+			perDimension.remove(world);
+		}
+	}
+
+}
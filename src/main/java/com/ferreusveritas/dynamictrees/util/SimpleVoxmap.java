@@ -83,6 +83,16 @@ public class SimpleVoxmap {
 		return center;
 	}
 
+	/**
+	 * Empties the map and moves the center back to the origin so the map can be used again.
+	 */
+	public SimpleVoxmap reset() {
+		Arrays.fill(data, (byte) 0);
+		Arrays.fill(touched, false);
+		center = BlockPos.ORIGIN;
+		return this;
+	}
+
 	public byte[] getData() {
 		return data;
 	}
@@ -108,10 +118,13 @@ public class SimpleVoxmap {
 		return lenZ;
 	}
 
+	/**
+	 * @return The bounds of the map in the coordinates it's read and written with
+	 */
 	public BlockBounds getBounds() {
-		int minX = center.getX() - lenX + 1;
-		int minY = center.getY() - lenY + 1;
-		int minZ = center.getZ() - lenZ + 1;
+		int minX = -center.getX();
+		int minY = -center.getY();
+		int minZ = -center.getZ();
 		int maxX = minX + lenX - 1;
 		int maxY = minY + lenY - 1;
 		int maxZ = minZ + lenZ - 1;
@@ -0,0 +1,158 @@
+package com.ferreusveritas.dynamictrees.util;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.util.Random;
+
+/**
+ * A fast random number generator for growth and worldgen.  Uses xoroshiro128+ seeded through SplitMix64 so unlike
+ * {@link Random} there's no atomic update on every number and reseeding is nearly free.  Not safe to share between
+ * threads.
+ * <p>
+ * Streams are derived from the world seed and a position so a tree or chunk gets the same numbers no matter what order
+ * things happen to be generated or grown in.
+ *
+ * @author ferreusveritas
+ */
+public class SplitRandom extends Random {
+
+	private static final long serialVersionUID = 4325108723466342541L;
+
+	private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+	//Streams of a tree that are kept apart so rolling for one thing doesn't shift the numbers of another
+	public static final int GROWTH = 1;
+	public static final int ROT = 2;
+	public static final int DROPS = 3;
+
+	private static final PerDimension<TickCounter> tickCounters = new PerDimension<>(w -> new TickCounter());
+
+	//These can't have initializers since the Random constructor calls setSeed before they would run
+	private long s0;
+	private long s1;
+
+	public SplitRandom() {
+		super();
+	}
+
+	public SplitRandom(long seed) {
+		super(seed);
+	}
+
+	/**
+	 * Counts the streams handed out in the current tick of a world so a tree that is grown several times in one tick
+	 * (bonemeal, the growth scheduler) gets a fresh stream each time.
+	 */
+	private static class TickCounter {
+		World world;
+		long time;
+		long calls;
+	}
+
+	/**
+	 * Makes a stream for a tree that is different every tick, every call in a tick and for every purpose.  Replaying
+	 * the same calls in the same order on the same world seed gives the same streams.  Server thread only.
+	 *
+	 * @param world   The world
+	 * @param rootPos The position of the root block of the tree
+	 * @param stream  What the numbers will be used for. {@link #GROWTH}, {@link #ROT} or {@link #DROPS}
+	 * @return A new generator
+	 */
+	public static SplitRandom forTree(World world, BlockPos rootPos, int stream) {
+		TickCounter counter = tickCounters.get(world);
+		long time = world.getTotalWorldTime();
+		if (counter.world != world || counter.time != time) {
+			counter.world = world;
+			counter.time = time;
+			counter.calls = 0;
+		}
+		long salt = mix(time * GOLDEN + counter.calls++) + stream;
+		return new SplitRandom(seed(world.getSeed(), rootPos, salt));
+	}
+
+	/**
+	 * @param worldSeed The seed of the world
+	 * @param pos       A position
+	 * @return A seed that only depends on the world seed and the position
+	 */
+	public static long seed(long worldSeed, BlockPos pos) {
+		return seed(worldSeed, pos, 0);
+	}
+
+	public static long seed(long worldSeed, BlockPos pos, long salt) {
+		return mix(worldSeed ^ mix(pos.toLong() ^ mix(salt)));
+	}
+
+	/**
+	 * The SplitMix64 finalizer.  Spreads every bit of the input across the whole output.
+	 */
+	public static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	@Override
+	public void setSeed(long seed) {
+		s0 = mix(seed += GOLDEN);
+		s1 = mix(seed + GOLDEN);
+		if ((s0 | s1) == 0) {//The all zero state would only ever produce zeros
+			s1 = GOLDEN;
+		}
+	}
+
+	/**
+	 * @return A new generator with its own stream that is seeded from this one
+	 */
+	public SplitRandom split() {
+		return new SplitRandom(nextLong() ^ GOLDEN);
+	}
+
+	@Override
+	public long nextLong() {
+		final long a = s0;
+		long b = s1;
+		final long result = a + b;
+		b ^= a;
+		s0 = Long.rotateLeft(a, 24) ^ b ^ (b << 16);
+		s1 = Long.rotateLeft(b, 37);
+		return result;
+	}
+
+	@Override
+	protected int next(int bits) {
+		return (int) (nextLong() >>> (64 - bits));
+	}
+
+	@Override
+	public double nextDouble() {
+		return (nextLong() >>> 11) * 0x1.0p-53;
+	}
+
+	@Override
+	public float nextFloat() {
+		return (nextLong() >>> 40) * 0x1.0p-24f;
+	}
+
+	@Override
+	public boolean nextBoolean() {
+		return nextLong() < 0;
+	}
+
+	/**
+	 * Same distribution as {@link Random#nextGaussian()} but the spare value isn't kept so reseeding can't leak a value
+	 * from the old stream.
+	 */
+	@Override
+	public double nextGaussian() {
+		double v1, v2, s;
+		do {
+			v1 = 2 * nextDouble() - 1;
+			v2 = 2 * nextDouble() - 1;
+			s = v1 * v1 + v2 * v2;
+		} while (s >= 1 || s == 0);
+		return v1 * StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+	}
+
+}
@@ -1,7 +1,11 @@
 package com.ferreusveritas.dynamictrees.worldgen;
 
+import com.ferreusveritas.dynamictrees.api.worldgen.BiomePropertySelectors.IDensitySelector;
 import com.ferreusveritas.dynamictrees.api.worldgen.IRadiusCoordinator;
+import com.ferreusveritas.dynamictrees.util.SplitRandom;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
@@ -12,11 +16,21 @@ import java.util.function.Function;
 
 public class BiomeRadiusCoordinator implements IRadiusCoordinator {
 
+	private static final int SNAPSHOTCHUNKS = 6;//The disc solver asks about coordinates from 2 chunks before to 3 chunks after the chunk being solved
+	private static final int MAXCACHEDCHUNKS = 1024;
+	private static final double NOISESCALE = 128;//Effectively scales up the noisemap
+	private static final long DENSITYSALT = 0x44656E73L;//Keeps the density stream apart from other streams of the chunk
+
 	public NoiseGeneratorPerlin noiseGenerator;
 	protected final TreeGenerator treeGenerator;
 	protected final World world;
 	protected int pass;
 	protected Function<Integer, Integer> chunkMultipass;
+	protected Random densityRandom;
+
+	//The density selectors of each block of the chunks that have been snapshotted.  Main thread only.
+	private final Long2ObjectLinkedOpenHashMap<IDensitySelector[]> densityCache = new Long2ObjectLinkedOpenHashMap<>();
+	private BiomeDataBase densityCacheDataBase;
 
 	public BiomeRadiusCoordinator(TreeGenerator treeGenerator, World world) {
 		noiseGenerator = new NoiseGeneratorPerlin(new Random(96), 1);
@@ -32,13 +46,26 @@ public class BiomeRadiusCoordinator implements IRadiusCoordinator {
 			return rad;
 		}
 
-		double scale = 128;//Effectively scales up the noisemap
-		Biome biome = world.getBiome(new BlockPos(x + 8, 0, z + 8));//Placement is offset by +8,+8
-		double noiseDensity = (noiseGenerator.getValue(x / scale, z / scale) + 1D) / 2.0D;//Gives 0.0 to 1.0
-		double density = treeGenerator.getBiomeDataBase(world).getDensity(biome).getDensity(world.rand, noiseDensity);
+		int bx = x + 8;//Placement is offset by +8,+8
+		int bz = z + 8;
+		IDensitySelector densitySelector = getDensitySelectors(getDataBase(), bx >> 4, bz >> 4)[(bz & 15) << 4 | (bx & 15)];
+		double noise = BiomeSampleCache.get(world).getNoise(x, z, noiseGenerator, NOISESCALE);
+		return getRadius(densitySelector, densityRandom, noise, x, z);
+	}
+
+	protected int getRadius(IDensitySelector densitySelector, Random random, int x, int z) {
+		return getRadius(densitySelector, random, noiseGenerator.getValue(x / NOISESCALE, z / NOISESCALE), x, z);
+	}
+
+	/**
+	 * @param noise The raw value of the noise generator at the coordinates
+	 */
+	protected int getRadius(IDensitySelector densitySelector, Random random, double noise, int x, int z) {
+		double noiseDensity = (noise + 1D) / 2.0D;//Gives 0.0 to 1.0
+		double density = densitySelector.getDensity(random, noiseDensity);
 		double size = ((1.0 - density) * 9);//Size is the inverse of density(Gives 0 to 9)
 
-		//Oh Joy. Random can potentially start with the same number for each chunk. Let's just 
+		//Oh Joy. Random can potentially start with the same number for each chunk. Let's just
 		//throw this large prime xor hack in there to get it to at least look like it's random.
 		int kindaRandom = ((x * 674365771) ^ (z * 254326997)) >> 4;
 		int shakelow = (kindaRandom & 0x3) % 3;//Produces 0,0,1 or 2
@@ -52,11 +79,115 @@ public class BiomeRadiusCoordinator implements IRadiusCoordinator {
 		this.pass = pass;
 
 		if (pass == 0) {
-			Biome biome = world.getBiome(new BlockPos((chunkX << 4) + 8, 0, (chunkZ << 4) + 8));//Aim at center of chunk
+			Biome biome = BiomeSampleCache.get(world).getBiome((chunkX << 4) + 8, (chunkZ << 4) + 8);//Aim at center of chunk
 			chunkMultipass = treeGenerator.getBiomeDataBase(world).getMultipass(biome);
+			densityRandom = getDensityRandom(chunkX, chunkZ);
 		}
 
 		return chunkMultipass.apply(pass) >= 0;
 	}
 
+	/**
+	 * Resolves the biomes and density selectors of the surrounding chunks up front so the snapshot never has to touch
+	 * the world.  Density selectors draw from the same {@link #getDensityRandom random} they would on the main thread.
+	 */
+	@Override
+	public IRadiusCoordinator snapshot(int chunkX, int chunkZ) {
+		BiomeDataBase dbase = getDataBase();
+
+		int originChunkX = chunkX - 2;
+		int originChunkZ = chunkZ - 2;
+		IDensitySelector[][] chunks = new IDensitySelector[SNAPSHOTCHUNKS * SNAPSHOTCHUNKS][];
+		for (int cz = 0; cz < SNAPSHOTCHUNKS; cz++) {
+			for (int cx = 0; cx < SNAPSHOTCHUNKS; cx++) {
+				chunks[cz * SNAPSHOTCHUNKS + cx] = getDensitySelectors(dbase, originChunkX + cx, originChunkZ + cz);
+			}
+		}
+
+		Biome biome = BiomeSampleCache.get(world).getBiome((chunkX << 4) + 8, (chunkZ << 4) + 8);//Aim at center of chunk
+		return new Snapshot(chunks, originChunkX, originChunkZ, dbase.getMultipass(biome), getDensityRandom(chunkX, chunkZ));
+	}
+
+	/**
+	 * @return The random the density selectors draw from while the discs of a chunk are solved.  It only depends on the
+	 * world seed and the chunk so the densities come out the same whichever thread solves the chunk.
+	 */
+	protected Random getDensityRandom(int chunkX, int chunkZ) {
+		return new SplitRandom(SplitRandom.seed(world.getSeed(), new BlockPos(chunkX, 0, chunkZ), DENSITYSALT));
+	}
+
+	private BiomeDataBase getDataBase() {
+		BiomeDataBase dbase = treeGenerator.getBiomeDataBase(world);
+		if (dbase != densityCacheDataBase) {//The database was swapped out from under us
+			densityCache.clear();
+			densityCacheDataBase = dbase;
+		}
+		return dbase;
+	}
+
+	private IDensitySelector[] getDensitySelectors(BiomeDataBase dbase, int chunkX, int chunkZ) {
+		long key = ChunkPos.asLong(chunkX, chunkZ);
+		IDensitySelector[] selectors = densityCache.getAndMoveToLast(key);
+
+		if (selectors == null) {
+			selectors = new IDensitySelector[256];
+			Biome[] biomes = BiomeSampleCache.get(world).getBiomes(chunkX, chunkZ);
+			for (int i = 0; i < 256; i++) {
+				selectors[i] = dbase.getDensity(biomes[i]);
+			}
+
+			if (densityCache.size() >= MAXCACHEDCHUNKS) {
+				densityCache.removeFirst();
+			}
+			densityCache.putAndMoveToLast(key, selectors);
+		}
+
+		return selectors;
+	}
+
+	/**
+	 * A read only copy of the coordinator for the neighborhood of a single chunk.
+	 */
+	private class Snapshot implements IRadiusCoordinator {
+
+		private final IDensitySelector[][] chunks;
+		private final int originX;
+		private final int originZ;
+		private final Function<Integer, Integer> multipass;
+		private final Random random;
+		private int pass;
+
+		private Snapshot(IDensitySelector[][] chunks, int originChunkX, int originChunkZ, Function<Integer, Integer> multipass, Random random) {
+			this.chunks = chunks;
+			this.originX = originChunkX << 4;
+			this.originZ = originChunkZ << 4;
+			this.multipass = multipass;
+			this.random = random;
+		}
+
+		@Override
+		public int getRadiusAtCoords(int x, int z) {
+
+			int rad = multipass.apply(pass);
+			if (rad >= 2 && rad <= 8) {
+				return rad;
+			}
+
+			int bx = x + 8 - originX;//Placement is offset by +8,+8
+			int bz = z + 8 - originZ;
+			if (bx < 0 || bz < 0 || bx >= SNAPSHOTCHUNKS * 16 || bz >= SNAPSHOTCHUNKS * 16) {
+				throw new IllegalStateException("Radius requested outside of the snapshot at " + x + ", " + z);
+			}
+
+			return getRadius(chunks[(bz >> 4) * SNAPSHOTCHUNKS + (bx >> 4)][(bz & 15) << 4 | (bx & 15)], random, x, z);
+		}
+
+		@Override
+		public boolean runPass(int chunkX, int chunkZ, int pass) {
+			this.pass = pass;
+			return multipass.apply(pass) >= 0;
+		}
+
+	}
+
 }
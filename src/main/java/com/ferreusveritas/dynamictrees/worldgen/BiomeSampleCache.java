@@ -0,0 +1,152 @@
+package com.ferreusveritas.dynamictrees.worldgen;
+
+import com.ferreusveritas.dynamictrees.DynamicTrees;
+import com.ferreusveritas.dynamictrees.ModConfigs;
+import com.ferreusveritas.dynamictrees.util.PerDimension;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.gen.NoiseGeneratorPerlin;
+
+import java.util.Arrays;
+
+/**
+ * The biome and density noise of every column of the chunks that worldgen has recently asked about.  Placing the discs
+ * of a chunk asks about the same 3x3 chunk neighborhood over and over and every tree placed asks for its biome again
+ * so after the first question about a column the rest are array reads.
+ * <p>
+ * The biomes of a chunk are all sampled the first time it's asked about and the noise of a column is sampled the first
+ * time it's needed.  Only the most recently used {@link #MAXCACHEDCHUNKS} chunks are kept.  Main thread only.
+ *
+ * @author ferreusveritas
+ */
+public class BiomeSampleCache {
+
+	private static final int MAXCACHEDCHUNKS = 1024;
+	private static final int REPORTPOPULATIONS = 256;
+
+	private static final PerDimension<BiomeSampleCache> caches = new PerDimension<>(BiomeSampleCache::new);
+
+	private final World world;
+	private final Long2ObjectLinkedOpenHashMap<Samples> chunks = new Long2ObjectLinkedOpenHashMap<>();
+	private NoiseGeneratorPerlin noiseGenerator;//The generator the cached noise came from
+
+	private long biomeHits;
+	private long biomeMisses;
+	private long noiseHits;
+	private long noiseMisses;
+	private int populations;
+
+	private static class Samples {
+
+		private Biome[] biomes;
+		private double[] noise;
+
+	}
+
+	private BiomeSampleCache(World world) {
+		this.world = world;
+	}
+
+	public static BiomeSampleCache get(World world) {
+		return caches.get(world);
+	}
+
+	private Samples getSamples(int chunkX, int chunkZ) {
+		long key = ChunkPos.asLong(chunkX, chunkZ);
+		Samples samples = chunks.getAndMoveToLast(key);
+
+		if (samples == null) {
+			if (chunks.size() >= MAXCACHEDCHUNKS) {
+				chunks.removeFirst();
+			}
+			chunks.putAndMoveToLast(key, samples = new Samples());
+		}
+
+		return samples;
+	}
+
+	/**
+	 * @return The biomes of every column of a chunk indexed by z << 4 | x.  Must not be changed
+	 */
+	public Biome[] getBiomes(int chunkX, int chunkZ) {
+		Samples samples = getSamples(chunkX, chunkZ);
+
+		if (samples.biomes == null) {
+			biomeMisses++;
+			Biome[] biomes = new Biome[256];
+			BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+			for (int z = 0; z < 16; z++) {
+				for (int x = 0; x < 16; x++) {
+					biomes[z << 4 | x] = world.getBiome(pos.setPos((chunkX << 4) | x, 0, (chunkZ << 4) | z));
+				}
+			}
+			return samples.biomes = biomes;
+		}
+
+		biomeHits++;
+		return samples.biomes;
+	}
+
+	public Biome getBiome(int x, int z) {
+		return getBiomes(x >> 4, z >> 4)[(z & 15) << 4 | (x & 15)];
+	}
+
+	/**
+	 * @param x              The x coordinate of the column
+	 * @param z              The z coordinate of the column
+	 * @param noiseGenerator The noise generator to sample
+	 * @param scale          Divides the coordinates before sampling.  Must be the same for every call
+	 * @return The value of the noise at the column
+	 */
+	public double getNoise(int x, int z, NoiseGeneratorPerlin noiseGenerator, double scale) {
+		if (noiseGenerator != this.noiseGenerator) {//Noise from a different generator is useless
+			for (Samples samples : chunks.values()) {
+				samples.noise = null;
+			}
+			this.noiseGenerator = noiseGenerator;
+		}
+
+		Samples samples = getSamples(x >> 4, z >> 4);
+		if (samples.noise == null) {
+			Arrays.fill(samples.noise = new double[256], Double.NaN);
+		}
+
+		int i = (z & 15) << 4 | (x & 15);
+		double value = samples.noise[i];
+		if (Double.isNaN(value)) {
+			noiseMisses++;
+			return samples.noise[i] = noiseGenerator.getValue(x / scale, z / scale);
+		}
+
+		noiseHits++;
+		return value;
+	}
+
+	/**
+	 * Counts the population of a chunk and logs how well the cache is doing every {@link #REPORTPOPULATIONS}
+	 * populations while worldgen debugging is turned on.
+	 */
+	public void onPopulated() {
+		if (ModConfigs.worldGenDebug && ++populations % REPORTPOPULATIONS == 0) {
+			DynamicTrees.log.info(String.format("Biome sample cache for dimension %d: %d chunks, %.1f%% biome hits, %.1f%% noise hits",
+				world.provider.getDimension(), chunks.size(), getHitRate(biomeHits, biomeMisses) * 100, getHitRate(noiseHits, noiseMisses) * 100));
+		}
+	}
+
+	private static float getHitRate(long hits, long misses) {
+		long total = hits + misses;
+		return total > 0 ? hits / (float) total : 0;
+	}
+
+	public float getBiomeHitRate() {
+		return getHitRate(biomeHits, biomeMisses);
+	}
+
+	public float getNoiseHitRate() {
+		return getHitRate(noiseHits, noiseMisses);
+	}
+
+}
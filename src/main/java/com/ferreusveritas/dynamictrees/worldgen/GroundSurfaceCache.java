@@ -0,0 +1,190 @@
+package com.ferreusveritas.dynamictrees.worldgen;
+
+import com.ferreusveritas.dynamictrees.worldgen.WorldGeneratorTrees.GroundFinder;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.block.Block;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.MutableBlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+/**
+ * A {@link GroundFinder} for the population of a single chunk.  Every tree placed while populating a chunk stands in
+ * the 16x16 block area that is offset 8 blocks into the chunk so that area is all this cache knows about.
+ * <p>
+ * The ground of every column of the area is found in one go from the chunk height maps and sections the first time any
+ * disc asks for it so every disc after that is a lookup.  The subterranean layers of every column are worked out the
+ * same way the first time a subterranean biome asks for them.  The searches read straight from the chunk sections,
+ * skipping sections that are entirely air.  Since the whole area is done up front the ground is the ground from before
+ * any tree of the chunk was placed.  Positions outside of the area are handed to the plain {@link GroundFinder}.
+ *
+ * @author ferreusveritas
+ */
+public class GroundSurfaceCache extends GroundFinder {
+
+	private static final int NOGROUND = -1;
+
+	private final World world;
+	private final int chunkX;
+	private final int chunkZ;
+	private final int originX;
+	private final int originZ;
+	private final Chunk[] chunks = new Chunk[4];//The 2x2 chunks the area straddles
+	private int[] surface;//Height of the overworld ground of each column
+	private int[] layerStarts;//Where the layers of each column start in the layer heights. One more than there are columns
+	private final IntArrayList layerHeights = new IntArrayList();//Heights of the subterranean layers of every column one after the other
+	private final MutableBlockPos mPos = new MutableBlockPos();
+
+	/**
+	 * @param world  The world
+	 * @param chunkX The x coordinate of the chunk being populated
+	 * @param chunkZ The z coordinate of the chunk being populated
+	 */
+	public GroundSurfaceCache(World world, int chunkX, int chunkZ) {
+		this.world = world;
+		this.chunkX = chunkX;
+		this.chunkZ = chunkZ;
+		this.originX = (chunkX << 4) + 8;
+		this.originZ = (chunkZ << 4) + 8;
+	}
+
+	private int getColumn(BlockPos pos) {
+		int dx = pos.getX() - originX;
+		int dz = pos.getZ() - originZ;
+		return dx >= 0 && dx < 16 && dz >= 0 && dz < 16 ? dz << 4 | dx : -1;
+	}
+
+	private Chunk getChunk(int x, int z) {
+		int i = ((x >> 4) - chunkX) | ((z >> 4) - chunkZ) << 1;
+		Chunk chunk = chunks[i];
+		if (chunk == null) {
+			chunk = chunks[i] = world.getChunkFromChunkCoords(x >> 4, z >> 4);
+		}
+		return chunk;
+	}
+
+	@Override
+	protected BlockPos findOverworldGround(World world, BlockPos start) {
+		int column = getColumn(start);
+		if (column < 0 || world != this.world) {
+			return super.findOverworldGround(world, start);
+		}
+
+		if (surface == null) {
+			surface = new int[256];
+			for (int i = 0; i < 256; i++) {
+				surface[i] = findOverworldGround(originX + (i & 15), originZ + (i >> 4));
+			}
+		}
+
+		int y = surface[column];
+		return y == NOGROUND ? BlockPos.ORIGIN : new BlockPos(start.getX(), y, start.getZ());
+	}
+
+	/**
+	 * Same search as {@link GroundFinder#findOverworldGround(World, BlockPos)}.  Starts 2 blocks over the height map
+	 * and works down until it hits something solid that isn't part of a tree.
+	 */
+	private int findOverworldGround(int x, int z) {
+		Chunk chunk = getChunk(x, z);
+		ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+		int lx = x & 15;
+		int lz = z & 15;
+
+		for (int y = chunk.getHeightValue(lx, lz) + 2; y >= 0 && y <= 255; y--) {
+			ExtendedBlockStorage section = sections[y >> 4];
+			if (section == Chunk.NULL_BLOCK_STORAGE) {
+				y &= ~15;//Nothing but air in here.  Skip to the bottom of the section
+				continue;
+			}
+
+			IBlockState state = section.get(lx, y & 15, lz);
+			Block testBlock = state.getBlock();
+
+			if (testBlock != Blocks.AIR) {
+				Material material = state.getMaterial();
+				if (material == Material.GROUND || material == Material.WATER) {//These will account for > 90% of blocks in the world so we can solve this early
+					return y;
+				}
+				mPos.setPos(x, y, z);
+				if (material.blocksMovement() && !testBlock.isLeaves(state, world, mPos) && !testBlock.isFoliage(world, mPos)) {
+					return y;
+				}
+			}
+		}
+
+		return NOGROUND;
+	}
+
+	@Override
+	protected BlockPos findSubterraneanGround(World world, BlockPos start) {
+		int column = getColumn(start);
+		if (column < 0 || world != this.world) {
+			return super.findSubterraneanGround(world, start);
+		}
+
+		if (layerStarts == null) {
+			layerStarts = new int[257];
+			for (int i = 0; i < 256; i++) {
+				layerStarts[i] = layerHeights.size();
+				findSubterraneanLayerHeights(originX + (i & 15), originZ + (i >> 4));
+			}
+			layerStarts[256] = layerHeights.size();
+		}
+
+		int first = layerStarts[column];
+		int count = layerStarts[column + 1] - first;
+		if (count < 1) {
+			return BlockPos.ORIGIN;
+		}
+		int y = layerHeights.getInt(first + world.rand.nextInt(count));
+
+		return new BlockPos(start.getX(), y, start.getZ());
+	}
+
+	/**
+	 * Same search as {@link GroundFinder#findSubterraneanLayerHeights(World, BlockPos)} without the boxing.  The layers
+	 * are added to the end of the layer heights.
+	 */
+	private void findSubterraneanLayerHeights(int x, int z) {
+		Chunk chunk = getChunk(x, z);
+		int first = layerHeights.size();
+
+		int y = 0;
+		while (inNetherRange(y)) {
+			while (!isReplaceable(chunk, x, y, z) && inNetherRange(y)) {
+				y += 4;
+			} //Zip up 4 blocks at a time until we hit air
+			while (isReplaceable(chunk, x, y, z) && inNetherRange(y)) {
+				y--;
+			} //Move down 1 block at a time until we hit not-air
+			layerHeights.add(y); //Record this position
+			y += 16; //Move up 16 blocks
+			while (isReplaceable(chunk, x, y, z) && inNetherRange(y)) {
+				y += 4;
+			} //Zip up 4 blocks at a time until we hit ground
+		}
+
+		//Discard the last result as it's just the top of the biome(bedrock for nether)
+		if (layerHeights.size() > first) {
+			layerHeights.removeInt(layerHeights.size() - 1);
+		}
+	}
+
+	private boolean inNetherRange(int y) {
+		return y >= 0 && y <= 128;
+	}
+
+	private boolean isReplaceable(Chunk chunk, int x, int y, int z) {
+		if (y < 0 || y > 255) {//Same as the world answers outside of the build height
+			return true;
+		}
+		IBlockState state = chunk.getBlockState(x, y, z);
+		return state.getBlock().isReplaceable(world, mPos.setPos(x, y, z)) && !state.getMaterial().isLiquid();
+	}
+
+}
@@ -17,9 +17,11 @@ import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeCollector;
 import com.ferreusveritas.dynamictrees.systems.nodemappers.NodeFindEnds;
 import com.ferreusveritas.dynamictrees.trees.Species;
 import com.ferreusveritas.dynamictrees.trees.TreeFamily;
+import com.ferreusveritas.dynamictrees.util.CoordUtils;
 import com.ferreusveritas.dynamictrees.util.SafeChunkBounds;
 import com.ferreusveritas.dynamictrees.util.SimpleVoxmap;
 import com.ferreusveritas.dynamictrees.util.SimpleVoxmap.Cell;
+import it.unimi.dsi.fastutil.longs.LongIterator;
 import net.minecraft.block.Block;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
@@ -49,8 +51,16 @@ public class JoCode {
 
 	public static boolean secondChanceRegen = false;//Ensures second chance regen doesn't recurse too far
 
+	private static final ClassValue<Boolean> standardWalks = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> codeClass) {
+			return hasStandardWalk(codeClass);
+		}
+	};
+
 	public byte[] instructions = new byte[0];
 	protected boolean careful = false;//If true the code checks for surrounding branches while building to avoid making frankentrees.  Safer but slower.
+	private final boolean standardWalk = standardWalks.get(getClass());//True if the instructions can be walked without the overridable hooks
 
 	/**
 	 * @param world   The world
@@ -103,7 +113,11 @@ public class JoCode {
 
 	//"Pointers" to the current rotation direction.
 	private byte[] facingMap = dirmap[2];//Default to NORTH(Effectively an identity matrix)
-	private byte[] unfacingMap = dirmap[2];//Default to NORTH(Effectively an identity matrix)
+	private int facingNum = 2;//Default to NORTH
+
+	//The instructions already mapped through the unfacing matrix of every facing.  Facings that share a matrix share an array.
+	private byte[][] compiled;
+	private byte[] compiledFrom;//The instruction array the compiled arrays were made from
 
 	/**
 	 * Get the instruction at a locus. Automatically performs rotation based on what facing matrix is selected.
@@ -112,7 +126,73 @@ public class JoCode {
 	 * @return
 	 */
 	protected int getCode(int pos) {
-		return unfacingMap[instructions[pos]];
+		return getCompiled()[pos];
+	}
+
+	/**
+	 * Maps the instructions through each of the 4 horizontal rotations up front so generating a tree is a straight read
+	 * of the instructions.  This happens on its own the first time the code is used after the instructions change.
+	 *
+	 * @return this
+	 */
+	public JoCode compile() {
+		byte[][] rotations = new byte[dirmap.length][];
+
+		for (int faceNum = 0; faceNum < dirmap.length; faceNum++) {
+			int unfaceNum = getUnfacingNum(faceNum);
+			if (unfaceNum <= 2) {
+				unfaceNum = 2;//Down and Up are the same as North
+			}
+			if (rotations[unfaceNum] == null) {
+				byte[] unfacingMap = dirmap[unfaceNum];
+				byte[] rotation = new byte[instructions.length];
+				for (int c = 0; c < instructions.length; c++) {
+					rotation[c] = unfacingMap[instructions[c]];
+				}
+				rotations[unfaceNum] = rotation;
+			}
+			rotations[faceNum] = rotations[unfaceNum];
+		}
+
+		compiled = rotations;
+		compiledFrom = instructions;
+		return this;
+	}
+
+	/**
+	 * @return The instructions mapped for the active facing
+	 */
+	protected byte[] getCompiled() {
+		if (compiledFrom != instructions) {
+			compile();
+		}
+		return compiled[facingNum];
+	}
+
+	/**
+	 * Determines if a code class reads and draws its instructions with the functions of this class.  Classes that
+	 * override {@link #getCode} or {@link #generateFork} are drawn through their overrides instead.
+	 */
+	private static boolean hasStandardWalk(Class<?> codeClass) {
+		for (Class<?> c = codeClass; c != JoCode.class; c = c.getSuperclass()) {
+			try {
+				c.getDeclaredMethod("getCode", int.class);
+				return false;
+			} catch (NoSuchMethodException e) {
+				//Not declared here.  Try the generateFork.
+			}
+			try {
+				c.getDeclaredMethod("generateFork", World.class, Species.class, int.class, BlockPos.class, boolean.class);
+				return false;
+			} catch (NoSuchMethodException e) {
+				//Not declared here.  Try the superclass.
+			}
+		}
+		return true;
+	}
+
+	private static int getUnfacingNum(int faceNum) {
+		return (faceNum == 4) ? 5 : (faceNum == 5) ? 4 : faceNum;//Swap West and East
 	}
 
 	/**
@@ -122,10 +202,8 @@ public class JoCode {
 	 * @return
 	 */
 	public JoCode setFacing(EnumFacing facing) {
-		int faceNum = facing.ordinal();
-		facingMap = dirmap[faceNum];
-		faceNum = (faceNum == 4) ? 5 : (faceNum == 5) ? 4 : faceNum;//Swap West and East
-		unfacingMap = dirmap[faceNum];
+		facingNum = facing.ordinal();
+		facingMap = dirmap[facingNum];
 		return this;
 	}
 
@@ -140,6 +218,7 @@ public class JoCode {
 		for (int c = 0; c < instructions.length; c++) {
 			instructions[c] = facingMap[instructions[c]];
 		}
+		compiledFrom = null;//The instructions were changed in place
 		return this;
 	}
 
@@ -164,85 +243,103 @@ public class JoCode {
 		BlockPos rootPos = species.preGeneration(world, rootPosIn, radius, facing, safeBounds, this);
 
 		if (rootPos != BlockPos.ORIGIN) {
-			IBlockState initialDirtState = world.getBlockState(rootPos);//Save the initial state of the dirt in case this fails
-			species.placeRootyDirtBlock(world, rootPos, 0);//Set to unfertilized rooty dirt
-
-			//Make the tree branch structure
-			generateFork(world, species, 0, rootPos, false);
-
-			// Establish a position for the bottom block of the trunk
-			BlockPos treePos = rootPos.up();
-
-			// Fix branch thicknesses and map out leaf locations
-			IBlockState treeState = world.getBlockState(treePos);
-			BlockBranch branch = TreeHelper.getBranch(treeState);
-			if (branch != null) {// If a branch exists then the growth was successful
-				ILeavesProperties leavesProperties = species.getLeavesProperties();
-				SimpleVoxmap leafMap = new SimpleVoxmap(radius * 2 + 1, species.getWorldGenLeafMapHeight(), radius * 2 + 1).setMapAndCenter(treePos, new BlockPos(radius, 0, radius));
-				INodeInspector inflator = species.getNodeInflator(leafMap);// This is responsible for thickening the branches
-				NodeFindEnds endFinder = new NodeFindEnds();// This is responsible for gathering a list of branch end points
-				MapSignal signal = new MapSignal(inflator, endFinder);// The inflator signal will "paint" a temporary voxmap of all of the leaves and branches.
-				signal.destroyLoopedNodes = careful;// During worldgen we will not destroy looped nodes
-				branch.analyse(treeState, world, treePos, EnumFacing.DOWN, signal);
-				if (signal.found || signal.overflow) {// Something went terribly wrong.
-					DynamicTrees.log.debug("Non-viable branch network detected during world generation @ " + treePos);
-					DynamicTrees.log.debug("Species: " + species);
-					DynamicTrees.log.debug("Radius: " + radius);
-					DynamicTrees.log.debug("JoCode: " + this);
-
-					// Completely blow away any improperly defined network nodes
-					cleanupFrankentree(world, treePos, treeState, endFinder.getEnds(), safeBounds);
-					// Now that everything is clear we may as well regenerate the tree that screwed everything up.
-					if (!secondChanceRegen) {
-						secondChanceRegen = true;
-						generate(world, species, rootPosIn, biome, facing, radius, safeBounds);
-					}
-					secondChanceRegen = false;
-					return;
+			JoCodeGenerationContext context = JoCodeGenerationContext.acquire();
+			try {
+				IBlockState initialDirtState = world.getBlockState(rootPos);//Save the initial state of the dirt in case this fails
+				species.placeRootyDirtBlock(world, rootPos, 0);//Set to unfertilized rooty dirt
+
+				//Make the tree branch structure
+				if (standardWalk) {
+					generateFork(world, species, 0, rootPos.getX(), rootPos.getY(), rootPos.getZ(), false, getCompiled(), context);
+				} else {
+					generateFork(world, species, 0, rootPos, false);
 				}
-				List<BlockPos> endPoints = endFinder.getEnds();
-
-				smother(leafMap, leavesProperties);//Use the voxmap to precompute leaf smothering so we don't have to age it as many times.
-
-				//Place Growing Leaves Blocks from voxmap
-				for (Cell cell : leafMap.getAllNonZeroCells((byte) 0x0F)) {//Iterate through all of the cells that are leaves(not air or branches)
-					MutableBlockPos cellPos = cell.getPos();
-					if (safeBounds.inBounds(cellPos, false)) {
-						IBlockState testBlockState = world.getBlockState(cellPos);
-						Block testBlock = testBlockState.getBlock();
-						if (testBlock.isReplaceable(world, cellPos)) {
-							world.setBlockState(cellPos, leavesProperties.getDynamicLeavesState(cell.getValue()), worldGen ? 16 : 2);//Flag 16 to prevent observers from causing cascading lag
+
+				// Establish a position for the bottom block of the trunk
+				BlockPos treePos = rootPos.up();
+
+				// Fix branch thicknesses and map out leaf locations
+				IBlockState treeState = world.getBlockState(treePos);
+				BlockBranch branch = TreeHelper.getBranch(treeState);
+				if (branch != null) {// If a branch exists then the growth was successful
+					ILeavesProperties leavesProperties = species.getLeavesProperties();
+					SimpleVoxmap leafMap = context.getLeafMap(radius, species.getWorldGenLeafMapHeight()).setMapAndCenter(treePos, new BlockPos(radius, 0, radius));
+					INodeInspector inflator = species.getNodeInflator(leafMap);// This is responsible for thickening the branches
+					NodeFindEnds endFinder = new NodeFindEnds();// This is responsible for gathering a list of branch end points
+					MapSignal signal = new MapSignal(inflator, endFinder);// The inflator signal will "paint" a temporary voxmap of all of the leaves and branches.
+					signal.destroyLoopedNodes = careful;// During worldgen we will not destroy looped nodes
+					branch.analyse(treeState, world, treePos, EnumFacing.DOWN, signal);
+					if (signal.found || signal.overflow) {// Something went terribly wrong.
+						DynamicTrees.log.debug("Non-viable branch network detected during world generation @ " + treePos);
+						DynamicTrees.log.debug("Species: " + species);
+						DynamicTrees.log.debug("Radius: " + radius);
+						DynamicTrees.log.debug("JoCode: " + this);
+
+						// Completely blow away any improperly defined network nodes
+						cleanupFrankentree(world, treePos, treeState, endFinder.getEnds(), safeBounds);
+						// Now that everything is clear we may as well regenerate the tree that screwed everything up.
+						if (!secondChanceRegen) {
+							secondChanceRegen = true;
+							generate(world, species, rootPosIn, biome, facing, radius, safeBounds);
 						}
-					} else {
-						leafMap.setVoxel(cellPos, (byte) 0);
+						secondChanceRegen = false;
+						return;
+					}
+					List<BlockPos> endPoints = endFinder.getEnds();
+
+					smother(leafMap, leavesProperties);//Use the voxmap to precompute leaf smothering so we don't have to age it as many times.
+
+					//Place Growing Leaves Blocks from voxmap
+					WorldGenSectionWriter writer = worldGen && WorldGenSectionWriter.isEnabled(world) ? context.getWriter(world) : null;
+					for (Cell cell : leafMap.getAllNonZeroCells((byte) 0x0F)) {//Iterate through all of the cells that are leaves(not air or branches)
+						MutableBlockPos cellPos = cell.getPos();
+						if (safeBounds.inBounds(cellPos, false)) {
+							IBlockState testBlockState = writer != null ? writer.getBlockState(cellPos) : world.getBlockState(cellPos);
+							Block testBlock = testBlockState.getBlock();
+							if (testBlock.isReplaceable(world, cellPos)) {
+								IBlockState leavesState = leavesProperties.getDynamicLeavesState(cell.getValue());
+								if (writer != null) {
+									writer.setBlockState(cellPos, leavesState, 16);
+								} else {
+									world.setBlockState(cellPos, leavesState, worldGen ? 16 : 2);//Flag 16 to prevent observers from causing cascading lag
+								}
+							}
+						} else {
+							leafMap.setVoxel(cellPos, (byte) 0);
+						}
+					}
+					if (writer != null) {
+						writer.finish();
 					}
-				}
 
-				//Shrink the leafMap down by the safeBounds object so that the aging process won't look for neighbors outside of the bounds.
-				for (Cell cell : leafMap.getAllNonZeroCells()) {
-					MutableBlockPos cellPos = cell.getPos();
-					if (!safeBounds.inBounds(cellPos, true)) {
-						leafMap.setVoxel(cellPos, (byte) 0);
+					//Shrink the leafMap down by the safeBounds object so that the aging process won't look for neighbors outside of the bounds.
+					for (Cell cell : leafMap.getAllNonZeroCells()) {
+						MutableBlockPos cellPos = cell.getPos();
+						if (!safeBounds.inBounds(cellPos, true)) {
+							leafMap.setVoxel(cellPos, (byte) 0);
+						}
 					}
-				}
 
-				//Age volume for 3 cycles using a leafmap
-				TreeHelper.ageVolume(world, leafMap, species.getWorldGenAgeIterations(), safeBounds);
+					//Age volume for 3 cycles using a leafmap
+					TreeHelper.ageVolume(world, leafMap, species.getWorldGenAgeIterations(), safeBounds);
 
-				//Rot the unsupported branches
-				if (species.handleRot(world, endPoints, rootPos, treePos, 0, safeBounds)) {
-					return;//The entire tree rotted away before it had a chance
-				}
+					//Rot the unsupported branches
+					if (species.handleRot(world, endPoints, rootPos, treePos, 0, safeBounds)) {
+						return;//The entire tree rotted away before it had a chance
+					}
 
-				//Allow for special decorations by the tree itself
-				species.postGeneration(world, rootPos, biome, radius, endPoints, safeBounds, initialDirtState);
-				MinecraftForge.EVENT_BUS.post(new SpeciesPostGenerationEvent(world, species, rootPos, endPoints, safeBounds, initialDirtState));
+					//Allow for special decorations by the tree itself
+					species.postGeneration(world, rootPos, biome, radius, endPoints, safeBounds, initialDirtState);
+					MinecraftForge.EVENT_BUS.post(new SpeciesPostGenerationEvent(world, species, rootPos, endPoints, safeBounds, initialDirtState));
 
-				//Add snow to parts of the tree in chunks where snow was already placed
-				addSnow(leafMap, world, rootPos, biome);
+					//Add snow to parts of the tree in chunks where snow was already placed
+					addSnow(leafMap, world, rootPos, biome);
 
-			} else { //The growth failed.. turn the soil back to what it was
-				world.setBlockState(rootPos, initialDirtState, careful ? 3 : 2);
+				} else { //The growth failed.. turn the soil back to what it was
+					world.setBlockState(rootPos, initialDirtState, careful ? 3 : 2);
+				}
+			} finally {
+				context.release();
 			}
 		}
 	}
@@ -251,14 +348,16 @@ public class JoCode {
 	 * Attempt to clean up fused trees that have multiple root blocks by simply destroying them both messily
 	 */
 	protected void cleanupFrankentree(World world, BlockPos treePos, IBlockState treeState, List<BlockPos> endPoints, SafeChunkBounds safeBounds) {
-		Set<BlockPos> blocksToDestroy = new HashSet<>();
+		NodeCollector blocksToDestroy = new NodeCollector();
 		BlockBranch branch = TreeHelper.getBranch(treeState);
-		MapSignal signal = new MapSignal(new NodeCollector(blocksToDestroy));
+		MapSignal signal = new MapSignal(blocksToDestroy);
 		signal.destroyLoopedNodes = false;
 		signal.trackVisited = true;
 		branch.analyse(treeState, world, treePos, null, signal);
 		BlockBranch.destroyMode = EnumDestroyMode.IGNORE;
-		for (BlockPos pos : blocksToDestroy) {
+		MutableBlockPos pos = new MutableBlockPos();
+		for (LongIterator iter = blocksToDestroy.iterator(); iter.hasNext(); ) {
+			CoordUtils.setPos(pos, iter.nextLong());
 			if (safeBounds.inBounds(pos, false)) {
 				IBlockState branchState = world.getBlockState(pos);
 				Optional<BlockBranch> branchBlock = TreeHelper.getBranchOpt(branchState);
@@ -309,6 +408,10 @@ public class JoCode {
 
 	/**
 	 * Recursive function that "draws" a branch of a tree
+	 * <p>
+	 * Codes that keep to the {@link #getCode} and {@link #generateFork} of this class are drawn without recursion by an
+	 * explicit stack of forks.  Subclasses that override either are drawn by this recursion so their overrides are
+	 * called for every instruction and every fork as they always were.
 	 *
 	 * @param world
 	 * @param species
@@ -318,6 +421,14 @@ public class JoCode {
 	 * @return
 	 */
 	protected int generateFork(World world, Species species, int codePos, BlockPos pos, boolean disabled) {
+		if (standardWalk) {
+			JoCodeGenerationContext context = JoCodeGenerationContext.acquire();
+			try {
+				return generateFork(world, species, codePos, pos.getX(), pos.getY(), pos.getZ(), disabled, getCompiled(), context);
+			} finally {
+				context.release();
+			}
+		}
 
 		while (codePos < instructions.length) {
 			int code = getCode(codePos);
@@ -341,6 +452,54 @@ public class JoCode {
 		return codePos;
 	}
 
+	/**
+	 * Walks the instructions with a stack of open forks instead of recursing.  Each fork starts from the position and
+	 * disabled state of its parent and the parent picks up where it left off when the fork returns.  Only for codes
+	 * with the {@link #standardWalk}.
+	 */
+	private int generateFork(World world, Species species, int codePos, int x, int y, int z, boolean disabled, byte[] code, JoCodeGenerationContext context) {
+		int[] forks = context.getForks(0);
+		int depth = 0;
+
+		while (codePos < code.length) {
+			int instruction = code[codePos];
+			switch (instruction) {
+				case forkCode:
+					forks = context.getForks(depth);
+					int f = depth++ * 4;
+					forks[f] = x;
+					forks[f + 1] = y;
+					forks[f + 2] = z;
+					forks[f + 3] = disabled ? 1 : 0;
+					codePos++;
+					break;
+				case returnCode:
+					codePos++;
+					if (depth == 0) {
+						return codePos;
+					}
+					int r = --depth * 4;
+					x = forks[r];
+					y = forks[r + 1];
+					z = forks[r + 2];
+					disabled = forks[r + 3] != 0;
+					break;
+				default:
+					EnumFacing dir = EnumFacing.getFront(instruction);
+					x += dir.getFrontOffsetX();
+					y += dir.getFrontOffsetY();
+					z += dir.getFrontOffsetZ();
+					if (!disabled) {
+						disabled = setBlockForGeneration(world, species, new BlockPos(x, y, z), dir, careful);
+					}
+					codePos++;
+					break;
+			}
+		}
+
+		return codePos;
+	}
+
 	protected boolean setBlockForGeneration(World world, Species species, BlockPos pos, EnumFacing dir, boolean careful) {
 		if (world.getBlockState(pos).getBlock().isReplaceable(world, pos) && (!careful || isClearOfNearbyBranches(world, pos, dir.getOpposite()))) {
 			species.getFamily().getDynamicBranch().setRadius(world, pos, (int) species.getFamily().getPrimaryThickness(), null, careful ? 3 : 2);
@@ -378,17 +537,17 @@ public class JoCode {
 				for (int ix = 0; ix < leafMap.getLenX(); ix++) {
 					int count = 0;
 					for (int iy = startY; iy >= 0; iy--) {
-						int v = leafMap.getVoxel(new BlockPos(ix, iy, iz));
+						int v = leafMap.getVoxel(ix, iy, iz);
 						if (v == 0) {//Air
 							count = 0;//Reset the count
 						} else if ((v & 0x0F) != 0) {//Leaves
 							count++;
 							if (count > smotherMax) {//Smother value
-								leafMap.setVoxel(new BlockPos(ix, iy, iz), (byte) 0);
+								leafMap.setVoxel(ix, iy, iz, (byte) 0);
 							}
 						} else if ((v & 0x10) != 0) {//Twig
 							count++;
-							leafMap.setVoxel(new BlockPos(ix, iy + 1, iz), (byte) 4);
+							leafMap.setVoxel(ix, iy + 1, iz, (byte) 4);
 						}
 					}
 				}
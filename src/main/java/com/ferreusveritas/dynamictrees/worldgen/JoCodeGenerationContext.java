@@ -0,0 +1,87 @@
+package com.ferreusveritas.dynamictrees.worldgen;
+
+import com.ferreusveritas.dynamictrees.util.SimpleVoxmap;
+import net.minecraft.world.World;
+
+import java.util.Arrays;
+
+/**
+ * Scratch space for generating a tree from a {@link JoCode} so that placing a tree allocates next to nothing.
+ * <p>
+ * Contexts are pooled per thread.  A tree's post generation features may generate more trees while the first is still
+ * using its context so each acquisition gets a context of its own.  Nothing in a context may be held onto after it is
+ * released.
+ *
+ * @author ferreusveritas
+ */
+public class JoCodeGenerationContext {
+
+	private static final ThreadLocal<JoCodeGenerationContext> pools = ThreadLocal.withInitial(JoCodeGenerationContext::new);
+
+	private JoCodeGenerationContext next;//The context for a tree generated while this one is in use
+	private boolean inUse;
+
+	private SimpleVoxmap[] leafMaps = new SimpleVoxmap[9];//Indexed by radius
+	private final WorldGenSectionWriter writer = new WorldGenSectionWriter();
+	private int[] forks = new int[64];//x, y, z and disabled for each open fork
+
+	private JoCodeGenerationContext() {
+	}
+
+	/**
+	 * @return A free context for the calling thread.  Must be given back with {@link #release()}
+	 */
+	public static JoCodeGenerationContext acquire() {
+		JoCodeGenerationContext context = pools.get();
+
+		while (context.inUse) {
+			if (context.next == null) {
+				context.next = new JoCodeGenerationContext();
+			}
+			context = context.next;
+		}
+
+		context.inUse = true;
+		return context;
+	}
+
+	public void release() {
+		inUse = false;
+	}
+
+	/**
+	 * @param radius The radius of the tree.  Normally from 2 to 8
+	 * @param height The height of the leaf map
+	 * @return An empty leaf map centered on the origin that is radius * 2 + 1 blocks wide and deep
+	 */
+	public SimpleVoxmap getLeafMap(int radius, int height) {
+		if (radius >= leafMaps.length) {
+			leafMaps = Arrays.copyOf(leafMaps, radius + 1);
+		}
+		SimpleVoxmap leafMap = leafMaps[radius];
+		if (leafMap == null || leafMap.getLenY() != height) {
+			return leafMaps[radius] = new SimpleVoxmap(radius * 2 + 1, height, radius * 2 + 1);
+		}
+		return leafMap.reset();
+	}
+
+	/**
+	 * @param world The world the tree is being generated in
+	 * @return The section writer of this context ready to write into the world
+	 */
+	public WorldGenSectionWriter getWriter(World world) {
+		return writer.begin(world);
+	}
+
+	/**
+	 * @param depth The fork depth that is about to be stored
+	 * @return The fork stack with room for a fork at the depth
+	 */
+	public int[] getForks(int depth) {
+		if ((depth + 1) * 4 > forks.length) {
+			forks = Arrays.copyOf(forks, forks.length * 2);
+		}
+		return forks;
+	}
+
+}
@@ -61,7 +61,7 @@ public class JoCodeStore {
 	}
 
 	public void addCode(Species species, int radius, String code) {
-		JoCode joCode = species.getJoCode(code).setCareful(false);
+		JoCode joCode = species.getJoCode(code).setCareful(false).compile();
 		getListForRadius(radius).add(joCode);
 	}
 
@@ -10,6 +10,7 @@ import com.ferreusveritas.dynamictrees.systems.poissondisc.PoissonDiscProviderUn
 import com.ferreusveritas.dynamictrees.trees.Species;
 import com.ferreusveritas.dynamictrees.util.RandomXOR;
 import com.ferreusveritas.dynamictrees.util.SafeChunkBounds;
+import com.ferreusveritas.dynamictrees.util.SplitRandom;
 import com.ferreusveritas.dynamictrees.worldgen.BiomeDataBase.BiomeEntry;
 import net.minecraft.block.BlockColored;
 import net.minecraft.block.state.IBlockState;
@@ -21,6 +22,7 @@ import net.minecraft.world.biome.Biome;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
 
 public class TreeGenerator {
 
@@ -29,7 +31,8 @@ public class TreeGenerator {
 	protected final BiomeDataBase defaultBiomeDataBase;
 	public static final BiomeDataBase DIMENSIONBLACKLISTED = new BiomeDataBase();
 	protected final PoissonDiscProviderUniversal circleProvider;
-	protected final RandomXOR random = new RandomXOR();
+	protected final RandomXOR legacyRandom = new RandomXOR();
+	protected final SplitRandom seededRandom = new SplitRandom();
 	protected final Map<Integer, BiomeDataBase> dimensionMap = new HashMap<>();
 
 	public static void preInit() {
@@ -134,7 +137,7 @@ public class TreeGenerator {
 
 		BlockPos pos = new BlockPos(circle.x, 0, circle.z);
 
-		Biome biome = world.getBiome(pos);
+		Biome biome = BiomeSampleCache.get(world).getBiome(pos.getX(), pos.getZ());
 		BiomeEntry biomeEntry = biomeDataBase.getEntry(biome);
 
 		pos = groundFinder.findGround(biomeEntry, world, pos);
@@ -143,7 +146,14 @@ public class TreeGenerator {
 			return EnumGeneratorResult.NOGROUND;
 		}
 
-		random.setXOR(pos);
+		Random random;
+		if (ModConfigs.worldGenSeededTrees) {
+			seededRandom.setSeed(SplitRandom.seed(world.getSeed(), pos));//The same tree comes out no matter what order chunks are populated in
+			random = seededRandom;
+		} else {
+			legacyRandom.setXOR(pos);
+			random = legacyRandom;
+		}
 
 		IBlockState dirtState = world.getBlockState(pos);
 
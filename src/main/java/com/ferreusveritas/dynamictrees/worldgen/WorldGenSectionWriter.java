@@ -0,0 +1,186 @@
+package com.ferreusveritas.dynamictrees.worldgen;
+
+import com.ferreusveritas.dynamictrees.ModBlocks;
+import com.ferreusveritas.dynamictrees.ModConfigs;
+import com.ferreusveritas.dynamictrees.util.CoordUtils;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.MutableBlockPos;
+import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import net.minecraftforge.fml.relauncher.ReflectionHelper;
+
+import java.lang.reflect.Field;
+
+/**
+ * Places worldgen leaves straight into the sections of the chunks being populated instead of going through {@link
+ * World#setBlockState}.  That skips the chunk lookup and the neighbor bookkeeping of every single block.  The height
+ * and precipitation maps are kept up to date as blocks go in and the light of the changed blocks and of the columns
+ * under them is checked once all of the blocks are in, so the light is the same as if every block had gone through the
+ * world by the time the leaves are aged.
+ * <p>
+ * Only chunks that haven't been populated yet can have been sent to a player so only those are written to directly.
+ * Anything else, and any block with a tile entity, goes through the world like it always has.  Blocks written directly
+ * can be read back right away through the world.  Branches and decorations still go through the world since they are
+ * placed by overridable code.
+ *
+ * @author ferreusveritas
+ */
+public class WorldGenSectionWriter {
+
+	private static final Field precipitationHeightMap = ReflectionHelper.findField(Chunk.class, "precipitationHeightMap", "field_76638_b");
+
+	private World world;
+	private Chunk chunk;//The last chunk written to.  Trees rarely straddle chunks so this is nearly always the one
+	private final LongArrayList changed = new LongArrayList();//Blocks whose light has to be checked
+	private final Long2IntMap oldHeights = new Long2IntOpenHashMap();//The heights of the columns that were raised, from before they were raised
+
+	/**
+	 * @return true if trees generated in the world may be written directly into chunk sections
+	 */
+	public static boolean isEnabled(World world) {
+		return ModConfigs.worldGenDirectWrites && !world.isRemote;
+	}
+
+	/**
+	 * Gets ready to write into a world.  {@link #finish()} must be called once the blocks are in.
+	 */
+	public WorldGenSectionWriter begin(World world) {
+		this.world = world;
+		chunk = null;
+		changed.clear();
+		oldHeights.clear();
+		return this;
+	}
+
+	private Chunk getChunk(BlockPos pos) {
+		int cx = pos.getX() >> 4;
+		int cz = pos.getZ() >> 4;
+		if (chunk == null || chunk.x != cx || chunk.z != cz) {
+			chunk = world.getChunkFromChunkCoords(cx, cz);
+		}
+		return chunk;
+	}
+
+	public IBlockState getBlockState(BlockPos pos) {
+		if (world.isOutsideBuildHeight(pos)) {
+			return ModBlocks.blockStates.air;
+		}
+		return getChunk(pos).getBlockState(pos);
+	}
+
+	/**
+	 * @param pos   The position
+	 * @param state The new state
+	 * @param flags The flags to use if the block has to go through the world
+	 */
+	public void setBlockState(BlockPos pos, IBlockState state, int flags) {
+		if (world.isOutsideBuildHeight(pos)) {
+			return;
+		}
+
+		Chunk chunk = getChunk(pos);
+		if (chunk.isPopulated()) {//A player may already be looking at this chunk
+			world.setBlockState(pos, state, flags);
+			return;
+		}
+
+		int x = pos.getX() & 15;
+		int y = pos.getY();
+		int z = pos.getZ() & 15;
+		int[] heightMap = chunk.getHeightMap();
+		int column = z << 4 | x;
+
+		ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+		ExtendedBlockStorage section = sections[y >> 4];
+		if (section == Chunk.NULL_BLOCK_STORAGE) {
+			section = sections[y >> 4] = createSection(y >> 4 << 4, heightMap);
+		}
+
+		IBlockState oldState = section.get(x, y & 15, z);
+		if (oldState.getBlock().hasTileEntity(oldState) || state.getBlock().hasTileEntity(state)) {
+			world.setBlockState(pos, state, flags);
+			return;
+		}
+
+		int oldOpacity = oldState.getLightOpacity(world, pos);
+		int oldLight = oldState.getLightValue(world, pos);
+
+		section.set(x, y & 15, z, state);
+
+		int opacity = state.getLightOpacity(world, pos);
+		if (y + 1 > heightMap[column] && opacity > 0) {
+			long columnKey = new BlockPos(pos.getX(), 0, pos.getZ()).toLong();
+			if (!oldHeights.containsKey(columnKey)) {
+				oldHeights.put(columnKey, heightMap[column]);
+			}
+			heightMap[column] = y + 1;
+		}
+
+		int[] precipitation = getPrecipitationHeightMap(chunk);
+		if (y >= precipitation[column] - 1) {
+			precipitation[column] = -999;//Worked out again the next time it's asked for
+		}
+
+		if (opacity != oldOpacity || state.getLightValue(world, pos) != oldLight) {
+			changed.add(pos.toLong());
+		}
+
+		chunk.markDirty();
+	}
+
+	/**
+	 * @return A new section with full sky light above the top of each column
+	 */
+	private ExtendedBlockStorage createSection(int baseY, int[] heightMap) {
+		boolean skyLight = world.provider.hasSkyLight();
+		ExtendedBlockStorage section = new ExtendedBlockStorage(baseY, skyLight);
+		if (skyLight) {
+			for (int column = 0; column < 256; column++) {
+				for (int y = Math.max(heightMap[column] - baseY, 0); y < 16; y++) {
+					section.setSkyLight(column & 15, y, column >> 4, 15);
+				}
+			}
+		}
+		return section;
+	}
+
+	private static int[] getPrecipitationHeightMap(Chunk chunk) {
+		try {
+			return (int[]) precipitationHeightMap.get(chunk);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Checks the light of the columns that were covered and of every block that changed the way the world would have
+	 * if the blocks had gone through it.
+	 */
+	public void finish() {
+		MutableBlockPos pos = new MutableBlockPos();
+		if (world.provider.hasSkyLight()) {
+			for (Long2IntMap.Entry entry : oldHeights.long2IntEntrySet()) {
+				CoordUtils.setPos(pos, entry.getLongKey());
+				int top = world.getChunkFromBlockCoords(pos).getHeightValue(pos.getX() & 15, pos.getZ() & 15);
+				for (int y = top - 1; y >= entry.getIntValue(); y--) {//No longer under open sky
+					world.checkLightFor(EnumSkyBlock.SKY, pos.setY(y));
+				}
+			}
+		}
+		for (int i = 0; i < changed.size(); i++) {
+			CoordUtils.setPos(pos, changed.getLong(i));
+			world.checkLight(pos);
+		}
+		changed.clear();
+		oldHeights.clear();
+		chunk = null;
+		world = null;
+	}
+
+}
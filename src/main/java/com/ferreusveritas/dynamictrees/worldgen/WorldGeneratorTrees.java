@@ -149,7 +149,9 @@ public class WorldGeneratorTrees implements IWorldGenerator {
 		BiomeDataBase dbase = treeGenerator.getBiomeDataBase(world);
 		if (dbase != TreeGenerator.DIMENSIONBLACKLISTED) {
 			SafeChunkBounds safeBounds = new SafeChunkBounds(world, new ChunkPos(chunkX, chunkZ));//Area that is safe to place blocks during worldgen
-			treeGenerator.getCircleProvider().getPoissonDiscs(world, chunkX, 0, chunkZ).forEach(c -> treeGenerator.makeTree(world, dbase, c, new GroundFinder(), safeBounds));
+			GroundSurfaceCache groundFinder = new GroundSurfaceCache(world, chunkX, chunkZ);//Every disc of the chunk shares the ground found so far
+			treeGenerator.getCircleProvider().getPoissonDiscs(world, chunkX, 0, chunkZ).forEach(c -> treeGenerator.makeTree(world, dbase, c, groundFinder, safeBounds));
+			BiomeSampleCache.get(world).onPopulated();
 		}
 	}
 
@@ -46,15 +46,19 @@ public class JsonBiomePropertyApplierDensity implements IJsonBiomeApplier {
 					parameters.add(element.getAsJsonPrimitive().getAsFloat());
 				}
 			}
+			//Unboxed up front so the selectors don't touch the list for every disc
+			final float p0 = parameters.size() > 0 ? parameters.get(0) : 0;
+			final float p1 = parameters.size() > 1 ? parameters.get(1) : 0;
+			final float p2 = parameters.size() > 2 ? parameters.get(2) : 0;
 			switch (parameters.size()) {
 				case 0:
 					return (rnd, n) -> n;
 				case 1:
-					return (rnd, n) -> n * parameters.get(0);
+					return (rnd, n) -> n * p0;
 				case 2:
-					return (rnd, n) -> (n * parameters.get(0)) + parameters.get(1);
+					return (rnd, n) -> (n * p0) + p1;
 				case 3:
-					return (rnd, n) -> ((n * parameters.get(0)) + parameters.get(1)) * parameters.get(2);
+					return (rnd, n) -> ((n * p0) + p1) * p2;
 				default:
 					return (rnd, n) -> 0.0f;
 			}
@@ -72,7 +76,8 @@ public class JsonBiomePropertyApplierDensity implements IJsonBiomeApplier {
 
 		JsonElement staticElement = mainObject.get("static");
 		if (staticElement != null && staticElement.isJsonPrimitive() && staticElement.getAsJsonPrimitive().isNumber()) {
-			return (rnd, n) -> staticElement.getAsJsonPrimitive().getAsFloat();
+			final float value = staticElement.getAsJsonPrimitive().getAsFloat();
+			return (rnd, n) -> value;
 		}
 
 		JsonElement mathElement = mainObject.get("math");
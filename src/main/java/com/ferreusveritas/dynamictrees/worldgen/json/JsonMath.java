@@ -16,10 +16,19 @@ public class JsonMath {
 
 	public MathOperator rootOp;
 	private final Biome biome;
+	private final boolean folding;
 
 	public JsonMath(JsonElement mathElement, Biome biome) {
+		this(mathElement, biome, true);
+	}
+
+	/**
+	 * @param folding false to keep every operation as it's written.  For comparing against the folded operations
+	 */
+	JsonMath(JsonElement mathElement, Biome biome, boolean folding) {
 
 		this.biome = biome;
+		this.folding = folding;
 
 		if (mathElement.isJsonObject()) {
 			JsonObject mathObject = mathElement.getAsJsonObject();
@@ -84,6 +93,7 @@ public class JsonMath {
 		}
 
 		MathOperator[] paramArray = paramList.toArray(new MathOperator[0]);
+		boolean constParams = folding && areConstant(paramArray);
 
 		switch (op) {
 			case NOISE:
@@ -95,18 +105,21 @@ public class JsonMath {
 			case RADIUS:
 				return new Radius();
 			case ADD:
-				return new Adder(paramArray);
+				return fold(new Adder(paramArray), constParams);
 			case SUB:
-				return new Subtractor(paramArray);
+				return fold(new Subtractor(paramArray), constParams);
 			case MUL:
-				return new Multiplier(paramArray);
+				return fold(new Multiplier(paramArray), constParams);
 			case DIV:
-				return new Divider(paramArray);
+				return fold(new Divider(paramArray), constParams);
 			case MAX:
-				return new Maximum(paramArray);
+				return fold(new Maximum(paramArray), constParams);
 			case MIN:
-				return new Minimum(paramArray);
+				return fold(new Minimum(paramArray), constParams);
 			case IFGT:
+				if (folding && paramArray.length == 4 && paramArray[0] instanceof Const && paramArray[1] instanceof Const) {//The condition can only go one way
+					return paramArray[0].apply(null) > paramArray[1].apply(null) ? paramArray[2] : paramArray[3];
+				}
 				return new IfGreaterThan(paramArray);
 			case SPECIES:
 				return speciesArg != Species.NULLSPECIES ? new IfSpecies(speciesArg, paramArray) : null;
@@ -118,14 +131,50 @@ public class JsonMath {
 
 	}
 
+	private static boolean areConstant(MathOperator[] operators) {
+		for (MathOperator operator : operators) {
+			if (!(operator instanceof Const)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Replaces an operation with its result when every parameter is a constant.  Only used for operations that don't
+	 * look at the context.  The result is worked out by the operation itself so it's exactly what it would have
+	 * returned every time.
+	 */
+	private static MathOperator fold(MathOperator operator, boolean constParams) {
+		return constParams ? new Const(operator.apply(null)) : operator;
+	}
+
+	//Contexts are reused since these are evaluated for every disc and radius query during worldgen
+	private static final ThreadLocal<MathContext> contexts = ThreadLocal.withInitial(() -> new MathContext(0.0f, null));
+	private static final ThreadLocal<MathSpeciesContext> speciesContexts = ThreadLocal.withInitial(() -> new MathSpeciesContext(null, Species.NULLSPECIES, 0.0f));
+
 	public float apply(Random random, float noise) {
-		MathContext mc = new MathContext(noise, random);
-		return rootOp.apply(mc);
+		MathContext mc = contexts.get();
+		mc.noise = noise;
+		mc.rand = random;
+		try {
+			return rootOp.apply(mc);
+		} finally {
+			mc.rand = null;
+		}
 	}
 
 	public float apply(Random random, Species species, float radius) {
-		MathContext mc = new MathSpeciesContext(random, species, radius);
-		return rootOp.apply(mc);
+		MathSpeciesContext mc = speciesContexts.get();
+		mc.rand = random;
+		mc.species = species;
+		mc.radius = radius;
+		try {
+			return rootOp.apply(mc);
+		} finally {
+			mc.rand = null;
+			mc.species = Species.NULLSPECIES;
+		}
 	}
 
 	public static class MathContext {
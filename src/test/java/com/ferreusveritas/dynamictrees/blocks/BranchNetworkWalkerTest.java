@@ -0,0 +1,87 @@
+package com.ferreusveritas.dynamictrees.blocks;
+
+import com.ferreusveritas.dynamictrees.api.network.INodeInspector;
+import com.ferreusveritas.dynamictrees.api.network.MapSignal;
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+public class BranchNetworkWalkerTest {
+
+	/**
+	 * Writes down every call in the order it's made.  Keeps the positions it's handed as the inspector contract allows.
+	 */
+	private static class Recorder implements INodeInspector {
+
+		final List<String> calls = new ArrayList<>();
+		final List<BlockPos> kept = new ArrayList<>();
+
+		@Override
+		public boolean run(IBlockState blockState, World world, BlockPos pos, EnumFacing fromDir) {
+			calls.add("run " + pos + " " + fromDir);
+			kept.add(pos);
+			return false;
+		}
+
+		@Override
+		public boolean returnRun(IBlockState blockState, World world, BlockPos pos, EnumFacing fromDir) {
+			calls.add("return " + pos + " " + fromDir);
+			return false;
+		}
+
+	}
+
+	private static World world;
+	private static BlockBranchBasic branch;
+	private static final BlockPos origin = new BlockPos(0, 64, 0);
+
+	@BeforeClass
+	public static void setup() {
+		TestWorld.bootstrap();
+		world = new TestWorld(0);
+		branch = new BlockBranchBasic("testbranch") {
+			@Override
+			protected int getMaxSignalDepth() {
+				return 512;
+			}
+		};
+		BranchNetworks.grow(world, branch.getDefaultState(), origin, 2000, new Random(1));
+	}
+
+	@Test
+	public void visitsInRecursiveOrder() {
+		Recorder walked = new Recorder();
+		Recorder recursed = new Recorder();
+
+		branch.analyse(branch.getDefaultState(), world, origin, null, new MapSignal(walked));
+		BranchNetworks.analyseRecursive(branch, branch.getDefaultState(), world, origin, null, new MapSignal(recursed));
+
+		assertEquals(recursed.calls, walked.calls);
+		assertEquals(4000, walked.calls.size());
+	}
+
+	@Test
+	public void keptPositionsDontChange() {
+		Recorder walked = new Recorder();
+		branch.analyse(branch.getDefaultState(), world, origin, null, new MapSignal(walked));
+
+		assertEquals(origin, walked.kept.get(0));
+		for (BlockPos pos : walked.kept) {
+			assertFalse(pos instanceof BlockPos.MutableBlockPos);
+			assertSame(branch, world.getBlockState(pos).getBlock());
+		}
+	}
+
+}
@@ -0,0 +1,103 @@
+package com.ferreusveritas.dynamictrees.blocks;
+
+import com.ferreusveritas.dynamictrees.api.TreeHelper;
+import com.ferreusveritas.dynamictrees.api.network.MapSignal;
+import com.ferreusveritas.dynamictrees.api.treedata.ITreePart;
+import com.ferreusveritas.dynamictrees.blocks.BlockBranch.EnumDestroyMode;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Branch networks for the walker tests and benchmarks along with the recursive analysis the walker has to match.
+ *
+ * @author ferreusveritas
+ */
+public class BranchNetworks {
+
+	/**
+	 * Grows a branch network one node at a time off of random existing nodes.  A node is only added where it touches
+	 * nothing but its parent so the network never has loops.
+	 */
+	public static void grow(World world, IBlockState state, BlockPos origin, int nodes, Random random) {
+		List<BlockPos> placed = new ArrayList<>(nodes);
+		world.setBlockState(origin, state, 2);
+		placed.add(origin);
+
+		while (placed.size() < nodes) {
+			BlockPos parent = placed.get(random.nextInt(placed.size()));
+			EnumFacing dir = EnumFacing.VALUES[random.nextInt(EnumFacing.VALUES.length)];
+			BlockPos pos = parent.offset(dir);
+
+			if (pos.getY() < 1 || pos.getY() > 254 || !world.isAirBlock(pos)) {
+				continue;
+			}
+
+			boolean touches = false;
+			for (EnumFacing side : EnumFacing.VALUES) {
+				if (side != dir.getOpposite() && !world.isAirBlock(pos.offset(side))) {
+					touches = true;
+					break;
+				}
+			}
+
+			if (!touches) {
+				world.setBlockState(pos, state, 2);
+				placed.add(pos);
+			}
+		}
+	}
+
+	/**
+	 * The recursive analysis that {@link BlockBranchBasic#analyse} performed before the {@link BranchNetworkWalker}.
+	 */
+	public static MapSignal analyseRecursive(BlockBranchBasic branch, IBlockState blockState, World world, BlockPos pos, EnumFacing fromDir, MapSignal signal) {
+		// Note: fromDir will be null in the origin node
+
+		if (signal.overflow || (signal.trackVisited && signal.doTrackingVisited(pos))) {
+			return signal;
+		}
+
+		if (signal.depth++ < branch.getMaxSignalDepth()) {// Prevents going too deep into large networks, or worse, being caught in a network loop
+			signal.run(blockState, world, pos, fromDir);// Run the inspectors of choice
+			for (EnumFacing dir : EnumFacing.VALUES) {// Spread signal in various directions
+				if (dir != fromDir) {// don't count where the signal originated from
+					BlockPos deltaPos = pos.offset(dir);
+
+					IBlockState deltaState = world.getBlockState(deltaPos);
+					ITreePart treePart = TreeHelper.getTreePart(deltaState);
+
+					if (treePart.shouldAnalyse()) {
+						if (treePart instanceof BlockBranchBasic && ((BlockBranchBasic) treePart).isNetworkWalkable()) {
+							signal = analyseRecursive((BlockBranchBasic) treePart, deltaState, world, deltaPos, dir.getOpposite(), signal);
+						} else {
+							signal = treePart.analyse(deltaState, world, deltaPos, dir.getOpposite(), signal);
+						}
+
+						// This should only be true for the originating block when the root node is found
+						if (signal.found && signal.localRootDir == null && fromDir == null) {
+							signal.localRootDir = dir;
+						}
+					}
+				}
+			}
+			signal.returnRun(blockState, world, pos, fromDir);
+		} else {
+			IBlockState state = world.getBlockState(pos);
+			if (signal.destroyLoopedNodes && state.getBlock() instanceof BlockBranch) {
+				BlockBranch loopBranch = (BlockBranch) state.getBlock();
+				loopBranch.breakDeliberate(world, pos, EnumDestroyMode.OVERFLOW);// Destroy one of the offending nodes
+			}
+			signal.overflow = true;
+		}
+		signal.depth--;
+
+		return signal;
+	}
+
+}
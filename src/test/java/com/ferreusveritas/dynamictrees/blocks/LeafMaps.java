@@ -0,0 +1,104 @@
+package com.ferreusveritas.dynamictrees.blocks;
+
+import com.ferreusveritas.dynamictrees.api.IAgeable;
+import com.ferreusveritas.dynamictrees.api.TreeHelper;
+import com.ferreusveritas.dynamictrees.api.network.MapSignal;
+import com.ferreusveritas.dynamictrees.api.treedata.ILeavesProperties;
+import com.ferreusveritas.dynamictrees.trees.Species;
+import com.ferreusveritas.dynamictrees.util.SafeChunkBounds;
+import com.ferreusveritas.dynamictrees.util.SimpleVoxmap;
+import com.ferreusveritas.dynamictrees.util.SimpleVoxmap.Cell;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.MutableBlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Leaf maps of generated trees for the leaves aging benchmarks along with the aging that {@link TreeHelper#ageVolume}
+ * performed before the {@link LeavesHydrationSolver}.
+ *
+ * @author ferreusveritas
+ */
+public class LeafMaps {
+
+	/**
+	 * Maps out the leaves around the branches of a tree the way a JoCode does while generating it
+	 */
+	public static SimpleVoxmap map(World world, Species species, BlockPos treePos, int radius) {
+		SimpleVoxmap leafMap = new SimpleVoxmap(radius * 2 + 1, species.getWorldGenLeafMapHeight(), radius * 2 + 1).setMapAndCenter(treePos, new BlockPos(radius, 0, radius));
+		IBlockState treeState = world.getBlockState(treePos);
+		TreeHelper.getBranch(treeState).analyse(treeState, world, treePos, EnumFacing.DOWN, new MapSignal(species.getNodeInflator(leafMap)));
+		return leafMap;
+	}
+
+	/**
+	 * Takes away the dynamic leaves within the map and puts down fresh leaves from the map the way a JoCode does before
+	 * they are aged
+	 */
+	public static void place(World world, Species species, SimpleVoxmap leafMap) {
+		for (MutableBlockPos pos : BlockPos.getAllInBoxMutable(leafMap.getBounds().getMin(), leafMap.getBounds().getMax())) {
+			if (world.getBlockState(pos).getBlock() instanceof BlockDynamicLeaves) {
+				world.setBlockState(pos, Blocks.AIR.getDefaultState(), 2);
+			}
+		}
+
+		ILeavesProperties leavesProperties = species.getLeavesProperties();
+		for (Cell cell : leafMap.getAllNonZeroCells((byte) 0x0F)) {
+			MutableBlockPos pos = cell.getPos();
+			if (world.getBlockState(pos).getBlock().isReplaceable(world, pos)) {
+				world.setBlockState(pos, leavesProperties.getDynamicLeavesState(cell.getValue()), 2);
+			}
+		}
+	}
+
+	/**
+	 * The aging of {@link TreeHelper#ageVolume} before the {@link LeavesHydrationSolver}.  Every block is aged directly
+	 * in the world.
+	 */
+	public static void ageVolumeInWorld(World world, SimpleVoxmap leafMap, int iterations, SafeChunkBounds safeBounds) {
+
+		//The iterMap is the voxmap we will use as a discardable.  The leafMap must survive for snow
+		SimpleVoxmap iterMap = leafMap != null ? new SimpleVoxmap(leafMap) : null;
+		Iterable<MutableBlockPos> iterable = iterMap.getAllNonZero();
+
+		for (int i = 0; i < iterations; i++) {
+			for (MutableBlockPos iPos : iterable) {
+				IBlockState blockState = world.getBlockState(iPos);
+				Block block = blockState.getBlock();
+				if (block instanceof BlockDynamicLeaves) {//Special case for leaves
+					int prevHydro = leafMap.getVoxel(iPos);//The leafMap should contain accurate hydro data
+					int newHydro = ((IAgeable) block).age(world, iPos, blockState, world.rand, safeBounds);//Get new values from neighbors
+					if (newHydro == -1) {
+						//Leaf block died.  Take it out of the leafMap and iterMap
+						leafMap.setVoxel(iPos, (byte) 0);
+						iterMap.setVoxel(iPos, (byte) 0);
+					} else {
+						//Leaf did not die so the block is still leaves
+						if (prevHydro == newHydro) { //But it didn't change
+							iterMap.setVoxel(iPos, (byte) 0); //Stop iterating over it if it's not changing
+						} else {//Oh wait.. it did change
+							//Update both maps with this new hydro value
+							leafMap.setVoxel(iPos, (byte) newHydro);
+							iterMap.setVoxel(iPos, (byte) newHydro);
+							//Copy all the surrounding values from the leafMap to the iterMap since they now also have potential to change
+							for (EnumFacing dir : EnumFacing.values()) {
+								BlockPos dPos = iPos.offset(dir);
+								iterMap.setVoxel(dPos, leafMap.getVoxel(dPos));
+							}
+						}
+					}
+				} else if (block instanceof IAgeable) {//Treat as just a regular ageable block
+					((IAgeable) block).age(world, iPos, blockState, world.rand, safeBounds);
+				} else {//You're not supposed to be here
+					leafMap.setVoxel(iPos, (byte) 0);
+					iterMap.setVoxel(iPos, (byte) 0);
+				}
+			}
+		}
+
+	}
+
+}
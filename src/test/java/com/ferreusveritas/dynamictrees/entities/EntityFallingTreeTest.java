@@ -0,0 +1,124 @@
+package com.ferreusveritas.dynamictrees.entities;
+
+import com.ferreusveritas.dynamictrees.api.TreeHelper;
+import com.ferreusveritas.dynamictrees.test.TestTrees;
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import com.ferreusveritas.dynamictrees.util.BranchDestructionData;
+import com.ferreusveritas.dynamictrees.util.BranchDestructionData.PosType;
+import com.google.common.collect.Iterables;
+import net.minecraft.block.Block;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EntityFallingTreeTest {
+
+	private static final BlockPos rootPos = new BlockPos(8, 63, 8);
+
+	private static class RecordingWorld extends TestWorld {
+
+		private final List<BlockPos> neighborsChanged = new ArrayList<>();
+
+		private RecordingWorld() {
+			super(0);
+		}
+
+		@Override
+		public void neighborChanged(BlockPos pos, Block blockIn, BlockPos fromPos) {
+			neighborsChanged.add(pos);
+		}
+
+	}
+
+	@BeforeClass
+	public static void setup() {
+		TestTrees.getOak();
+	}
+
+	/**
+	 * Fells a generated oak from the trunk and hands its destruction data to a falling tree that hasn't updated yet
+	 */
+	private static EntityFallingTree fell(RecordingWorld world, long seed, boolean wholeTree) {
+		TestTrees.groundAround(world, new ChunkPos(rootPos), 1);
+		TestTrees.generateOak(world, rootPos, 8, new Random(seed));
+
+		BlockPos cutPos = rootPos.up(wholeTree ? 1 : 2);
+		BranchDestructionData destroyData = TreeHelper.getBranch(world.getBlockState(cutPos)).destroyBranchFromNode(world, cutPos, EnumFacing.DOWN, wholeTree);
+		EntityFallingTree entity = new EntityFallingTree(world);
+		entity.destroyData = destroyData;
+		world.neighborsChanged.clear();
+		return entity;
+	}
+
+	/**
+	 * The neighbors that were updated before the bitset
+	 */
+	private static Set<BlockPos> getNeighborsWithHashSets(BranchDestructionData destroyData) {
+		Set<BlockPos> destroyed = new HashSet<>();
+		Set<BlockPos> toUpdate = new HashSet<>();
+		Iterables.concat(destroyData.getPositions(PosType.BRANCHES), destroyData.getPositions(PosType.LEAVES)).forEach(destroyed::add);
+		for (BlockPos d : destroyed) {
+			for (EnumFacing dir : EnumFacing.values()) {
+				BlockPos dPos = d.offset(dir);
+				if (!destroyed.contains(dPos)) {
+					toUpdate.add(dPos);
+				}
+			}
+		}
+		return toUpdate;
+	}
+
+	private static Set<BlockPos> getNeighborUpdates(EntityFallingTree entity) {
+		Set<BlockPos> updates = new HashSet<>();
+		for (long packed : entity.neighborUpdates) {
+			assertTrue("Neighbor listed twice", updates.add(BlockPos.fromLong(packed)));
+		}
+		return updates;
+	}
+
+	@Test
+	public void borderMatchesTheHashSetNeighbors() {
+		for (long seed = 0; seed < 8; seed++) {
+			RecordingWorld world = new RecordingWorld();
+			EntityFallingTree entity = fell(world, seed, (seed & 1) == 0);
+			entity.updateNeighbors();
+
+			Set<BlockPos> expected = getNeighborsWithHashSets(entity.destroyData);
+			assertFalse(expected.isEmpty());
+			assertEquals("Seed " + seed, expected, getNeighborUpdates(entity));
+		}
+	}
+
+	@Test
+	public void budgetedUpdatesAreFlushedWhenTheTreeDies() {
+		RecordingWorld world = new RecordingWorld();
+		EntityFallingTree entity = fell(world, 3, true);
+		entity.updateNeighbors();
+		Set<BlockPos> expected = getNeighborUpdates(entity);
+		assertTrue(expected.size() > 20);
+
+		entity.processNeighborUpdates(10);
+		entity.processNeighborUpdates(10);
+		assertEquals(20, world.neighborsChanged.size());
+
+		entity.setDead();
+		assertEquals(expected.size(), world.neighborsChanged.size());
+		assertEquals(expected, new HashSet<>(world.neighborsChanged));
+
+		entity.processNeighborUpdates(Integer.MAX_VALUE);//Nothing is updated twice
+		assertEquals(expected.size(), world.neighborsChanged.size());
+	}
+
+}
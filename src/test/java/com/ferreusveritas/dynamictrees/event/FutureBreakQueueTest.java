@@ -0,0 +1,147 @@
+package com.ferreusveritas.dynamictrees.event;
+
+import com.ferreusveritas.dynamictrees.api.IFutureBreakable;
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import com.ferreusveritas.dynamictrees.util.PerDimension;
+import net.minecraft.block.Block;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.properties.PropertyInteger;
+import net.minecraft.block.state.BlockStateContainer;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FutureBreakQueueTest {
+
+	private static final PropertyInteger ID = PropertyInteger.create("id", 0, 15);//Tells apart breaks at the same position
+
+	/**
+	 * Writes down every break with the step it ran on
+	 */
+	private static class RecordingBlock extends Block implements IFutureBreakable {
+
+		final List<String> breaks = new ArrayList<>();
+		int step;
+
+		RecordingBlock() {
+			super(Material.WOOD);
+		}
+
+		@Override
+		protected BlockStateContainer createBlockState() {
+			return new BlockStateContainer(this, ID);
+		}
+
+		@Override
+		public void futureBreak(IBlockState state, World world, BlockPos pos, EntityLivingBase player) {
+			breaks.add(step + " " + pos + " " + state.getValue(ID));
+		}
+
+	}
+
+	/**
+	 * The processing of the global list that the queues replaced
+	 */
+	private static void processLinkedList(List<FutureBreak> futureBreaks, World world) {
+		Iterator<FutureBreak> i = futureBreaks.iterator();
+
+		while (i.hasNext()) {
+			FutureBreak fb = i.next();
+			if (world == fb.world) { //Make sure we're working in the same world
+				if (fb.state.getBlock() instanceof IFutureBreakable) {
+					if (fb.ticks-- <= 0) {
+						IFutureBreakable branch = (IFutureBreakable) fb.state.getBlock();
+						branch.futureBreak(fb.state, world, fb.pos, fb.entity);
+						i.remove();
+					}
+				} else {
+					i.remove();
+				}
+			}
+		}
+	}
+
+	private World world;
+
+	@BeforeClass
+	public static void bootstrap() {
+		TestWorld.bootstrap();
+	}
+
+	@Before
+	public void setup() {
+		world = new TestWorld(0);
+		PerDimension.unloadWorld(world);
+	}
+
+	@Test
+	public void breaksRunOnTheSameStepsInTheSameOrderAsTheLinkedList() {
+		RecordingBlock queued = new RecordingBlock();
+		RecordingBlock listed = new RecordingBlock();
+		List<FutureBreak> futureBreaks = new LinkedList<>();
+		Random random = new Random(1);
+		int id = 0;
+
+		for (int step = 0; step < 400; step++) {
+			if (step < 200) {
+				for (int n = random.nextInt(4); n > 0; n--) {
+					BlockPos pos = new BlockPos(random.nextInt(2), 64, 0);//Only two positions so most breaks share one
+					int ticks = random.nextInt(4) == 0 ? random.nextInt(160) : random.nextInt(3);//Some go past a full turn of the wheel
+					FutureBreak.add(new FutureBreak(queued.getDefaultState().withProperty(ID, id), world, pos, null, ticks));
+					futureBreaks.add(new FutureBreak(listed.getDefaultState().withProperty(ID, id), world, pos, null, ticks));
+					id = (id + 1) & 15;
+				}
+			}
+
+			queued.step = listed.step = step;
+			FutureBreak.process(world);
+			processLinkedList(futureBreaks, world);
+		}
+
+		assertTrue(futureBreaks.isEmpty());
+		assertEquals(0, FutureBreakQueue.get(world).getQueueLength());
+		assertEquals(listed.breaks, queued.breaks);
+	}
+
+	@Test
+	public void zeroTicksRunOnTheNextProcess() {
+		RecordingBlock block = new RecordingBlock();
+		BlockPos pos = new BlockPos(0, 64, 0);
+
+		FutureBreak.add(new FutureBreak(block.getDefaultState(), world, pos, null, 0));
+		FutureBreak.add(new FutureBreak(block.getDefaultState().withProperty(ID, 1), world, pos, null, 1));
+
+		FutureBreak.process(world);
+		assertEquals(1, block.breaks.size());
+		block.step = 1;
+		FutureBreak.process(world);
+		assertEquals(2, block.breaks.size());
+		assertEquals("1 " + pos + " 1", block.breaks.get(1));
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void deprecatedListStillSchedules() {
+		RecordingBlock block = new RecordingBlock();
+
+		FutureBreak.futureBreaks.add(new FutureBreak(block.getDefaultState(), world, BlockPos.ORIGIN, null, 0));
+		assertEquals(1, FutureBreakQueue.get(world).getQueueLength());
+
+		FutureBreak.process(world);
+		assertEquals(1, block.breaks.size());
+	}
+
+}
@@ -0,0 +1,57 @@
+package com.ferreusveritas.dynamictrees.models.bakedmodels;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.util.EnumFacing;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BakedQuadCacheTest {
+
+	private static final int SHAPES = 100000;//Far more than fit
+
+	private static long key(int i) {
+		int[] connections = new int[6];
+		for (int c = 0; c < 6; c++) {
+			connections[c] = (i >> (c * 3)) & 7;
+		}
+		return BakedQuadCache.key(i >> 18 & 7, connections, EnumFacing.getFront(i % 7), false) | (long) i << 39;
+	}
+
+	@Test
+	public void cachedQuadsComeBack() {
+		BakedQuadCache cache = new BakedQuadCache();
+		long key = key(1234);
+
+		assertNull(cache.get(key));
+		List<BakedQuad> quads = cache.put(key, ImmutableList.of());
+		assertSame(quads, cache.get(key));
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void cacheStaysBoundedAndKeepsRecentShapes() {
+		BakedQuadCache cache = new BakedQuadCache();
+		long first = key(0);
+		long recent = key(1);
+		cache.put(first, ImmutableList.of());
+		cache.put(recent, ImmutableList.of());
+
+		for (int i = 2; i < SHAPES; i++) {
+			cache.put(key(i), ImmutableList.of());
+			assertNotNull("Recently used shape was evicted after " + i + " shapes", cache.get(recent));
+			assertTrue(cache.size() <= 4096);
+		}
+
+		assertNull(cache.get(first));//Least recently used
+		assertTrue(cache.size() > 4000);//Every segment fills up
+	}
+
+}
@@ -0,0 +1,90 @@
+package com.ferreusveritas.dynamictrees.systems;
+
+import com.ferreusveritas.dynamictrees.ModConfigs;
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import com.ferreusveritas.dynamictrees.util.PerDimension;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.common.util.Constants.NBT;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GrowthSchedulerTest {
+
+	private World world;
+	private GrowthScheduler scheduler;
+
+	@BeforeClass
+	public static void bootstrap() {
+		TestWorld.bootstrap();
+	}
+
+	@Before
+	public void setup() {
+		ModConfigs.growthQueueLimit = 4;
+		world = new TestWorld(0);
+		PerDimension.unloadWorld(world);
+		scheduler = GrowthScheduler.get(world);
+	}
+
+	@Test
+	public void mergesRequestsForTheSameRoot() {
+		BlockPos root = new BlockPos(1, 64, 1);
+		assertTrue(scheduler.request(world, root));
+		assertTrue(scheduler.request(world, root));
+
+		assertEquals(1, scheduler.getQueueDepth());
+		assertEquals(1, scheduler.getMerged());
+	}
+
+	@Test
+	public void turnsAwayNewRootsWhenFull() {
+		for (int i = 0; i < 4; i++) {
+			assertTrue(scheduler.request(world, new BlockPos(i * 3, 64, 0)));
+		}
+
+		assertFalse(scheduler.request(world, new BlockPos(100, 64, 0)));
+		assertTrue(scheduler.request(world, new BlockPos(0, 64, 0)));//Already waiting roots still merge
+		assertEquals(4, scheduler.getQueueDepth());
+		assertEquals(1, scheduler.getOverflowed());
+	}
+
+	@Test
+	public void growthOwedIsSavedWithTheChunkAndComesBack() {
+		Chunk chunk = world.getChunkFromChunkCoords(0, 0);
+		scheduler.request(world, new BlockPos(1, 64, 1));
+		scheduler.request(world, new BlockPos(1, 64, 1));
+		scheduler.request(world, new BlockPos(40, 64, 1));//Another chunk
+
+		scheduler.unloadChunk(chunk);
+		assertEquals(1, scheduler.getQueueDepth());
+
+		NBTTagCompound data = new NBTTagCompound();
+		scheduler.saveChunk(chunk, data);
+		NBTTagList list = data.getTagList(GrowthScheduler.NBTKEY, NBT.TAG_COMPOUND);
+		assertEquals(1, list.tagCount());
+		assertEquals(new BlockPos(1, 64, 1).toLong(), list.getCompoundTagAt(0).getLong("pos"));
+		assertEquals(2, list.getCompoundTagAt(0).getInteger("cycles"));
+
+		//The growth is only held until the chunk is saved
+		NBTTagCompound again = new NBTTagCompound();
+		scheduler.saveChunk(chunk, again);
+		assertFalse(again.hasKey(GrowthScheduler.NBTKEY));
+
+		scheduler.loadChunk(world, data);
+		assertEquals(2, scheduler.getQueueDepth());
+
+		NBTTagCompound resaved = new NBTTagCompound();
+		scheduler.saveChunk(chunk, resaved);
+		assertEquals(2, resaved.getTagList(GrowthScheduler.NBTKEY, NBT.TAG_COMPOUND).getCompoundTagAt(0).getInteger("cycles"));
+	}
+
+}
@@ -0,0 +1,90 @@
+package com.ferreusveritas.dynamictrees.systems;
+
+import com.ferreusveritas.dynamictrees.ModBlocks;
+import com.ferreusveritas.dynamictrees.api.TreeHelper;
+import com.ferreusveritas.dynamictrees.api.treedata.ITreePart;
+import com.ferreusveritas.dynamictrees.blocks.BlockBranch;
+import com.ferreusveritas.dynamictrees.systems.TreeTopologyCache.Snapshot;
+import com.ferreusveritas.dynamictrees.test.TestTrees;
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import com.ferreusveritas.dynamictrees.util.PerDimension;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class TreeTopologyCacheTest {
+
+	private static final BlockPos rootPos = new BlockPos(8, 63, 8);
+	private static final BlockPos treePos = rootPos.up();
+
+	private World world;
+	private TreeTopologyCache cache;
+
+	@BeforeClass
+	public static void setup() {
+		TestTrees.getOak();
+	}
+
+	@Before
+	public void generate() {
+		world = new TestWorld(1234);
+		world.rand.setSeed(1234);//Leaves age with the world's random
+		PerDimension.unloadWorld(world);
+		TestTrees.groundAround(world, new ChunkPos(rootPos), 1);
+		TestTrees.generateOak(world, rootPos, 8, new Random(7));
+		cache = TreeTopologyCache.get(world);
+	}
+
+	private Snapshot getSnapshot(TreeTopologyCache cache) {
+		ITreePart treeBase = TreeHelper.getTreePart(world.getBlockState(treePos));
+		return cache.getSnapshot(world, rootPos, treePos, treeBase);
+	}
+
+	@Test
+	public void radiusWrittenStraightIntoTheWorldIsSeen() {
+		getSnapshot(cache);
+
+		BlockBranch branch = TreeHelper.getBranch(world.getBlockState(treePos));
+		int radius = branch.getRadius(world.getBlockState(treePos));
+		world.setBlockState(treePos, branch.getStateForRadius(radius > 1 ? radius - 1 : radius + 1), 2);//Not through setRadius the way world gen or another mod might
+
+		Snapshot snapshot = getSnapshot(cache);
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getRadiusUpdates());
+		assertEquals(getSnapshot(new TreeTopologyCache()).getVolume(), snapshot.getVolume(), 0);
+	}
+
+	@Test
+	public void radiusSetThroughTheBranchIsSeen() {
+		getSnapshot(cache);
+
+		BlockBranch branch = TreeHelper.getBranch(world.getBlockState(treePos));
+		int radius = branch.getRadius(world.getBlockState(treePos));
+		branch.setRadius(world, treePos, radius > 1 ? radius - 1 : radius + 1, null);
+
+		Snapshot snapshot = getSnapshot(cache);
+		assertEquals(1, cache.getHits());
+		assertEquals(getSnapshot(new TreeTopologyCache()).getVolume(), snapshot.getVolume(), 0);
+	}
+
+	@Test
+	public void removedBranchDropsTheTree() {
+		Snapshot before = getSnapshot(cache);
+
+		BlockPos end = before.getEnds().get(0);
+		TreeHelper.getBranch(world.getBlockState(end)).setBlockStateIgnored(world, end, ModBlocks.blockStates.air, 2);//Without the tree falling apart
+
+		Snapshot after = getSnapshot(cache);
+		assertEquals(0, cache.getHits());
+		assertEquals(2, cache.getMisses());
+		assertEquals(before.nodes.length - 1, after.nodes.length);
+	}
+
+}
@@ -0,0 +1,101 @@
+package com.ferreusveritas.dynamictrees.systems.poissondisc;
+
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import com.ferreusveritas.dynamictrees.util.PerDimension;
+import com.ferreusveritas.dynamictrees.worldgen.BiomeDataBase.Operation;
+import com.ferreusveritas.dynamictrees.worldgen.BiomeRadiusCoordinator;
+import com.ferreusveritas.dynamictrees.worldgen.TreeGenerator;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.Biome;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PoissonDiscProviderTest {
+
+	private static final int RANGE = 8;//Chunks are generated in a square 2 * RANGE on a side
+
+	private PoissonDiscPrecompute precompute;
+
+	@BeforeClass
+	public static void setup() {
+		TestWorld.bootstrap();
+		new TreeGenerator();
+		for (Biome biome : Biome.REGISTRY) {//Densities that draw from the random so the test can tell if the draws match
+			TreeGenerator.getTreeGenerator().getDefaultBiomeDataBase().setDensitySelector(biome, (rnd, nd) -> nd * rnd.nextDouble(), Operation.REPLACE);
+		}
+	}
+
+	@After
+	public void shutdown() {
+		if (precompute != null) {
+			precompute.shutdown();
+		}
+	}
+
+	private static PoissonDiscProvider createProvider(World world) {
+		PerDimension.unloadWorld(world);
+		PoissonDiscProvider provider = new PoissonDiscProvider(new BiomeRadiusCoordinator(TreeGenerator.getTreeGenerator(), world));
+		provider.setSeed(world.getSeed());
+		return provider;
+	}
+
+	/**
+	 * Populates the chunks row by row and waits for the workers, if any, to start on the neighbors of each chunk before
+	 * moving on so their results are actually used.
+	 */
+	private byte[][] generate(PoissonDiscProvider provider) throws InterruptedException {
+		byte[][] data = new byte[4 * RANGE * RANGE][];
+		int i = 0;
+		for (int z = -RANGE; z < RANGE; z++) {
+			for (int x = -RANGE; x < RANGE; x++) {
+				provider.getPoissonDiscs(x, 0, z);
+				while (precompute != null && precompute.getQueueDepth() > 0) {
+					Thread.sleep(1);
+				}
+			}
+		}
+		for (int z = -RANGE; z < RANGE; z++) {
+			for (int x = -RANGE; x < RANGE; x++) {
+				data[i++] = provider.getChunkPoissonData(x, 0, z);
+			}
+		}
+		return data;
+	}
+
+	@Test
+	public void workersPlaceTheSameDiscs() throws InterruptedException {
+		byte[][] serial = generate(createProvider(new TestWorld(1234)));
+
+		PoissonDiscProvider parallel = createProvider(new TestWorld(1234));
+		parallel.setPrecompute(precompute = new PoissonDiscPrecompute(4, 256));
+		byte[][] precomputed = generate(parallel);
+
+		assertTrue(precompute.getTaken() > 0);
+		assertEquals(0, precompute.getFailed());
+		for (int i = 0; i < serial.length; i++) {
+			assertArrayEquals(serial[i], precomputed[i]);
+		}
+	}
+
+	@Test
+	public void layoutOnlyDependsOnTheWorldSeed() throws InterruptedException {
+		byte[][] first = generate(createProvider(new TestWorld(1234)));
+		byte[][] again = generate(createProvider(new TestWorld(1234)));
+		byte[][] other = generate(createProvider(new TestWorld(4321)));
+
+		boolean differs = false;
+		for (int i = 0; i < first.length; i++) {
+			assertArrayEquals(first[i], again[i]);
+			differs |= !Arrays.equals(first[i], other[i]);
+		}
+		assertTrue(differs);
+	}
+
+}
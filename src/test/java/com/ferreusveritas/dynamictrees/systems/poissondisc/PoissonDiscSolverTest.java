@@ -0,0 +1,94 @@
+package com.ferreusveritas.dynamictrees.systems.poissondisc;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PoissonDiscSolverTest {
+
+	private static final int CHUNKS = 8;//On a side
+	private static final int SEEDS = 8;
+	private static final int FARTHEST = 32;//Well past the two largest discs touching
+
+	@Test
+	public void gridPlacesTheSameDiscsAsBruteForce() {
+		PoissonDiscSolver solver = new PoissonDiscSolver();
+
+		for (long seed = 0; seed < SEEDS; seed++) {
+			byte[][] grid = PoissonDiscs.layOut(seed, CHUNKS, (random, radii, chunkX, chunkZ, neighborhood) -> solver.solve(random, radii, chunkX, chunkZ, neighborhood, null));
+			byte[][] bruteForce = PoissonDiscs.layOut(seed, CHUNKS, PoissonDiscs::solveBruteForce);
+
+			boolean placed = false;
+			for (int i = 0; i < grid.length; i++) {
+				assertArrayEquals("Seed " + seed + " chunk " + i, bruteForce[i], grid[i]);
+				for (byte b : grid[i]) {
+					placed |= b != 0;
+				}
+			}
+			assertTrue(placed);
+		}
+	}
+
+	/**
+	 * Every pair of discs close enough to intersect with padding or to mask each other must find each other in the
+	 * grid wherever they are, even outside of the grid where they're clamped into the border cells.
+	 */
+	@Test
+	public void gridReachCoversEveryInteraction() {
+		Random random = new Random(0);
+		PoissonDiscGrid grid = new PoissonDiscGrid();
+		IntArrayList near = new IntArrayList();
+		List<PoissonDisc> discs = new ArrayList<>(2);
+		int touching = 0;
+
+		for (int r1 = 2; r1 <= 8; r1++) {
+			for (int r2 = 2; r2 <= 8; r2++) {
+				for (int dz = -FARTHEST; dz <= FARTHEST; dz++) {
+					for (int dx = -FARTHEST; dx <= FARTHEST; dx++) {
+						if (dx == 0 && dz == 0) {
+							continue;
+						}
+
+						int x = random.nextInt(96) - 40;//Past the 64 blocks of the grid on both sides
+						int z = random.nextInt(96) - 40;
+						PoissonDisc a = new PoissonDisc(x, z, r1);
+						PoissonDisc b = new PoissonDisc(x + dx, z + dz, r2);
+
+						if (!touches(a, b)) {
+							continue;
+						}
+						touching++;
+
+						discs.clear();
+						discs.add(a);
+						discs.add(b);
+						grid.reset(discs, 0, 0);
+						assertTrue(a + " misses " + b, grid.query(a, near).contains(1));
+						assertTrue(b + " misses " + a, grid.query(b, near).contains(0));
+					}
+				}
+			}
+		}
+
+		assertTrue(touching > 0);
+	}
+
+	private static boolean touches(PoissonDisc a, PoissonDisc b) {
+		if (a.doCirclesIntersectPadding(b) || b.doCirclesIntersectPadding(a)) {
+			return true;
+		}
+
+		PoissonDisc maskedA = new PoissonDisc(a);
+		PoissonDisc maskedB = new PoissonDisc(b);
+		PoissonDiscHelper.maskDiscs(maskedA, maskedB);
+		PoissonDiscHelper.maskDiscs(maskedB, maskedA);
+		return maskedA.arc != 0 || maskedB.arc != 0;
+	}
+
+}
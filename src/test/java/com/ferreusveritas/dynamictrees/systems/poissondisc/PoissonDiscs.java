@@ -0,0 +1,268 @@
+package com.ferreusveritas.dynamictrees.systems.poissondisc;
+
+import com.ferreusveritas.dynamictrees.api.worldgen.IRadiusCoordinator;
+import com.ferreusveritas.dynamictrees.util.CoordUtils;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3i;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Disc layouts for the solver tests and benchmarks along with the brute force solver the {@link PoissonDiscGrid} has
+ * to match.
+ *
+ * @author ferreusveritas
+ */
+public class PoissonDiscs {
+
+	/**
+	 * Solves the discs of one chunk
+	 */
+	public interface ChunkSolver {
+		byte[] solve(Random random, IRadiusCoordinator radiusCoordinator, int chunkX, int chunkZ, byte[][] neighborhood);
+	}
+
+	/**
+	 * Radii from 2 to 8 that change every few blocks so every size of disc meets every other size.  Doesn't touch a
+	 * world.
+	 */
+	public static class VaryingRadius implements IRadiusCoordinator {
+
+		private final long seed;
+
+		public VaryingRadius(long seed) {
+			this.seed = seed;
+		}
+
+		@Override
+		public int getRadiusAtCoords(int x, int z) {
+			long hash = MathHelper.getCoordinateRandom(x >> 2, (int) seed, z >> 2);
+			return 2 + (int) ((hash >>> 16) % 7);
+		}
+
+		@Override
+		public boolean runPass(int chunkX, int chunkZ, int pass) {
+			return pass == 0;
+		}
+
+	}
+
+	/**
+	 * Lays out the discs of a square of chunks in a shuffled order like chunks are populated as players wander around.
+	 *
+	 * @param seed   Picks the radii, the order of the chunks and the random of each chunk
+	 * @param size   The number of chunks on a side
+	 * @param solver The solver
+	 * @return The disc data of every chunk row by row
+	 */
+	public static byte[][] layOut(long seed, int size, ChunkSolver solver) {
+		IRadiusCoordinator radii = new VaryingRadius(seed);
+		Long2ObjectOpenHashMap<byte[]> store = new Long2ObjectOpenHashMap<>();
+
+		List<ChunkPos> order = new ArrayList<>(size * size);
+		for (int z = 0; z < size; z++) {
+			for (int x = 0; x < size; x++) {
+				order.add(new ChunkPos(x, z));
+			}
+		}
+		Collections.shuffle(order, new Random(seed));
+
+		for (ChunkPos pos : order) {
+			byte[][] neighborhood = new byte[9][];
+			neighborhood[0] = getChunkData(store, pos.x, pos.z);
+			for (CoordUtils.Surround surr : CoordUtils.Surround.values()) {
+				Vec3i dir = surr.getOffset();
+				neighborhood[surr.ordinal() + 1] = getChunkData(store, pos.x + dir.getX(), pos.z + dir.getZ());
+			}
+			store.put(ChunkPos.asLong(pos.x, pos.z), solver.solve(new Random(seed ^ ChunkPos.asLong(pos.x, pos.z)), radii, pos.x, pos.z, neighborhood));
+		}
+
+		byte[][] data = new byte[size * size][];
+		for (int z = 0; z < size; z++) {
+			for (int x = 0; x < size; x++) {
+				data[z * size + x] = getChunkData(store, x, z);
+			}
+		}
+		return data;
+	}
+
+	private static byte[] getChunkData(Long2ObjectOpenHashMap<byte[]> store, int chunkX, int chunkZ) {
+		byte[] data = store.get(ChunkPos.asLong(chunkX, chunkZ));
+		return data != null ? data.clone() : new byte[PoissonDiscRegionStore.BYTESPERCHUNK];
+	}
+
+	/**
+	 * The solver as it was before the {@link PoissonDiscGrid}.  Every disc is tested against every other disc.
+	 */
+	public static byte[] solveBruteForce(Random random, IRadiusCoordinator radiusCoordinator, int chunkX, int chunkZ, byte[][] neighborhood) {
+
+		// Step 0.) Clear the temporary caches
+		List<PoissonDisc> allDiscs = new ArrayList<>(64);
+		List<PoissonDisc> unsolvedDiscs = new ArrayList<>(64);
+
+
+		// Step 1.) Collect already solved discs from surrounding chunks
+		PoissonDiscChunkSet.getDiscs(neighborhood[0], 0, allDiscs, chunkX, chunkZ);
+		for (CoordUtils.Surround surr : CoordUtils.Surround.values()) {
+			Vec3i dir = surr.getOffset();
+			PoissonDiscChunkSet.getDiscs(neighborhood[surr.ordinal() + 1], 0, allDiscs, chunkX + dir.getX(), chunkZ + dir.getZ());
+		}
+
+
+		// Step 2.) Do edge masking
+		int chunkXStart = chunkX << 4;
+		int chunkZStart = chunkZ << 4;
+
+		for (PoissonDisc c : allDiscs) {
+			c.edgeMask(chunkXStart, chunkZStart);
+		}
+
+
+		// Step 3.) Mask out circles against one another
+		for (int i = 0; i < allDiscs.size() - 1; i++) {
+			for (int j = i + 1; j < allDiscs.size(); j++) {
+				PoissonDiscHelper.maskDiscs(allDiscs.get(i), allDiscs.get(j));
+			}
+		}
+
+
+		// Step 4.) Handle no existing circles by creating a single circle to build off of
+		if (allDiscs.size() == 0) {
+			int x = chunkXStart + random.nextInt(16);
+			int z = chunkZStart + random.nextInt(16);
+			int radius = radiusCoordinator.getRadiusAtCoords(x, z);
+			PoissonDisc rootDisc = new PoissonDisc(x, z, radius);
+			rootDisc.real = true;
+			allDiscs.add(rootDisc);
+		}
+
+
+		// Step 5.) Gather the unsolved circles into a list
+		PoissonDiscHelper.gatherUnsolved(unsolvedDiscs, allDiscs);
+
+
+		int count = 0;//This counter is used to make sure we don't endlessly generate for an unsolvable set
+
+		//Keep solving all unsolved disc until there aren't any more to solve.
+		while (!unsolvedDiscs.isEmpty()) {
+
+			// Step 6.) Pick a random disc from the pool of unsolved discs this will be the master disc
+			PoissonDisc master = unsolvedDiscs.get(0);//Any circle will do.  May as well be the first.
+
+			//The goal here is to try both directions and prefer the direction that creates an intersection with an existing disc
+			PoissonDisc slave = null;
+			Vec2i slavePos = null;
+			int radius = 0;
+			for (int dir = 0; dir <= 1; dir++) {
+				boolean CCW = dir == 0;
+
+				// Step 7.) Use the master disc and it's free arc angle to find the radius of the new tangential disc
+				float angle = CCW ? (float) master.getFreeAngleCCW() : (float) master.getFreeAngleCW();
+				double dx = master.x + (MathHelper.sin(angle) * master.radius * 1.5);
+				double dz = master.z + (MathHelper.cos(angle) * master.radius * 1.5);
+				radius = radiusCoordinator.getRadiusAtCoords((int) dx, (int) dz);
+
+				// Step 8.) Create a second disc tangential to the master disc.
+				slave = PoissonDiscHelper.findSecondDisc(master, radius, true, CCW);
+				slavePos = new Vec2i(slave);//Cache slave position
+
+				if (doesDiscIntersectWith(slave, allDiscs)) {
+					break;
+				}
+			}
+
+			// Step 9.) Mask off the master so it won't happen again.
+			master.arc |= 1 << master.getFreeBitCW();//Clear specific arc bit for good measure
+			PoissonDiscHelper.maskDiscs(master, slave, true);
+
+			// Step 10.) Create a list of existing circles that are intersecting with this circle.  List is ordered by penetration depth.
+			int i = 0;
+			Map<Integer, PoissonDisc> intersecting = new TreeMap<Integer, PoissonDisc>();
+			for (PoissonDisc c : allDiscs) {
+				if (slave.doCirclesIntersectPadding(c)) {
+					int depth = 16 + (int) c.discPenetration(slave);
+					intersecting.put(depth << 8 | i++, c);
+				}
+			}
+
+
+			//Run through all of the circles that were intersecting
+			for (Entry<Integer, PoissonDisc> entry : intersecting.entrySet()) {
+				PoissonDisc master1 = master;//Cache master value because we do swapping later
+				PoissonDisc master2 = entry.getValue();
+
+				//Determine handedness of 3rd circle interaction
+				int cross = Vec2i.crossProduct(new Vec2i(slavePos).sub(master1), new Vec2i(master2).sub(master1));
+				if (cross < 0) {//Swap circles if the cross product is negative
+					PoissonDisc temp = master2;
+					master2 = master1;
+					master1 = temp;
+				}
+
+				slave = PoissonDiscHelper.findThirdDisc(master1, master2, radius);//Attempt to triangulate a circle position that is touching tangentially to both master circles
+				if (slave != null) {//Found a 3rd circle candidate
+					for (int ci = 0; ci < allDiscs.size(); ci++) {
+						PoissonDisc c = allDiscs.get(ci);
+						if (slave.doCirclesIntersectPadding(c)) {//See if this new circle intersects with any of the existing circles. If it does then..
+							if (c.real || (!c.real && !slave.isInCenterChunk(chunkXStart, chunkZStart))) {
+								slave = null;//Discard the circle because it's intersecting with an existing real circle
+								break;//We needn't continue since we've proven that the circle intersects with any circle
+							} else {//The overlapping circle is not real.. but the slave circle is.
+								PoissonDiscHelper.fastRemove(allDiscs, ci--);//Delete the offending non-real circle. The order of the circles is unimportant
+							}
+						}
+					}
+				}
+
+				if (slave != null) {
+					break;//We found a viable circle.. time to move on
+				}
+			}
+
+			if (slave != null) {//The circle has passed all of the non-intersection tests.  Let's add it to the list of circles
+				slave.edgeMask(chunkXStart, chunkZStart);//Set the proper mask for whatever chunk this circle resides.
+				slave.real = slave.isInCenterChunk(chunkXStart, chunkZStart);//Only circles created in the center chunk are real
+				unsolvedDiscs.add(slave);//The new circle is necessarily unsolved and we need it in this list for the next step.
+				PoissonDiscHelper.solveDiscs(unsolvedDiscs, allDiscs);//run all of the unsolved circles again
+				allDiscs.add(slave);//add the new circle to the full list
+			}
+
+			PoissonDiscHelper.gatherUnsolved(unsolvedDiscs, allDiscs);//List up the remaining unsolved circles and try again
+
+			if (++count > 64 && !unsolvedDiscs.isEmpty()) {//It shouldn't over take 64 iterations to solve all of the circles
+				break;//Something went terribly wrong and we shouldn't hang the system for it.
+			}
+
+		}
+
+		//Add circles to circle set
+		PoissonDiscChunkSet cSet = new PoissonDiscChunkSet(neighborhood[0]);
+
+		for (PoissonDisc c : allDiscs) {
+			if (c.isInCenterChunk(chunkXStart, chunkZStart)) {
+				cSet.addDisc(c);
+			}
+		}
+
+		return cSet.getDiscData();
+	}
+
+	private static boolean doesDiscIntersectWith(PoissonDisc disc, List<PoissonDisc> others) {
+		for (PoissonDisc other : others) {
+			if (disc.doCirclesIntersectPadding(other)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+}
@@ -0,0 +1,131 @@
+package com.ferreusveritas.dynamictrees.test;
+
+import com.ferreusveritas.dynamictrees.ModBlocks;
+import com.ferreusveritas.dynamictrees.ModBlocks.CommonBlockStates;
+import com.ferreusveritas.dynamictrees.ModConstants;
+import com.ferreusveritas.dynamictrees.api.TreeRegistry;
+import com.ferreusveritas.dynamictrees.api.treedata.ILeavesProperties;
+import com.ferreusveritas.dynamictrees.blocks.BlockDynamicLeaves;
+import com.ferreusveritas.dynamictrees.blocks.BlockRootyDirt;
+import com.ferreusveritas.dynamictrees.blocks.LeavesProperties;
+import com.ferreusveritas.dynamictrees.cells.CellKits;
+import com.ferreusveritas.dynamictrees.trees.Species;
+import com.ferreusveritas.dynamictrees.trees.TreeFamily;
+import com.ferreusveritas.dynamictrees.util.SafeChunkBounds;
+import com.ferreusveritas.dynamictrees.worldgen.JoCode;
+import net.minecraft.init.Biomes;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Plain trees for tests and benchmarks that are put together without the rest of the mod.  They grow and generate
+ * from the JoCodes of the real trees of the same name with the same leaves cell kits.
+ *
+ * @author ferreusveritas
+ */
+public class TestTrees {
+
+	private static final Map<String, Species> trees = new HashMap<>();
+
+	/**
+	 * @return The oak.  Bootstraps the game and the few mod blocks trees need the first time it's called
+	 */
+	public static Species getOak() {
+		return getTree("oak", "deciduous");
+	}
+
+	/**
+	 * @return The spruce with the conifer leaves.  Doesn't get the spruce's top or its other decorations.
+	 */
+	public static Species getSpruce() {
+		return getTree("spruce", "conifer");
+	}
+
+	/**
+	 * @return The dark oak with its wide flat leaves
+	 */
+	public static Species getDarkOak() {
+		return getTree("darkoak", "darkoak");
+	}
+
+	private static synchronized Species getTree(String name, String cellKit) {
+		Species species = trees.get(name);
+		if (species == null) {
+			TestWorld.bootstrap();
+
+			if (ModBlocks.blockStates == null) {
+				ModBlocks.blockStates = new CommonBlockStates();
+			}
+			if (ModBlocks.blockRootyDirt == null) {
+				ModBlocks.blockRootyDirt = new BlockRootyDirt(false);
+			}
+			if (TreeRegistry.findCellKit(new ResourceLocation(ModConstants.MODID, "deciduous")) == null) {
+				CellKits.preInit();
+			}
+
+			ILeavesProperties leavesProperties = new LeavesProperties(Blocks.LEAVES.getDefaultState(), TreeRegistry.findCellKit(new ResourceLocation(ModConstants.MODID, cellKit)));
+			BlockDynamicLeaves leaves = new BlockDynamicLeaves();
+			leavesProperties.setDynamicLeavesState(leaves.getDefaultState());
+			leaves.setProperties(0, leavesProperties);
+
+			TreeFamily family = new TreeFamily(new ResourceLocation(ModConstants.MODID, name)) {
+				@Override
+				public void createSpecies() {
+					setCommonSpecies(new Species(getName(), this, leavesProperties));//Picks up the JoCodes by its name
+				}
+
+				@Override
+				public ILeavesProperties getCommonLeaves() {
+					return leavesProperties;
+				}
+			};
+			leavesProperties.setTree(family);
+
+			species = family.getCommonSpecies();
+			trees.put(name, species);
+		}
+		return species;
+	}
+
+	/**
+	 * Lays down a floor of dirt with grass on top at y 63 for the chunks around a chunk
+	 */
+	public static void groundAround(World world, ChunkPos center, int chunks) {
+		BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+		for (int x = (center.x - chunks) << 4; x < (center.x + chunks + 1) << 4; x++) {
+			for (int z = (center.z - chunks) << 4; z < (center.z + chunks + 1) << 4; z++) {
+				world.setBlockState(pos.setPos(x, 62, z), Blocks.DIRT.getDefaultState(), 2);
+				world.setBlockState(pos.setPos(x, 63, z), Blocks.GRASS.getDefaultState(), 2);
+			}
+		}
+	}
+
+	/**
+	 * Generates an oak from a random oak JoCode the way a tree is generated during population
+	 *
+	 * @return The JoCode that was generated
+	 */
+	public static JoCode generateOak(World world, BlockPos rootPos, int radius, Random random) {
+		return generate(world, getOak(), rootPos, radius, random);
+	}
+
+	/**
+	 * Generates a tree from a random JoCode of its species the way a tree is generated during population
+	 *
+	 * @return The JoCode that was generated
+	 */
+	public static JoCode generate(World world, Species species, BlockPos rootPos, int radius, Random random) {
+		JoCode code = species.getJoCodeStore().getRandomCode(radius, random);
+		code.generate(world, species, rootPos, Biomes.PLAINS, EnumFacing.HORIZONTALS[random.nextInt(4)], radius, new SafeChunkBounds(world, new ChunkPos(rootPos)));
+		return code;
+	}
+
+}
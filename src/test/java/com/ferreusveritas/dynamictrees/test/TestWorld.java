@@ -0,0 +1,100 @@
+package com.ferreusveritas.dynamictrees.test;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.profiler.Profiler;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.GameType;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldProviderSurface;
+import net.minecraft.world.WorldSettings;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.storage.WorldInfo;
+
+import javax.annotation.Nullable;
+
+/**
+ * A flat, empty overworld that lives entirely in memory for tests and benchmarks.  Chunks are made empty the first
+ * time they're asked for and every chunk counts as loaded so lighting and block updates behave as they do on a server.
+ * Chunks start out unpopulated like chunks that are still being generated.
+ *
+ * @author ferreusveritas
+ */
+public class TestWorld extends World {
+
+	private static boolean bootstrapped;
+
+	/**
+	 * Registers the vanilla blocks, items and biomes.  Must be called before any block is touched.
+	 */
+	public static synchronized void bootstrap() {
+		if (!bootstrapped) {
+			Bootstrap.register();
+			bootstrapped = true;
+		}
+	}
+
+	public TestWorld(long seed) {
+		super(null, new WorldInfo(new WorldSettings(seed, GameType.SURVIVAL, false, false, WorldType.FLAT), "test"), new WorldProviderSurface(), new Profiler(), false);
+		provider.setWorld(this);
+		chunkProvider = createChunkProvider();
+	}
+
+	@Override
+	protected IChunkProvider createChunkProvider() {
+		return new ChunkProvider(this);
+	}
+
+	@Override
+	protected boolean isChunkLoaded(int x, int z, boolean allowEmpty) {
+		return true;
+	}
+
+	private static class ChunkProvider implements IChunkProvider {
+
+		private final World world;
+		private final Long2ObjectOpenHashMap<Chunk> chunks = new Long2ObjectOpenHashMap<>();
+
+		private ChunkProvider(World world) {
+			this.world = world;
+		}
+
+		@Nullable
+		@Override
+		public Chunk getLoadedChunk(int x, int z) {
+			return provideChunk(x, z);
+		}
+
+		@Override
+		public Chunk provideChunk(int x, int z) {
+			long key = ChunkPos.asLong(x, z);
+			Chunk chunk = chunks.get(key);
+			if (chunk == null) {
+				chunk = new Chunk(world, x, z);
+				chunk.generateSkylightMap();
+				chunk.markLoaded(true);
+				chunks.put(key, chunk);
+			}
+			return chunk;
+		}
+
+		@Override
+		public boolean tick() {
+			return false;
+		}
+
+		@Override
+		public String makeString() {
+			return "TestChunkCache: " + chunks.size();
+		}
+
+		@Override
+		public boolean isChunkGeneratedAt(int x, int z) {
+			return chunks.containsKey(ChunkPos.asLong(x, z));
+		}
+
+	}
+
+}
@@ -0,0 +1,174 @@
+package com.ferreusveritas.dynamictrees.util;
+
+import com.ferreusveritas.dynamictrees.api.TreeHelper;
+import com.ferreusveritas.dynamictrees.test.TestTrees;
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.entity.item.EntityArmorStand;
+import net.minecraft.init.Blocks;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.text.ITextComponent;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ChunkTreeScannerTest {
+
+	private static final ChunkPos center = new ChunkPos(0, 0);
+	private static final BlockPos[] rootPositions = {new BlockPos(3, 63, 3), new BlockPos(12, 63, 12), new BlockPos(-6, 63, 9)};
+
+	@BeforeClass
+	public static void setup() {
+		TestTrees.getOak();
+	}
+
+	private static World createForest() {
+		World world = new TestWorld(0);
+		TestTrees.groundAround(world, center, 1);
+		Random random = new Random(3);
+		for (BlockPos rootPos : rootPositions) {
+			TestTrees.generateOak(world, rootPos, 6, random);
+		}
+		return world;
+	}
+
+	private static Set<BlockPos> getBranches(World world) {
+		Set<BlockPos> branches = new HashSet<>();
+		for (BlockPos pos : BlockPos.getAllInBox(-16, 0, -16, 31, 255, 31)) {
+			if (TreeHelper.isBranch(world.getBlockState(pos))) {
+				branches.add(pos);
+			}
+		}
+		return branches;
+	}
+
+	private static void runToCompletion(World world, ChunkTreeScanner scan) {
+		for (int tick = 0; !scan.isDone(); tick++) {
+			assertTrue("Scan never finished", tick < 10000);
+			ChunkTreeScanner.process(world);
+		}
+	}
+
+	@Test
+	public void sectionScanVisitsEveryBranchOnce() {
+		World world = createForest();
+		Set<BlockPos> expected = getBranches(world);
+		assertFalse(expected.isEmpty());
+
+		List<BlockPos> visited = new ArrayList<>();
+		for (ChunkPos cPos : ChunkTreeHelper.getChunksInRadius(center, 1)) {
+			Chunk chunk = world.getChunkFromChunkCoords(cPos.x, cPos.z);
+			for (int sectionY = 0; sectionY < chunk.getBlockStorageArray().length; sectionY++) {
+				ChunkTreeHelper.scanSection(world, chunk, sectionY, (w, pos, state, branch) -> visited.add(pos.toImmutable()));
+			}
+		}
+
+		assertEquals(expected.size(), visited.size());
+		assertEquals(expected, new HashSet<>(visited));
+	}
+
+	@Test
+	public void purgeRemovesEveryTreeAndReports() {
+		World world = createForest();
+		RecordingSender sender = new RecordingSender(world);
+
+		ChunkTreeScanner scan = new ChunkTreeScanner("commands.dynamictrees.purgetrees.name", sender, center, 1, ChunkTreeHelper::removeTree);
+		ChunkTreeScanner.start(world, scan);
+		runToCompletion(world, scan);
+
+		assertTrue(getBranches(world).isEmpty());
+		assertTrue(sender.messages.size() >= 2);//Started and done
+	}
+
+	@Test
+	public void orphanRemoverForgetsProvenTreesEveryTick() {
+		World world = createForest();
+		BlockPos trunkPos = rootPositions[0].up();
+		ChunkTreeHelper.OrphanRemover remover = new ChunkTreeHelper.OrphanRemover();
+
+		assertFalse(remover.visit(world, trunkPos, world.getBlockState(trunkPos), TreeHelper.getBranch(world.getBlockState(trunkPos))));
+
+		world.setBlockState(rootPositions[0], Blocks.DIRT.getDefaultState(), 2);//Orphans the tree
+		assertFalse("Proven in this tick", remover.visit(world, trunkPos, world.getBlockState(trunkPos), TreeHelper.getBranch(world.getBlockState(trunkPos))));
+
+		remover.beginTick();
+		assertTrue("Stale proof was kept", remover.visit(world, trunkPos, world.getBlockState(trunkPos), TreeHelper.getBranch(world.getBlockState(trunkPos))));
+		assertFalse(TreeHelper.isBranch(world.getBlockState(trunkPos)));
+	}
+
+	@Test
+	public void senderThatLeftIsNotReportedTo() {
+		World world = createForest();
+		List<ITextComponent> messages = new ArrayList<>();
+		EntityArmorStand sender = new EntityArmorStand(world) {
+			@Override
+			public void sendMessage(ITextComponent component) {
+				assertFalse("Reported to a dead sender", isDead);
+				messages.add(component);
+			}
+		};
+
+		ChunkTreeScanner scan = new ChunkTreeScanner("commands.dynamictrees.purgetrees.name", sender, center, 1, ChunkTreeHelper::removeTree);
+		ChunkTreeScanner.start(world, scan);
+		assertEquals(1, messages.size());
+
+		sender.setDead();
+		assertEquals(null, scan.getSender());
+		runToCompletion(world, scan);
+
+		assertTrue(getBranches(world).isEmpty());//The scan carries on without reports
+		assertEquals(1, messages.size());
+	}
+
+	private static class RecordingSender implements ICommandSender {
+
+		private final World world;
+		private final List<ITextComponent> messages = new ArrayList<>();
+
+		private RecordingSender(World world) {
+			this.world = world;
+		}
+
+		@Override
+		public String getName() {
+			return "test";
+		}
+
+		@Override
+		public boolean canUseCommand(int permLevel, String commandName) {
+			return true;
+		}
+
+		@Override
+		public World getEntityWorld() {
+			return world;
+		}
+
+		@Nullable
+		@Override
+		public MinecraftServer getServer() {
+			return null;
+		}
+
+		@Override
+		public void sendMessage(ITextComponent component) {
+			messages.add(component);
+		}
+
+	}
+
+}
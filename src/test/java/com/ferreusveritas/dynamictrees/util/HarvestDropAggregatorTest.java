@@ -0,0 +1,176 @@
+package com.ferreusveritas.dynamictrees.util;
+
+import com.ferreusveritas.dynamictrees.ModConfigs;
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import com.mojang.authlib.GameProfile;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.item.EntityItem;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.CapabilityManager;
+import net.minecraftforge.fml.relauncher.ReflectionHelper;
+import net.minecraftforge.items.CapabilityItemHandler;
+import net.minecraftforge.items.IItemHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HarvestDropAggregatorTest {
+
+	private static final BlockPos cutPos = new BlockPos(0, 64, 0);
+
+	private World world;
+
+	@BeforeClass
+	@SuppressWarnings("unchecked")
+	public static void setup() {
+		TestWorld.bootstrap();
+
+		//The capability is normally injected while the mods load
+		if (CapabilityItemHandler.ITEM_HANDLER_CAPABILITY == null) {
+			CapabilityItemHandler.register();
+			Map<String, Capability<?>> providers = ReflectionHelper.getPrivateValue(CapabilityManager.class, CapabilityManager.INSTANCE, "providers");
+			CapabilityItemHandler.ITEM_HANDLER_CAPABILITY = (Capability<IItemHandler>) providers.get(IItemHandler.class.getName().intern());
+		}
+	}
+
+	@Before
+	public void createWorld() {
+		world = new TestWorld(0);
+		ModConfigs.harvestDropsToInventory = false;
+		ModConfigs.harvestDropsToPlayer = false;
+	}
+
+	@After
+	public void restore() {
+		ModConfigs.harvestDropCellSize = 1;
+		ModConfigs.harvestDropsToInventory = false;
+		ModConfigs.harvestDropsToPlayer = false;
+	}
+
+	private List<EntityItem> getItems() {
+		List<EntityItem> items = new ArrayList<>();
+		for (Entity entity : world.loadedEntityList) {
+			if (entity instanceof EntityItem) {
+				items.add((EntityItem) entity);
+			}
+		}
+		return items;
+	}
+
+	private static int count(List<EntityItem> items) {
+		int count = 0;
+		for (EntityItem item : items) {
+			count += item.getItem().getCount();
+		}
+		return count;
+	}
+
+	@Test
+	public void identicalStacksMergeUpToTheirMaxStackSize() {
+		ModConfigs.harvestDropCellSize = 4;
+		HarvestDropAggregator drops = new HarvestDropAggregator(world, cutPos, null);
+
+		for (int i = 0; i < 10; i++) {
+			drops.add(cutPos.up(i & 3), new ItemStack(Items.STICK, 10));
+		}
+		drops.add(cutPos, new ItemStack(Items.APPLE, 1));
+		drops.deliver(true);
+
+		List<EntityItem> items = getItems();
+		assertEquals(3, items.size());//64 and 36 sticks and an apple
+		assertEquals(3, drops.getEntitiesSpawned());
+		assertEquals(101, count(items));
+		for (EntityItem item : items) {
+			assertTrue(item.getItem().getCount() <= item.getItem().getMaxStackSize());
+		}
+	}
+
+	@Test
+	public void dropsComeOutOfTheirCell() {
+		ModConfigs.harvestDropCellSize = 2;
+		HarvestDropAggregator drops = new HarvestDropAggregator(world, cutPos, null);
+
+		drops.add(new BlockPos(0, 64, 0), new ItemStack(Items.STICK));
+		drops.add(new BlockPos(1, 65, 1), new ItemStack(Items.STICK));//Same cell
+		drops.add(new BlockPos(2, 64, 0), new ItemStack(Items.STICK));
+		drops.add(new BlockPos(-1, 64, 0), new ItemStack(Items.STICK));//Cells below 0 don't share with the cell at 0
+		drops.deliver(true);
+
+		List<EntityItem> items = getItems();
+		assertEquals(3, items.size());
+		assertEquals(4, count(items));
+	}
+
+	@Test
+	public void zeroCellSizeDropsEveryStackOnItsOwn() {
+		ModConfigs.harvestDropCellSize = 0;
+		HarvestDropAggregator drops = new HarvestDropAggregator(world, cutPos, null);
+
+		for (int i = 0; i < 3; i++) {
+			drops.add(cutPos, new ItemStack(Items.STICK));
+		}
+		drops.deliver(true);
+
+		assertEquals(3, getItems().size());
+		assertEquals(3, drops.getStacksAdded());
+	}
+
+	@Test
+	public void dropsGoIntoAnAdjacentInventoryFirst() {
+		ModConfigs.harvestDropsToInventory = true;
+		world.setBlockState(cutPos.east(), Blocks.CHEST.getDefaultState());
+		HarvestDropAggregator drops = new HarvestDropAggregator(world, cutPos, null);
+
+		drops.add(cutPos, new ItemStack(Items.STICK, 20));
+		drops.deliver(true);
+
+		IItemHandler chest = world.getTileEntity(cutPos.east()).getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, null);
+		assertEquals(20, chest.getStackInSlot(0).getCount());
+		assertEquals(1, drops.getStacksDelivered());
+		assertTrue(getItems().isEmpty());
+	}
+
+	@Test
+	public void dropsGoToTheHarvesterAndTheRestIsSpawned() {
+		ModConfigs.harvestDropsToPlayer = true;
+		EntityPlayer player = new EntityPlayer(world, new GameProfile(UUID.randomUUID(), "harvester")) {
+			@Override
+			public boolean isSpectator() {
+				return false;
+			}
+
+			@Override
+			public boolean isCreative() {
+				return false;
+			}
+		};
+		for (int slot = 1; slot < player.inventory.mainInventory.size(); slot++) {
+			player.inventory.mainInventory.set(slot, new ItemStack(Blocks.DIRT, 64));//Room for one stack
+		}
+		HarvestDropAggregator drops = new HarvestDropAggregator(world, cutPos, player);
+
+		drops.add(cutPos, new ItemStack(Items.STICK, 64));
+		drops.add(cutPos, new ItemStack(Items.STICK, 10));
+		drops.deliver(true);
+
+		assertEquals(64, player.inventory.mainInventory.get(0).getCount());
+		assertEquals(1, drops.getStacksDelivered());
+		assertEquals(10, count(getItems()));
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.ferreusveritas.dynamictrees.util;
+
+import com.ferreusveritas.dynamictrees.ModBlocks;
+import com.ferreusveritas.dynamictrees.test.TestTrees;
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import com.ferreusveritas.dynamictrees.worldgen.JoCode;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class SplitRandomTest {
+
+	private static final BlockPos rootPos = new BlockPos(8, 63, 8);
+
+	@BeforeClass
+	public static void setup() {
+		TestTrees.getOak();
+	}
+
+	/**
+	 * Generates an oak and grows it a number of times in the same tick the way bonemeal would
+	 */
+	private static String growOak(long seed, int pulses) {
+		World world = new TestWorld(seed);
+		world.rand.setSeed(seed);//Leaves age with the world's random
+		PerDimension.unloadWorld(world);
+		TestTrees.groundAround(world, new ChunkPos(rootPos), 2);
+		TestTrees.generateOak(world, rootPos, 8, new Random(7));
+
+		Random random = new Random(11);
+		for (int i = 0; i < pulses; i++) {
+			ModBlocks.blockRootyDirt.updateTree(world.getBlockState(rootPos), world, rootPos, random, false);
+		}
+		return new JoCode(world, rootPos, EnumFacing.NORTH).toString();
+	}
+
+	@Test
+	public void sameSeedGrowsTheSameTree() {
+		assertEquals(growOak(1234, 32), growOak(1234, 32));
+	}
+
+	@Test
+	public void callsInTheSameTickGetTheirOwnStream() {
+		World world = new TestWorld(1234);
+		PerDimension.unloadWorld(world);
+
+		long first = SplitRandom.forTree(world, rootPos, SplitRandom.GROWTH).nextLong();
+		long second = SplitRandom.forTree(world, rootPos, SplitRandom.GROWTH).nextLong();
+		assertNotEquals(first, second);
+
+		PerDimension.unloadWorld(world);
+		assertEquals(first, SplitRandom.forTree(world, rootPos, SplitRandom.GROWTH).nextLong());
+	}
+
+}
@@ -0,0 +1,143 @@
+package com.ferreusveritas.dynamictrees.worldgen;
+
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import com.ferreusveritas.dynamictrees.util.PerDimension;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.gen.NoiseGeneratorPerlin;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class BiomeSampleCacheTest {
+
+	private static final int MAXCACHEDCHUNKS = 1024;
+	private static final double SCALE = 128;
+
+	private CountingWorld world;
+	private CountingNoise noise;
+
+	private static class CountingWorld extends TestWorld {
+
+		private int biomeSamples;
+
+		private CountingWorld() {
+			super(0);
+		}
+
+		@Override
+		public Biome getBiome(BlockPos pos) {
+			biomeSamples++;
+			return super.getBiome(pos);
+		}
+
+	}
+
+	private static class CountingNoise extends NoiseGeneratorPerlin {
+
+		private int samples;
+
+		private CountingNoise(long seed) {
+			super(new Random(seed), 1);
+		}
+
+		@Override
+		public double getValue(double x, double z) {
+			samples++;
+			return super.getValue(x, z);
+		}
+
+	}
+
+	@BeforeClass
+	public static void setup() {
+		TestWorld.bootstrap();
+	}
+
+	@Before
+	public void createWorld() {
+		world = new CountingWorld();
+		noise = new CountingNoise(1);
+		PerDimension.unloadWorld(world);//Every test world is the overworld
+	}
+
+	@Test
+	public void chunkBiomesAreSampledOnce() {
+		BiomeSampleCache cache = BiomeSampleCache.get(world);
+
+		Biome biome = cache.getBiome(5, -7);
+		assertEquals(256, world.biomeSamples);//The whole chunk on the first miss
+		assertEquals(0, cache.getBiomeHitRate(), 0);
+		assertSame(world.getBiome(new BlockPos(5, 0, -7)), biome);
+		world.biomeSamples = 0;
+
+		for (int z = -16; z < 0; z++) {
+			for (int x = 0; x < 16; x++) {
+				cache.getBiome(x, z);
+			}
+		}
+		assertEquals(0, world.biomeSamples);
+		assertEquals(256 / 257f, cache.getBiomeHitRate(), 1e-6);
+	}
+
+	@Test
+	public void noiseIsSampledOncePerColumn() {
+		BiomeSampleCache cache = BiomeSampleCache.get(world);
+
+		double value = cache.getNoise(40, 40, noise, SCALE);
+		assertEquals(1, noise.samples);
+		assertEquals(value, cache.getNoise(40, 40, noise, SCALE), 0);
+		assertEquals(1, noise.samples);
+		assertEquals(0.5f, cache.getNoiseHitRate(), 1e-6);
+
+		cache.getNoise(41, 40, noise, SCALE);//Same chunk, different column
+		assertEquals(2, noise.samples);
+
+		CountingNoise other = new CountingNoise(2);//Noise of another generator is thrown out
+		assertEquals(other.getValue(40 / SCALE, 40 / SCALE), cache.getNoise(40, 40, other, SCALE), 0);
+		assertEquals(2, other.samples);
+	}
+
+	@Test
+	public void leastRecentlyUsedChunksAreDropped() {
+		BiomeSampleCache cache = BiomeSampleCache.get(world);
+
+		for (int i = 0; i < MAXCACHEDCHUNKS; i++) {
+			cache.getBiomes(i, 0);
+		}
+		cache.getBiomes(0, 0);//Chunk 0 is now the most recently used and chunk 1 the least
+		world.biomeSamples = 0;
+
+		cache.getBiomes(MAXCACHEDCHUNKS, 0);//One past full
+		assertEquals(256, world.biomeSamples);
+
+		world.biomeSamples = 0;
+		cache.getBiomes(0, 0);
+		assertEquals(0, world.biomeSamples);
+		cache.getBiomes(1, 0);
+		assertEquals(256, world.biomeSamples);
+	}
+
+	@Test
+	public void unloadingTheDimensionDropsTheCache() {
+		BiomeSampleCache cache = BiomeSampleCache.get(world);
+		cache.getBiomes(0, 0);
+		assertSame(cache, BiomeSampleCache.get(world));
+
+		PerDimension.unloadWorld(world);
+		BiomeSampleCache fresh = BiomeSampleCache.get(world);
+		assertNotSame(cache, fresh);
+
+		world.biomeSamples = 0;
+		fresh.getBiomes(0, 0);
+		assertEquals(256, world.biomeSamples);
+	}
+
+}
@@ -0,0 +1,117 @@
+package com.ferreusveritas.dynamictrees.worldgen;
+
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import com.ferreusveritas.dynamictrees.worldgen.BiomeDataBase.BiomeEntry;
+import com.ferreusveritas.dynamictrees.worldgen.WorldGeneratorTrees.GroundFinder;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.MutableBlockPos;
+import net.minecraft.world.World;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class GroundSurfaceCacheTest {
+
+	private static final int CHUNKX = 0;
+	private static final int CHUNKZ = 0;
+
+	@BeforeClass
+	public static void setup() {
+		TestWorld.bootstrap();
+	}
+
+	/**
+	 * Lays out uneven ground over stone with caves in it across the chunks the population area straddles.  Some columns
+	 * are topped with water, leaves, plants or logs and one is left empty.
+	 */
+	private static World createTerrain(long seed) {
+		IBlockState[] toppings = {
+			Blocks.AIR.getDefaultState(),
+			Blocks.WATER.getDefaultState(),
+			Blocks.LEAVES.getDefaultState(),
+			Blocks.TALLGRASS.getDefaultState(),
+			Blocks.LOG.getDefaultState(),
+			Blocks.SAND.getDefaultState(),
+			Blocks.SNOW_LAYER.getDefaultState()
+		};
+
+		World world = new TestWorld(seed);
+		Random random = new Random(seed);
+		MutableBlockPos pos = new MutableBlockPos();
+
+		for (int x = CHUNKX << 4; x < (CHUNKX + 2) << 4; x++) {
+			for (int z = CHUNKZ << 4; z < (CHUNKZ + 2) << 4; z++) {
+				if (x == 12 && z == 20) {
+					continue;//Nothing at all
+				}
+
+				int height = 56 + random.nextInt(12);
+				for (int y = 0; y <= height; y++) {
+					world.setBlockState(pos.setPos(x, y, z), y < height - 4 ? Blocks.STONE.getDefaultState() : y < height ? Blocks.DIRT.getDefaultState() : Blocks.GRASS.getDefaultState(), 2);
+				}
+
+				for (int cave = 0; cave < 3; cave++) {
+					int bottom = 4 + random.nextInt(height - 12);
+					for (int y = bottom; y < bottom + 2 + random.nextInt(5); y++) {
+						world.setBlockState(pos.setPos(x, y, z), Blocks.AIR.getDefaultState(), 2);
+					}
+				}
+
+				IBlockState topping = toppings[random.nextInt(toppings.length)];
+				for (int y = height + 1; y <= height + 1 + random.nextInt(3); y++) {
+					world.setBlockState(pos.setPos(x, y, z), topping, 2);
+				}
+			}
+		}
+
+		return world;
+	}
+
+	@Test
+	public void cachedGroundMatchesGroundFinder() {
+		BiomeEntry overworld = new BiomeEntry();
+		BiomeEntry subterranean = new BiomeEntry();
+		subterranean.setSubterraneanBiome(true);
+		GroundFinder groundFinder = new GroundFinder();
+
+		for (long seed = 0; seed < 4; seed++) {
+			World world = createTerrain(seed);
+			GroundSurfaceCache cache = new GroundSurfaceCache(world, CHUNKX, CHUNKZ);
+			int originX = (CHUNKX << 4) + 8;
+			int originZ = (CHUNKZ << 4) + 8;
+
+			for (int z = originZ - 2; z < originZ + 18; z++) {//Past the area on both sides
+				for (int x = originX - 2; x < originX + 18; x++) {
+					BlockPos start = new BlockPos(x, 0, z);
+					String where = "Seed " + seed + " at " + x + ", " + z;
+
+					assertEquals(where, groundFinder.findGround(overworld, world, start), cache.findGround(overworld, world, start));
+
+					for (int pick = 0; pick < 3; pick++) {//The layer is picked at random
+						world.rand.setSeed(seed * 31 + pick);
+						BlockPos expected = groundFinder.findGround(subterranean, world, start);
+						world.rand.setSeed(seed * 31 + pick);
+						assertEquals(where, expected, cache.findGround(subterranean, world, start));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void emptyColumnHasNoGround() {
+		World world = createTerrain(0);
+		GroundSurfaceCache cache = new GroundSurfaceCache(world, CHUNKX, CHUNKZ);
+		BiomeEntry overworld = new BiomeEntry();
+
+		assertEquals(BlockPos.ORIGIN, cache.findGround(overworld, world, new BlockPos(12, 0, 20)));
+		assertNotEquals(BlockPos.ORIGIN, cache.findGround(overworld, world, new BlockPos(13, 0, 20)));
+	}
+
+}
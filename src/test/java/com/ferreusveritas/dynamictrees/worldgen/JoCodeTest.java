@@ -0,0 +1,69 @@
+package com.ferreusveritas.dynamictrees.worldgen;
+
+import com.ferreusveritas.dynamictrees.test.TestTrees;
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import com.ferreusveritas.dynamictrees.trees.Species;
+import com.ferreusveritas.dynamictrees.util.SafeChunkBounds;
+import net.minecraft.init.Biomes;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class JoCodeTest {
+
+	private static final BlockPos rootPos = new BlockPos(8, 63, 8);
+
+	@BeforeClass
+	public static void setup() {
+		TestTrees.getOak();
+	}
+
+	/**
+	 * Generates a tree from the code and reads the code of the tree back out of the world
+	 */
+	private static String generate(JoCode code, EnumFacing facing) {
+		World world = new TestWorld(1234);
+		world.rand.setSeed(1234);//Leaves age with the world's random
+		TestTrees.groundAround(world, new ChunkPos(rootPos), 1);
+		code.generate(world, TestTrees.getOak(), rootPos, Biomes.PLAINS, facing, 8, new SafeChunkBounds(world, new ChunkPos(rootPos)));
+		return new JoCode(world, rootPos, EnumFacing.NORTH).toString();
+	}
+
+	@Test
+	public void overriddenForkIsCalledForEveryFork() {
+		Species oak = TestTrees.getOak();
+		Random random = new Random(7);
+
+		for (int i = 0; i < 8; i++) {
+			RecursiveJoCode code = new RecursiveJoCode(oak.getJoCodeStore().getRandomCode(8, random).toString());
+			int forks = 1;//The trunk
+			for (byte instruction : code.instructions) {
+				forks += instruction == JoCode.forkCode ? 1 : 0;
+			}
+
+			generate(code, EnumFacing.NORTH);
+			assertEquals(forks, code.forks);
+		}
+	}
+
+	@Test
+	public void stackDrawsTheSameTreesAsRecursion() {
+		Species oak = TestTrees.getOak();
+		Random random = new Random(7);
+
+		for (int i = 0; i < 8; i++) {
+			String code = oak.getJoCodeStore().getRandomCode(8, random).toString();
+			for (EnumFacing facing : EnumFacing.HORIZONTALS) {
+				assertEquals(code + " " + facing, generate(new RecursiveJoCode(code), facing), generate(new JoCode(code), facing));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.ferreusveritas.dynamictrees.worldgen;
+
+import com.ferreusveritas.dynamictrees.trees.Species;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * A code that overrides {@link JoCode#generateFork} the way add-on codes do so it's drawn by the recursion that every
+ * code was drawn by before the stack of forks.  Counts the forks it's called for.
+ *
+ * @author ferreusveritas
+ */
+public class RecursiveJoCode extends JoCode {
+
+	public int forks = 0;
+
+	public RecursiveJoCode(String code) {
+		super(code);
+	}
+
+	@Override
+	protected int generateFork(World world, Species species, int codePos, BlockPos pos, boolean disabled) {
+		forks++;
+		return super.generateFork(world, species, codePos, pos, disabled);
+	}
+
+}
@@ -0,0 +1,75 @@
+package com.ferreusveritas.dynamictrees.worldgen;
+
+import com.ferreusveritas.dynamictrees.ModConfigs;
+import com.ferreusveritas.dynamictrees.test.TestTrees;
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.World;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class WorldGenSectionWriterTest {
+
+	private static final ChunkPos center = new ChunkPos(0, 0);
+
+	@BeforeClass
+	public static void setup() {
+		TestTrees.getOak();
+	}
+
+	@After
+	public void restore() {
+		ModConfigs.worldGenDirectWrites = false;
+	}
+
+	/**
+	 * Generates a few oaks with direct writes on or off and writes down everything the trees could have changed
+	 */
+	private static List<String> generate(boolean directWrites) {
+		ModConfigs.worldGenDirectWrites = directWrites;
+
+		World world = new TestWorld(1234);
+		world.rand.setSeed(1234);//Leaves age with the world's random
+		TestTrees.groundAround(world, center, 1);
+
+		Random random = new Random(7);
+		for (BlockPos rootPos : new BlockPos[]{new BlockPos(4, 63, 4), new BlockPos(12, 63, 6), new BlockPos(7, 63, 13), new BlockPos(18, 63, 9)}) {
+			TestTrees.generateOak(world, rootPos, 8, random);
+		}
+
+		List<String> result = new ArrayList<>();
+		BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+		for (int x = (center.x - 1) << 4; x < (center.x + 2) << 4; x++) {
+			for (int z = (center.z - 1) << 4; z < (center.z + 2) << 4; z++) {
+				pos.setPos(x, 0, z);
+				result.add(x + " " + z + " height " + world.getHeight(x, z) + " precipitation " + world.getPrecipitationHeight(pos).getY());
+				for (int y = 60; y < 100; y++) {
+					pos.setY(y);
+					result.add(pos + " " + world.getBlockState(pos) + " sky " + world.getLightFor(EnumSkyBlock.SKY, pos) + " block " + world.getLightFor(EnumSkyBlock.BLOCK, pos));
+				}
+			}
+		}
+		return result;
+	}
+
+	@Test
+	public void directWritesMatchTheWorld() {
+		List<String> throughWorld = generate(false);
+		List<String> direct = generate(true);
+
+		assertEquals(throughWorld.size(), direct.size());
+		for (int i = 0; i < throughWorld.size(); i++) {
+			assertEquals(throughWorld.get(i), direct.get(i));
+		}
+	}
+
+}
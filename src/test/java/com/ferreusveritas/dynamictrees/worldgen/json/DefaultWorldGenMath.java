@@ -0,0 +1,52 @@
+package com.ferreusveritas.dynamictrees.worldgen.json;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+
+/**
+ * The math expressions of the default world gen JSON for the JsonMath tests and benchmarks.
+ *
+ * @author ferreusveritas
+ */
+public class DefaultWorldGenMath {
+
+	public static final String DEFAULTJSON = "/assets/dynamictrees/worldgen/default.json";
+
+	/**
+	 * @return Every value of a "math" key in the default world gen JSON
+	 */
+	public static List<JsonElement> load() {
+		try (Reader reader = new InputStreamReader(DefaultWorldGenMath.class.getResourceAsStream(DEFAULTJSON), StandardCharsets.UTF_8)) {
+			List<JsonElement> math = new ArrayList<>();
+			collect(new JsonParser().parse(reader), math);
+			return math;
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to read " + DEFAULTJSON, e);
+		}
+	}
+
+	private static void collect(JsonElement element, List<JsonElement> math) {
+		if (element.isJsonArray()) {
+			for (JsonElement child : element.getAsJsonArray()) {
+				collect(child, math);
+			}
+		} else if (element.isJsonObject()) {
+			for (Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+				if ("math".equals(entry.getKey())) {
+					math.add(entry.getValue());
+				} else {
+					collect(entry.getValue(), math);
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.ferreusveritas.dynamictrees.worldgen.json;
+
+import com.ferreusveritas.dynamictrees.test.TestWorld;
+import com.ferreusveritas.dynamictrees.trees.Species;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import net.minecraft.init.Biomes;
+import net.minecraft.world.biome.Biome;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class JsonMathTest {
+
+	@BeforeClass
+	public static void setup() {
+		TestWorld.bootstrap();
+	}
+
+	@Test
+	public void foldingMatchesTheDefaultWorldGen() {
+		List<JsonElement> expressions = DefaultWorldGenMath.load();
+		assertFalse(expressions.isEmpty());
+
+		for (Biome biome : new Biome[]{Biomes.PLAINS, Biomes.FOREST, Biomes.DESERT, Biomes.ROOFED_FOREST}) {
+			for (JsonElement expression : expressions) {
+				JsonMath folded = new JsonMath(expression, biome);
+				JsonMath interpreted = new JsonMath(expression, biome, false);
+
+				for (int i = 0; i <= 20; i++) {
+					float noise = i / 10.0f - 1.0f;
+					assertEquals(expression.toString(), interpreted.apply(new Random(i), noise), folded.apply(new Random(i), noise), 0);
+				}
+				for (int radius = 2; radius <= 8; radius++) {
+					assertEquals(expression.toString(), interpreted.apply(new Random(radius), Species.NULLSPECIES, radius), folded.apply(new Random(radius), Species.NULLSPECIES, radius), 0);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void foldedConstantsMatch() {
+		JsonElement expression = new JsonParser().parse("{ \"add\" : [ { \"mul\" : [ \"noise\", { \"div\" : [ 3.0, 7.0 ] } ] }, { \"ifgt\" : [ 2, 1, { \"sub\" : [ 0.3, 0.1, 0.1 ] }, \"rand\" ] } ] }");
+		JsonMath folded = new JsonMath(expression, Biomes.PLAINS);
+		JsonMath interpreted = new JsonMath(expression, Biomes.PLAINS, false);
+
+		for (int i = 0; i <= 20; i++) {
+			float noise = i / 10.0f - 1.0f;
+			assertEquals(interpreted.apply(new Random(i), noise), folded.apply(new Random(i), noise), 0);
+		}
+	}
+
+}